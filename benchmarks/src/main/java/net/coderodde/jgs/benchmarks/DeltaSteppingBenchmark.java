@@ -0,0 +1,99 @@
+package net.coderodde.jgs.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.support.CompressedDirectedGraph;
+import net.coderodde.jgs.model.support.DeltaSteppingShortestPaths;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.DoubleDijkstraPathFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the speed-up of the parallel delta-stepping algorithm
+ * by the amount of worker threads on a large random graph. The
+ * single-threaded run and {@link #dijkstra()} are the baselines.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeltaSteppingBenchmark {
+
+    /**
+     * The seed of the graph and the source node.
+     */
+    private static final long SEED = 20141109L;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    /**
+     * The bucket width. The arc weights are about 150 on average.
+     */
+    @Param({"50", "200"})
+    public double delta;
+
+    @Param({"200000"})
+    public int nodes;
+
+    @Param({"1000000"})
+    public int edges;
+
+    private DeltaSteppingShortestPaths deltaStepping;
+    private DoubleDijkstraPathFinder<DirectedGraphNode> dijkstra;
+    private DirectedGraphNode source;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random rnd = new Random(SEED);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        nodes, edges, 1000.0, 1000.0, 1.1, rnd);
+
+        deltaStepping = new DeltaSteppingShortestPaths(
+                CompressedDirectedGraph.freeze(data.first, data.second),
+                delta,
+                threads);
+        dijkstra = new DoubleDijkstraPathFinder<>(data.second);
+        source = data.first.get(rnd.nextInt(data.first.size()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deltaStepping.shutdown();
+    }
+
+    @Benchmark
+    public double[] deltaStepping() {
+        return deltaStepping.computeDistances(source);
+    }
+
+    @Benchmark
+    public int dijkstra() {
+        return dijkstra.computeShortestPathTree(source).size();
+    }
+}
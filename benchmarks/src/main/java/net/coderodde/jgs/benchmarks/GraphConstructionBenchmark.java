@@ -0,0 +1,141 @@
+package net.coderodde.jgs.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.support.CompressedDirectedGraph;
+import net.coderodde.jgs.model.support.ContractionHierarchy;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.LandmarkHeuristicFunction;
+import net.coderodde.jgs.model.support.LandmarkSelection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the graph generators of {@link Utilities} and the
+ * preprocessing of the CSR snapshots, contraction hierarchies and landmarks.
+ * Each invocation starts from the same seed, so that every invocation builds
+ * the same graph.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphConstructionBenchmark {
+
+    /**
+     * The seed of all the graphs.
+     */
+    private static final long SEED = 20141109L;
+
+    /**
+     * The parameters of the random graphs.
+     */
+    @State(Scope.Benchmark)
+    public static class RandomGraphs {
+
+        @Param({"10000", "50000"})
+        public int nodes;
+
+        /**
+         * The average out-degree of the nodes.
+         */
+        @Param({"4", "8"})
+        public int degree;
+    }
+
+    /**
+     * The parameters of the grid graphs, and a road-like graph to preprocess.
+     */
+    @State(Scope.Benchmark)
+    public static class Grids {
+
+        /**
+         * The width and the height of the grid.
+         */
+        @Param({"100", "200"})
+        public int side;
+
+        Graph<DirectedGraphNode> graph;
+        DirectedGraphDoubleWeightFunction f;
+
+        @Setup
+        public void setUp() {
+            final Triple<Graph<DirectedGraphNode>,
+                         DirectedGraphDoubleWeightFunction,
+                         GraphNodeCoordinates> data =
+                    Utilities.createRoadLikeDirectedGraphWithCoordinates(
+                            side, side, 0.9, 1.2, new Random(SEED));
+
+            graph = data.first;
+            f = data.second;
+        }
+    }
+
+    @Benchmark
+    public Object randomUnweightedGraph(final RandomGraphs state) {
+        return Utilities.createRandomDirectedUnweightedGraph(
+                state.nodes,
+                state.nodes * state.degree,
+                new Random(SEED));
+    }
+
+    @Benchmark
+    public Object randomGraphWithCoordinates(final RandomGraphs state) {
+        return Utilities.createRandomDirectedGraphWithCoordinates(
+                state.nodes,
+                state.nodes * state.degree,
+                1000.0,
+                1000.0,
+                1.2,
+                new Random(SEED));
+    }
+
+    @Benchmark
+    public Object roadLikeGraph(final Grids state) {
+        return Utilities.createRoadLikeDirectedGraphWithCoordinates(
+                state.side, state.side, 0.9, 1.2, new Random(SEED));
+    }
+
+    @Benchmark
+    public Object gridGraphWithObstacles(final Grids state) {
+        return Utilities.createGridGraphWithObstacles(
+                state.side, state.side, 0.2f, new Random(SEED));
+    }
+
+    @Benchmark
+    public Object compressedGraph(final Grids state) {
+        return CompressedDirectedGraph.freeze(state.graph, state.f);
+    }
+
+    @Benchmark
+    public Object contractionHierarchy(final Grids state) {
+        return ContractionHierarchy.build(state.graph, state.f);
+    }
+
+    @Benchmark
+    public Object landmarks(final Grids state) {
+        return new LandmarkHeuristicFunction<>(state.graph,
+                                               state.f,
+                                               PathFinders.LANDMARK_AMOUNT,
+                                               LandmarkSelection.AVOID,
+                                               new Random(SEED));
+    }
+}
@@ -0,0 +1,209 @@
+package net.coderodde.jgs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.jgs.model.ds.MinPriorityQueue;
+import net.coderodde.jgs.model.ds.support.BinomialHeap;
+import net.coderodde.jgs.model.ds.support.DaryHeap;
+import net.coderodde.jgs.model.ds.support.DoubleRadixHeap;
+import net.coderodde.jgs.model.ds.support.FibonacciHeap;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+import net.coderodde.jgs.model.ds.support.PairingHeap;
+import net.coderodde.jgs.model.ds.support.RadixHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks every {@link MinPriorityQueue} implementation and the
+ * indexed heap of the CSR path finders on the workloads of
+ * {@link HeapWorkload}. The heaps taking real keys and the heaps taking
+ * integer keys are benchmarked separately, since the radix heaps support only
+ * one of them.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeapBenchmark {
+
+    /**
+     * The seed of all the workloads.
+     */
+    private static final long SEED = 20141109L;
+
+    /**
+     * The heaps taking real priority keys.
+     */
+    @State(Scope.Benchmark)
+    public static class DoubleKeys {
+
+        @Param({"DaryHeap2",
+                "DaryHeap4",
+                "BinomialHeap",
+                "FibonacciHeap",
+                "PairingHeap",
+                "DoubleRadixHeap"})
+        public String heap;
+
+        @Param({"1000", "100000"})
+        public int size;
+
+        MinPriorityQueue<Integer, Double> queue;
+        HeapWorkload workload;
+        Double[] randomKeys;
+
+        @Setup
+        public void setUp() {
+            workload = new HeapWorkload(size, SEED);
+            randomKeys = workload.createRandomKeys(HeapWorkload.DOUBLE_KEYS,
+                                                   new Double[size]);
+            queue = createQueue(heap);
+        }
+
+        private static MinPriorityQueue<Integer, Double>
+            createQueue(final String name) {
+            if (name.equals("DoubleRadixHeap")) {
+                return new DoubleRadixHeap<>();
+            }
+
+            return createComparisonQueue(name);
+        }
+    }
+
+    /**
+     * The heaps taking integer priority keys.
+     */
+    @State(Scope.Benchmark)
+    public static class IntegerKeys {
+
+        @Param({"DaryHeap2",
+                "DaryHeap4",
+                "BinomialHeap",
+                "FibonacciHeap",
+                "PairingHeap",
+                "RadixHeap"})
+        public String heap;
+
+        @Param({"1000", "100000"})
+        public int size;
+
+        MinPriorityQueue<Integer, Integer> queue;
+        HeapWorkload workload;
+        Integer[] randomKeys;
+
+        @Setup
+        public void setUp() {
+            workload = new HeapWorkload(size, SEED);
+            randomKeys = workload.createRandomKeys(HeapWorkload.INTEGER_KEYS,
+                                                   new Integer[size]);
+            queue = createQueue(heap);
+        }
+
+        private static MinPriorityQueue<Integer, Integer>
+            createQueue(final String name) {
+            if (name.equals("RadixHeap")) {
+                return new RadixHeap<>();
+            }
+
+            return createComparisonQueue(name);
+        }
+    }
+
+    /**
+     * The indexed heap of the CSR path finders with varying degrees.
+     */
+    @State(Scope.Benchmark)
+    public static class IndexedKeys {
+
+        @Param({"2", "4", "8"})
+        public int degree;
+
+        @Param({"1000", "100000"})
+        public int size;
+
+        IndexedDoubleHeap heap;
+        HeapWorkload workload;
+
+        @Setup
+        public void setUp() {
+            workload = new HeapWorkload(size, SEED);
+            heap = new IndexedDoubleHeap(size, degree);
+        }
+    }
+
+    @Benchmark
+    public long randomDoubleKeys(final DoubleKeys state) {
+        return state.workload.runRandom(state.queue, state.randomKeys);
+    }
+
+    @Benchmark
+    public long monotoneDoubleKeys(final DoubleKeys state) {
+        return state.workload.runMonotone(state.queue,
+                                          HeapWorkload.DOUBLE_KEYS);
+    }
+
+    @Benchmark
+    public long randomIntegerKeys(final IntegerKeys state) {
+        return state.workload.runRandom(state.queue, state.randomKeys);
+    }
+
+    @Benchmark
+    public long monotoneIntegerKeys(final IntegerKeys state) {
+        return state.workload.runMonotone(state.queue,
+                                          HeapWorkload.INTEGER_KEYS);
+    }
+
+    @Benchmark
+    public long randomIndexedKeys(final IndexedKeys state) {
+        return state.workload.runRandom(state.heap);
+    }
+
+    @Benchmark
+    public long monotoneIndexedKeys(final IndexedKeys state) {
+        return state.workload.runMonotone(state.heap);
+    }
+
+    /**
+     * Creates a heap that works with any comparable priority keys.
+     *
+     * @param <P> the priority key type.
+     * @param name the name of the heap.
+     *
+     * @return a new heap.
+     */
+    private static <P extends Comparable<? super P>>
+        MinPriorityQueue<Integer, P> createComparisonQueue(final String name) {
+        switch (name) {
+            case "DaryHeap2":
+                return new DaryHeap<>(2);
+
+            case "DaryHeap4":
+                return new DaryHeap<>(4);
+
+            case "BinomialHeap":
+                return new BinomialHeap<>();
+
+            case "FibonacciHeap":
+                return new FibonacciHeap<>();
+
+            case "PairingHeap":
+                return new PairingHeap<>();
+
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown heap: " + name + ".");
+        }
+    }
+}
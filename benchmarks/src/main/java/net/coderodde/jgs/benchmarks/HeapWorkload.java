@@ -0,0 +1,287 @@
+package net.coderodde.jgs.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import net.coderodde.jgs.model.ds.MinPriorityQueue;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class holds the pregenerated operations of the heap benchmarks, so
+ * that every heap runs exactly the same sequence of operations.
+ * <p>
+ * The <b>random</b> workload adds all the elements with uniformly random keys
+ * and then extracts them all. The <b>monotone</b> workload imitates
+ * Dijkstra's algorithm: each extracted element is followed by
+ * {@link #FANOUT} operations that either add a new element or decrease the
+ * key of a queued one, and no key ever drops below the last extracted
+ * minimum.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+final class HeapWorkload {
+
+    /**
+     * The amount of operations following each extraction in the monotone
+     * workload.
+     */
+    static final int FANOUT = 4;
+
+    /**
+     * The upper bound of the random keys and the key increments.
+     */
+    private static final int MAX_KEY = 1000;
+
+    /**
+     * Maps real key values to the priority keys of a heap.
+     *
+     * @param <P> the priority key type.
+     */
+    interface KeyFactory<P> {
+
+        P key(final double value);
+    }
+
+    /**
+     * Produces real priority keys.
+     */
+    static final KeyFactory<Double> DOUBLE_KEYS = new KeyFactory<Double>() {
+
+        @Override
+        public Double key(final double value) {
+            return value;
+        }
+    };
+
+    /**
+     * Produces integer priority keys by truncating the values.
+     */
+    static final KeyFactory<Integer> INTEGER_KEYS = new KeyFactory<Integer>() {
+
+        @Override
+        public Integer key(final double value) {
+            return (int) value;
+        }
+    };
+
+    /**
+     * The elements, boxed once so that boxing is not measured.
+     */
+    private final Integer[] elements;
+
+    /**
+     * The keys of the random workload.
+     */
+    private final double[] randomKeys;
+
+    /**
+     * The key increments of the monotone workload, one per operation.
+     */
+    private final double[] deltas;
+
+    /**
+     * The elements whose keys the monotone workload tries to decrease, one
+     * per operation.
+     */
+    private final int[] picks;
+
+    /**
+     * The current keys of the elements in the monotone workload.
+     */
+    private final double[] keys;
+
+    /**
+     * Tells whether an element is queued in the monotone workload.
+     */
+    private final boolean[] queued;
+
+    /**
+     * Pregenerates the operations on <code>size</code> elements.
+     *
+     * @param size the amount of elements.
+     * @param seed the seed of the random number generator.
+     */
+    HeapWorkload(final int size, final long seed) {
+        final Random rnd = new Random(seed);
+
+        this.elements = new Integer[size];
+        this.randomKeys = new double[size];
+        this.deltas = new double[size * FANOUT];
+        this.picks = new int[size * FANOUT];
+        this.keys = new double[size];
+        this.queued = new boolean[size];
+
+        for (int i = 0; i < size; ++i) {
+            elements[i] = i;
+            randomKeys[i] = MAX_KEY * rnd.nextDouble();
+        }
+
+        for (int i = 0; i < deltas.length; ++i) {
+            deltas[i] = MAX_KEY * rnd.nextDouble();
+            picks[i] = rnd.nextInt(size);
+        }
+    }
+
+    /**
+     * Boxes the keys of the random workload into <code>array</code>, which
+     * must have room for a key per element.
+     *
+     * @param <P> the priority key type.
+     * @param factory the key factory.
+     * @param array the array to fill.
+     *
+     * @return <code>array</code>.
+     */
+    <P> P[] createRandomKeys(final KeyFactory<P> factory, final P[] array) {
+        for (int i = 0; i < randomKeys.length; ++i) {
+            array[i] = factory.key(randomKeys[i]);
+        }
+
+        return array;
+    }
+
+    /**
+     * Runs the random workload on <code>queue</code>.
+     *
+     * @param <P> the priority key type.
+     * @param queue the heap to use.
+     * @param boxedKeys the keys produced by {@link #createRandomKeys}.
+     *
+     * @return a checksum of the extraction order.
+     */
+    <P extends Comparable<? super P>> long
+        runRandom(final MinPriorityQueue<Integer, P> queue,
+                  final P[] boxedKeys) {
+        queue.clear();
+
+        for (int i = 0; i < elements.length; ++i) {
+            queue.add(elements[i], boxedKeys[i]);
+        }
+
+        long checksum = 0L;
+
+        while (!queue.isEmpty()) {
+            checksum = 31 * checksum + queue.extractMinimum();
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Runs the monotone workload on <code>queue</code>.
+     *
+     * @param <P> the priority key type.
+     * @param queue the heap to use.
+     * @param factory the key factory.
+     *
+     * @return a checksum of the extraction order.
+     */
+    <P extends Comparable<? super P>> long
+        runMonotone(final MinPriorityQueue<Integer, P> queue,
+                    final KeyFactory<P> factory) {
+        queue.clear();
+        Arrays.fill(queued, false);
+
+        keys[0] = 0.0;
+        queued[0] = true;
+        queue.add(elements[0], factory.key(0.0));
+
+        int next = 1;
+        int step = 0;
+        long checksum = 0L;
+
+        while (!queue.isEmpty()) {
+            final int min = queue.extractMinimum();
+            final double last = keys[min];
+            queued[min] = false;
+            checksum = 31 * checksum + min;
+
+            for (int i = 0; i < FANOUT; ++i, ++step) {
+                final double key = last + deltas[step];
+
+                if (next < elements.length) {
+                    keys[next] = key;
+                    queued[next] = true;
+                    queue.add(elements[next++], factory.key(key));
+                } else {
+                    final int pick = picks[step];
+
+                    if (queued[pick] && key < keys[pick]) {
+                        keys[pick] = key;
+                        queue.decreasePriority(elements[pick],
+                                               factory.key(key));
+                    }
+                }
+            }
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Runs the random workload on the indexed heap <code>heap</code>.
+     *
+     * @param heap the heap to use.
+     *
+     * @return a checksum of the extraction order.
+     */
+    long runRandom(final IndexedDoubleHeap heap) {
+        heap.clear();
+        heap.ensureCapacity(elements.length);
+
+        for (int i = 0; i < elements.length; ++i) {
+            heap.add(i, randomKeys[i]);
+        }
+
+        long checksum = 0L;
+
+        while (!heap.isEmpty()) {
+            checksum = 31 * checksum + heap.extractMinimum();
+        }
+
+        return checksum;
+    }
+
+    /**
+     * Runs the monotone workload on the indexed heap <code>heap</code>.
+     *
+     * @param heap the heap to use.
+     *
+     * @return a checksum of the extraction order.
+     */
+    long runMonotone(final IndexedDoubleHeap heap) {
+        heap.clear();
+        heap.ensureCapacity(elements.length);
+
+        keys[0] = 0.0;
+        heap.add(0, 0.0);
+
+        int next = 1;
+        int step = 0;
+        long checksum = 0L;
+
+        while (!heap.isEmpty()) {
+            final int min = heap.extractMinimum();
+            final double last = keys[min];
+            checksum = 31 * checksum + min;
+
+            for (int i = 0; i < FANOUT; ++i, ++step) {
+                final double key = last + deltas[step];
+
+                if (next < elements.length) {
+                    keys[next] = key;
+                    heap.add(next++, key);
+                } else {
+                    final int pick = picks[step];
+
+                    if (heap.contains(pick) && key < keys[pick]) {
+                        keys[pick] = key;
+                        heap.decreasePriority(pick, key);
+                    }
+                }
+            }
+        }
+
+        return checksum;
+    }
+}
@@ -0,0 +1,115 @@
+package net.coderodde.jgs.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the path finders on the random graphs of
+ * {@link Utilities#createRandomDirectedGraphWithCoordinates}, reporting the
+ * average time of a query between two random nodes. Contraction hierarchies
+ * are left to {@link RoadGraphBenchmark}, since contracting a random graph
+ * creates too many shortcuts to be of any use.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathFinderBenchmark {
+
+    /**
+     * The amount of queries per invocation.
+     */
+    static final int QUERIES = 100;
+
+    /**
+     * The seed of the graphs and the queries.
+     */
+    private static final long SEED = 20141109L;
+
+    @Param({"BreadthFirstSearch",
+            "BidirectionalBreadthFirstSearch",
+            "Dijkstra",
+            "BidirectionalDijkstra",
+            "AStar",
+            "BidirectionalAStar",
+            "DoubleDijkstra",
+            "DoubleAStar",
+            "IntegerDijkstra",
+            "IntegerAStar",
+            "CompressedDijkstra",
+            "CompressedBidirectionalDijkstra",
+            "Landmarks"})
+    public String finder;
+
+    @Param({"10000", "50000"})
+    public int nodes;
+
+    /**
+     * The average out-degree of the nodes.
+     */
+    @Param({"4", "8"})
+    public int degree;
+
+    private PathFinder<DirectedGraphNode, ?> pathFinder;
+    private DirectedGraphNode[] sources;
+    private DirectedGraphNode[] targets;
+
+    @Setup
+    public void setUp() {
+        final Random rnd = new Random(SEED);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        nodes, nodes * degree, 1000.0, 1000.0, 1.2, rnd);
+
+        pathFinder = PathFinders.create(finder,
+                                        data.first,
+                                        data.second,
+                                        data.third,
+                                        SEED);
+        sources = new DirectedGraphNode[QUERIES];
+        targets = new DirectedGraphNode[QUERIES];
+
+        for (int i = 0; i < QUERIES; ++i) {
+            sources[i] = data.first.get(rnd.nextInt(nodes));
+            targets[i] = data.first.get(rnd.nextInt(nodes));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int search() {
+        int totalSize = 0;
+
+        for (int i = 0; i < QUERIES; ++i) {
+            totalSize += pathFinder.search(sources[i], targets[i]).size();
+        }
+
+        return totalSize;
+    }
+}
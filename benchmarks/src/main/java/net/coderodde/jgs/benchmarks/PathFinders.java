@@ -0,0 +1,183 @@
+package net.coderodde.jgs.benchmarks;
+
+import java.util.Random;
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.support.AStarPathFinder;
+import net.coderodde.jgs.model.support.BidirectionalAStarPathFinder;
+import net.coderodde.jgs.model.support.BidirectionalBreadthFirstSearchPathFinder;
+import net.coderodde.jgs.model.support.BidirectionalDijkstraPathFinder;
+import net.coderodde.jgs.model.support.BreadthFirstSearchPathFinder;
+import net.coderodde.jgs.model.support.CompressedBidirectionalDijkstraPathFinder;
+import net.coderodde.jgs.model.support.CompressedDijkstraPathFinder;
+import net.coderodde.jgs.model.support.CompressedDirectedGraph;
+import net.coderodde.jgs.model.support.ConcurrentBidirectionalDijkstraPathFinder;
+import net.coderodde.jgs.model.support.ContractionHierarchiesPathFinder;
+import net.coderodde.jgs.model.support.ContractionHierarchy;
+import net.coderodde.jgs.model.support.DijkstraPathFinder;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphIntegerWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.DoubleAStarPathFinder;
+import net.coderodde.jgs.model.support.DoubleDijkstraPathFinder;
+import net.coderodde.jgs.model.support.DoubleWeight;
+import net.coderodde.jgs.model.support.EuclidianDoubleHeuristicFunction;
+import net.coderodde.jgs.model.support.IntegerAStarPathFinder;
+import net.coderodde.jgs.model.support.IntegerDijkstraPathFinder;
+import net.coderodde.jgs.model.support.LandmarkHeuristicFunction;
+import net.coderodde.jgs.model.support.LandmarkSelection;
+
+/**
+ * This class creates the path finders of the benchmarks by name. The finders
+ * over integer weights get the weights of the graph rounded up and the
+ * Euclidian distances rounded down, so that the heuristic stays admissible.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+final class PathFinders {
+
+    /**
+     * The amount of landmarks of the ALT heuristic.
+     */
+    static final int LANDMARK_AMOUNT = 16;
+
+    /**
+     * This class implements the Euclidian heuristic rounded down to an
+     * integer.
+     */
+    private static final class FlooredEuclidianHeuristicFunction
+    extends AbstractHeuristicFunction<DirectedGraphNode, Integer> {
+
+        private final GraphNodeCoordinates<DirectedGraphNode> coordinates;
+
+        FlooredEuclidianHeuristicFunction(
+                final GraphNodeCoordinates<DirectedGraphNode> coordinates) {
+            this.coordinates = coordinates;
+        }
+
+        @Override
+        public Integer evaluate(final DirectedGraphNode tail,
+                                final DirectedGraphNode head) {
+            return (int) coordinates.get(tail)
+                                    .distance(coordinates.get(head));
+        }
+    }
+
+    private PathFinders() {}
+
+    /**
+     * Creates the path finder called <code>name</code>. The names are those
+     * of the finder classes without the <code>PathFinder</code> suffix, plus
+     * <code>Landmarks</code> for A* with the ALT heuristic.
+     *
+     * @param name the name of the finder.
+     * @param graph the graph to search.
+     * @param f the weight function of the graph.
+     * @param coordinates the coordinates of the nodes.
+     * @param seed the seed for the landmark selection.
+     *
+     * @return a new path finder.
+     */
+    @SuppressWarnings("unchecked")
+    static PathFinder<DirectedGraphNode, ?>
+        create(final String name,
+               final Graph<DirectedGraphNode> graph,
+               final DirectedGraphDoubleWeightFunction f,
+               final GraphNodeCoordinates coordinates,
+               final long seed) {
+        final GraphNodeCoordinates<DirectedGraphNode> coords = coordinates;
+        final EuclidianDoubleHeuristicFunction<DirectedGraphNode> hf =
+                new EuclidianDoubleHeuristicFunction<>(coords);
+
+        switch (name) {
+            case "BreadthFirstSearch":
+                return new BreadthFirstSearchPathFinder<>();
+
+            case "BidirectionalBreadthFirstSearch":
+                return new BidirectionalBreadthFirstSearchPathFinder<>();
+
+            case "Dijkstra":
+                return new DijkstraPathFinder<>(f, new DoubleWeight());
+
+            case "BidirectionalDijkstra":
+                return new BidirectionalDijkstraPathFinder<>(
+                        f, new DoubleWeight());
+
+            case "AStar":
+                return new AStarPathFinder<>(f, hf, new DoubleWeight());
+
+            case "BidirectionalAStar":
+                return new BidirectionalAStarPathFinder<>(
+                        f, hf, new DoubleWeight());
+
+            case "DoubleDijkstra":
+                return new DoubleDijkstraPathFinder<>(f);
+
+            case "DoubleAStar":
+                return new DoubleAStarPathFinder<>(f, hf);
+
+            case "IntegerDijkstra":
+                return new IntegerDijkstraPathFinder<>(
+                        roundUp(graph, f));
+
+            case "IntegerAStar":
+                return new IntegerAStarPathFinder<>(
+                        roundUp(graph, f),
+                        new FlooredEuclidianHeuristicFunction(coords));
+
+            case "CompressedDijkstra":
+                return new CompressedDijkstraPathFinder(
+                        CompressedDirectedGraph.freeze(graph, f));
+
+            case "CompressedBidirectionalDijkstra":
+                return new CompressedBidirectionalDijkstraPathFinder(
+                        CompressedDirectedGraph.freeze(graph, f));
+
+            case "ConcurrentBidirectionalDijkstra":
+                return new ConcurrentBidirectionalDijkstraPathFinder(
+                        CompressedDirectedGraph.freeze(graph, f));
+
+            case "ContractionHierarchies":
+                return new ContractionHierarchiesPathFinder(
+                        ContractionHierarchy.build(graph, f));
+
+            case "Landmarks":
+                return new DoubleAStarPathFinder<>(
+                        f,
+                        new LandmarkHeuristicFunction<>(
+                                graph,
+                                f,
+                                LANDMARK_AMOUNT,
+                                LandmarkSelection.AVOID,
+                                new Random(seed)));
+
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown path finder: " + name + ".");
+        }
+    }
+
+    /**
+     * Creates the integer weight function with the weights of <code>f</code>
+     * rounded up.
+     */
+    private static DirectedGraphIntegerWeightFunction
+        roundUp(final Graph<DirectedGraphNode> graph,
+                final DirectedGraphDoubleWeightFunction f) {
+        final DirectedGraphIntegerWeightFunction result =
+                new DirectedGraphIntegerWeightFunction();
+
+        for (int i = 0; i < graph.size(); ++i) {
+            final DirectedGraphNode tail = graph.get(i);
+
+            for (final DirectedGraphNode head : tail) {
+                result.put(tail, head, (int) Math.ceil(f.get(tail, head)));
+            }
+        }
+
+        return result;
+    }
+}
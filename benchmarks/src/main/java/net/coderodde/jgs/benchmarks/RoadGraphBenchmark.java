@@ -0,0 +1,100 @@
+package net.coderodde.jgs.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the path finders for large weighted graphs on the
+ * road-like graphs of
+ * {@link Utilities#createRoadLikeDirectedGraphWithCoordinates}, which are
+ * what the speed-up techniques are made for. The preprocessing is done in the
+ * setup and is benchmarked by {@link GraphConstructionBenchmark}.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoadGraphBenchmark {
+
+    /**
+     * The seed of the graphs and the queries.
+     */
+    private static final long SEED = 20141109L;
+
+    @Param({"DoubleDijkstra",
+            "DoubleAStar",
+            "Landmarks",
+            "CompressedBidirectionalDijkstra",
+            "ConcurrentBidirectionalDijkstra",
+            "ContractionHierarchies"})
+    public String finder;
+
+    /**
+     * The width and the height of the grid.
+     */
+    @Param({"100", "200"})
+    public int side;
+
+    private PathFinder<DirectedGraphNode, ?> pathFinder;
+    private DirectedGraphNode[] sources;
+    private DirectedGraphNode[] targets;
+
+    @Setup
+    public void setUp() {
+        final Random rnd = new Random(SEED);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRoadLikeDirectedGraphWithCoordinates(
+                        side, side, 0.9, 1.2, rnd);
+
+        pathFinder = PathFinders.create(finder,
+                                        data.first,
+                                        data.second,
+                                        data.third,
+                                        SEED);
+        sources = new DirectedGraphNode[PathFinderBenchmark.QUERIES];
+        targets = new DirectedGraphNode[PathFinderBenchmark.QUERIES];
+
+        for (int i = 0; i < PathFinderBenchmark.QUERIES; ++i) {
+            sources[i] = data.first.get(rnd.nextInt(data.first.size()));
+            targets[i] = data.first.get(rnd.nextInt(data.first.size()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PathFinderBenchmark.QUERIES)
+    public int search() {
+        int totalSize = 0;
+
+        for (int i = 0; i < PathFinderBenchmark.QUERIES; ++i) {
+            totalSize += pathFinder.search(sources[i], targets[i]).size();
+        }
+
+        return totalSize;
+    }
+}
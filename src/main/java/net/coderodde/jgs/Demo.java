@@ -4,6 +4,7 @@ import net.coderodde.jgs.support.DecreaseKeySuite;
 import net.coderodde.jgs.support.DenseGraphShortestPathSuite;
 import net.coderodde.jgs.support.HeapDemoSuite;
 import net.coderodde.jgs.support.PuzzleGraphSearchSuite;
+import net.coderodde.jgs.support.RoadGraphShortestPathSuite;
 import net.coderodde.jgs.support.SparseGraphShortestPathSuite;
 import net.coderodde.jgs.support.UnweightedGraphSearchSuite;
 
@@ -14,6 +15,7 @@ public class Demo {
 //        new DecreaseKeySuite().run();
 //        new DenseGraphShortestPathSuite().run();
 //        new SparseGraphShortestPathSuite().run();
+//        new RoadGraphShortestPathSuite().run();
 //        new PuzzleGraphSearchSuite().run();
         new UnweightedGraphSearchSuite().run();
     }
@@ -99,6 +99,21 @@ public class Utilities {
             }
         }
         
+    /**
+     * Throws an <code>IllegalStateException</code> if <code>node</code> has
+     * no dense id, or namely, is not stored in a graph.
+     * 
+     * @param <T> the actual node type.
+     * @param node the node to check.
+     */
+    public static final <T extends AbstractNode<T>> 
+        void checkHasId(final T node) {
+        if (node.getId() < 0) {
+            throw new IllegalStateException(
+            "The node " + node + " is not stored in a graph.");
+        }
+    }
+        
     /**
      * Checks that <code>d</code> is not infinite and if it is, throws an 
      * exceptions with error message <code>errorMessage</code>.
@@ -343,7 +358,92 @@ public class Utilities {
          
         return new Triple<>(graph, f, coords);
     }
-    
+
+    /**
+     * Creates a road-like directed graph: the nodes are placed in the cells of
+     * a <code>width x height</code> grid at random positions within the
+     * cells, and each pair of horizontally or vertically adjacent nodes is
+     * connected in both directions with probability
+     * <code>connectivity</code>. Unlike the graphs produced by
+     * {@link #createRandomDirectedGraphWithCoordinates}, such graphs are
+     * sparse and almost planar, which is what the hierarchical speed-up
+     * techniques rely on.
+     *
+     * @param width the amount of grid columns.
+     * @param height the amount of grid rows.
+     * @param connectivity the probability of connecting two adjacent nodes.
+     * @param edgeFactor the factor by which the actual distance between two
+     * end nodes will be multiplied; must be at least 1.0.
+     * @param rnd the random number generator.
+     *
+     * @return a triple containing the graph, weight function and the map
+     * mapping the nodes to their respective coordinates.
+     */
+    public static final Triple<Graph<DirectedGraphNode>,
+                               DirectedGraphDoubleWeightFunction,
+                               GraphNodeCoordinates<DirectedGraphNode>>
+            createRoadLikeDirectedGraphWithCoordinates(
+                    final int width,
+                    final int height,
+                    final double connectivity,
+                    final double edgeFactor,
+                    final Random rnd) {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final GraphNodeCoordinates<DirectedGraphNode> coords =
+                new GraphNodeCoordinates<>();
+        final DirectedGraphDoubleWeightFunction f =
+          new DirectedGraphDoubleWeightFunction();
+
+        final DirectedGraphNode[][] nodeMatrix =
+                new DirectedGraphNode[height][width];
+
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                final DirectedGraphNode node = new DirectedGraphNode();
+                graph.addNode(node);
+                nodeMatrix[y][x] = node;
+                coords.put(node, new Point.Double(x + rnd.nextDouble(),
+                                                  y + rnd.nextDouble()));
+            }
+        }
+
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                final DirectedGraphNode a = nodeMatrix[y][x];
+
+                if (x + 1 < width && rnd.nextDouble() < connectivity) {
+                    connectBothWays(a, nodeMatrix[y][x + 1], f, coords,
+                                    edgeFactor);
+                }
+
+                if (y + 1 < height && rnd.nextDouble() < connectivity) {
+                    connectBothWays(a, nodeMatrix[y + 1][x], f, coords,
+                                    edgeFactor);
+                }
+            }
+        }
+
+        return new Triple<>(graph, f, coords);
+    }
+
+    /**
+     * Connects <code>a</code> and <code>b</code> in both directions with the
+     * weight proportional to their distance.
+     */
+    private static void connectBothWays(
+            final DirectedGraphNode a,
+            final DirectedGraphNode b,
+            final DirectedGraphDoubleWeightFunction f,
+            final GraphNodeCoordinates<DirectedGraphNode> coords,
+            final double edgeFactor) {
+        final double weight =
+                edgeFactor * coords.get(a).distance(coords.get(b));
+        a.connectTo(b);
+        b.connectTo(a);
+        f.put(a, b, weight);
+        f.put(b, a, weight);
+    }
+
     public static final PuzzleNode stepAway(final PuzzleNode from,
                                             int steps,
                                             final Random r) {
@@ -413,6 +513,7 @@ public class Utilities {
             for (int x = 0; x < width; ++x) {
                 final UndirectedGraphNode node = 
                         new UndirectedGraphNode();
+                grid.addNode(node);
                 nodeMatrix[y][x] = node;
             }
         }
@@ -0,0 +1,39 @@
+package net.coderodde.jgs.io;
+
+/**
+ * This interface receives the contents of a graph file as it is being read
+ * by {@link GraphImporter}. The nodes are identified by dense, zero-based
+ * indices.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public interface ArcSink {
+
+    /**
+     * Makes sure the graph has at least <code>count</code> nodes, that is,
+     * the nodes <tt>0, 1, ..., count - 1</tt>. Called with the node count
+     * declared by the file, if any, and before each arc.
+     *
+     * @param count the least amount of nodes.
+     */
+    public void ensureNodes(final int count);
+
+    /**
+     * Adds the arc from <code>tail</code> to <code>head</code>.
+     *
+     * @param tail the index of the tail node.
+     * @param head the index of the head node.
+     * @param weight the weight of the arc.
+     */
+    public void addArc(final int tail, final int head, final double weight);
+
+    /**
+     * Sets the coordinates of the node <code>node</code>.
+     *
+     * @param node the index of the node.
+     * @param x the x-coordinate.
+     * @param y the y-coordinate.
+     */
+    public void setCoordinates(final int node, final double x, final double y);
+}
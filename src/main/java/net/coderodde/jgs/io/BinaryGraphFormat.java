@@ -0,0 +1,289 @@
+package net.coderodde.jgs.io;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.support.CompressedDirectedGraph;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+
+/**
+ * This class writes graphs in the binary <b>jGS graph format</b>, which is
+ * read by {@link MappedGraph#map(File)}. A file holds the CSR arrays of a
+ * {@link CompressedDirectedGraph} and, optionally, the coordinates of the
+ * nodes, all in little-endian byte order:
+ * <pre>
+ * header:   int magic, int version, int flags, int nodes, int arcs, int 0
+ * forward:  int childOffsets[nodes + 1], int children[arcs], padding,
+ *           double childWeights[arcs]
+ * backward: int parentOffsets[nodes + 1], int parents[arcs], padding,
+ *           double parentWeights[arcs]
+ * optional: double x[nodes], double y[nodes]
+ * </pre>
+ * The padding aligns each <code>double</code> section to eight bytes. The
+ * coordinates are present if bit {@link #FLAG_COORDINATES} of the flags is
+ * set.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class BinaryGraphFormat {
+
+    /**
+     * The first four bytes of every file, "jGSg" in ASCII.
+     */
+    public static final int MAGIC = 0x6A475367;
+
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The flag telling that the file contains node coordinates.
+     */
+    public static final int FLAG_COORDINATES = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 24;
+
+    /**
+     * The size of the write buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinaryGraphFormat() {}
+
+    /**
+     * Writes <code>graph</code> to <code>file</code> without coordinates.
+     *
+     * @param file the file to write.
+     * @param graph the graph snapshot to write.
+     *
+     * @throws java.io.IOException if writing fails.
+     */
+    public static void write(final File file,
+                             final CompressedDirectedGraph graph)
+    throws IOException {
+        write(file, graph, null);
+    }
+
+    /**
+     * Writes <code>graph</code> and the coordinates of its nodes to
+     * <code>file</code>. The nodes with no coordinates are written with
+     * <code>NaN</code> coordinates.
+     *
+     * @param file the file to write.
+     * @param graph the graph snapshot to write.
+     * @param coordinates the coordinates of the nodes, or <code>null</code>.
+     *
+     * @throws java.io.IOException if writing fails.
+     */
+    public static void write(
+            final File file,
+            final CompressedDirectedGraph graph,
+            final GraphNodeCoordinates<DirectedGraphNode> coordinates)
+    throws IOException {
+        checkNotNull(file, "The file is null.");
+        checkNotNull(graph, "The graph snapshot is null.");
+
+        final int n = graph.size();
+        final int m = graph.edgeCount();
+
+        try (final FileOutputStream stream = new FileOutputStream(file);
+             final FileChannel channel = stream.getChannel()) {
+            final Writer writer = new Writer(channel);
+
+            writer.putHeader(coordinates == null ? 0 : FLAG_COORDINATES, n, m);
+
+            // The forward arcs.
+            for (int i = 0; i <= n; ++i) {
+                writer.putInt(graph.getChildOffset(i));
+            }
+
+            for (int arc = 0; arc < m; ++arc) {
+                writer.putInt(graph.getChild(arc));
+            }
+
+            writer.align();
+
+            for (int arc = 0; arc < m; ++arc) {
+                writer.putDouble(graph.getChildWeight(arc));
+            }
+
+            // The backward arcs.
+            for (int i = 0; i <= n; ++i) {
+                writer.putInt(graph.getParentOffset(i));
+            }
+
+            for (int arc = 0; arc < m; ++arc) {
+                writer.putInt(graph.getParent(arc));
+            }
+
+            writer.align();
+
+            for (int arc = 0; arc < m; ++arc) {
+                writer.putDouble(graph.getParentWeight(arc));
+            }
+
+            if (coordinates != null) {
+                for (int i = 0; i < n; ++i) {
+                    final Point2D.Double p = coordinates.get(graph.getNode(i));
+                    writer.putDouble(p == null ? Double.NaN : p.x);
+                }
+
+                for (int i = 0; i < n; ++i) {
+                    final Point2D.Double p = coordinates.get(graph.getNode(i));
+                    writer.putDouble(p == null ? Double.NaN : p.y);
+                }
+            }
+
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes a graph given as CSR arrays to <code>file</code>. The arrays
+     * follow the layout of {@link CompressedDirectedGraph}.
+     *
+     * @param file the file to write.
+     * @param n the amount of nodes.
+     * @param m the amount of arcs.
+     * @param childOffsets the offsets of the outgoing arcs.
+     * @param children the heads of the outgoing arcs.
+     * @param childWeights the weights of the outgoing arcs.
+     * @param parentOffsets the offsets of the incoming arcs.
+     * @param parents the tails of the incoming arcs.
+     * @param parentWeights the weights of the incoming arcs.
+     * @param xs the x-coordinates of the nodes, or <code>null</code>.
+     * @param ys the y-coordinates of the nodes, or <code>null</code>.
+     *
+     * @throws java.io.IOException if writing fails.
+     */
+    static void write(final File file,
+                      final int n,
+                      final int m,
+                      final int[] childOffsets,
+                      final int[] children,
+                      final double[] childWeights,
+                      final int[] parentOffsets,
+                      final int[] parents,
+                      final double[] parentWeights,
+                      final double[] xs,
+                      final double[] ys) throws IOException {
+        try (final FileOutputStream stream = new FileOutputStream(file);
+             final FileChannel channel = stream.getChannel()) {
+            final Writer writer = new Writer(channel);
+
+            writer.putHeader(xs == null ? 0 : FLAG_COORDINATES, n, m);
+            writer.putInts(childOffsets, n + 1);
+            writer.putInts(children, m);
+            writer.align();
+            writer.putDoubles(childWeights, m);
+            writer.putInts(parentOffsets, n + 1);
+            writer.putInts(parents, m);
+            writer.align();
+            writer.putDoubles(parentWeights, m);
+
+            if (xs != null) {
+                writer.putDoubles(xs, n);
+                writer.putDoubles(ys, n);
+            }
+
+            writer.flush();
+        }
+    }
+
+    /**
+     * Returns the amount of bytes taken by <code>count</code> integers,
+     * rounded up to a multiple of eight.
+     */
+    static long alignedIntBytes(final long count) {
+        return (4L * count + 7L) & ~7L;
+    }
+
+    /**
+     * This class buffers the values written to a channel.
+     */
+    private static final class Writer {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        Writer(final FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE)
+                                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void putHeader(final int flags, final int n, final int m)
+        throws IOException {
+            putInt(MAGIC);
+            putInt(VERSION);
+            putInt(flags);
+            putInt(n);
+            putInt(m);
+            putInt(0);
+        }
+
+        void putInts(final int[] values, final int count) throws IOException {
+            for (int i = 0; i < count; ++i) {
+                putInt(values[i]);
+            }
+        }
+
+        void putDoubles(final double[] values, final int count)
+        throws IOException {
+            for (int i = 0; i < count; ++i) {
+                putDouble(values[i]);
+            }
+        }
+
+        void putInt(final int value) throws IOException {
+            ensureRoom(4);
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        void putDouble(final double value) throws IOException {
+            ensureRoom(8);
+            buffer.putDouble(value);
+            position += 8;
+        }
+
+        /**
+         * Pads the output with zeros to a multiple of eight bytes.
+         */
+        void align() throws IOException {
+            while ((position & 7L) != 0L) {
+                ensureRoom(1);
+                buffer.put((byte) 0);
+                ++position;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            buffer.clear();
+        }
+
+        private void ensureRoom(final int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package net.coderodde.jgs.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import static net.coderodde.jgs.Utilities.checkNotBelow;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+
+/**
+ * This class collects the arcs read by {@link GraphImporter} into primitive
+ * arrays and writes them in the binary format of {@link BinaryGraphFormat},
+ * ready to be opened with {@link MappedGraph#map(File)}. No object is
+ * created per node or per arc, so that graphs with tens of millions of arcs
+ * can be converted on a modest heap. Parallel arcs are kept.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class CompactGraphBuilder implements ArcSink {
+
+    /**
+     * The initial capacity of the arc arrays.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The amount of nodes.
+     */
+    private int nodeCount;
+
+    /**
+     * The amount of arcs.
+     */
+    private int arcCount;
+
+    /**
+     * The tails of the arcs in the order they were added.
+     */
+    private int[] tails = new int[INITIAL_CAPACITY];
+
+    /**
+     * The heads of the arcs. Parallel to <code>tails</code>.
+     */
+    private int[] heads = new int[INITIAL_CAPACITY];
+
+    /**
+     * The weights of the arcs. Parallel to <code>tails</code>.
+     */
+    private double[] weights = new double[INITIAL_CAPACITY];
+
+    /**
+     * The x-coordinates of the nodes, or <code>null</code> if no node has
+     * coordinates.
+     */
+    private double[] xs;
+
+    /**
+     * The y-coordinates of the nodes, or <code>null</code> if no node has
+     * coordinates.
+     */
+    private double[] ys;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param count the least amount of nodes.
+     */
+    @Override
+    public void ensureNodes(final int count) {
+        checkNotBelow(count, 0, "The node count is negative: " + count);
+        nodeCount = Math.max(nodeCount, count);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param tail the index of the tail node.
+     * @param head the index of the head node.
+     * @param weight the weight of the arc.
+     */
+    @Override
+    public void addArc(final int tail, final int head, final double weight) {
+        checkIndex(tail);
+        checkIndex(head);
+
+        if (arcCount == tails.length) {
+            final int capacity = grow(arcCount);
+            tails = Arrays.copyOf(tails, capacity);
+            heads = Arrays.copyOf(heads, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+
+        tails[arcCount] = tail;
+        heads[arcCount] = head;
+        weights[arcCount] = weight;
+        ++arcCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param node the index of the node.
+     * @param x the x-coordinate.
+     * @param y the y-coordinate.
+     */
+    @Override
+    public void setCoordinates(final int node, final double x, final double y) {
+        checkIndex(node);
+
+        if (xs == null || xs.length < nodeCount) {
+            final int oldLength = xs == null ? 0 : xs.length;
+            final int capacity = Math.max(nodeCount, grow(oldLength));
+
+            xs = xs == null ? new double[capacity]
+                            : Arrays.copyOf(xs, capacity);
+            ys = ys == null ? new double[capacity]
+                            : Arrays.copyOf(ys, capacity);
+            Arrays.fill(xs, oldLength, capacity, Double.NaN);
+            Arrays.fill(ys, oldLength, capacity, Double.NaN);
+        }
+
+        xs[node] = x;
+        ys[node] = y;
+    }
+
+    /**
+     * Returns the amount of nodes read so far.
+     *
+     * @return the amount of nodes.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the amount of arcs read so far.
+     *
+     * @return the amount of arcs.
+     */
+    public int getArcCount() {
+        return arcCount;
+    }
+
+    /**
+     * Writes the graph read so far to <code>file</code>.
+     *
+     * @param file the file to write.
+     *
+     * @throws java.io.IOException if writing fails.
+     */
+    public void write(final File file) throws IOException {
+        checkNotNull(file, "The file is null.");
+
+        final int[] childOffsets = new int[nodeCount + 1];
+        final int[] children = new int[arcCount];
+        final double[] childWeights = new double[arcCount];
+        final int[] parentOffsets = new int[nodeCount + 1];
+        final int[] parents = new int[arcCount];
+        final double[] parentWeights = new double[arcCount];
+
+        group(tails, heads, childOffsets, children, childWeights);
+        group(heads, tails, parentOffsets, parents, parentWeights);
+
+        BinaryGraphFormat.write(file,
+                                nodeCount,
+                                arcCount,
+                                childOffsets,
+                                children,
+                                childWeights,
+                                parentOffsets,
+                                parents,
+                                parentWeights,
+                                xs == null ? null : fit(xs),
+                                ys == null ? null : fit(ys));
+    }
+
+    /**
+     * Groups the arcs by <code>keys</code> with a counting sort, storing the
+     * other endpoints of the arcs in <code>values</code>.
+     */
+    private void group(final int[] keys,
+                       final int[] others,
+                       final int[] offsets,
+                       final int[] values,
+                       final double[] valueWeights) {
+        for (int arc = 0; arc < arcCount; ++arc) {
+            ++offsets[keys[arc] + 1];
+        }
+
+        for (int i = 0; i < nodeCount; ++i) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        final int[] next = Arrays.copyOf(offsets, nodeCount);
+
+        for (int arc = 0; arc < arcCount; ++arc) {
+            final int slot = next[keys[arc]]++;
+            values[slot] = others[arc];
+            valueWeights[slot] = weights[arc];
+        }
+    }
+
+    /**
+     * Returns <code>coordinates</code> resized to the node count, padded with
+     * <code>NaN</code>.
+     */
+    private double[] fit(final double[] coordinates) {
+        final int oldLength = Math.min(coordinates.length, nodeCount);
+        final double[] result = Arrays.copyOf(coordinates, nodeCount);
+        Arrays.fill(result, oldLength, nodeCount, Double.NaN);
+        return result;
+    }
+
+    private void checkIndex(final int node) {
+        if (node < 0 || node >= nodeCount) {
+            throw new IndexOutOfBoundsException(
+                    "The node index " + node + " is out of range [0, " +
+                    nodeCount + ").");
+        }
+    }
+
+    /**
+     * Returns the capacity to grow an array of <code>length</code> elements
+     * to.
+     */
+    private static int grow(final int length) {
+        return (int) Math.min(Integer.MAX_VALUE - 8,
+                              Math.max(INITIAL_CAPACITY, 2L * length));
+    }
+}
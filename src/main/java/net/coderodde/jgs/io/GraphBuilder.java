@@ -0,0 +1,119 @@
+package net.coderodde.jgs.io;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotBelow;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+
+/**
+ * This class builds a {@link Graph} of {@link DirectedGraphNode}s, its weight
+ * function and the node coordinates from the arcs read by
+ * {@link GraphImporter}. The node with index <tt>i</tt> is
+ * <code>getGraph().get(i)</code>. Of parallel arcs, the lightest one is kept.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class GraphBuilder implements ArcSink {
+
+    /**
+     * The graph being built.
+     */
+    private final Graph<DirectedGraphNode> graph = new Graph<>();
+
+    /**
+     * The weight function of the graph.
+     */
+    private final DirectedGraphDoubleWeightFunction weightFunction =
+            new DirectedGraphDoubleWeightFunction();
+
+    /**
+     * The coordinates of the nodes.
+     */
+    private final GraphNodeCoordinates<DirectedGraphNode> coordinates =
+            new GraphNodeCoordinates<>();
+
+    /**
+     * Maps each node index to the node.
+     */
+    private final List<DirectedGraphNode> nodes = new ArrayList<>();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param count the least amount of nodes.
+     */
+    @Override
+    public void ensureNodes(final int count) {
+        checkNotBelow(count, 0, "The node count is negative: " + count);
+
+        while (nodes.size() < count) {
+            final DirectedGraphNode node = new DirectedGraphNode();
+            graph.addNode(node);
+            nodes.add(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param tail the index of the tail node.
+     * @param head the index of the head node.
+     * @param weight the weight of the arc.
+     */
+    @Override
+    public void addArc(final int tail, final int head, final double weight) {
+        final DirectedGraphNode from = nodes.get(tail);
+        final DirectedGraphNode to = nodes.get(head);
+
+        if (from.isConnectedTo(to) && weightFunction.get(from, to) <= weight) {
+            return;
+        }
+
+        from.connectTo(to);
+        weightFunction.put(from, to, weight);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param node the index of the node.
+     * @param x the x-coordinate.
+     * @param y the y-coordinate.
+     */
+    @Override
+    public void setCoordinates(final int node, final double x, final double y) {
+        coordinates.put(nodes.get(node), new Point2D.Double(x, y));
+    }
+
+    /**
+     * Returns the graph built so far.
+     *
+     * @return the graph.
+     */
+    public Graph<DirectedGraphNode> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the weight function of the graph built so far.
+     *
+     * @return the weight function.
+     */
+    public DirectedGraphDoubleWeightFunction getWeightFunction() {
+        return weightFunction;
+    }
+
+    /**
+     * Returns the coordinates of the nodes read so far.
+     *
+     * @return the node coordinates.
+     */
+    public GraphNodeCoordinates<DirectedGraphNode> getCoordinates() {
+        return coordinates;
+    }
+}
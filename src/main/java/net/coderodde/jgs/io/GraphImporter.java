@@ -0,0 +1,241 @@
+package net.coderodde.jgs.io;
+
+import java.io.File;
+import java.io.IOException;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+
+/**
+ * This class reads graphs from text files. The files are streamed through a
+ * fixed-size buffer and the arcs are handed to an {@link ArcSink} as soon as
+ * they are parsed, so the text is never held in memory. Pass a
+ * {@link GraphBuilder} to obtain a {@link net.coderodde.jgs.model.Graph}, or
+ * a {@link CompactGraphBuilder} to convert large graphs into the binary
+ * format of {@link BinaryGraphFormat}.
+ * <p>
+ * The supported formats are:
+ * <ul>
+ * <li><b>edge lists</b>: one arc per line, <tt>tail head [weight]</tt>,
+ *     with zero-based node indices and the weight defaulting to one;
+ *     the lines starting with <tt>#</tt> or <tt>%</tt> are comments,</li>
+ * <li><b>CSV</b>: as edge lists, but with comma-separated fields and an
+ *     optional header line,</li>
+ * <li><b>DIMACS</b>: the <tt>.gr</tt> graph files and the <tt>.co</tt>
+ *     coordinate files of the 9th DIMACS implementation challenge, whose
+ *     node ids start from one.</li>
+ * </ul>
+ * A malformed line raises an {@link IOException} naming the file and line.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class GraphImporter {
+
+    private GraphImporter() {}
+
+    /**
+     * Reads the edge list file <code>file</code> into <code>sink</code>.
+     *
+     * @param file the file to read.
+     * @param sink the receiver of the arcs.
+     *
+     * @throws java.io.IOException if reading fails or the file is malformed.
+     */
+    public static void readEdgeList(final File file, final ArcSink sink)
+    throws IOException {
+        checkNotNull(file, "The file is null.");
+        checkNotNull(sink, "The arc sink is null.");
+
+        try (final TokenReader reader = new TokenReader(file, false)) {
+            readArcs(reader, sink, false);
+        }
+    }
+
+    /**
+     * Reads the CSV file <code>file</code> into <code>sink</code>. If the
+     * first field of the first line is not an integer, the line is taken for
+     * a header and skipped.
+     *
+     * @param file the file to read.
+     * @param sink the receiver of the arcs.
+     *
+     * @throws java.io.IOException if reading fails or the file is malformed.
+     */
+    public static void readCsv(final File file, final ArcSink sink)
+    throws IOException {
+        checkNotNull(file, "The file is null.");
+        checkNotNull(sink, "The arc sink is null.");
+
+        try (final TokenReader reader = new TokenReader(file, true)) {
+            readArcs(reader, sink, true);
+        }
+    }
+
+    /**
+     * Reads the DIMACS graph file <code>graphFile</code> and, if not
+     * <code>null</code>, the DIMACS coordinate file
+     * <code>coordinateFile</code> into <code>sink</code>. The DIMACS node
+     * <tt>i</tt> becomes the node index <tt>i - 1</tt>.
+     *
+     * @param graphFile the <tt>.gr</tt> file to read.
+     * @param coordinateFile the <tt>.co</tt> file to read, or
+     * <code>null</code>.
+     * @param sink the receiver of the arcs.
+     *
+     * @throws java.io.IOException if reading fails or a file is malformed.
+     */
+    public static void readDimacs(final File graphFile,
+                                  final File coordinateFile,
+                                  final ArcSink sink) throws IOException {
+        checkNotNull(graphFile, "The graph file is null.");
+        checkNotNull(sink, "The arc sink is null.");
+
+        try (final TokenReader reader = new TokenReader(graphFile, false)) {
+            readDimacsGraph(reader, sink);
+        }
+
+        if (coordinateFile != null) {
+            try (final TokenReader reader =
+                    new TokenReader(coordinateFile, false)) {
+                readDimacsCoordinates(reader, sink);
+            }
+        }
+    }
+
+    private static void readArcs(final TokenReader reader,
+                                 final ArcSink sink,
+                                 final boolean mayHaveHeader)
+    throws IOException {
+        boolean firstLine = true;
+
+        while (reader.nextLine()) {
+            if (!reader.nextToken()) {
+                firstLine = false;
+                continue;
+            }
+
+            final int c = reader.firstCharacter();
+
+            if (c == '#' || c == '%') {
+                continue;
+            }
+
+            if (firstLine && mayHaveHeader && !reader.tokenIsInteger()) {
+                firstLine = false;
+                continue;
+            }
+
+            firstLine = false;
+
+            final int tail = reader.parseInt("tail");
+            final int head = reader.nextInt("head");
+            final double weight = reader.nextToken() ?
+                                  reader.parseDouble("weight") :
+                                  1.0;
+
+            checkWeight(reader, weight);
+            sink.ensureNodes(Math.max(tail, head) + 1);
+            sink.addArc(tail, head, weight);
+        }
+    }
+
+    private static void readDimacsGraph(final TokenReader reader,
+                                        final ArcSink sink)
+    throws IOException {
+        int nodeCount = -1;
+
+        while (reader.nextLine()) {
+            if (!reader.nextToken()) {
+                continue;
+            }
+
+            if (reader.tokenIs('p')) {
+                if (!reader.nextToken() || !reader.getToken().equals("sp")) {
+                    throw reader.error("Expected a \"p sp\" line");
+                }
+
+                nodeCount = reader.nextInt("node count");
+                reader.nextInt("arc count");
+                sink.ensureNodes(nodeCount);
+            } else if (reader.tokenIs('a')) {
+                if (nodeCount < 0) {
+                    throw reader.error("An arc before the problem line");
+                }
+
+                final int tail = checkDimacsNode(reader,
+                                                 reader.nextInt("tail"),
+                                                 nodeCount);
+                final int head = checkDimacsNode(reader,
+                                                 reader.nextInt("head"),
+                                                 nodeCount);
+                final double weight = reader.nextDouble("weight");
+
+                checkWeight(reader, weight);
+                sink.addArc(tail, head, weight);
+            } else if (!reader.tokenIs('c')) {
+                throw reader.error("Unknown line type \"" +
+                                   reader.getToken() + "\"");
+            }
+        }
+    }
+
+    private static void readDimacsCoordinates(final TokenReader reader,
+                                              final ArcSink sink)
+    throws IOException {
+        int nodeCount = -1;
+
+        while (reader.nextLine()) {
+            if (!reader.nextToken()) {
+                continue;
+            }
+
+            if (reader.tokenIs('p')) {
+                // p aux sp co <node count>
+                for (int i = 0; i < 3; ++i) {
+                    if (!reader.nextToken()) {
+                        throw reader.error("Truncated problem line");
+                    }
+                }
+
+                nodeCount = reader.nextInt("node count");
+                sink.ensureNodes(nodeCount);
+            } else if (reader.tokenIs('v')) {
+                if (nodeCount < 0) {
+                    throw reader.error("A node before the problem line");
+                }
+
+                final int node = checkDimacsNode(reader,
+                                                 reader.nextInt("node"),
+                                                 nodeCount);
+                final double x = reader.nextDouble("x-coordinate");
+                final double y = reader.nextDouble("y-coordinate");
+
+                sink.setCoordinates(node, x, y);
+            } else if (!reader.tokenIs('c')) {
+                throw reader.error("Unknown line type \"" +
+                                   reader.getToken() + "\"");
+            }
+        }
+    }
+
+    /**
+     * Converts the one-based DIMACS node id <code>id</code> to a node index.
+     */
+    private static int checkDimacsNode(final TokenReader reader,
+                                       final int id,
+                                       final int nodeCount)
+    throws IOException {
+        if (id < 1 || id > nodeCount) {
+            throw reader.error("Node id " + id + " out of range [1, " +
+                               nodeCount + "]");
+        }
+
+        return id - 1;
+    }
+
+    private static void checkWeight(final TokenReader reader,
+                                    final double weight) throws IOException {
+        if (Double.isNaN(weight) || Double.isInfinite(weight)) {
+            throw reader.error("Bad weight " + weight);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package net.coderodde.jgs.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.support.CompressedGraph;
+
+/**
+ * This class is a read-only view of a graph file written by
+ * {@link BinaryGraphFormat}. The sections of the file are memory-mapped, so
+ * that opening a graph costs no parsing and no per-node objects: the nodes
+ * are the dense indices <tt>0, 1, ..., size() - 1</tt> and the arcs are read
+ * straight from the page cache. The layout is the one of
+ * {@link net.coderodde.jgs.model.support.CompressedDirectedGraph}; the
+ * outgoing arcs of the node <tt>i</tt> are the arcs from
+ * <code>getChildOffset(i)</code> to <code>getChildOffset(i + 1) - 1</code>.
+ * Being a {@link CompressedGraph}, a mapped graph is searched by node index
+ * with the CSR finders, such as
+ * {@link net.coderodde.jgs.model.support.CompressedDijkstraPathFinder}.
+ * <p>
+ * Each section of the file may be at most 2 GB in size.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class MappedGraph implements CompressedGraph {
+
+    /**
+     * The amount of nodes.
+     */
+    private final int size;
+
+    /**
+     * The amount of arcs.
+     */
+    private final int edgeCount;
+
+    private final IntBuffer childOffsets;
+    private final IntBuffer children;
+    private final DoubleBuffer childWeights;
+    private final IntBuffer parentOffsets;
+    private final IntBuffer parents;
+    private final DoubleBuffer parentWeights;
+
+    /**
+     * The x-coordinates of the nodes, or <code>null</code>.
+     */
+    private final DoubleBuffer xs;
+
+    /**
+     * The y-coordinates of the nodes, or <code>null</code>.
+     */
+    private final DoubleBuffer ys;
+
+    private MappedGraph(final int size,
+                        final int edgeCount,
+                        final IntBuffer[] ints,
+                        final DoubleBuffer[] doubles) {
+        this.size = size;
+        this.edgeCount = edgeCount;
+        this.childOffsets = ints[0];
+        this.children = ints[1];
+        this.parentOffsets = ints[2];
+        this.parents = ints[3];
+        this.childWeights = doubles[0];
+        this.parentWeights = doubles[1];
+        this.xs = doubles[2];
+        this.ys = doubles[3];
+    }
+
+    /**
+     * Maps the graph file <code>file</code> into memory. The file is closed
+     * before this method returns; the mapping stays valid until the returned
+     * object is garbage collected.
+     *
+     * @param file the file to map.
+     *
+     * @return a read-only view of the graph.
+     *
+     * @throws java.io.IOException if the file cannot be read or is not a
+     * valid graph file.
+     */
+    public static MappedGraph map(final File file) throws IOException {
+        checkNotNull(file, "The file is null.");
+
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r");
+             final FileChannel channel = raf.getChannel()) {
+            final long fileSize = channel.size();
+
+            if (fileSize < BinaryGraphFormat.HEADER_SIZE) {
+                throw new IOException(
+                        "The file " + file + " is too short to be a graph " +
+                        "file.");
+            }
+
+            final IntBuffer header =
+                    map(channel, 0L, BinaryGraphFormat.HEADER_SIZE)
+                    .asIntBuffer();
+
+            if (header.get(0) != BinaryGraphFormat.MAGIC) {
+                throw new IOException(
+                        "The file " + file + " is not a graph file.");
+            }
+
+            if (header.get(1) != BinaryGraphFormat.VERSION) {
+                throw new IOException(
+                        "Unsupported graph file version: " + header.get(1) +
+                        ".");
+            }
+
+            final boolean hasCoordinates =
+                    (header.get(2) & BinaryGraphFormat.FLAG_COORDINATES) != 0;
+            final int n = header.get(3);
+            final int m = header.get(4);
+
+            if (n < 0 || m < 0) {
+                throw new IOException(
+                        "Corrupt graph file header: " + n + " nodes, " +
+                        m + " arcs.");
+            }
+
+            final long intBytes =
+                    BinaryGraphFormat.alignedIntBytes(n + 1L + m);
+            final long doubleBytes = 8L * m;
+            final long expectedSize = BinaryGraphFormat.HEADER_SIZE +
+                                      2L * (intBytes + doubleBytes) +
+                                      (hasCoordinates ? 16L * n : 0L);
+
+            if (fileSize != expectedSize) {
+                throw new IOException(
+                        "The file " + file + " has " + fileSize + " bytes, " +
+                        "expected " + expectedSize + ".");
+            }
+
+            final IntBuffer[] ints = new IntBuffer[4];
+            final DoubleBuffer[] doubles = new DoubleBuffer[4];
+            long position = BinaryGraphFormat.HEADER_SIZE;
+
+            for (int direction = 0; direction < 2; ++direction) {
+                ints[2 * direction] =
+                        map(channel, position, 4L * (n + 1)).asIntBuffer();
+                ints[2 * direction + 1] =
+                        map(channel, position + 4L * (n + 1), 4L * m)
+                        .asIntBuffer();
+                position += intBytes;
+                doubles[direction] =
+                        map(channel, position, doubleBytes).asDoubleBuffer();
+                position += doubleBytes;
+            }
+
+            if (hasCoordinates) {
+                doubles[2] = map(channel, position, 8L * n).asDoubleBuffer();
+                doubles[3] = map(channel, position + 8L * n, 8L * n)
+                             .asDoubleBuffer();
+            }
+
+            return new MappedGraph(n, m, ints, doubles);
+        }
+    }
+
+    /**
+     * Returns the amount of nodes in this graph.
+     *
+     * @return the amount of nodes.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the amount of arcs in this graph.
+     *
+     * @return the amount of arcs.
+     */
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the offset of the first outgoing arc of the node
+     * <code>index</code>. The outgoing arcs of the node end right before
+     * <code>getChildOffset(index + 1)</code>.
+     *
+     * @param index the index of the node.
+     *
+     * @return the offset of the first outgoing arc.
+     */
+    @Override
+    public int getChildOffset(final int index) {
+        return childOffsets.get(index);
+    }
+
+    /**
+     * Returns the head of the outgoing arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the index of the head node.
+     */
+    @Override
+    public int getChild(final int arc) {
+        return children.get(arc);
+    }
+
+    /**
+     * Returns the weight of the outgoing arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the weight of the arc.
+     */
+    @Override
+    public double getChildWeight(final int arc) {
+        return childWeights.get(arc);
+    }
+
+    /**
+     * Returns the offset of the first incoming arc of the node
+     * <code>index</code>. The incoming arcs of the node end right before
+     * <code>getParentOffset(index + 1)</code>.
+     *
+     * @param index the index of the node.
+     *
+     * @return the offset of the first incoming arc.
+     */
+    @Override
+    public int getParentOffset(final int index) {
+        return parentOffsets.get(index);
+    }
+
+    /**
+     * Returns the tail of the incoming arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the index of the tail node.
+     */
+    @Override
+    public int getParent(final int arc) {
+        return parents.get(arc);
+    }
+
+    /**
+     * Returns the weight of the incoming arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the weight of the arc.
+     */
+    @Override
+    public double getParentWeight(final int arc) {
+        return parentWeights.get(arc);
+    }
+
+    /**
+     * Tells whether the file contains the coordinates of the nodes.
+     *
+     * @return <code>true</code> if the coordinates are present.
+     */
+    public boolean hasCoordinates() {
+        return xs != null;
+    }
+
+    /**
+     * Returns the x-coordinate of the node <code>index</code>, or
+     * <code>NaN</code> if the node had no coordinates when written.
+     *
+     * @param index the index of the node.
+     *
+     * @return the x-coordinate.
+     *
+     * @throws IllegalStateException if the file has no coordinates.
+     */
+    public double getX(final int index) {
+        checkHasCoordinates();
+        return xs.get(index);
+    }
+
+    /**
+     * Returns the y-coordinate of the node <code>index</code>, or
+     * <code>NaN</code> if the node had no coordinates when written.
+     *
+     * @param index the index of the node.
+     *
+     * @return the y-coordinate.
+     *
+     * @throws IllegalStateException if the file has no coordinates.
+     */
+    public double getY(final int index) {
+        checkHasCoordinates();
+        return ys.get(index);
+    }
+
+    private void checkHasCoordinates() {
+        if (xs == null) {
+            throw new IllegalStateException(
+                    "The graph file contains no coordinates.");
+        }
+    }
+
+    /**
+     * Maps <code>length</code> bytes of <code>channel</code> starting at
+     * <code>position</code>.
+     */
+    private static ByteBuffer map(final FileChannel channel,
+                                  final long position,
+                                  final long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(
+                    "A graph file section of " + length + " bytes is too " +
+                    "large to be mapped.");
+        }
+
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length)
+                      .order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
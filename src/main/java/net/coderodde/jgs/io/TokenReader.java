@@ -0,0 +1,314 @@
+package net.coderodde.jgs.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class splits an ASCII text read from a channel into lines and tokens.
+ * The text is read through a fixed-size buffer, so that the memory used does
+ * not depend on the size of the input. The integer tokens are parsed directly
+ * from the bytes; only the other tokens are turned into strings.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+final class TokenReader implements Closeable {
+
+    /**
+     * The size of the read buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The longest token accepted.
+     */
+    private static final int MAXIMUM_TOKEN_LENGTH = 1024;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * The name of the input for error messages.
+     */
+    private final String name;
+
+    /**
+     * Tells whether commas separate the tokens in addition to whitespace.
+     */
+    private final boolean commaSeparated;
+
+    /**
+     * The bytes of the last token read.
+     */
+    private final byte[] token = new byte[MAXIMUM_TOKEN_LENGTH];
+
+    /**
+     * The length of the last token read.
+     */
+    private int tokenLength;
+
+    /**
+     * The number of the current line, starting from one.
+     */
+    private int lineNumber;
+
+    /**
+     * Set when the end of the current line has been consumed.
+     */
+    private boolean endOfLine = true;
+
+    /**
+     * Set when the channel is exhausted.
+     */
+    private boolean endOfInput;
+
+    TokenReader(final File file, final boolean commaSeparated)
+    throws IOException {
+        this(FileChannel.open(file.toPath(), StandardOpenOption.READ),
+             file.getPath(),
+             commaSeparated);
+    }
+
+    TokenReader(final ReadableByteChannel channel,
+                final String name,
+                final boolean commaSeparated) {
+        this.channel = channel;
+        this.name = name;
+        this.commaSeparated = commaSeparated;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+    /**
+     * Skips the rest of the current line and moves to the next one.
+     *
+     * @return <code>false</code> if there are no more lines.
+     */
+    boolean nextLine() throws IOException {
+        while (!endOfLine) {
+            final int b = read();
+
+            if (b == -1 || b == '\n') {
+                endOfLine = true;
+            }
+        }
+
+        if (peek() == -1) {
+            return false;
+        }
+
+        endOfLine = false;
+        ++lineNumber;
+        return true;
+    }
+
+    /**
+     * Reads the next token of the current line.
+     *
+     * @return <code>false</code> if the current line has no more tokens.
+     */
+    boolean nextToken() throws IOException {
+        tokenLength = 0;
+
+        if (endOfLine) {
+            return false;
+        }
+
+        int b = read();
+
+        while (isSeparator(b)) {
+            b = read();
+        }
+
+        if (b == -1 || b == '\n') {
+            endOfLine = true;
+            return false;
+        }
+
+        while (b != -1 && b != '\n' && !isSeparator(b)) {
+            if (tokenLength == MAXIMUM_TOKEN_LENGTH) {
+                throw error("Token too long");
+            }
+
+            token[tokenLength++] = (byte) b;
+            b = read();
+        }
+
+        if (b == -1 || b == '\n') {
+            endOfLine = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Tells whether the last token read is the single character
+     * <code>c</code>.
+     */
+    boolean tokenIs(final char c) {
+        return tokenLength == 1 && token[0] == c;
+    }
+
+    /**
+     * Returns the first character of the last token read, or <tt>-1</tt> if
+     * there is no token.
+     */
+    int firstCharacter() {
+        return tokenLength == 0 ? -1 : token[0];
+    }
+
+    /**
+     * Returns the last token read.
+     */
+    String getToken() {
+        return new String(token, 0, tokenLength, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reads the next token as a non-negative integer.
+     *
+     * @param what the name of the value for error messages.
+     */
+    int nextInt(final String what) throws IOException {
+        if (!nextToken()) {
+            throw error("Missing " + what);
+        }
+
+        return parseInt(what);
+    }
+
+    /**
+     * Parses the last token read as a non-negative integer.
+     *
+     * @param what the name of the value for error messages.
+     */
+    int parseInt(final String what) throws IOException {
+        if (tokenLength == 0 || tokenLength > 10) {
+            throw error("Bad " + what + " \"" + getToken() + "\"");
+        }
+
+        long value = 0L;
+
+        for (int i = 0; i < tokenLength; ++i) {
+            final int digit = token[i] - '0';
+
+            if (digit < 0 || digit > 9) {
+                throw error("Bad " + what + " \"" + getToken() + "\"");
+            }
+
+            value = 10L * value + digit;
+        }
+
+        if (value > Integer.MAX_VALUE) {
+            throw error("Too large " + what + " \"" + getToken() + "\"");
+        }
+
+        return (int) value;
+    }
+
+    /**
+     * Reads the next token as a double.
+     *
+     * @param what the name of the value for error messages.
+     */
+    double nextDouble(final String what) throws IOException {
+        if (!nextToken()) {
+            throw error("Missing " + what);
+        }
+
+        return parseDouble(what);
+    }
+
+    /**
+     * Parses the last token read as a double.
+     *
+     * @param what the name of the value for error messages.
+     */
+    double parseDouble(final String what) throws IOException {
+        try {
+            return Double.parseDouble(getToken());
+        } catch (final NumberFormatException ex) {
+            throw error("Bad " + what + " \"" + getToken() + "\"");
+        }
+    }
+
+    /**
+     * Tells whether the last token read is a non-negative integer.
+     */
+    boolean tokenIsInteger() {
+        if (tokenLength == 0) {
+            return false;
+        }
+
+        for (int i = 0; i < tokenLength; ++i) {
+            if (token[i] < '0' || token[i] > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns an exception describing a syntax error on the current line.
+     */
+    IOException error(final String message) {
+        return new IOException(
+                message + " at " + name + ":" + lineNumber + ".");
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean isSeparator(final int b) {
+        return b == ' ' || b == '\t' || b == '\r' ||
+               (commaSeparated && b == ',');
+    }
+
+    private int peek() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+
+        return buffer.get(buffer.position()) & 0xff;
+    }
+
+    private int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+
+        return buffer.get() & 0xff;
+    }
+
+    /**
+     * Makes sure the buffer has at least one byte to read.
+     *
+     * @return <code>false</code> if the input is exhausted.
+     */
+    private boolean fill() throws IOException {
+        while (!buffer.hasRemaining()) {
+            if (endOfInput) {
+                return false;
+            }
+
+            buffer.clear();
+
+            if (channel.read(buffer) == -1) {
+                endOfInput = true;
+            }
+
+            buffer.flip();
+        }
+
+        return true;
+    }
+}
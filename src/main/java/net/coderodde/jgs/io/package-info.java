@@ -0,0 +1,16 @@
+/**
+ * This package contains the input and output of graphs. The binary on-disk
+ * format is written by {@link net.coderodde.jgs.io.BinaryGraphFormat} and
+ * opened without parsing as a memory-mapped, read-only
+ * {@link net.coderodde.jgs.io.MappedGraph}. Text files, such as edge lists,
+ * CSV and DIMACS files, are streamed by
+ * {@link net.coderodde.jgs.io.GraphImporter}, which tokenizes them with the
+ * package-private <code>TokenReader</code> and hands the arcs to an
+ * {@link net.coderodde.jgs.io.ArcSink}: a
+ * {@link net.coderodde.jgs.io.GraphBuilder} builds a graph of node objects,
+ * while a {@link net.coderodde.jgs.io.CompactGraphBuilder} converts large
+ * graphs into the binary format.
+ *
+ * @since 1.6
+ */
+package net.coderodde.jgs.io;
@@ -14,6 +14,13 @@ public abstract class AbstractNode<T extends AbstractNode<T>> implements Iterabl
      */
     protected Graph<T> ownerGraph;
     
+    /**
+     * The dense index of this node in its owner graph, or <tt>-1</tt> if the
+     * node is not stored in any graph. Maintained by 
+     * {@link net.coderodde.jgs.model.Graph}.
+     */
+    int id = -1;
+    
     /**
      * Returns the graph owning this node, or <code>null</code> if this node is
      * an "orphan" node.
@@ -24,6 +31,19 @@ public abstract class AbstractNode<T extends AbstractNode<T>> implements Iterabl
         return ownerGraph;
     }
     
+    /**
+     * Returns the dense index of this node in its owner graph. The nodes of a 
+     * graph with <tt>n</tt> nodes have the indices <tt>0, 1, ..., n - 1</tt>,
+     * so that search state may be kept in plain arrays instead of hash maps. 
+     * Returns <tt>-1</tt> if this node is not stored in any graph, which is 
+     * the case for implicit graphs.
+     * 
+     * @return the dense index of this node or <tt>-1</tt>.
+     */
+    public int getId() {
+        return id;
+    }
+    
     /**
      * Sets the owner graph for this node.
      * 
@@ -74,6 +94,50 @@ public abstract class AbstractNode<T extends AbstractNode<T>> implements Iterabl
      */
     public abstract Iterable<T> parents();
     
+    /**
+     * Visits each child of this node. The default implementation iterates
+     * over this node; implicit graphs override it to generate the children
+     * straight into <code>visitor</code>.
+     *
+     * @param visitor the visitor to call for each child.
+     */
+    public void forEachChild(final NodeVisitor<T> visitor) {
+        for (final T child : this) {
+            visitor.visit(child);
+        }
+    }
+
+    /**
+     * Visits each arc leaving this node together with its weight in
+     * <code>f</code>. Unlike iterating over this node and calling
+     * {@link AbstractWeightFunction#get(AbstractNode, AbstractNode)} for each
+     * child, the weight function may find all the weights of this node at
+     * once.
+     *
+     * @param <W> the weight type.
+     * @param f the weight function.
+     * @param visitor the visitor to call for each child.
+     */
+    @SuppressWarnings("unchecked")
+    public <W> void forEachChild(final AbstractWeightFunction<T, W> f,
+                                 final ArcVisitor<T, W> visitor) {
+        f.forEachChild((T) this, visitor);
+    }
+
+    /**
+     * Visits each arc entering this node together with its weight in
+     * <code>f</code>.
+     *
+     * @param <W> the weight type.
+     * @param f the weight function.
+     * @param visitor the visitor to call for each parent.
+     */
+    @SuppressWarnings("unchecked")
+    public <W> void forEachParent(final AbstractWeightFunction<T, W> f,
+                                  final ArcVisitor<T, W> visitor) {
+        f.forEachParent((T) this, visitor);
+    }
+
     /**
      * Returns the amount of children incident on this node.
      * 
@@ -52,6 +52,47 @@ public abstract class AbstractWeightFunction<T extends AbstractNode<T>,
      */
     public abstract W getPathWeight(final Path<T> path);
     
+    /**
+     * Calls <code>visitor</code> for each child of <code>node</code> with the
+     * weight of the arc leading to it. The weights of <code>node</code> are
+     * looked up once instead of once per arc.
+     *
+     * @param node the tail node.
+     * @param visitor the visitor to call.
+     *
+     * @throws java.lang.IllegalStateException in case an arc has no weight.
+     */
+    public void forEachChild(final T node, final ArcVisitor<T, W> visitor) {
+        final Map<T, W> partialMap = map.get(node);
+
+        for (final T child : node) {
+            final W weight = partialMap == null ? null : partialMap.get(child);
+
+            if (weight == null) {
+                throw new IllegalStateException(
+                        "The arc (" + node + ", " + child + ") has no " +
+                        "weight.");
+            }
+
+            visitor.visit(child, weight);
+        }
+    }
+
+    /**
+     * Calls <code>visitor</code> for each parent of <code>node</code> with the
+     * weight of the arc leading from it.
+     *
+     * @param node the head node.
+     * @param visitor the visitor to call.
+     *
+     * @throws java.lang.IllegalStateException in case an arc has no weight.
+     */
+    public void forEachParent(final T node, final ArcVisitor<T, W> visitor) {
+        for (final T parent : node.parents()) {
+            visitor.visit(parent, get(parent, node));
+        }
+    }
+
     /**
      * Clears this weight function.
      */
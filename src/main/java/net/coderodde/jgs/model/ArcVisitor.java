@@ -0,0 +1,26 @@
+package net.coderodde.jgs.model;
+
+/**
+ * This interface defines the API for visiting the arcs incident on a node
+ * together with their weights. See
+ * {@link AbstractNode#forEachChild(AbstractWeightFunction, ArcVisitor)} and
+ * {@link AbstractNode#forEachParent(AbstractWeightFunction, ArcVisitor)}.
+ * A path finder typically implements this interface once and reuses the same
+ * visitor for every node it expands.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ * @param <W> the weight type.
+ */
+public interface ArcVisitor<T extends AbstractNode<T>, W> {
+
+    /**
+     * Visits the arc between the node being expanded and
+     * <code>neighbor</code>.
+     *
+     * @param neighbor the other end node of the arc.
+     * @param weight the weight of the arc.
+     */
+    public void visit(final T neighbor, final W weight);
+}
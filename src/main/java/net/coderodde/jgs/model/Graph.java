@@ -8,7 +8,10 @@ import static net.coderodde.jgs.Utilities.checkNotNull;
 
 /**
  * This class models a graph as a container of nodes extending 
- * {@link net.coderodde.jgs.model.AbstractNode}.
+ * {@link net.coderodde.jgs.model.AbstractNode}. Each node in the graph has a
+ * dense index ({@link net.coderodde.jgs.model.AbstractNode#getId()}) equal to 
+ * its position in the graph, so that <code>get(node.getId()) == node</code>
+ * always holds.
  * 
  * @author Rodion Efremov
  * @version 1.6 
@@ -63,16 +66,19 @@ public class Graph<T extends AbstractNode<T>> {
             oldOwnerGraph.removeNode(node);
         }
         
+        node.setOwnerGraph(this);
+        node.id = nodeList.size();
         nodeList.add(node);
         nodeSet.add(node);
-        node.setOwnerGraph(this);
         return true;
     }
     
     /**
-     * Returns the <tt>index</tt>th node in this graph.
-     * @param index
-     * @return 
+     * Returns the <tt>index</tt>th node in this graph, which is the node whose
+     * id is <tt>index</tt>.
+     * 
+     * @param index the index of the node.
+     * @return the node with the given index.
      */
     public T get(final int index) {
         return nodeList.get(index);
@@ -90,7 +96,10 @@ public class Graph<T extends AbstractNode<T>> {
     }
     
     /**
-     * Removes a node from this graph if it is contained by this graph.
+     * Removes a node from this graph if it is contained by this graph. In 
+     * order to keep the node ids dense, the last node of the graph takes the 
+     * place and the id of the removed node; the ids of all other nodes remain
+     * intact.
      * 
      * @param node the node to remove.
      * 
@@ -100,10 +109,18 @@ public class Graph<T extends AbstractNode<T>> {
     public boolean removeNode(final T node) {
         checkNotNull(node, "Node is null.");
         
-        if (node.getOwnerGraph() == this) {
+        if (node.getOwnerGraph() == this && nodeSet.remove(node)) {
             node.clear();
-            nodeList.remove(node);
-            nodeSet.remove(node);
+            
+            final int index = node.id;
+            final T last = nodeList.remove(nodeList.size() - 1);
+            
+            if (last != node) {
+                nodeList.set(index, last);
+                last.id = index;
+            }
+            
+            node.id = -1;
             return true;
         } else {
             return false;
@@ -116,6 +133,7 @@ public class Graph<T extends AbstractNode<T>> {
     public void clear() {
         for (final T node : nodeList) {
             node.clear();
+            node.id = -1;
         }
         
         nodeList.clear();
@@ -0,0 +1,22 @@
+package net.coderodde.jgs.model;
+
+/**
+ * This interface defines the API for visiting the neighbors of a node
+ * without iterating over them. See
+ * {@link AbstractNode#forEachChild(NodeVisitor)}. Implicit graphs generate
+ * the neighbors straight into the visitor, so neither a neighbor collection
+ * nor an iterator is allocated per expanded node.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ */
+public interface NodeVisitor<T extends AbstractNode<T>> {
+
+    /**
+     * Visits a neighbor of the node being expanded.
+     *
+     * @param neighbor the neighbor node.
+     */
+    public void visit(final T neighbor);
+}
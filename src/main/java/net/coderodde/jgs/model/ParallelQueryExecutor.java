@@ -0,0 +1,202 @@
+package net.coderodde.jgs.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import static net.coderodde.jgs.Utilities.checkNotBelow;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.Utilities.Pair;
+
+/**
+ * This class answers batches of point-to-point queries on a fixed pool of
+ * worker threads. Each worker borrows its own finder from a
+ * {@link PathFinderPool} for the duration of a batch and takes the next
+ * unanswered query until none are left, so that the workers stay busy even
+ * if some queries are much more expensive than others. The finders are kept
+ * between the batches.
+ * <p>
+ * The graph and the weight function must not be modified while a batch is
+ * running.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ * @param <W> the weight type.
+ */
+public class ParallelQueryExecutor<T extends AbstractNode<T>, W> {
+
+    /**
+     * The pool of the finders used by the workers.
+     */
+    private final PathFinderPool<T, W> pool;
+
+    /**
+     * The amount of worker threads.
+     */
+    private final int threads;
+
+    /**
+     * The worker threads.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructs an executor with <code>threads</code> worker threads.
+     *
+     * @param factory the factory creating the finders of the workers.
+     * @param threads the amount of worker threads, at least one.
+     */
+    public ParallelQueryExecutor(final PathFinderFactory<T, W> factory,
+                                 final int threads) {
+        checkNotBelow(threads, 1, "The amount of threads is below 1.");
+
+        this.pool = new PathFinderPool<>(factory);
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads,
+                                                     new WorkerFactory());
+    }
+
+    /**
+     * Constructs an executor with a worker thread per available processor.
+     *
+     * @param factory the factory creating the finders of the workers.
+     */
+    public ParallelQueryExecutor(final PathFinderFactory<T, W> factory) {
+        this(factory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Answers all the queries in <code>queries</code>, each given as a pair
+     * of a source node and a target node, and blocks until done.
+     *
+     * @param queries the queries to answer.
+     *
+     * @return the list of paths, the <tt>i</tt>th of which answers the
+     * <tt>i</tt>th query; unreachable targets have empty paths.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if this
+     * executor is shut down.
+     */
+    public List<Path<T>> search(final List<Pair<T, T>> queries) {
+        checkNotNull(queries, "The query list is null.");
+
+        for (final Pair<T, T> query : queries) {
+            checkNotNull(query, "A query is null.");
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final Path<T>[] paths = new Path[queries.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final int workers = Math.min(threads, queries.size());
+        final List<Callable<Void>> tasks = new ArrayList<>(workers);
+
+        for (int i = 0; i < workers; ++i) {
+            tasks.add(new Callable<Void>() {
+
+                @Override
+                public Void call() {
+                    final PathFinder<T, W> finder = pool.acquire();
+
+                    try {
+                        int index;
+
+                        while ((index = next.getAndIncrement())
+                                < paths.length) {
+                            final Pair<T, T> query = queries.get(index);
+                            paths[index] = finder.search(query.first,
+                                                         query.second);
+                        }
+                    } finally {
+                        // Make the other workers stop on failure.
+                        next.set(paths.length);
+                        pool.release(finder);
+                    }
+
+                    return null;
+                }
+            });
+        }
+
+        waitFor(tasks);
+        return Collections.unmodifiableList(Arrays.asList(paths));
+    }
+
+    /**
+     * Returns the amount of worker threads.
+     *
+     * @return the amount of worker threads.
+     */
+    public int getThreadCount() {
+        return threads;
+    }
+
+    /**
+     * Stops the worker threads once the running batch, if any, is answered.
+     * No more batches are accepted afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the tasks on the worker threads and rethrows the first failure.
+     *
+     * @param tasks the tasks to run.
+     */
+    private void waitFor(final List<Callable<Void>> tasks) {
+        final List<Future<Void>> futures;
+
+        try {
+            futures = executor.invokeAll(tasks);
+
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for the queries.", ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * This class creates the daemon worker threads, so that an executor not
+     * shut down does not keep the virtual machine alive.
+     */
+    private static final class WorkerFactory implements ThreadFactory {
+
+        /**
+         * The amount of threads created.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(
+                    runnable,
+                    "jgs-query-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
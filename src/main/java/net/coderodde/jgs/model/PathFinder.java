@@ -20,7 +20,33 @@ public abstract class PathFinder<T extends AbstractNode<T>, W> {
      * The sentinel value used to denote non-existent path.
      */
     protected final Path<T> emptyPath = new Path<>(Collections.<T>emptyList());
-    
+
+    /**
+     * The statistics filled on each search, or <code>null</code> if no
+     * statistics are collected.
+     */
+    private SearchStatistics statistics;
+
+    /**
+     * Sets the statistics object to fill on each search. Passing
+     * <code>null</code> turns the statistics off, which is the default.
+     *
+     * @param statistics the statistics object, or <code>null</code>.
+     */
+    public void setStatistics(final SearchStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the statistics object filled on each search.
+     *
+     * @return the statistics object, or <code>null</code> if no statistics
+     * are collected.
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Performs the search for the path from node <code>source</code> to node
      * <code>target</code>.
@@ -31,7 +57,40 @@ public abstract class PathFinder<T extends AbstractNode<T>, W> {
      * @return the path from 
      */
     public abstract Path<T> search(final T source, final T target);
-    
+
+    /**
+     * Starts the statistics of a search, if any are collected.
+     *
+     * @return the statistics object, or <code>null</code> if no statistics
+     * are collected.
+     */
+    protected final SearchStatistics startStatistics() {
+        final SearchStatistics s = statistics;
+
+        if (s != null) {
+            s.start();
+        }
+
+        return s;
+    }
+
+    /**
+     * Finishes the statistics of a search, if any are collected.
+     *
+     * @param s the statistics returned by {@link #startStatistics()}.
+     * @param path the path found by the search.
+     *
+     * @return <code>path</code>.
+     */
+    protected final Path<T> finishStatistics(final SearchStatistics s,
+                                             final Path<T> path) {
+        if (s != null) {
+            s.finish(path);
+        }
+
+        return path;
+    }
+
     /**
      * Constructs a path.
      * 
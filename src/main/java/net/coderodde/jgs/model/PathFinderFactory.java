@@ -0,0 +1,22 @@
+package net.coderodde.jgs.model;
+
+/**
+ * This interface defines the API for creating path finders. Since a path
+ * finder keeps its search state in its fields, a concurrent client needs a
+ * separate finder per thread, and a factory tells how to create one.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ * @param <W> the weight type.
+ */
+public interface PathFinderFactory<T extends AbstractNode<T>, W> {
+
+    /**
+     * Creates a new path finder that shares no mutable state with the
+     * previously created ones.
+     *
+     * @return a new path finder.
+     */
+    public PathFinder<T, W> create();
+}
@@ -0,0 +1,112 @@
+package net.coderodde.jgs.model;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+
+/**
+ * This class implements a thread-safe pool of path finders. A thread borrows
+ * a finder with {@link #acquire()}, which creates a new one whenever all the
+ * pooled finders are lent, and gives it back with
+ * {@link #release(PathFinder)}. The pool thus grows to the maximum amount of
+ * concurrent searches, after which no finder nor its internal arrays are
+ * allocated any more.
+ * <p>
+ * The graph and the weight function must not be modified while searches are
+ * running.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ * @param <W> the weight type.
+ */
+public class PathFinderPool<T extends AbstractNode<T>, W> {
+
+    /**
+     * The factory creating new finders.
+     */
+    private final PathFinderFactory<T, W> factory;
+
+    /**
+     * The finders not lent at the moment. The most recently released finder
+     * is lent first, as its arrays are the most likely to be cached.
+     */
+    private final ConcurrentLinkedDeque<PathFinder<T, W>> idle;
+
+    /**
+     * The amount of finders created so far.
+     */
+    private final AtomicInteger created;
+
+    /**
+     * Constructs an empty pool creating its finders with
+     * <code>factory</code>.
+     *
+     * @param factory the finder factory.
+     */
+    public PathFinderPool(final PathFinderFactory<T, W> factory) {
+        checkNotNull(factory, "The path finder factory is null.");
+
+        this.factory = factory;
+        this.idle = new ConcurrentLinkedDeque<>();
+        this.created = new AtomicInteger();
+    }
+
+    /**
+     * Lends a finder, creating one if no pooled finder is available. The
+     * finder must not be used by any other thread before it is released.
+     *
+     * @return a path finder.
+     */
+    public PathFinder<T, W> acquire() {
+        final PathFinder<T, W> finder = idle.pollFirst();
+
+        if (finder != null) {
+            return finder;
+        }
+
+        final PathFinder<T, W> newFinder = factory.create();
+        checkNotNull(newFinder, "The path finder factory returned null.");
+        created.incrementAndGet();
+        return newFinder;
+    }
+
+    /**
+     * Returns the finder <code>finder</code> to this pool.
+     *
+     * @param finder the finder obtained from {@link #acquire()}.
+     */
+    public void release(final PathFinder<T, W> finder) {
+        checkNotNull(finder, "The path finder is null.");
+        idle.addFirst(finder);
+    }
+
+    /**
+     * Searches for a path with a borrowed finder. Can be called from any
+     * amount of threads at the same time.
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path, or an empty path if the target is not
+     * reachable.
+     */
+    public Path<T> search(final T source, final T target) {
+        final PathFinder<T, W> finder = acquire();
+
+        try {
+            return finder.search(source, target);
+        } finally {
+            release(finder);
+        }
+    }
+
+    /**
+     * Returns the amount of finders created by this pool.
+     *
+     * @return the amount of finders created.
+     */
+    public int getCreatedCount() {
+        return created.get();
+    }
+}
@@ -0,0 +1,74 @@
+package net.coderodde.jgs.model;
+
+/**
+ * This interface defines the API for the nodes of implicit graphs that can
+ * be turned into their neighbors in place. The arcs leaving a node are
+ * numbered by <b>moves</b> <tt>0, 1, ..., getMoveCount() - 1</tt>; applying
+ * a move turns the node into the head of the arc, and undoing it turns the
+ * node back. A depth-first search may thus walk the whole graph on a single
+ * node, allocating nothing per expansion (see
+ * {@link net.coderodde.jgs.model.support.IDAStarPathFinder}).
+ * <p>
+ * A node must not be modified while it is stored in a hash-based collection
+ * or in a path, so searches apply the moves to a {@link #copy()} of the
+ * source node. Searches detect the cycles through the {@link #fingerprint()}
+ * of the node, comparing the nodes themselves only if the fingerprints are
+ * equal.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ */
+public interface ReversibleState<T extends AbstractNode<T>> {
+
+    /**
+     * Returns the amount of moves, legal or not, of this node.
+     *
+     * @return the amount of moves.
+     */
+    public int getMoveCount();
+
+    /**
+     * Applies <code>move</code> to this node if it is legal.
+     *
+     * @param move the move to apply.
+     *
+     * @return <code>true</code> if the move was legal and applied,
+     * <code>false</code> if this node was left intact.
+     */
+    public boolean apply(final int move);
+
+    /**
+     * Undoes <code>move</code>, which must be the move applied last to this
+     * node.
+     *
+     * @param move the move to undo.
+     */
+    public void undo(final int move);
+
+    /**
+     * Returns the move undoing <code>move</code>. Searches skip it right
+     * after <code>move</code>, since it only leads back.
+     *
+     * @param move the move to invert.
+     *
+     * @return the inverse move.
+     */
+    public int inverse(final int move);
+
+    /**
+     * Returns a 64-bit fingerprint of the current state of this node. Equal
+     * nodes must have equal fingerprints, and distinct ones should rarely
+     * share one.
+     *
+     * @return the fingerprint of this node.
+     */
+    public long fingerprint();
+
+    /**
+     * Returns an independent copy of this node.
+     *
+     * @return a copy of this node.
+     */
+    public T copy();
+}
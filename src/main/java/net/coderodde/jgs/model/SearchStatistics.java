@@ -0,0 +1,180 @@
+package net.coderodde.jgs.model;
+
+/**
+ * This class holds the work counters of a single search. A path finder that
+ * was given a statistics object via {@link PathFinder#setStatistics} resets
+ * and fills it on each call to {@link PathFinder#search}, so after the call
+ * the object describes that search only. A finder with no statistics object
+ * counts nothing.
+ * <p>
+ * The recording methods are meant to be called by the path finders only.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class SearchStatistics {
+
+    /**
+     * The amount of nodes removed from the open set(s).
+     */
+    private long settledNodes;
+
+    /**
+     * The amount of arcs relaxed.
+     */
+    private long relaxedEdges;
+
+    /**
+     * The amount of decrease-key calls on the open set(s).
+     */
+    private long decreaseKeyCalls;
+
+    /**
+     * The largest amount of nodes in the open set(s) at any time.
+     */
+    private int peakOpenSetSize;
+
+    /**
+     * The amount of nodes in the returned path.
+     */
+    private int pathSize;
+
+    /**
+     * The value of <code>System.nanoTime()</code> at the start of the search.
+     */
+    private long startTime;
+
+    /**
+     * The duration of the search in nanoseconds.
+     */
+    private long duration;
+
+    /**
+     * Resets all the counters and starts the clock. Called at the beginning
+     * of a search.
+     */
+    public void start() {
+        settledNodes = 0L;
+        relaxedEdges = 0L;
+        decreaseKeyCalls = 0L;
+        peakOpenSetSize = 0;
+        pathSize = 0;
+        duration = 0L;
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Records that a node was removed from an open set.
+     */
+    public void settle() {
+        ++settledNodes;
+    }
+
+    /**
+     * Records that an arc was relaxed.
+     */
+    public void relax() {
+        ++relaxedEdges;
+    }
+
+    /**
+     * Records a decrease-key call.
+     */
+    public void decreaseKey() {
+        ++decreaseKeyCalls;
+    }
+
+    /**
+     * Records the current size of the open set(s).
+     *
+     * @param size the amount of nodes in the open set(s).
+     */
+    public void updateOpenSetSize(final int size) {
+        if (peakOpenSetSize < size) {
+            peakOpenSetSize = size;
+        }
+    }
+
+    /**
+     * Stops the clock and records the result. Called at the end of a search.
+     *
+     * @param path the path returned by the search.
+     */
+    public void finish(final Path<?> path) {
+        duration = System.nanoTime() - startTime;
+        pathSize = path.size();
+    }
+
+    /**
+     * Returns the amount of nodes removed from the open set(s).
+     *
+     * @return the amount of settled nodes.
+     */
+    public long getSettledNodes() {
+        return settledNodes;
+    }
+
+    /**
+     * Returns the amount of arcs relaxed, that is, the arcs whose weight was
+     * added to the distance of the settled node. In breadth-first search,
+     * every arc leaving a settled node counts.
+     *
+     * @return the amount of relaxed arcs.
+     */
+    public long getRelaxedEdges() {
+        return relaxedEdges;
+    }
+
+    /**
+     * Returns the amount of decrease-key calls.
+     *
+     * @return the amount of decrease-key calls.
+     */
+    public long getDecreaseKeyCalls() {
+        return decreaseKeyCalls;
+    }
+
+    /**
+     * Returns the largest amount of nodes in the open set(s) at any time. For
+     * bidirectional searches, the sizes of both open sets are summed.
+     *
+     * @return the peak size of the open set(s).
+     */
+    public int getPeakOpenSetSize() {
+        return peakOpenSetSize;
+    }
+
+    /**
+     * Returns the amount of nodes in the returned path, which is zero if no
+     * path was found.
+     *
+     * @return the size of the path.
+     */
+    public int getPathSize() {
+        return pathSize;
+    }
+
+    /**
+     * Returns the duration of the search in nanoseconds.
+     *
+     * @return the duration of the search.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a textual representation of the counters.
+     */
+    @Override
+    public String toString() {
+        return "[settled nodes: " + settledNodes +
+               ", relaxed edges: " + relaxedEdges +
+               ", decrease-key calls: " + decreaseKeyCalls +
+               ", peak open set size: " + peakOpenSetSize +
+               ", path size: " + pathSize +
+               ", duration: " + duration + " ns]";
+    }
+}
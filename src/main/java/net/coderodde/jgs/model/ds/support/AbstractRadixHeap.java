@@ -0,0 +1,356 @@
+package net.coderodde.jgs.model.ds.support;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import net.coderodde.jgs.model.ds.MinPriorityQueue;
+
+/**
+ * This class implements the machinery of <b>radix heaps</b> over priority
+ * keys mapped to <code>long</code> values preserving their order. An element
+ * is kept in the bucket given by the highest bit in which its key differs
+ * from the last extracted minimum, so that the first non-empty bucket always
+ * contains the minimum. Emptying the first bucket moves the elements of the
+ * next non-empty bucket to lower ones, and each element moves down at most
+ * 65 times in total.
+ * <p>
+ * The heap is fast when the keys are <b>monotone</b>: no key added or
+ * decreased to is less than the last extracted minimum, which is the case in
+ * Dijkstra's algorithm and A* with a consistent heuristic. A smaller key is
+ * still handled correctly, but costs a pass over all the elements in the
+ * heap.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <E> the element type.
+ * @param <P> the priority key type.
+ */
+abstract class AbstractRadixHeap<E, P extends Comparable<? super P>>
+extends MinPriorityQueue<E, P> {
+
+    /**
+     * The default map capacity.
+     */
+    static final int DEFAULT_MAP_CAPACITY = 1 << 10;
+
+    /**
+     * The amount of buckets: one for the keys equal to the last minimum and
+     * one for each bit of a key.
+     */
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    /**
+     * The initial capacity of each bucket.
+     */
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+
+    /**
+     * This class holds an element in a bucket.
+     *
+     * @param <E> the element type.
+     */
+    private static final class RadixHeapEntry<E> {
+
+        /**
+         * The actual application-specific element.
+         */
+        final E element;
+
+        /**
+         * The key of <code>element</code>.
+         */
+        long key;
+
+        /**
+         * The bucket holding this entry.
+         */
+        int bucket;
+
+        /**
+         * The index of this entry within its bucket.
+         */
+        int index;
+
+        RadixHeapEntry(final E element, final long key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    /**
+     * The buckets. Each bucket is filled from the beginning.
+     */
+    private final RadixHeapEntry<E>[][] buckets;
+
+    /**
+     * The amount of entries in each bucket.
+     */
+    private final int[] bucketSizes;
+
+    /**
+     * The last extracted minimum key, or a lower bound of all the keys if
+     * nothing has been extracted since this heap was cleared.
+     */
+    private long last;
+
+    /**
+     * The amount of elements in this heap.
+     */
+    private int size;
+
+    /**
+     * Maps each element to its entry for <code>decreasePriority</code>.
+     */
+    private ElementMap<E, RadixHeapEntry<E>> map;
+
+    /**
+     * Constructs an empty radix heap.
+     *
+     * @param mapCapacity the initial capacity of the underlying map.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    AbstractRadixHeap(final int mapCapacity) {
+        this.buckets = new RadixHeapEntry[BUCKETS][];
+        this.bucketSizes = new int[BUCKETS];
+        this.map = new ElementMap<>(mapCapacity);
+        this.last = Long.MIN_VALUE;
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            buckets[i] = new RadixHeapEntry[INITIAL_BUCKET_CAPACITY];
+        }
+    }
+
+    /**
+     * Maps <code>priority</code> to a <code>long</code> so that the order of
+     * the priorities is the signed order of the results.
+     *
+     * @param priority the priority key.
+     *
+     * @return the key of the priority.
+     */
+    abstract long toKey(final P priority);
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param element the element to add.
+     * @param priority the priority of the element.
+     */
+    @Override
+    public void add(final E element, final P priority) {
+        if (map.containsKey(element)) {
+            // element already in this heap, use decreasePriority instead.
+            return;
+        }
+
+        final RadixHeapEntry<E> entry =
+                new RadixHeapEntry<>(element, toKey(priority));
+
+        if (entry.key < last) {
+            rebase(entry.key);
+        }
+
+        insert(entry);
+        ++size;
+        map.put(element, entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param element the element whose priority key to decrease.
+     * @param newPriority the new priority.
+     */
+    @Override
+    public void decreasePriority(final E element, final P newPriority) {
+        final RadixHeapEntry<E> entry = map.get(element);
+
+        if (entry == null) {
+            // element not in this heap, do no more.
+            return;
+        }
+
+        final long key = toKey(newPriority);
+
+        if (entry.key <= key) {
+            // Nothing to improve.
+            return;
+        }
+
+        unlink(entry);
+        entry.key = key;
+
+        if (key < last) {
+            rebase(key);
+        }
+
+        insert(entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the element with the least priority key.
+     */
+    @Override
+    public E extractMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Reading from an empty radix heap.");
+        }
+
+        pullMinimum();
+
+        final int index = --bucketSizes[0];
+        final RadixHeapEntry<E> entry = buckets[0][index];
+        buckets[0][index] = null;
+        --size;
+        map.remove(entry.element);
+        return entry.element;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the element with the least priority key.
+     */
+    @Override
+    public E min() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Reading from an empty radix heap.");
+        }
+
+        pullMinimum();
+        return buckets[0][bucketSizes[0] - 1].element;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the amount of elements in this heap.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return <code>true</code> if this heap is empty; <code>false</code>
+     * otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        map.clear();
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            Arrays.fill(buckets[i], 0, bucketSizes[i], null);
+            bucketSizes[i] = 0;
+        }
+
+        size = 0;
+        last = Long.MIN_VALUE;
+    }
+
+    /**
+     * Makes sure the first bucket is not empty by redistributing the first
+     * non-empty bucket around its minimum key. This heap must not be empty.
+     */
+    private void pullMinimum() {
+        if (bucketSizes[0] > 0) {
+            return;
+        }
+
+        int i = 1;
+
+        while (bucketSizes[i] == 0) {
+            ++i;
+        }
+
+        final RadixHeapEntry<E>[] bucket = buckets[i];
+        final int bucketSize = bucketSizes[i];
+        long minimum = bucket[0].key;
+
+        for (int j = 1; j < bucketSize; ++j) {
+            minimum = Math.min(minimum, bucket[j].key);
+        }
+
+        // All the entries go to the buckets below i.
+        last = minimum;
+        bucketSizes[i] = 0;
+
+        for (int j = 0; j < bucketSize; ++j) {
+            final RadixHeapEntry<E> entry = bucket[j];
+            bucket[j] = null;
+            insert(entry);
+        }
+    }
+
+    /**
+     * Makes <code>key</code> the new base of the buckets and redistributes all
+     * the entries.
+     *
+     * @param key the new base key, which must not exceed any key in this heap.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void rebase(final long key) {
+        final RadixHeapEntry<E>[] entries = new RadixHeapEntry[size];
+        int index = 0;
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            for (int j = 0; j < bucketSizes[i]; ++j) {
+                entries[index++] = buckets[i][j];
+                buckets[i][j] = null;
+            }
+
+            bucketSizes[i] = 0;
+        }
+
+        last = key;
+
+        for (int i = 0; i < index; ++i) {
+            insert(entries[i]);
+        }
+    }
+
+    /**
+     * Puts <code>entry</code> to the bucket matching its key.
+     *
+     * @param entry the entry to insert.
+     */
+    private void insert(final RadixHeapEntry<E> entry) {
+        final int b = Long.SIZE - Long.numberOfLeadingZeros(entry.key ^ last);
+
+        if (bucketSizes[b] == buckets[b].length) {
+            buckets[b] = Arrays.copyOf(buckets[b], 2 * buckets[b].length);
+        }
+
+        buckets[b][bucketSizes[b]] = entry;
+        entry.bucket = b;
+        entry.index = bucketSizes[b]++;
+    }
+
+    /**
+     * Removes <code>entry</code> from its bucket.
+     *
+     * @param entry the entry to remove.
+     */
+    private void unlink(final RadixHeapEntry<E> entry) {
+        final RadixHeapEntry<E>[] bucket = buckets[entry.bucket];
+        final int lastIndex = --bucketSizes[entry.bucket];
+        final RadixHeapEntry<E> moved = bucket[lastIndex];
+
+        bucket[entry.index] = moved;
+        moved.index = entry.index;
+        bucket[lastIndex] = null;
+    }
+}
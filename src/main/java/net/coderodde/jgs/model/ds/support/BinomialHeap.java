@@ -1,7 +1,5 @@
 package net.coderodde.jgs.model.ds.support;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 
@@ -89,7 +87,7 @@ extends MinPriorityQueue<E, P> {
     /**
      * Maps each element in the heap to its respective node.
      */
-    private final Map<E, BinomialTree<E, P>> map;
+    private final ElementMap<E, BinomialTree<E, P>> map;
     
     /**
      * Constructs a new {@code BinomialHeap} with default settings.
@@ -105,7 +103,7 @@ extends MinPriorityQueue<E, P> {
      * @param mapCapacity the initial map capacity.
      */
     public BinomialHeap(final int mapCapacity) {
-        this.map = new HashMap<>(mapCapacity);
+        this.map = new ElementMap<>(mapCapacity);
     }
     
     /**
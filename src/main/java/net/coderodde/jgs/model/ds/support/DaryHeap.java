@@ -1,7 +1,5 @@
 package net.coderodde.jgs.model.ds.support;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 
@@ -80,7 +78,7 @@ extends MinPriorityQueue<E, P> {
     /**
      * The map mapping elements to their respective storage nodes.
      */
-    private Map<E, Node<E, P>> map;
+    private ElementMap<E, Node<E, P>> map;
     
     /**
      * Holds the array of indices as to avoid creating index arrays
@@ -105,7 +103,7 @@ extends MinPriorityQueue<E, P> {
         this.degree = degree;
         this.storage = new Node[capacity];
         this.indices = new int[degree];
-        this.map = new HashMap<>(capacity);
+        this.map = new ElementMap<>(capacity);
     }
     
     /**
@@ -0,0 +1,65 @@
+package net.coderodde.jgs.model.ds.support;
+
+import net.coderodde.jgs.model.ds.MinPriorityQueue;
+
+/**
+ * This class implements radix heaps over real priority keys, meant for
+ * Dijkstra's algorithm on graphs with real weights. The bits of each key are
+ * mapped to a <code>long</code> preserving the order of
+ * {@link java.lang.Double#compareTo(java.lang.Double)}, so negative keys and
+ * infinities are allowed. Since the exponent occupies the high bits, keys of
+ * similar magnitude share the high bits and the elements seldom descend
+ * through more than a few buckets. See {@link AbstractRadixHeap} for the
+ * details.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <E> the element type.
+ */
+public class DoubleRadixHeap<E> extends AbstractRadixHeap<E, Double> {
+
+    /**
+     * Constructs a new {@code DoubleRadixHeap} with default settings.
+     */
+    public DoubleRadixHeap() {
+        this(DEFAULT_MAP_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@code DoubleRadixHeap} with the given map capacity.
+     *
+     * @param mapCapacity the initial capacity of the underlying map.
+     */
+    public DoubleRadixHeap(final int mapCapacity) {
+        super(mapCapacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return an empty radix heap.
+     */
+    @Override
+    public MinPriorityQueue<E, Double> spawn() {
+        return new DoubleRadixHeap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "DoubleRadixHeap";
+    }
+
+    @Override
+    long toKey(final Double priority) {
+        final long bits = Double.doubleToLongBits(priority);
+
+        // The bits of negative numbers grow with the magnitude, so all the
+        // bits but the sign are flipped to reverse their order.
+        return bits < 0L ? bits ^ Long.MAX_VALUE : bits;
+    }
+}
@@ -0,0 +1,106 @@
+package net.coderodde.jgs.model.ds.support;
+
+import java.util.HashMap;
+
+/**
+ * This class maps the elements of a heap to their storage nodes. Since a hash
+ * map never shrinks and clearing it takes time proportional to its capacity,
+ * a map that has been resized past its initial capacity is reallocated on
+ * {@link #clear()} instead, so that clearing a heap after a large search does
+ * not slow down all the small searches that follow.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <E> the type of the heap elements.
+ * @param <N> the type of the storage nodes.
+ */
+final class ElementMap<E, N> {
+
+    /**
+     * The load factor of the underlying map.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The initial capacity of the map.
+     */
+    private final int capacity;
+
+    /**
+     * The largest size the map can reach without being resized beyond its
+     * initial table.
+     */
+    private final int threshold;
+
+    /**
+     * The actual map.
+     */
+    private HashMap<E, N> map;
+
+    /**
+     * The largest size the map has reached since it was allocated.
+     */
+    private int peakSize;
+
+    /**
+     * Constructs an empty map with initial capacity <code>capacity</code>.
+     *
+     * @param capacity the initial capacity.
+     */
+    ElementMap(final int capacity) {
+        this.capacity = capacity;
+        this.threshold = (int) (tableSize(capacity) * LOAD_FACTOR);
+        this.map = new HashMap<>(capacity, LOAD_FACTOR);
+    }
+
+    N get(final E element) {
+        return map.get(element);
+    }
+
+    boolean containsKey(final E element) {
+        return map.containsKey(element);
+    }
+
+    void put(final E element, final N node) {
+        map.put(element, node);
+
+        if (peakSize < map.size()) {
+            peakSize = map.size();
+        }
+    }
+
+    N remove(final E element) {
+        return map.remove(element);
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    /**
+     * Removes all the mappings, reallocating the map if it has grown.
+     */
+    void clear() {
+        if (peakSize > threshold) {
+            map = new HashMap<>(capacity, LOAD_FACTOR);
+            peakSize = 0;
+        } else {
+            map.clear();
+        }
+    }
+
+    /**
+     * Returns the size of the table <code>HashMap</code> allocates for the
+     * initial capacity <code>capacity</code>: the least power of two not
+     * below it.
+     */
+    private static int tableSize(final int capacity) {
+        int size = 1;
+
+        while (size < capacity) {
+            size <<= 1;
+        }
+
+        return size;
+    }
+}
@@ -1,7 +1,5 @@
 package net.coderodde.jgs.model.ds.support;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 
@@ -83,7 +81,7 @@ extends MinPriorityQueue<E, P> {
     /**
      * Maps every element in this heap to the node it belongs to.
      */
-    private Map<E, Node<E, P>> map;
+    private ElementMap<E, Node<E, P>> map;
     
     /**
      * References the node with minimum priority.
@@ -114,7 +112,7 @@ extends MinPriorityQueue<E, P> {
      * @param mapCapacity the initial capacity of the underlying map.
      */
     public FibonacciHeap(final int mapCapacity) {
-        map = new HashMap<>(mapCapacity);
+        this.map = new ElementMap<>(mapCapacity);
         array = new Node[10];
     }
 
@@ -277,7 +275,9 @@ extends MinPriorityQueue<E, P> {
     @Override
     public void clear() {
         minimumNode = null;
+        
         map.clear();
+        
         size = 0;
     }
 
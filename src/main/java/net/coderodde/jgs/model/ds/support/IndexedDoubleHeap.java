@@ -0,0 +1,341 @@
+package net.coderodde.jgs.model.ds.support;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import static net.coderodde.jgs.Utilities.checkNotBelow;
+
+/**
+ * This class implements an indexed <tt>d</tt>-ary heap over integer elements
+ * with <code>double</code> priority keys. An element is an integer in the
+ * range <code>0, 1, ..., capacity - 1</code>, and its position in the heap and
+ * its priority are kept in primitive arrays indexed by the element itself, so
+ * that none of the heap operations allocates or hashes. A larger degree makes
+ * the heap shallower at the cost of comparing more children on the way down;
+ * the default degree of 4 keeps the children of a node close in memory and
+ * tends to beat the binary heap in searches on large graphs.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class IndexedDoubleHeap {
+
+    /**
+     * The default capacity.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The minimum degree. (Signifies the binary heap.)
+     */
+    private static final int MINIMUM_DEGREE = 2;
+
+    /**
+     * The default degree.
+     */
+    public static final int DEFAULT_DEGREE = 4;
+
+    /**
+     * The degree of this heap.
+     */
+    private final int degree;
+
+    /**
+     * The heap array holding the elements.
+     */
+    private int[] heap;
+
+    /**
+     * Maps each element to its index in <code>heap</code>, or <tt>-1</tt> if
+     * the element is not in this heap.
+     */
+    private int[] positions;
+
+    /**
+     * Maps each element to its priority key.
+     */
+    private double[] keys;
+
+    /**
+     * The amount of elements in this heap.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty heap of degree <code>degree</code> accepting
+     * elements below <code>capacity</code>.
+     *
+     * @param capacity the initial element capacity.
+     * @param degree the degree of the heap.
+     */
+    public IndexedDoubleHeap(final int capacity, final int degree) {
+        checkNotBelow(degree,
+                      MINIMUM_DEGREE,
+                      "Degree must be at least " + MINIMUM_DEGREE +
+                      ", received " + degree + ".");
+
+        final int c = Math.max(capacity, 1);
+        this.degree = degree;
+        this.heap = new int[c];
+        this.positions = new int[c];
+        this.keys = new double[c];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Constructs an empty heap of default degree accepting elements below
+     * <code>capacity</code>.
+     *
+     * @param capacity the initial element capacity.
+     */
+    public IndexedDoubleHeap(final int capacity) {
+        this(capacity, DEFAULT_DEGREE);
+    }
+
+    /**
+     * Constructs an empty heap with default capacity and degree.
+     */
+    public IndexedDoubleHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Makes sure this heap accepts all the elements below
+     * <code>capacity</code>.
+     *
+     * @param capacity the requested element capacity.
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity <= positions.length) {
+            return;
+        }
+
+        final int c = Math.max(capacity, 3 * positions.length / 2);
+        final int oldCapacity = positions.length;
+
+        heap = Arrays.copyOf(heap, c);
+        positions = Arrays.copyOf(positions, c);
+        keys = Arrays.copyOf(keys, c);
+        Arrays.fill(positions, oldCapacity, c, -1);
+    }
+
+    /**
+     * Adds <code>element</code> with the priority <code>key</code>. If the
+     * element is already in this heap, does nothing.
+     *
+     * @param element the element to add.
+     * @param key the priority key of the element.
+     */
+    public void add(final int element, final double key) {
+        ensureCapacity(element + 1);
+
+        if (positions[element] != -1) {
+            return;
+        }
+
+        keys[element] = key;
+        heap[size] = element;
+        positions[element] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Decreases the priority of <code>element</code> to <code>key</code>. If
+     * the element is not in this heap, or <code>key</code> does not improve
+     * the current priority, does nothing.
+     *
+     * @param element the element whose priority to decrease.
+     * @param key the new priority key.
+     */
+    public void decreasePriority(final int element, final double key) {
+        if (element >= positions.length
+                || positions[element] == -1
+                || keys[element] <= key) {
+            return;
+        }
+
+        keys[element] = key;
+        siftUp(positions[element]);
+    }
+
+    /**
+     * Removes and returns the element with the lowest priority key.
+     *
+     * @return the element with the lowest priority key.
+     *
+     * @throws java.util.NoSuchElementException if this heap is empty.
+     */
+    public int extractMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException(
+                    "Reading from an empty indexed heap.");
+        }
+
+        final int ret = heap[0];
+        positions[ret] = -1;
+
+        if (--size != 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Returns but does not remove the element with the lowest priority key.
+     *
+     * @return the minimum element.
+     *
+     * @throws java.util.NoSuchElementException if this heap is empty.
+     */
+    public int min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Reading from an empty queue.");
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Returns the lowest priority key in this heap.
+     *
+     * @return the lowest priority key.
+     *
+     * @throws java.util.NoSuchElementException if this heap is empty.
+     */
+    public double minKey() {
+        return keys[min()];
+    }
+
+    /**
+     * Returns <code>true</code> if <code>element</code> is in this heap.
+     *
+     * @param element the element to query.
+     *
+     * @return <code>true</code> or <code>false</code>.
+     */
+    public boolean contains(final int element) {
+        return element < positions.length && positions[element] != -1;
+    }
+
+    /**
+     * Returns the amount of elements in this heap.
+     *
+     * @return the amount of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <code>true</code> if this heap is empty.
+     *
+     * @return <code>true</code> or <code>false</code>.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements from this heap. Runs in time proportional to the
+     * amount of elements in the heap, not its capacity.
+     */
+    public void clear() {
+        for (int i = 0; i != size; ++i) {
+            positions[heap[i]] = -1;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Returns the degree of this heap.
+     *
+     * @return the degree of this heap.
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Returns the string indicating the implementation type.
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "IndexedDoubleHeap with degree " + degree;
+    }
+
+    /**
+     * Sifts the element at heap index <code>index</code> up until the heap
+     * invariant is restored.
+     *
+     * @param index the heap index of the element to sift up.
+     */
+    private void siftUp(int index) {
+        final int target = heap[index];
+        final double key = keys[target];
+
+        while (index > 0) {
+            final int parentIndex = (index - 1) / degree;
+            final int parent = heap[parentIndex];
+
+            if (keys[parent] <= key) {
+                break;
+            }
+
+            heap[index] = parent;
+            positions[parent] = index;
+            index = parentIndex;
+        }
+
+        heap[index] = target;
+        positions[target] = index;
+    }
+
+    /**
+     * Sifts the element at heap index <code>index</code> down until the heap
+     * invariant is restored.
+     *
+     * @param index the heap index of the element to sift down.
+     */
+    private void siftDown(int index) {
+        final int target = heap[index];
+        final double key = keys[target];
+
+        for (;;) {
+            final int firstChildIndex = degree * index + 1;
+
+            if (firstChildIndex >= size) {
+                break;
+            }
+
+            final int end = Math.min(firstChildIndex + degree, size);
+            int minChildIndex = firstChildIndex;
+            double minChildKey = keys[heap[firstChildIndex]];
+
+            for (int i = firstChildIndex + 1; i < end; ++i) {
+                final double childKey = keys[heap[i]];
+
+                if (childKey < minChildKey) {
+                    minChildIndex = i;
+                    minChildKey = childKey;
+                }
+            }
+
+            if (minChildKey >= key) {
+                break;
+            }
+
+            final int child = heap[minChildIndex];
+            heap[index] = child;
+            positions[child] = index;
+            index = minChildIndex;
+        }
+
+        heap[index] = target;
+        positions[target] = index;
+    }
+}
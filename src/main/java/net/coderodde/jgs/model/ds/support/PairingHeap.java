@@ -2,8 +2,6 @@ package net.coderodde.jgs.model.ds.support;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 
@@ -83,7 +81,7 @@ extends MinPriorityQueue<E, P> {
      * The map mapping each element in the heap to its pairing tree as to speed
      * up the <code>decreasePriority</code>-operation.
      */
-    private final Map<E, PairingHeapTree<E, P>> map;
+    private final ElementMap<E, PairingHeapTree<E, P>> map;
     
     /**
      * The list of children of a removed root.
@@ -103,7 +101,7 @@ extends MinPriorityQueue<E, P> {
      * @param mapCapacity the initial capacity of the underlying map.
      */
     public PairingHeap(final int mapCapacity) {
-        this.map = new HashMap<>(mapCapacity);
+        this.map = new ElementMap<>(mapCapacity);
         this.list = new ArrayDeque<>();
     }
     
@@ -274,6 +272,7 @@ extends MinPriorityQueue<E, P> {
     @Override
     public void clear() {
         map.clear();
+        
         root = null;
     }
 
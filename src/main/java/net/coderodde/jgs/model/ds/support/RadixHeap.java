@@ -0,0 +1,56 @@
+package net.coderodde.jgs.model.ds.support;
+
+import net.coderodde.jgs.model.ds.MinPriorityQueue;
+
+/**
+ * This class implements radix heaps over integer priority keys, meant for
+ * Dijkstra's algorithm on graphs with integer weights. See
+ * {@link AbstractRadixHeap} for the details; negative keys are allowed.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <E> the element type.
+ */
+public class RadixHeap<E> extends AbstractRadixHeap<E, Integer> {
+
+    /**
+     * Constructs a new {@code RadixHeap} with default settings.
+     */
+    public RadixHeap() {
+        this(DEFAULT_MAP_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@code RadixHeap} with the given map capacity.
+     *
+     * @param mapCapacity the initial capacity of the underlying map.
+     */
+    public RadixHeap(final int mapCapacity) {
+        super(mapCapacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return an empty radix heap.
+     */
+    @Override
+    public MinPriorityQueue<E, Integer> spawn() {
+        return new RadixHeap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the string indicating the implementation type.
+     */
+    @Override
+    public String toString() {
+        return "RadixHeap";
+    }
+
+    @Override
+    long toKey(final Integer priority) {
+        return priority;
+    }
+}
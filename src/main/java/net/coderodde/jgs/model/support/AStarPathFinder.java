@@ -1,16 +1,14 @@
 package net.coderodde.jgs.model.support;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 import static net.coderodde.jgs.Utilities.checkNodesBelongToSameGraph;
 import static net.coderodde.jgs.Utilities.checkNotNull;
 import net.coderodde.jgs.model.AbstractHeuristicFunction;
 import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.ArcVisitor;
 import net.coderodde.jgs.model.AbstractWeightFunction;
 import net.coderodde.jgs.model.Path;
 import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.SearchStatistics;
 import net.coderodde.jgs.model.Weight;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 import net.coderodde.jgs.model.ds.support.DaryHeap;
@@ -23,10 +21,9 @@ extends PathFinder<T, W> {
     private final AbstractWeightFunction<T, W> f;
     private final AbstractHeuristicFunction<T, W> hf;
     private final Weight<W> weight;
-    private final Map<T, T> parentMap;
-    private final Map<T, W> distanceMap;
+    private final SearchState<T, W> state;
     private final MinPriorityQueue<T, W> openSet;
-    private final Set<T> closedSet;
+    private final Relaxer relaxer = new Relaxer();
     
     public AStarPathFinder(final AbstractWeightFunction<T, W> f,
                            final AbstractHeuristicFunction<T, W> hf,
@@ -41,9 +38,7 @@ extends PathFinder<T, W> {
         this.hf = hf;
         this.weight = weight;
         this.openSet = openSet;
-        this.closedSet = new HashSet<>();
-        this.parentMap = new HashMap<>();
-        this.distanceMap = new HashMap<>();
+        this.state = new SearchState<>();
     }
     
     public AStarPathFinder(final AbstractWeightFunction<T, W> f,
@@ -64,52 +59,93 @@ extends PathFinder<T, W> {
         
         checkNodesBelongToSameGraph(source, target);
         
+        final SearchStatistics statistics = startStatistics();
         openSet.clear();
-        closedSet.clear();
-        parentMap.clear();
-        distanceMap.clear();
+        state.reset(source);
         
         openSet.add(source, hf.evaluate(source, target));
-        parentMap.put(source, null);
-        distanceMap.put(source, weight.identity());
+        state.visit(source, null, weight.identity());
         
         while (openSet.size() > 0) {
+            if (statistics != null) {
+                statistics.updateOpenSetSize(openSet.size());
+                statistics.settle();
+            }
+
             final T current = openSet.extractMinimum();
             
             if (current.equals(target)) {
-                return constructPath(target, parentMap);
+                return finishStatistics(statistics,
+                                        state.constructPath(target));
             }
             
-            closedSet.add(current);
+            state.close(current);
             
-            for (final T child : current) {
-                if (closedSet.contains(child)) {
-                    continue;
-                }
-                
-                final W tmpg = weight.append(distanceMap.get(current),
-                                             f.get(current, child));
-                
-                if (parentMap.containsKey(child) == false) {
-                    // This is the first time 'child' is discovered.
-                    final W fValue = 
-                        weight.append(tmpg,
-                                      hf.evaluate(child, target));
-                    openSet.add(child, fValue);
-                    parentMap.put(child, current);
-                    distanceMap.put(child, tmpg);
-                } else if (tmpg.compareTo(distanceMap.get(child)) < 0) {
-                    // Improving the distance to 'child'.
-                    final W fValue =
-                        weight.append(tmpg,
-                                      hf.evaluate(child, target));
-                    openSet.decreasePriority(child, fValue);
-                    parentMap.put(child, current);
-                    distanceMap.put(child, tmpg);
+            relaxer.current = current;
+            relaxer.target = target;
+            relaxer.distance = state.getDistance(current);
+            relaxer.statistics = statistics;
+            current.forEachChild(f, relaxer);
+        }
+        
+        return finishStatistics(statistics, emptyPath);
+    }
+
+    /**
+     * This class relaxes the arcs leaving the node being expanded.
+     */
+    private final class Relaxer implements ArcVisitor<T, W> {
+
+        /**
+         * The node being expanded.
+         */
+        private T current;
+
+        /**
+         * The target node of the search.
+         */
+        private T target;
+
+        /**
+         * The distance of <code>current</code> from the source.
+         */
+        private W distance;
+
+        /**
+         * The statistics to update, or <code>null</code>.
+         */
+        private SearchStatistics statistics;
+
+        @Override
+        public void visit(final T child, final W arcWeight) {
+            if (state.isClosed(child)) {
+                return;
+            }
+
+            if (statistics != null) {
+                statistics.relax();
+            }
+
+            final W tmpg = weight.append(distance, arcWeight);
+
+            if (state.isVisited(child) == false) {
+                // This is the first time 'child' is discovered.
+                final W fValue = weight.append(tmpg,
+                                               hf.evaluate(child, target));
+                openSet.add(child, fValue);
+                state.visit(child, current, tmpg);
+            } else if (tmpg.compareTo(state.getDistance(child)) < 0) {
+                // Improving the distance to 'child'.
+                final W fValue = weight.append(tmpg,
+                                               hf.evaluate(child, target));
+                openSet.decreasePriority(child, fValue);
+
+                if (statistics != null) {
+                    statistics.decreaseKey();
                 }
+
+                state.visit(child, current, tmpg);
             }
         }
-        
-        return emptyPath;
     }
 }
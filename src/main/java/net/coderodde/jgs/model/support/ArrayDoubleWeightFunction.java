@@ -0,0 +1,357 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import static net.coderodde.jgs.Utilities.checkHasId;
+import static net.coderodde.jgs.Utilities.checkNotInfinite;
+import static net.coderodde.jgs.Utilities.checkNotNaN;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.AbstractWeightFunction;
+import net.coderodde.jgs.model.ArcVisitor;
+import net.coderodde.jgs.model.Path;
+
+/**
+ * This class implements a real-valued weight function over directed arcs
+ * storing, for each tail node, its heads and the arc weights in two parallel
+ * arrays. The arrays are indexed by the node ids (see
+ * {@link net.coderodde.jgs.model.AbstractNode#getId()}), so no arc costs a
+ * map entry or a boxed weight, and the outgoing arcs of a node can be walked
+ * together with their weights via {@link #getArcCount(AbstractNode)},
+ * {@link #getChild(AbstractNode, int)} and
+ * {@link #getWeight(AbstractNode, int)}.
+ * <p>
+ * {@link DoubleDijkstraPathFinder} and {@link DoubleAStarPathFinder} relax the
+ * arcs stored here directly instead of iterating the children of a node and
+ * looking up each weight. This function is, therefore, meant for graphs that
+ * are built and then searched: an arc removed from the graph must be removed
+ * from this function as well, and removing a node from its graph (which
+ * changes the id of another node) invalidates the arcs of both.
+ * <p>
+ * The generic finders, such as {@link DijkstraPathFinder}, read the weights
+ * through {@link #forEachChild(AbstractNode, ArcVisitor)} and
+ * {@link #get(AbstractNode, AbstractNode)}, which box each weight. Unlike the
+ * map-based weight functions, which store their weights boxed, this function
+ * thus allocates a <code>Double</code> for every arc such a finder relaxes.
+ * <p>
+ * The tail nodes must be stored in a {@link net.coderodde.jgs.model.Graph}.
+ * Looking up a single weight scans the arcs of the tail, which is cheap on
+ * the sparse graphs this function is intended for.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ */
+public class ArrayDoubleWeightFunction<T extends AbstractNode<T>>
+extends AbstractWeightFunction<T, Double> {
+
+    /**
+     * The initial capacity of the per-node arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The initial capacity of the arc arrays of a node.
+     */
+    private static final int INITIAL_DEGREE = 4;
+
+    /**
+     * The empty head array of the nodes with no outgoing arcs.
+     */
+    private static final AbstractNode<?>[] NO_HEADS = new AbstractNode<?>[0];
+
+    /**
+     * The empty weight array of the nodes with no outgoing arcs.
+     */
+    private static final double[] NO_WEIGHTS = new double[0];
+
+    /**
+     * Maps each node id to the node owning the arcs at that id. If the node
+     * with the id is not the owner, the node has no arcs.
+     */
+    private AbstractNode<?>[] tails = new AbstractNode<?>[INITIAL_CAPACITY];
+
+    /**
+     * Maps each node id to the heads of its outgoing arcs.
+     */
+    private AbstractNode<?>[][] heads = new AbstractNode<?>[INITIAL_CAPACITY][];
+
+    /**
+     * Maps each node id to the weights of its outgoing arcs.
+     */
+    private double[][] weights = new double[INITIAL_CAPACITY][];
+
+    /**
+     * Maps each node id to the amount of its outgoing arcs.
+     */
+    private int[] degrees = new int[INITIAL_CAPACITY];
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param from the tail node of the arc.
+     * @param to the head node of the arc.
+     * @param weight the weight to associate with the arc.
+     */
+    @Override
+    public void put(final T from, final T to, final Double weight) {
+        checkNotNull(from, "The tail node is null.");
+        checkNotNull(to, "The head node is null.");
+        checkNotNull(weight, "The weight is null.");
+        checkNotInfinite(weight, "The weight is infinite: " + weight);
+        checkNotNaN(weight, "The weight is NaN.");
+        checkHasId(from);
+
+        final int id = from.getId();
+        ensureCapacity(id + 1);
+
+        if (tails[id] != from) {
+            tails[id] = from;
+            heads[id] = new AbstractNode<?>[INITIAL_DEGREE];
+            weights[id] = new double[INITIAL_DEGREE];
+            degrees[id] = 0;
+        }
+
+        final int index = indexOf(id, to);
+
+        if (index >= 0) {
+            weights[id][index] = weight;
+            return;
+        }
+
+        final int degree = degrees[id];
+
+        if (degree == heads[id].length) {
+            heads[id] = Arrays.copyOf(heads[id], 2 * degree);
+            weights[id] = Arrays.copyOf(weights[id], 2 * degree);
+        }
+
+        heads[id][degree] = to;
+        weights[id][degree] = weight;
+        degrees[id] = degree + 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param from the tail node of the arc.
+     * @param to the head node of the arc.
+     *
+     * @return the weight of the arc <code>(from, to)</code>.
+     */
+    @Override
+    public Double get(final T from, final T to) {
+        checkNotNull(from, "The tail node (from) is null.");
+        checkNotNull(to, "The head node (to) is null.");
+
+        final int id = idOf(from);
+        final int index = id < 0 ? -1 : indexOf(id, to);
+
+        if (index < 0) {
+            throw new IllegalStateException(
+                    "The arc (" + from + ", " + to + ") has no weight.");
+        }
+
+        return weights[id][index];
+    }
+
+    /**
+     * Removes the arc <code>(from, to)</code> from this weight function, if
+     * present. The order of the remaining arcs of <code>from</code> may
+     * change.
+     *
+     * @param from the tail node of the arc.
+     * @param to the head node of the arc.
+     */
+    public void remove(final T from, final T to) {
+        checkNotNull(from, "The tail node is null.");
+        checkNotNull(to, "The head node is null.");
+
+        final int id = idOf(from);
+        final int index = id < 0 ? -1 : indexOf(id, to);
+
+        if (index < 0) {
+            return;
+        }
+
+        final int last = --degrees[id];
+        heads[id][index] = heads[id][last];
+        weights[id][index] = weights[id][last];
+        heads[id][last] = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path the path whose weight to compute.
+     *
+     * @return the weight of the path.
+     */
+    @Override
+    public Double getPathWeight(final Path<T> path) {
+        final Iterator<T> iterator = path.iterator();
+
+        if (!iterator.hasNext()) {
+            return 0.0;
+        }
+
+        T u = iterator.next();
+        double weight = 0.0;
+
+        while (iterator.hasNext()) {
+            final T v = iterator.next();
+            weight += get(u, v);
+            u = v;
+        }
+
+        return weight;
+    }
+
+    /**
+     * Calls <code>visitor</code> for each arc of <code>node</code> stored in
+     * this function, walking the arrays of the node instead of its adjacency
+     * set. Each weight is boxed as it is passed to the visitor.
+     *
+     * @param node the tail node.
+     * @param visitor the visitor to call.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachChild(final T node,
+                             final ArcVisitor<T, Double> visitor) {
+        final int id = idOf(node);
+
+        if (id < 0) {
+            return;
+        }
+
+        final AbstractNode<?>[] nodeHeads = heads[id];
+        final double[] nodeWeights = weights[id];
+
+        for (int i = 0; i < degrees[id]; ++i) {
+            visitor.visit((T) nodeHeads[i], nodeWeights[i]);
+        }
+    }
+
+    /**
+     * Returns the amount of outgoing arcs of <code>from</code> stored in
+     * this function.
+     *
+     * @param from the tail node.
+     *
+     * @return the amount of outgoing arcs.
+     */
+    public int getArcCount(final T from) {
+        final int id = idOf(from);
+        return id < 0 ? 0 : degrees[id];
+    }
+
+    /**
+     * Returns the head of the <tt>index</tt>th outgoing arc of
+     * <code>from</code>.
+     *
+     * @param from the tail node.
+     * @param index the index of the arc, less than
+     * <code>getArcCount(from)</code>.
+     *
+     * @return the head node of the arc.
+     */
+    @SuppressWarnings("unchecked")
+    public T getChild(final T from, final int index) {
+        return (T) heads[checkArc(from, index)][index];
+    }
+
+    /**
+     * Returns the weight of the <tt>index</tt>th outgoing arc of
+     * <code>from</code>.
+     *
+     * @param from the tail node.
+     * @param index the index of the arc, less than
+     * <code>getArcCount(from)</code>.
+     *
+     * @return the weight of the arc.
+     */
+    public double getWeight(final T from, final int index) {
+        return weights[checkArc(from, index)][index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(tails, null);
+        Arrays.fill(heads, null);
+        Arrays.fill(weights, null);
+        Arrays.fill(degrees, 0);
+    }
+
+    /**
+     * Returns the heads of the outgoing arcs of <code>from</code>; only the
+     * first <code>getArcCount(from)</code> entries are valid. The array must
+     * not be modified.
+     */
+    AbstractNode<?>[] heads(final T from) {
+        final int id = idOf(from);
+        return id < 0 ? NO_HEADS : heads[id];
+    }
+
+    /**
+     * Returns the weights of the outgoing arcs of <code>from</code>, parallel
+     * to <code>heads(from)</code>. The array must not be modified.
+     */
+    double[] weights(final T from) {
+        final int id = idOf(from);
+        return id < 0 ? NO_WEIGHTS : weights[id];
+    }
+
+    /**
+     * Returns the id of <code>node</code> if it owns arcs in this function,
+     * or <tt>-1</tt> otherwise.
+     */
+    private int idOf(final T node) {
+        final int id = node.getId();
+        return id >= 0 && id < tails.length && tails[id] == node ? id : -1;
+    }
+
+    /**
+     * Returns the index of the arc from the node with id <code>id</code> to
+     * <code>to</code>, or <tt>-1</tt> if there is no such arc.
+     */
+    private int indexOf(final int id, final T to) {
+        final AbstractNode<?>[] nodeHeads = heads[id];
+
+        for (int i = 0; i < degrees[id]; ++i) {
+            if (nodeHeads[i] == to) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int checkArc(final T from, final int index) {
+        checkNotNull(from, "The tail node is null.");
+
+        final int id = idOf(from);
+
+        if (id < 0 || index < 0 || index >= degrees[id]) {
+            throw new IndexOutOfBoundsException(
+                    "The node " + from + " has no arc with index " +
+                    index + ".");
+        }
+
+        return id;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (tails.length < capacity) {
+            final int newCapacity = Math.max(capacity, 2 * tails.length);
+            tails = Arrays.copyOf(tails, newCapacity);
+            heads = Arrays.copyOf(heads, newCapacity);
+            weights = Arrays.copyOf(weights, newCapacity);
+            degrees = Arrays.copyOf(degrees, newCapacity);
+        }
+    }
+}
@@ -2,25 +2,24 @@ package net.coderodde.jgs.model.support;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashMap;
-import java.util.Map;
 import net.coderodde.jgs.model.AbstractNode;
 import net.coderodde.jgs.model.Path;
 import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.SearchStatistics;
 
 public class 
         BidirectionalBreadthFirstSearchPathFinder<T extends AbstractNode<T>> 
 extends PathFinder<T, Object> {
 
-    private final Map<T, T> parentMapA;
-    private final Map<T, T> parentMapB;
+    private final SearchState<T, Object> stateA;
+    private final SearchState<T, Object> stateB;
     
     private Deque<T> queueA;
     private Deque<T> queueB;
     
     public BidirectionalBreadthFirstSearchPathFinder(final Deque<T> queue) {
-        this.parentMapA = new HashMap<>();
-        this.parentMapB = new HashMap<>();
+        this.stateA = new SearchState<>();
+        this.stateB = new SearchState<>();
         
         if (queue == null) {
             this.queueA = new ArrayDeque<>();
@@ -41,46 +40,67 @@ extends PathFinder<T, Object> {
     }
     
     public Path<T> search(final T source, final T target) {
+        final SearchStatistics statistics = startStatistics();
         queueA.clear();
         queueB.clear();
         
-        parentMapA.clear();
-        parentMapB.clear();
+        stateA.reset(source);
+        stateB.reset(target);
         
         queueA.addLast(source);
         queueB.addLast(target);
         
-        parentMapA.put(source, null);
-        parentMapB.put(target, null);
+        stateA.visit(source, null, null);
+        stateB.visit(target, null, null);
         
         while (queueA.size() * queueB.size() > 0) {
+            if (statistics != null) {
+                statistics.updateOpenSetSize(queueA.size() + queueB.size());
+                statistics.settle();
+            }
+
             T current = queueA.removeFirst();
             
-            if (parentMapB.containsKey(current)) {
-                return constructPath(current, parentMapA, parentMapB);
+            if (stateB.isVisited(current)) {
+                return finishStatistics(statistics,
+                                        stateA.constructPath(current, stateB));
             }
             
             for (final T child : current) {
-                if (!parentMapA.containsKey(child)) {
-                    parentMapA.put(child, current);
+                if (statistics != null) {
+                    statistics.relax();
+                }
+
+                if (!stateA.isVisited(child)) {
+                    stateA.visit(child, current, null);
                     queueA.addLast(child);
                 }
             }
             
+            if (statistics != null) {
+                statistics.updateOpenSetSize(queueA.size() + queueB.size());
+                statistics.settle();
+            }
+
             current = queueB.removeFirst();
             
-            if (parentMapA.containsKey(current)) {
-                return constructPath(current, parentMapA, parentMapB);
+            if (stateA.isVisited(current)) {
+                return finishStatistics(statistics,
+                                        stateA.constructPath(current, stateB));
             }
             
             for (final T parent : current.parents()) {
-                if (!parentMapB.containsKey(parent)) {
-                    parentMapB.put(parent, current);
+                if (statistics != null) {
+                    statistics.relax();
+                }
+
+                if (!stateB.isVisited(parent)) {
+                    stateB.visit(parent, current, null);
                     queueB.addLast(parent);
                 }
             }
         }
         
-        return emptyPath;
+        return finishStatistics(statistics, emptyPath);
     }
 }
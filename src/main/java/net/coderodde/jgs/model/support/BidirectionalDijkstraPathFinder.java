@@ -1,15 +1,12 @@
 package net.coderodde.jgs.model.support;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 import net.coderodde.jgs.Utilities;
 import static net.coderodde.jgs.Utilities.checkNotNull;
 import net.coderodde.jgs.model.AbstractNode;
 import net.coderodde.jgs.model.AbstractWeightFunction;
 import net.coderodde.jgs.model.Path;
 import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.SearchStatistics;
 import net.coderodde.jgs.model.Weight;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 import net.coderodde.jgs.model.ds.support.DaryHeap;
@@ -40,35 +37,16 @@ extends PathFinder<T, W> {
     private final MinPriorityQueue<T, W> openSet2;
     
     /**
-     * Maps a node to its parent on a shortest path in forward search.
+     * Maintains the parents, the distance scores to the source node and the
+     * closed set in forward search.
      */
-    private final Map<T, T> parentMap1;
+    private final SearchState<T, W> state1;
     
     /**
-     * Does exactly the same as <code>parentMap1</code>, but in the backward
+     * Does exactly the same as <code>state1</code>, but in the backward
      * search space.
      */
-    private final Map<T, T> parentMap2;
-    
-    /**
-     * Stores the distance scores to the source node in the forward search.
-     */
-    private final Map<T, W> distanceMap1;
-    
-    /**
-     * Stores the distance scores to the target node in the backward search.
-     */
-    private final Map<T, W> distanceMap2;
-    
-    /**
-     * Maintains the closed set in forward search.
-     */
-    private final Set<T> closedSet1;
-    
-    /**
-     * Maintains the closed set in backward search.
-     */
-    private final Set<T> closedSet2;
+    private final SearchState<T, W> state2;
     
     /**
      * Constructs a path finder using bidirectional Dijkstra's algorithm with 
@@ -90,12 +68,8 @@ extends PathFinder<T, W> {
         this.weight = weight;
         this.openSet1 = queue.spawn();
         this.openSet2 = queue.spawn();
-        this.parentMap1 = new HashMap<>();
-        this.parentMap2 = new HashMap<>();
-        this.distanceMap1 = new HashMap<>();
-        this.distanceMap2 = new HashMap<>();
-        this.closedSet1 = new HashSet<>();
-        this.closedSet2 = new HashSet<>();
+        this.state1 = new SearchState<>();
+        this.state2 = new SearchState<>();
     }
     
     /**
@@ -133,75 +107,88 @@ extends PathFinder<T, W> {
         
         Utilities.checkNodesBelongToSameGraph(source, target);
         
+        final SearchStatistics statistics = startStatistics();
         openSet1.clear();
         openSet2.clear();
-        parentMap1.clear();
-        parentMap2.clear();
-        distanceMap1.clear();
-        distanceMap2.clear();
-        closedSet1.clear();
-        closedSet2.clear();
+        state1.reset(source);
+        state2.reset(target);
         
         openSet1.add(source, weight.identity());
         openSet2.add(target, weight.identity());
         
-        parentMap1.put(source, null);
-        parentMap2.put(target, null);
+        state1.visit(source, null, weight.identity());
+        state2.visit(target, null, weight.identity());
         
-        distanceMap1.put(source, weight.identity());
-        distanceMap2.put(target, weight.identity());
+        if (source.equals(target)) {
+            return finishStatistics(statistics,
+                                    state1.constructPath(source));
+        }
         
         T touch = null;
         W m = weight.largest();
         
         while (!openSet1.isEmpty() && !openSet2.isEmpty()) {
-            final W mtmp = weight.append(distanceMap1.get(openSet1.min()),
-                                         distanceMap2.get(openSet2.min()));
+            final W mtmp = weight.append(state1.getDistance(openSet1.min()),
+                                         state2.getDistance(openSet2.min()));
             
             if (mtmp.compareTo(m) >= 0) {
-                return constructPath(touch, parentMap1, parentMap2);
+                return finishStatistics(statistics,
+                                        state1.constructPath(touch, state2));
             }
             
             if (openSet1.size() < openSet2.size()) {
                 // Expand the forward frontier.
+                if (statistics != null) {
+                    statistics.updateOpenSetSize(openSet1.size() +
+                                                 openSet2.size());
+                    statistics.settle();
+                }
+
                 T current = openSet1.extractMinimum();
                 
-                closedSet1.add(current);
+                state1.close(current);
                 
                 for (final T child : current) {
-                    if (closedSet1.contains(child)) {
+                    if (state1.isClosed(child)) {
                         continue;
                     }
+
+                    if (statistics != null) {
+                        statistics.relax();
+                    }
                     
-                    W tmpg = weight.append(distanceMap1.get(current),
+                    W tmpg = weight.append(state1.getDistance(current),
                                            f.get(current, child));
                     
-                    if (distanceMap1.containsKey(child) == false) {
+                    if (state1.isVisited(child) == false) {
                         openSet1.add(child, tmpg);
-                        distanceMap1.put(child, tmpg);
-                        parentMap1.put(child, current);
+                        state1.visit(child, current, tmpg);
                         
                         // Improvement possible.
-                        if (closedSet2.contains(child)) {
+                        if (state2.isClosed(child)) {
                             final W pathLength = 
                                     weight.append(tmpg, 
-                                                  distanceMap2.get(child));
+                                                  state2.getDistance(child));
                             
                             if (m.compareTo(pathLength) > 0) {
                                 m = pathLength;
                                 touch = child;
                             }
                         }
-                    } else if (tmpg.compareTo(distanceMap1.get(child)) < 0) {
+                    } else if (tmpg.compareTo(state1.getDistance(child)) < 0) {
                         openSet1.decreasePriority(child, tmpg);
-                        distanceMap1.put(child, tmpg);
-                        parentMap1.put(child, current);
+
+                        if (statistics != null) {
+                            statistics.decreaseKey();
+                        }
+
+                        state1.visit(child, current, tmpg);
                         
                         // Improvement possible.
-                        if (closedSet2.contains(child)) {
+                        if (state2.isClosed(child)) {
                             final W pathLength = 
                                     weight.append(tmpg, 
-                                                  distanceMap2.get(child));
+                                                  state2.getDistance(child));
                             
                             if (m.compareTo(pathLength) > 0) {
                                 m = pathLength;
@@ -212,45 +199,58 @@ extends PathFinder<T, W> {
                 }
             } else {
                 // Expand the backward frontier.
+                if (statistics != null) {
+                    statistics.updateOpenSetSize(openSet1.size() +
+                                                 openSet2.size());
+                    statistics.settle();
+                }
+
                 final T current = openSet2.extractMinimum();
                 
-                closedSet2.add(current);
+                state2.close(current);
                 
                 for (final T parent : current.parents()) {
-                    if (closedSet2.contains(parent)) {
+                    if (state2.isClosed(parent)) {
                         continue;
                     }
+
+                    if (statistics != null) {
+                        statistics.relax();
+                    }
                     
-                    W tmpg = weight.append(distanceMap2.get(current),
+                    W tmpg = weight.append(state2.getDistance(current),
                                            f.get(parent, current));
                     
                     
-                    if (distanceMap2.containsKey(parent) == false) {
+                    if (state2.isVisited(parent) == false) {
                         openSet2.add(parent, tmpg);
-                        distanceMap2.put(parent, tmpg);
-                        parentMap2.put(parent, current);
+                        state2.visit(parent, current, tmpg);
                         
                         // Improvement possible.
-                        if (closedSet1.contains(parent)) {
+                        if (state1.isClosed(parent)) {
                             final W pathLength = 
                                     weight.append(tmpg, 
-                                                  distanceMap1.get(parent));
+                                                  state1.getDistance(parent));
                             
                             if (m.compareTo(pathLength) > 0) {
                                 m = pathLength;
                                 touch = parent;
                             }
                         }
-                    } else if (tmpg.compareTo(distanceMap2.get(parent)) < 0) {
+                    } else if (tmpg.compareTo(state2.getDistance(parent)) < 0) {
                         openSet2.decreasePriority(parent, tmpg);
-                        distanceMap2.put(parent, tmpg);
-                        parentMap2.put(parent, current);
+
+                        if (statistics != null) {
+                            statistics.decreaseKey();
+                        }
+
+                        state2.visit(parent, current, tmpg);
                         
                         // Improvement possible.
-                        if (closedSet1.contains(parent)) {
+                        if (state1.isClosed(parent)) {
                             final W pathLength = 
                                     weight.append(tmpg, 
-                                                  distanceMap1.get(parent));
+                                                  state1.getDistance(parent));
                             
                             if (m.compareTo(pathLength) > 0) {
                                 m = pathLength;
@@ -262,6 +262,6 @@ extends PathFinder<T, W> {
             }
         }
         
-        return emptyPath;
+        return finishStatistics(statistics, emptyPath);
     }
 }
\ No newline at end of file
@@ -2,13 +2,13 @@ package net.coderodde.jgs.model.support;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.LinkedList;
-import java.util.Map;
 import static net.coderodde.jgs.Utilities.checkNotNull;
 import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.NodeVisitor;
 import net.coderodde.jgs.model.Path;
 import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.SearchStatistics;
 
 /**
  * This class implements (unidirectional) breadth-first search.
@@ -19,14 +19,15 @@ import net.coderodde.jgs.model.PathFinder;
 public class BreadthFirstSearchPathFinder<T extends AbstractNode<T>> 
 extends PathFinder<T, Integer> {
 
-    private final Map<T, T> parentMap;
+    private final SearchState<T, Integer> state;
     private final Deque<T> queue;
+    private final Expander expander = new Expander();
     
     public BreadthFirstSearchPathFinder(final Deque<T> queue) {
         checkNotNull(queue, "The given queue is null.");
         queue.clear();
         this.queue = queue;
-        this.parentMap = new HashMap<>();
+        this.state = new SearchState<>();
     }
     
     public BreadthFirstSearchPathFinder() {
@@ -35,27 +36,102 @@ extends PathFinder<T, Integer> {
     
     @Override
     public Path<T> search(T source, T target) {
+        final SearchStatistics statistics = startStatistics();
         queue.clear();
-        parentMap.clear();
+        state.reset(source);
         
         queue.add(source);
-        parentMap.put(source, null);
+        state.visit(source, null, null);
         
         while (queue.size() > 0) {
+            if (statistics != null) {
+                statistics.updateOpenSetSize(queue.size());
+                statistics.settle();
+            }
+
             final T current = queue.removeFirst();
             
             if (current.equals(target)) {
-                return constructPath(target, parentMap);
+                return finishStatistics(statistics,
+                                        state.constructPath(target));
             }
             
-            for (final T child : current) {
-                if (!parentMap.containsKey(child)) {
-                    parentMap.put(child, current);
-                    queue.addLast(child);
-                }
-            }
+            expander.current = current;
+            expander.distance = null;
+            expander.statistics = statistics;
+            current.forEachChild(expander);
+        }
+        
+        return finishStatistics(statistics, emptyPath);
+    }
+    
+    /**
+     * Computes the breadth-first search tree rooted at <code>source</code>, 
+     * which is a shortest path tree when all the arcs have unit weight. The
+     * distance of each node is the amount of arcs on the path leading to it.
+     * The statistics are not recorded.
+     * 
+     * @param source the root node.
+     * 
+     * @return the shortest path tree.
+     */
+    public ShortestPathTree<T, Integer> 
+        computeShortestPathTree(final T source) {
+        checkNotNull(source, "The source node is null.");
+        
+        final ShortestPathTree<T, Integer> tree = 
+                new ShortestPathTree<>(source);
+        queue.clear();
+        state.reset(source);
+        
+        queue.add(source);
+        state.visit(source, null, 0);
+        
+        while (queue.size() > 0) {
+            final T current = queue.removeFirst();
+            final Integer distance = state.getDistance(current);
+            
+            tree.add(current, state.getParent(current), distance);
+            
+            expander.current = current;
+            expander.distance = distance + 1;
+            expander.statistics = null;
+            current.forEachChild(expander);
         }
         
-        return emptyPath;
+        return tree;
+    }
+
+    /**
+     * This class enqueues the unvisited children of the node being expanded.
+     */
+    private final class Expander implements NodeVisitor<T> {
+
+        /**
+         * The node being expanded.
+         */
+        private T current;
+
+        /**
+         * The distance to record for the children, or <code>null</code>.
+         */
+        private Integer distance;
+
+        /**
+         * The statistics to update, or <code>null</code>.
+         */
+        private SearchStatistics statistics;
+
+        @Override
+        public void visit(final T child) {
+            if (statistics != null) {
+                statistics.relax();
+            }
+
+            if (!state.isVisited(child)) {
+                state.visit(child, current, distance);
+                queue.addLast(child);
+            }
+        }
     }
 }
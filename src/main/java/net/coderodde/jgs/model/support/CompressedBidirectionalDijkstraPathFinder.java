@@ -0,0 +1,364 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class implements bidirectional Dijkstra's algorithm running directly on
+ * a {@link CompressedGraph}. The backward search walks the reverse CSR of the
+ * graph. As with {@link CompressedDijkstraPathFinder}, the nodes are given
+ * either as the {@link DirectedGraphNode}s of a
+ * {@link CompressedDirectedGraph} or as plain indices.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class CompressedBidirectionalDijkstraPathFinder
+extends PathFinder<DirectedGraphNode, Double> {
+
+    /**
+     * The graph to search.
+     */
+    private final CompressedGraph graph;
+
+    /**
+     * The open set for forward search frontier.
+     */
+    private final IndexedDoubleHeap openSet1;
+
+    /**
+     * The open set for backward search frontier.
+     */
+    private final IndexedDoubleHeap openSet2;
+
+    /**
+     * Maps a node index to its parent index in the forward search.
+     */
+    private final int[] parents1;
+
+    /**
+     * Maps a node index to its successor index in the backward search.
+     */
+    private final int[] parents2;
+
+    /**
+     * Stores the distances from the source node in the forward search.
+     */
+    private final double[] distances1;
+
+    /**
+     * Stores the distances to the target node in the backward search.
+     */
+    private final double[] distances2;
+
+    /**
+     * The nodes discovered by the forward search.
+     */
+    private final StampedIntSet visited1;
+
+    /**
+     * The nodes discovered by the backward search.
+     */
+    private final StampedIntSet visited2;
+
+    /**
+     * The nodes settled by the forward search.
+     */
+    private final StampedIntSet closed1;
+
+    /**
+     * The nodes settled by the backward search.
+     */
+    private final StampedIntSet closed2;
+
+    /**
+     * Constructs a bidirectional path finder over <code>graph</code> using
+     * indexed heaps of degree <code>heapDegree</code>.
+     *
+     * @param graph the graph to search.
+     * @param heapDegree the degree of the open set heaps.
+     */
+    public CompressedBidirectionalDijkstraPathFinder(
+            final CompressedGraph graph,
+            final int heapDegree) {
+        checkNotNull(graph, "The graph is null.");
+
+        final int n = graph.size();
+        this.graph = graph;
+        this.openSet1 = new IndexedDoubleHeap(n, heapDegree);
+        this.openSet2 = new IndexedDoubleHeap(n, heapDegree);
+        this.parents1 = new int[n];
+        this.parents2 = new int[n];
+        this.distances1 = new double[n];
+        this.distances2 = new double[n];
+        this.visited1 = new StampedIntSet(n);
+        this.visited2 = new StampedIntSet(n);
+        this.closed1 = new StampedIntSet(n);
+        this.closed2 = new StampedIntSet(n);
+    }
+
+    /**
+     * Constructs a bidirectional path finder over <code>graph</code> using
+     * indexed heaps of default degree.
+     *
+     * @param graph the graph to search.
+     */
+    public CompressedBidirectionalDijkstraPathFinder(
+            final CompressedGraph graph) {
+        this(graph, IndexedDoubleHeap.DEFAULT_DEGREE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path or an empty path if target is not reachable from
+     * source.
+     *
+     * @throws IllegalStateException if either node is not in the graph, which
+     * is always the case unless the graph is a
+     * {@link CompressedDirectedGraph}.
+     */
+    @Override
+    public Path<DirectedGraphNode> search(final DirectedGraphNode source,
+                                         final DirectedGraphNode target) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(target, "The target node is null.");
+
+        final int touch = run(checkIndex(source), checkIndex(target));
+
+        if (touch == -1) {
+            return emptyPath;
+        }
+
+        final CompressedDirectedGraph snapshot =
+                (CompressedDirectedGraph) graph;
+        final List<DirectedGraphNode> list = new ArrayList<>();
+
+        for (int i = touch; i != -1; i = parents1[i]) {
+            list.add(snapshot.getNode(i));
+        }
+
+        Collections.<DirectedGraphNode>reverse(list);
+
+        for (int i = parents2[touch]; i != -1; i = parents2[i]) {
+            list.add(snapshot.getNode(i));
+        }
+
+        return new Path<>(list);
+    }
+
+    /**
+     * Searches for a shortest path from the node <code>source</code> to the
+     * node <code>target</code>.
+     *
+     * @param source the index of the source node.
+     * @param target the index of the target node.
+     *
+     * @return the node indices of a shortest path, or an empty array if
+     * target is not reachable from source.
+     *
+     * @throws IndexOutOfBoundsException if either index is out of range.
+     */
+    public int[] search(final int source, final int target) {
+        checkIndex(source);
+        checkIndex(target);
+
+        final int touch = run(source, target);
+
+        if (touch == -1) {
+            return new int[0];
+        }
+
+        int length = 0;
+
+        for (int i = touch; i != -1; i = parents1[i]) {
+            ++length;
+        }
+
+        final int forwardLength = length;
+
+        for (int i = parents2[touch]; i != -1; i = parents2[i]) {
+            ++length;
+        }
+
+        final int[] path = new int[length];
+        int position = forwardLength;
+
+        for (int i = touch; i != -1; i = parents1[i]) {
+            path[--position] = i;
+        }
+
+        position = forwardLength;
+
+        for (int i = parents2[touch]; i != -1; i = parents2[i]) {
+            path[position++] = i;
+        }
+
+        return path;
+    }
+
+    /**
+     * Runs the two searches from <code>sourceIndex</code> and
+     * <code>targetIndex</code> until they meet.
+     *
+     * @return the index of the node on a shortest path where the searches
+     * met, or <tt>-1</tt> if target is not reachable from source.
+     */
+    private int run(final int sourceIndex, final int targetIndex) {
+        openSet1.clear();
+        openSet2.clear();
+        visited1.reset(graph.size());
+        visited2.reset(graph.size());
+        closed1.reset(graph.size());
+        closed2.reset(graph.size());
+        parents1[sourceIndex] = -1;
+        parents2[targetIndex] = -1;
+
+        if (sourceIndex == targetIndex) {
+            return sourceIndex;
+        }
+
+        openSet1.add(sourceIndex, 0.0);
+        openSet2.add(targetIndex, 0.0);
+        visited1.add(sourceIndex);
+        visited2.add(targetIndex);
+        distances1[sourceIndex] = 0.0;
+        distances2[targetIndex] = 0.0;
+
+        int touch = -1;
+        double m = Double.POSITIVE_INFINITY;
+
+        while (!openSet1.isEmpty() && !openSet2.isEmpty()) {
+            final double mtmp = distances1[openSet1.min()] +
+                                distances2[openSet2.min()];
+
+            if (mtmp >= m) {
+                return touch;
+            }
+
+            if (openSet1.size() < openSet2.size()) {
+                // Expand the forward frontier.
+                final int current = openSet1.extractMinimum();
+                closed1.add(current);
+
+                final int end = graph.getChildOffset(current + 1);
+
+                for (int arc = graph.getChildOffset(current);
+                        arc < end;
+                        ++arc) {
+                    final int child = graph.getChild(arc);
+
+                    if (closed1.contains(child)) {
+                        continue;
+                    }
+
+                    final double tmpg = distances1[current] +
+                                        graph.getChildWeight(arc);
+
+                    if (!visited1.contains(child)) {
+                        visited1.add(child);
+                        openSet1.add(child, tmpg);
+                    } else if (tmpg < distances1[child]) {
+                        openSet1.decreasePriority(child, tmpg);
+                    } else {
+                        continue;
+                    }
+
+                    distances1[child] = tmpg;
+                    parents1[child] = current;
+
+                    // Improvement possible.
+                    if (closed2.contains(child)
+                            && tmpg + distances2[child] < m) {
+                        m = tmpg + distances2[child];
+                        touch = child;
+                    }
+                }
+            } else {
+                // Expand the backward frontier.
+                final int current = openSet2.extractMinimum();
+                closed2.add(current);
+
+                final int end = graph.getParentOffset(current + 1);
+
+                for (int arc = graph.getParentOffset(current);
+                        arc < end;
+                        ++arc) {
+                    final int parent = graph.getParent(arc);
+
+                    if (closed2.contains(parent)) {
+                        continue;
+                    }
+
+                    final double tmpg = distances2[current] +
+                                        graph.getParentWeight(arc);
+
+                    if (!visited2.contains(parent)) {
+                        visited2.add(parent);
+                        openSet2.add(parent, tmpg);
+                    } else if (tmpg < distances2[parent]) {
+                        openSet2.decreasePriority(parent, tmpg);
+                    } else {
+                        continue;
+                    }
+
+                    distances2[parent] = tmpg;
+                    parents2[parent] = current;
+
+                    // Improvement possible.
+                    if (closed1.contains(parent)
+                            && tmpg + distances1[parent] < m) {
+                        m = tmpg + distances1[parent];
+                        touch = parent;
+                    }
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the dense index of <code>node</code> or throws an exception if
+     * the node is not in the graph.
+     *
+     * @param node the node to look up.
+     *
+     * @return the dense index of the node.
+     */
+    private int checkIndex(final DirectedGraphNode node) {
+        final int index = graph instanceof CompressedDirectedGraph ?
+                          ((CompressedDirectedGraph) graph).getIndex(node) :
+                          -1;
+
+        if (index < 0) {
+            throw new IllegalStateException(
+                    "The node " + node + " is not in the graph snapshot.");
+        }
+
+        return index;
+    }
+
+    /**
+     * Checks that <code>index</code> is a node index of the graph.
+     *
+     * @param index the node index to check.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= graph.size()) {
+            throw new IndexOutOfBoundsException(
+                    "The node index " + index + " is out of range [0, " +
+                    graph.size() + ").");
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Arrays;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class computes distance matrices by running Dijkstra's algorithm on a
+ * {@link CompressedDirectedGraph} once per source node. Each search stops as
+ * soon as all the target nodes are settled, so a one-to-many query costs a
+ * single search no matter how many targets there are.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class CompressedDijkstraDistanceMatrixFinder
+extends DistanceMatrixFinder {
+
+    /**
+     * The graph snapshot to search.
+     */
+    private final CompressedDirectedGraph graph;
+
+    /**
+     * The open set holding dense node indices.
+     */
+    private final IndexedDoubleHeap openSet;
+
+    /**
+     * Maps each discovered node index to its tentative distance from the
+     * source.
+     */
+    private final double[] distances;
+
+    /**
+     * The indices of the discovered nodes.
+     */
+    private final StampedIntSet visited;
+
+    /**
+     * Maps each node index to the first matrix column it is the target of,
+     * or <tt>-1</tt>. All the entries are <tt>-1</tt> between the calls.
+     */
+    private final int[] firstColumns;
+
+    /**
+     * Constructs a distance matrix finder over <code>graph</code>.
+     *
+     * @param graph the graph snapshot to search.
+     */
+    public CompressedDijkstraDistanceMatrixFinder(
+            final CompressedDirectedGraph graph) {
+        checkNotNull(graph, "The graph snapshot is null.");
+
+        final int n = graph.size();
+        this.graph = graph;
+        this.openSet = new IndexedDoubleHeap(n);
+        this.distances = new double[n];
+        this.visited = new StampedIntSet(n);
+        this.firstColumns = new int[n];
+        Arrays.fill(firstColumns, -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param sources the source nodes.
+     * @param targets the target nodes.
+     *
+     * @return the distance matrix.
+     */
+    @Override
+    public DistanceMatrix compute(final List<DirectedGraphNode> sources,
+                                  final List<DirectedGraphNode> targets) {
+        final int[] sourceIndices = toIndices(sources, "source");
+        final int[] targetIndices = toIndices(targets, "target");
+        final DistanceMatrix matrix = new DistanceMatrix(sources, targets);
+
+        // Chain the columns of each target node, since a node may appear
+        // several times in the target list.
+        final int[] nextColumns = new int[targetIndices.length];
+        int distinctTargets = 0;
+
+        for (int column = 0; column < targetIndices.length; ++column) {
+            final int target = targetIndices[column];
+
+            if (firstColumns[target] == -1) {
+                ++distinctTargets;
+            }
+
+            nextColumns[column] = firstColumns[target];
+            firstColumns[target] = column;
+        }
+
+        for (int row = 0; row < sourceIndices.length; ++row) {
+            search(row, sourceIndices[row], distinctTargets, nextColumns,
+                   matrix);
+        }
+
+        for (final int target : targetIndices) {
+            firstColumns[target] = -1;
+        }
+
+        return matrix;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param node the node to look up.
+     *
+     * @return the index of the node, or <tt>-1</tt>.
+     */
+    @Override
+    protected int getIndex(final DirectedGraphNode node) {
+        return graph.getIndex(node);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from <code>sourceIndex</code> until all the
+     * targets are settled and fills the row <code>row</code>.
+     */
+    private void search(final int row,
+                        final int sourceIndex,
+                        final int targetCount,
+                        final int[] nextColumns,
+                        final DistanceMatrix matrix) {
+        if (targetCount == 0) {
+            return;
+        }
+
+        openSet.clear();
+        visited.reset(graph.size());
+
+        openSet.add(sourceIndex, 0.0);
+        visited.add(sourceIndex);
+        distances[sourceIndex] = 0.0;
+
+        final int[] childOffsets = graph.childOffsets;
+        final int[] children = graph.children;
+        final double[] childWeights = graph.childWeights;
+        int remaining = targetCount;
+
+        while (openSet.size() > 0) {
+            final int current = openSet.extractMinimum();
+
+            if (firstColumns[current] != -1) {
+                for (int column = firstColumns[current];
+                        column != -1;
+                        column = nextColumns[column]) {
+                    matrix.relax(row, column, distances[current]);
+                }
+
+                if (--remaining == 0) {
+                    return;
+                }
+            }
+
+            for (int arc = childOffsets[current];
+                    arc < childOffsets[current + 1];
+                    ++arc) {
+                final int child = children[arc];
+                final double tmpg = distances[current] + childWeights[arc];
+
+                if (!visited.contains(child)) {
+                    // This is the first time 'child' is discovered.
+                    openSet.add(child, tmpg);
+                    visited.add(child);
+                    distances[child] = tmpg;
+                } else if (tmpg < distances[child]) {
+                    // Improving the distance to 'child', which cannot be
+                    // settled yet as the weights are non-negative.
+                    openSet.decreasePriority(child, tmpg);
+                    distances[child] = tmpg;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class implements Dijkstra's algorithm running directly on a
+ * {@link CompressedGraph}. All the search state, including the open set, is
+ * kept in arrays indexed by the dense node indices of the graph. The nodes
+ * are given either as the {@link DirectedGraphNode}s of a
+ * {@link CompressedDirectedGraph} or as plain indices, which works on any
+ * compressed graph, such as a {@link net.coderodde.jgs.io.MappedGraph}.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class CompressedDijkstraPathFinder
+extends PathFinder<DirectedGraphNode, Double> {
+
+    /**
+     * The graph to search.
+     */
+    private final CompressedGraph graph;
+
+    /**
+     * The open set holding dense node indices.
+     */
+    private final IndexedDoubleHeap openSet;
+
+    /**
+     * Maps each discovered node index to the index of its parent, or
+     * <tt>-1</tt>.
+     */
+    private final int[] parents;
+
+    /**
+     * Maps each discovered node index to its tentative distance from the
+     * source.
+     */
+    private final double[] distances;
+
+    /**
+     * The indices of the discovered nodes.
+     */
+    private final StampedIntSet visited;
+
+    /**
+     * The indices of the settled nodes.
+     */
+    private final StampedIntSet closed;
+
+    /**
+     * Constructs a path finder over <code>graph</code> using an indexed heap
+     * of degree <code>heapDegree</code>.
+     *
+     * @param graph the graph to search.
+     * @param heapDegree the degree of the open set heap.
+     */
+    public CompressedDijkstraPathFinder(final CompressedGraph graph,
+                                        final int heapDegree) {
+        checkNotNull(graph, "The graph is null.");
+
+        this.graph = graph;
+        this.openSet = new IndexedDoubleHeap(graph.size(), heapDegree);
+        this.parents = new int[graph.size()];
+        this.distances = new double[graph.size()];
+        this.visited = new StampedIntSet(graph.size());
+        this.closed = new StampedIntSet(graph.size());
+    }
+
+    /**
+     * Constructs a path finder over <code>graph</code> using an indexed heap
+     * of default degree.
+     *
+     * @param graph the graph to search.
+     */
+    public CompressedDijkstraPathFinder(final CompressedGraph graph) {
+        this(graph, IndexedDoubleHeap.DEFAULT_DEGREE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path or an empty path if target is not reachable from
+     * source.
+     *
+     * @throws IllegalStateException if either node is not in the graph, which
+     * is always the case unless the graph is a
+     * {@link CompressedDirectedGraph}.
+     */
+    @Override
+    public Path<DirectedGraphNode> search(final DirectedGraphNode source,
+                                         final DirectedGraphNode target) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(target, "The target node is null.");
+
+        final int sourceIndex = checkIndex(source);
+        final int targetIndex = checkIndex(target);
+
+        if (!run(sourceIndex, targetIndex)) {
+            return emptyPath;
+        }
+
+        final CompressedDirectedGraph snapshot =
+                (CompressedDirectedGraph) graph;
+        final List<DirectedGraphNode> list = new ArrayList<>();
+
+        for (int i = targetIndex; i != -1; i = parents[i]) {
+            list.add(snapshot.getNode(i));
+        }
+
+        Collections.<DirectedGraphNode>reverse(list);
+        return new Path<>(list);
+    }
+
+    /**
+     * Searches for a shortest path from the node <code>source</code> to the
+     * node <code>target</code>.
+     *
+     * @param source the index of the source node.
+     * @param target the index of the target node.
+     *
+     * @return the node indices of a shortest path, or an empty array if
+     * target is not reachable from source.
+     *
+     * @throws IndexOutOfBoundsException if either index is out of range.
+     */
+    public int[] search(final int source, final int target) {
+        checkIndex(source);
+        checkIndex(target);
+
+        if (!run(source, target)) {
+            return new int[0];
+        }
+
+        int length = 0;
+
+        for (int i = target; i != -1; i = parents[i]) {
+            ++length;
+        }
+
+        final int[] path = new int[length];
+
+        for (int i = target; i != -1; i = parents[i]) {
+            path[--length] = i;
+        }
+
+        return path;
+    }
+
+    /**
+     * Runs the search from <code>sourceIndex</code> until
+     * <code>targetIndex</code> is settled, leaving the path in
+     * <code>parents</code>.
+     *
+     * @return <code>true</code> if the target is reachable from the source.
+     */
+    private boolean run(final int sourceIndex, final int targetIndex) {
+        openSet.clear();
+        visited.reset(graph.size());
+        closed.reset(graph.size());
+
+        openSet.add(sourceIndex, 0.0);
+        visited.add(sourceIndex);
+        parents[sourceIndex] = -1;
+        distances[sourceIndex] = 0.0;
+
+        while (openSet.size() > 0) {
+            final int current = openSet.extractMinimum();
+
+            if (current == targetIndex) {
+                return true;
+            }
+
+            closed.add(current);
+
+            final int end = graph.getChildOffset(current + 1);
+
+            for (int arc = graph.getChildOffset(current); arc < end; ++arc) {
+                final int child = graph.getChild(arc);
+
+                if (closed.contains(child)) {
+                    continue;
+                }
+
+                final double tmpg = distances[current] +
+                                    graph.getChildWeight(arc);
+
+                if (!visited.contains(child)) {
+                    // This is the first time 'child' is discovered.
+                    openSet.add(child, tmpg);
+                    visited.add(child);
+                    parents[child] = current;
+                    distances[child] = tmpg;
+                } else if (tmpg < distances[child]) {
+                    // Improving the distance to 'child'.
+                    openSet.decreasePriority(child, tmpg);
+                    parents[child] = current;
+                    distances[child] = tmpg;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the dense index of <code>node</code> or throws an exception if
+     * the node is not in the graph.
+     *
+     * @param node the node to look up.
+     *
+     * @return the dense index of the node.
+     */
+    private int checkIndex(final DirectedGraphNode node) {
+        final int index = graph instanceof CompressedDirectedGraph ?
+                          ((CompressedDirectedGraph) graph).getIndex(node) :
+                          -1;
+
+        if (index < 0) {
+            throw new IllegalStateException(
+                    "The node " + node + " is not in the graph snapshot.");
+        }
+
+        return index;
+    }
+
+    /**
+     * Checks that <code>index</code> is a node index of the graph.
+     *
+     * @param index the node index to check.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= graph.size()) {
+            throw new IndexOutOfBoundsException(
+                    "The node index " + index + " is out of range [0, " +
+                    graph.size() + ").");
+        }
+    }
+}
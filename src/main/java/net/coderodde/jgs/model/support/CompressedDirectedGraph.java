@@ -0,0 +1,314 @@
+package net.coderodde.jgs.model.support;
+
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractWeightFunction;
+import net.coderodde.jgs.model.Graph;
+
+/**
+ * This class implements an immutable snapshot of a directed, real-weighted
+ * graph in <b>compressed sparse row</b> (CSR) form. Each node is mapped to a
+ * dense index in the range <code>0, 1, ..., size() - 1</code>, which is the
+ * id of the node at the moment of freezing, and the outgoing arcs of the node
+ * with index <code>i</code> occupy the range
+ * <code>[getChildOffset(i), getChildOffset(i + 1))</code> of the parallel
+ * arrays of arc heads and arc weights. Symmetrically, the incoming arcs are
+ * stored in a reverse CSR, which is used by backward searches instead of
+ * <code>DirectedGraphNode.parents()</code>.
+ * <p>
+ * Once frozen, the snapshot does not track the changes made to the original
+ * graph or weight function.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class CompressedDirectedGraph implements CompressedGraph {
+
+    /**
+     * Maps each dense index to the original graph node.
+     */
+    private final DirectedGraphNode[] nodes;
+
+    /**
+     * <code>childOffsets[i]</code> is the index of the first outgoing arc of
+     * the node <code>i</code>. Has <code>size() + 1</code> entries.
+     */
+    final int[] childOffsets;
+
+    /**
+     * The heads of all outgoing arcs grouped by their tails.
+     */
+    final int[] children;
+
+    /**
+     * The weights of the outgoing arcs. Parallel to <code>children</code>.
+     */
+    final double[] childWeights;
+
+    /**
+     * <code>parentOffsets[i]</code> is the index of the first incoming arc of
+     * the node <code>i</code>. Has <code>size() + 1</code> entries.
+     */
+    final int[] parentOffsets;
+
+    /**
+     * The tails of all incoming arcs grouped by their heads.
+     */
+    final int[] parents;
+
+    /**
+     * The weights of the incoming arcs. Parallel to <code>parents</code>.
+     */
+    final double[] parentWeights;
+
+    /**
+     * Constructs a snapshot out of already built CSR arrays.
+     */
+    private CompressedDirectedGraph(final DirectedGraphNode[] nodes,
+                                    final int[] childOffsets,
+                                    final int[] children,
+                                    final double[] childWeights,
+                                    final int[] parentOffsets,
+                                    final int[] parents,
+                                    final double[] parentWeights) {
+        this.nodes = nodes;
+        this.childOffsets = childOffsets;
+        this.children = children;
+        this.childWeights = childWeights;
+        this.parentOffsets = parentOffsets;
+        this.parents = parents;
+        this.parentWeights = parentWeights;
+    }
+
+    /**
+     * Compiles <code>graph</code> and its weight function <code>f</code> into
+     * an immutable CSR snapshot. Every arc of the graph must have a weight
+     * associated with it.
+     *
+     * @param graph the graph to freeze.
+     * @param f the weight function of <code>graph</code>.
+     *
+     * @return the CSR snapshot of the graph.
+     *
+     * @throws java.lang.IllegalStateException if an arc has no weight.
+     */
+    public static CompressedDirectedGraph
+        freeze(final Graph<DirectedGraphNode> graph,
+               final DirectedGraphDoubleWeightFunction f) {
+        checkNotNull(graph, "The graph is null.");
+        checkNotNull(f, "The weight function is null.");
+        return compile(graph, f);
+    }
+
+    /**
+     * Compiles <code>graph</code> and its integer weight function
+     * <code>f</code> into an immutable CSR snapshot. The weights are stored
+     * as <code>double</code> values, which represent all the
+     * <code>int</code> values exactly.
+     *
+     * @param graph the graph to freeze.
+     * @param f the weight function of <code>graph</code>.
+     *
+     * @return the CSR snapshot of the graph.
+     *
+     * @throws java.lang.IllegalStateException if an arc has no weight.
+     */
+    public static CompressedDirectedGraph
+        freeze(final Graph<DirectedGraphNode> graph,
+               final DirectedGraphIntegerWeightFunction f) {
+        checkNotNull(graph, "The graph is null.");
+        checkNotNull(f, "The weight function is null.");
+        return compile(graph, f);
+    }
+
+    /**
+     * Builds the CSR arrays of <code>graph</code> with the weights given by
+     * <code>f</code>.
+     */
+    private static CompressedDirectedGraph compile(
+            final Graph<DirectedGraphNode> graph,
+            final AbstractWeightFunction<DirectedGraphNode,
+                                         ? extends Number> f) {
+        final int n = graph.size();
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[n];
+
+        for (int i = 0; i < n; ++i) {
+            nodes[i] = graph.get(i);
+        }
+
+        int arcs = 0;
+
+        for (final DirectedGraphNode node : nodes) {
+            arcs += node.childrenListSize();
+        }
+
+        final int[] childOffsets = new int[n + 1];
+        final int[] children = new int[arcs];
+        final double[] childWeights = new double[arcs];
+        final int[] parentOffsets = new int[n + 1];
+        final int[] parents = new int[arcs];
+        final double[] parentWeights = new double[arcs];
+
+        // Count the in-degrees so that the reverse CSR can be filled in a
+        // single pass over the forward arcs.
+        for (int i = 0; i < n; ++i) {
+            parentOffsets[i + 1] = parentOffsets[i] +
+                                   nodes[i].parentsListSize();
+        }
+
+        final int[] parentCursors = new int[n];
+        System.arraycopy(parentOffsets, 0, parentCursors, 0, n);
+
+        int arc = 0;
+
+        for (int i = 0; i < n; ++i) {
+            childOffsets[i] = arc;
+
+            for (final DirectedGraphNode child : nodes[i]) {
+                final int j = child.getId();
+                final double weight = f.get(nodes[i], child).doubleValue();
+                children[arc] = j;
+                childWeights[arc] = weight;
+                parents[parentCursors[j]] = i;
+                parentWeights[parentCursors[j]] = weight;
+                parentCursors[j]++;
+                ++arc;
+            }
+        }
+
+        childOffsets[n] = arc;
+
+        return new CompressedDirectedGraph(nodes,
+                                           childOffsets,
+                                           children,
+                                           childWeights,
+                                           parentOffsets,
+                                           parents,
+                                           parentWeights);
+    }
+
+    /**
+     * Returns the amount of nodes in this snapshot.
+     *
+     * @return the amount of nodes.
+     */
+    @Override
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the amount of arcs in this snapshot.
+     *
+     * @return the amount of arcs.
+     */
+    @Override
+    public int edgeCount() {
+        return children.length;
+    }
+
+    /**
+     * Returns the original node with the dense index <code>index</code>.
+     *
+     * @param index the dense index of the node.
+     *
+     * @return the original graph node.
+     */
+    public DirectedGraphNode getNode(final int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Returns the dense index of <code>node</code>, or <tt>-1</tt> if the node
+     * was not in the graph at the moment of freezing or its id has changed
+     * since then.
+     *
+     * @param node the node to query.
+     *
+     * @return the dense index of the node or <tt>-1</tt>.
+     */
+    public int getIndex(final DirectedGraphNode node) {
+        final int index = node.getId();
+
+        if (index < 0 || index >= nodes.length || nodes[index] != node) {
+            return -1;
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the index of the first outgoing arc of the node
+     * <code>index</code>. The arcs of the node end at
+     * <code>getChildOffset(index + 1)</code>.
+     *
+     * @param index the dense index of the node.
+     *
+     * @return the offset of the first outgoing arc.
+     */
+    @Override
+    public int getChildOffset(final int index) {
+        return childOffsets[index];
+    }
+
+    /**
+     * Returns the head of the outgoing arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the dense index of the head node.
+     */
+    @Override
+    public int getChild(final int arc) {
+        return children[arc];
+    }
+
+    /**
+     * Returns the weight of the outgoing arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the weight of the arc.
+     */
+    @Override
+    public double getChildWeight(final int arc) {
+        return childWeights[arc];
+    }
+
+    /**
+     * Returns the index of the first incoming arc of the node
+     * <code>index</code>. The arcs of the node end at
+     * <code>getParentOffset(index + 1)</code>.
+     *
+     * @param index the dense index of the node.
+     *
+     * @return the offset of the first incoming arc.
+     */
+    @Override
+    public int getParentOffset(final int index) {
+        return parentOffsets[index];
+    }
+
+    /**
+     * Returns the tail of the incoming arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the dense index of the tail node.
+     */
+    @Override
+    public int getParent(final int arc) {
+        return parents[arc];
+    }
+
+    /**
+     * Returns the weight of the incoming arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the weight of the arc.
+     */
+    @Override
+    public double getParentWeight(final int arc) {
+        return parentWeights[arc];
+    }
+}
@@ -0,0 +1,90 @@
+package net.coderodde.jgs.model.support;
+
+/**
+ * This interface defines the read-only API of a directed, real-weighted graph
+ * in <b>compressed sparse row</b> (CSR) form. The nodes are the dense indices
+ * <code>0, 1, ..., size() - 1</code>, and the outgoing arcs of the node
+ * <code>i</code> are the arcs from <code>getChildOffset(i)</code> to
+ * <code>getChildOffset(i + 1) - 1</code>; the incoming arcs are laid out
+ * likewise in a reverse CSR. The finders working on node indices, such as
+ * {@link CompressedDijkstraPathFinder}, search any implementation, be it a
+ * {@link CompressedDirectedGraph} in the heap or a
+ * {@link net.coderodde.jgs.io.MappedGraph} over a file.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public interface CompressedGraph {
+
+    /**
+     * Returns the amount of nodes in this graph.
+     *
+     * @return the amount of nodes.
+     */
+    public int size();
+
+    /**
+     * Returns the amount of arcs in this graph.
+     *
+     * @return the amount of arcs.
+     */
+    public int edgeCount();
+
+    /**
+     * Returns the index of the first outgoing arc of the node
+     * <code>index</code>. The arcs of the node end at
+     * <code>getChildOffset(index + 1)</code>.
+     *
+     * @param index the index of the node.
+     *
+     * @return the offset of the first outgoing arc.
+     */
+    public int getChildOffset(final int index);
+
+    /**
+     * Returns the head of the outgoing arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the index of the head node.
+     */
+    public int getChild(final int arc);
+
+    /**
+     * Returns the weight of the outgoing arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the weight of the arc.
+     */
+    public double getChildWeight(final int arc);
+
+    /**
+     * Returns the index of the first incoming arc of the node
+     * <code>index</code>. The arcs of the node end at
+     * <code>getParentOffset(index + 1)</code>.
+     *
+     * @param index the index of the node.
+     *
+     * @return the offset of the first incoming arc.
+     */
+    public int getParentOffset(final int index);
+
+    /**
+     * Returns the tail of the incoming arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the index of the tail node.
+     */
+    public int getParent(final int arc);
+
+    /**
+     * Returns the weight of the incoming arc <code>arc</code>.
+     *
+     * @param arc the arc index.
+     *
+     * @return the weight of the arc.
+     */
+    public double getParentWeight(final int arc);
+}
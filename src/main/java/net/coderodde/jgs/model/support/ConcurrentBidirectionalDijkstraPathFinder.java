@@ -0,0 +1,465 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.SearchStatistics;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class implements bidirectional Dijkstra's algorithm on a
+ * {@link CompressedDirectedGraph} with the forward search running on a helper
+ * thread and the backward search on the calling thread, so that a single
+ * query uses two cores.
+ * <p>
+ * Each search publishes the key of its next node to settle, a lower bound on
+ * the distances of all the nodes it has not settled yet, and the best path
+ * length found so far, <tt>mu</tt>, is shared. A search stops as soon as its
+ * key plus the key last published by the other search reaches <tt>mu</tt>,
+ * or when its open set becomes empty. Since the keys only grow, reading an
+ * older key of the other search only delays the stop. The tentative
+ * distances are kept in atomic arrays: whenever a search lowers the distance
+ * of a node, it then reads the distance of the node in the other search, so
+ * that of two concurrent updates at least one sees the other and the meeting
+ * is never missed.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class ConcurrentBidirectionalDijkstraPathFinder
+extends PathFinder<DirectedGraphNode, Double> {
+
+    /**
+     * The bits of the positive infinity, marking undiscovered nodes.
+     */
+    private static final long INFINITY_BITS =
+            Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+
+    /**
+     * The graph snapshot to search.
+     */
+    private final CompressedDirectedGraph graph;
+
+    /**
+     * The forward search over the outgoing arcs.
+     */
+    private final Side forward;
+
+    /**
+     * The backward search over the incoming arcs.
+     */
+    private final Side backward;
+
+    /**
+     * The thread running the forward search.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Guards the updates of <code>mu</code> and <code>touch</code>.
+     */
+    private final Object meetingLock = new Object();
+
+    /**
+     * The length of the shortest path found so far.
+     */
+    private volatile double mu;
+
+    /**
+     * The node where the shortest path found so far passes from the forward
+     * search to the backward one, or <tt>-1</tt>.
+     */
+    private volatile int touch;
+
+    /**
+     * Set when either search has stopped.
+     */
+    private volatile boolean done;
+
+    /**
+     * Constructs a concurrent bidirectional path finder over
+     * <code>graph</code> using indexed heaps of degree
+     * <code>heapDegree</code>.
+     *
+     * @param graph the graph snapshot to search.
+     * @param heapDegree the degree of the open set heaps.
+     */
+    public ConcurrentBidirectionalDijkstraPathFinder(
+            final CompressedDirectedGraph graph,
+            final int heapDegree) {
+        checkNotNull(graph, "The graph snapshot is null.");
+
+        this.graph = graph;
+        this.forward = new Side(graph.childOffsets,
+                                graph.children,
+                                graph.childWeights,
+                                heapDegree);
+        this.backward = new Side(graph.parentOffsets,
+                                 graph.parents,
+                                 graph.parentWeights,
+                                 heapDegree);
+        this.forward.other = backward;
+        this.backward.other = forward;
+        this.executor =
+                Executors.newSingleThreadExecutor(new ForwardThreadFactory());
+    }
+
+    /**
+     * Constructs a concurrent bidirectional path finder over
+     * <code>graph</code> using indexed heaps of default degree.
+     *
+     * @param graph the graph snapshot to search.
+     */
+    public ConcurrentBidirectionalDijkstraPathFinder(
+            final CompressedDirectedGraph graph) {
+        this(graph, IndexedDoubleHeap.DEFAULT_DEGREE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path or an empty path if target is not reachable from
+     * source.
+     */
+    @Override
+    public Path<DirectedGraphNode> search(final DirectedGraphNode source,
+                                         final DirectedGraphNode target) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(target, "The target node is null.");
+
+        final int sourceIndex = checkIndex(source);
+        final int targetIndex = checkIndex(target);
+        final SearchStatistics statistics = startStatistics();
+
+        if (sourceIndex == targetIndex) {
+            return finishStatistics(
+                    statistics,
+                    new Path<>(Collections.singletonList(source)));
+        }
+
+        mu = Double.POSITIVE_INFINITY;
+        touch = -1;
+        done = false;
+        forward.start(sourceIndex);
+        backward.start(targetIndex);
+
+        final Future<Void> future = executor.submit(forward);
+
+        try {
+            backward.call();
+        } finally {
+            // Stop the forward search even if the backward one failed.
+            done = true;
+
+            try {
+                waitFor(future);
+            } finally {
+                forward.finish();
+                backward.finish();
+            }
+        }
+
+        return finishStatistics(statistics,
+                                touch == -1 ?
+                                emptyPath :
+                                constructPath(touch));
+    }
+
+    /**
+     * Stops the forward search thread. No more searches may be run
+     * afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Records the path of length <code>length</code> passing through
+     * <code>node</code> if it is shorter than the best one so far.
+     */
+    private void meet(final double length, final int node) {
+        synchronized (meetingLock) {
+            if (length < mu) {
+                touch = node;
+                mu = length;
+            }
+        }
+    }
+
+    /**
+     * Waits for the forward search and rethrows its failure, if any.
+     */
+    private static void waitFor(final Future<Void> future) {
+        try {
+            future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for the forward search.", ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Returns the dense index of <code>node</code> or throws an exception if
+     * the node is not in the snapshot.
+     *
+     * @param node the node to look up.
+     *
+     * @return the dense index of the node.
+     */
+    private int checkIndex(final DirectedGraphNode node) {
+        final int index = graph.getIndex(node);
+
+        if (index < 0) {
+            throw new IllegalStateException(
+                    "The node " + node + " is not in the graph snapshot.");
+        }
+
+        return index;
+    }
+
+    /**
+     * Constructs the path passing through the node <code>touch</code>.
+     *
+     * @param touch the index of the node where the two searches met.
+     *
+     * @return a path.
+     */
+    private Path<DirectedGraphNode> constructPath(final int touch) {
+        final List<DirectedGraphNode> list = new ArrayList<>();
+
+        for (int i = touch; i != -1; i = forward.parents[i]) {
+            list.add(graph.getNode(i));
+        }
+
+        Collections.<DirectedGraphNode>reverse(list);
+
+        for (int i = backward.parents[touch];
+                i != -1;
+                i = backward.parents[i]) {
+            list.add(graph.getNode(i));
+        }
+
+        return new Path<>(list);
+    }
+
+    /**
+     * This class holds the state of one of the two searches.
+     */
+    private final class Side implements Callable<Void> {
+
+        /**
+         * The arc offsets of the direction searched.
+         */
+        private final int[] offsets;
+
+        /**
+         * The other endpoints of the arcs.
+         */
+        private final int[] heads;
+
+        /**
+         * The weights of the arcs.
+         */
+        private final double[] weights;
+
+        /**
+         * Maps each node index to the bits of its tentative distance, which
+         * is infinite for the nodes not discovered in the current search.
+         */
+        private final AtomicLongArray distances;
+
+        /**
+         * Maps each discovered node index to the index of its predecessor in
+         * this search, or <tt>-1</tt>.
+         */
+        private final int[] parents;
+
+        /**
+         * The open set.
+         */
+        private final IndexedDoubleHeap openSet;
+
+        /**
+         * The nodes settled by this search.
+         */
+        private final StampedIntSet closed;
+
+        /**
+         * The nodes discovered by the current search, whose distances are
+         * reset afterwards.
+         */
+        private int[] discovered = new int[64];
+
+        /**
+         * The amount of nodes in <code>discovered</code>.
+         */
+        private int discoveredCount;
+
+        /**
+         * The key of the next node to settle; never decreases during a
+         * search.
+         */
+        private volatile double top;
+
+        /**
+         * The search in the opposite direction.
+         */
+        private Side other;
+
+        Side(final int[] offsets,
+             final int[] heads,
+             final double[] weights,
+             final int heapDegree) {
+            final int n = graph.size();
+            this.offsets = offsets;
+            this.heads = heads;
+            this.weights = weights;
+            this.distances = new AtomicLongArray(n);
+            this.parents = new int[n];
+            this.openSet = new IndexedDoubleHeap(n, heapDegree);
+            this.closed = new StampedIntSet(n);
+
+            for (int i = 0; i < n; ++i) {
+                distances.set(i, INFINITY_BITS);
+            }
+        }
+
+        /**
+         * Prepares this search to start from <code>root</code>.
+         */
+        void start(final int root) {
+            openSet.clear();
+            closed.reset(graph.size());
+            discoveredCount = 0;
+            top = 0.0;
+            discover(root, 0.0);
+            parents[root] = -1;
+            openSet.add(root, 0.0);
+        }
+
+        /**
+         * Forgets the distances of the nodes discovered by the last search.
+         */
+        void finish() {
+            for (int i = 0; i < discoveredCount; ++i) {
+                distances.set(discovered[i], INFINITY_BITS);
+            }
+        }
+
+        /**
+         * Returns the tentative distance of <code>node</code>.
+         */
+        double getDistance(final int node) {
+            return Double.longBitsToDouble(distances.get(node));
+        }
+
+        @Override
+        public Void call() {
+            while (!done) {
+                if (openSet.isEmpty()) {
+                    done = true;
+                    break;
+                }
+
+                final int current = openSet.min();
+                final double key = getDistance(current);
+                top = key;
+
+                if (key + other.top >= mu) {
+                    done = true;
+                    break;
+                }
+
+                openSet.extractMinimum();
+                closed.add(current);
+
+                for (int arc = offsets[current];
+                        arc < offsets[current + 1];
+                        ++arc) {
+                    final int next = heads[arc];
+
+                    if (closed.contains(next)) {
+                        continue;
+                    }
+
+                    final double tmpg = key + weights[arc];
+                    final double distance = getDistance(next);
+
+                    if (distance == Double.POSITIVE_INFINITY) {
+                        discover(next, tmpg);
+                        openSet.add(next, tmpg);
+                    } else if (tmpg < distance) {
+                        distances.set(next, Double.doubleToRawLongBits(tmpg));
+                        openSet.decreasePriority(next, tmpg);
+                    } else {
+                        continue;
+                    }
+
+                    parents[next] = current;
+
+                    // Must be read after the write above.
+                    final double otherDistance = other.getDistance(next);
+
+                    if (tmpg + otherDistance < mu) {
+                        meet(tmpg + otherDistance, next);
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Sets the distance of the newly discovered node <code>node</code>.
+         */
+        private void discover(final int node, final double distance) {
+            if (discoveredCount == discovered.length) {
+                discovered = Arrays.copyOf(discovered, 2 * discoveredCount);
+            }
+
+            discovered[discoveredCount++] = node;
+            distances.set(node, Double.doubleToRawLongBits(distance));
+        }
+    }
+
+    /**
+     * This class creates the daemon thread of the forward search.
+     */
+    private static final class ForwardThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread =
+                    new Thread(runnable, "jgs-bidirectional-forward-search");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
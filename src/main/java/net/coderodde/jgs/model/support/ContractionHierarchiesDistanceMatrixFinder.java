@@ -0,0 +1,234 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Arrays;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class computes distance matrices over a {@link ContractionHierarchy}
+ * with the <b>bucket-based</b> many-to-many algorithm. First, a backward
+ * search from each target climbs the hierarchy along the downward arcs and
+ * leaves an entry <code>(target, distance)</code> in the bucket of every node
+ * it settles. Then, a forward search from each source climbs the hierarchy
+ * along the upward arcs and, for every settled node, combines its distance
+ * with the entries in the bucket of that node. Since a shortest path always
+ * has a node of highest rank where an upward and a downward search meet, the
+ * smallest combination is the distance.
+ * <p>
+ * The searches in a hierarchy settle only a few hundred nodes even in large
+ * road networks, so <code>S</code> sources and <code>T</code> targets cost
+ * <code>S + T</code> small searches plus the bucket scans, instead of
+ * <code>S * T</code> point-to-point queries.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class ContractionHierarchiesDistanceMatrixFinder
+extends DistanceMatrixFinder {
+
+    /**
+     * The initial capacity of the bucket entry arrays.
+     */
+    private static final int INITIAL_ENTRY_CAPACITY = 1 << 10;
+
+    /**
+     * The hierarchy to search.
+     */
+    private final ContractionHierarchy ch;
+
+    /**
+     * The open set of the searches.
+     */
+    private final IndexedDoubleHeap openSet;
+
+    /**
+     * Maps each discovered node index to its tentative distance.
+     */
+    private final double[] distances;
+
+    /**
+     * The indices of the discovered nodes.
+     */
+    private final StampedIntSet visited;
+
+    /**
+     * The nodes settled by the last search, in settling order.
+     */
+    private final int[] settled;
+
+    /**
+     * <code>bucketOffsets[i]</code> is the index of the first entry in the
+     * bucket of the node <code>i</code>. Has <code>size() + 1</code> entries.
+     */
+    private final int[] bucketOffsets;
+
+    /**
+     * Constructs a distance matrix finder over the contraction hierarchy
+     * <code>ch</code>.
+     *
+     * @param ch the contraction hierarchy.
+     */
+    public ContractionHierarchiesDistanceMatrixFinder(
+            final ContractionHierarchy ch) {
+        checkNotNull(ch, "The contraction hierarchy is null.");
+
+        final int n = ch.size();
+        this.ch = ch;
+        this.openSet = new IndexedDoubleHeap(n);
+        this.distances = new double[n];
+        this.visited = new StampedIntSet(n);
+        this.settled = new int[n];
+        this.bucketOffsets = new int[n + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param sources the source nodes.
+     * @param targets the target nodes.
+     *
+     * @return the distance matrix.
+     */
+    @Override
+    public DistanceMatrix compute(final List<DirectedGraphNode> sources,
+                                  final List<DirectedGraphNode> targets) {
+        final int[] sourceIndices = toIndices(sources, "source");
+        final int[] targetIndices = toIndices(targets, "target");
+        final DistanceMatrix matrix = new DistanceMatrix(sources, targets);
+
+        // Collect the bucket entries of all the backward searches.
+        int[] entryNodes = new int[INITIAL_ENTRY_CAPACITY];
+        int[] entryColumns = new int[INITIAL_ENTRY_CAPACITY];
+        double[] entryDistances = new double[INITIAL_ENTRY_CAPACITY];
+        int entryCount = 0;
+
+        for (int column = 0; column < targetIndices.length; ++column) {
+            final int settledCount = search(targetIndices[column],
+                                            ch.downOffsets,
+                                            ch.downTails,
+                                            ch.downWeights);
+
+            if (entryCount + settledCount > entryNodes.length) {
+                final int capacity = Math.max(2 * entryNodes.length,
+                                              entryCount + settledCount);
+                entryNodes = Arrays.copyOf(entryNodes, capacity);
+                entryColumns = Arrays.copyOf(entryColumns, capacity);
+                entryDistances = Arrays.copyOf(entryDistances, capacity);
+            }
+
+            for (int i = 0; i < settledCount; ++i) {
+                entryNodes[entryCount] = settled[i];
+                entryColumns[entryCount] = column;
+                entryDistances[entryCount] = distances[settled[i]];
+                ++entryCount;
+            }
+        }
+
+        // Group the entries by node with a counting sort.
+        Arrays.fill(bucketOffsets, 0);
+
+        for (int i = 0; i < entryCount; ++i) {
+            ++bucketOffsets[entryNodes[i] + 1];
+        }
+
+        for (int i = 0; i < ch.size(); ++i) {
+            bucketOffsets[i + 1] += bucketOffsets[i];
+        }
+
+        final int[] bucketColumns = new int[entryCount];
+        final double[] bucketDistances = new double[entryCount];
+        final int[] positions = Arrays.copyOf(bucketOffsets, ch.size());
+
+        for (int i = 0; i < entryCount; ++i) {
+            final int position = positions[entryNodes[i]]++;
+            bucketColumns[position] = entryColumns[i];
+            bucketDistances[position] = entryDistances[i];
+        }
+
+        // Scan the buckets of the nodes settled by each forward search.
+        for (int row = 0; row < sourceIndices.length; ++row) {
+            final int settledCount = search(sourceIndices[row],
+                                            ch.upOffsets,
+                                            ch.upHeads,
+                                            ch.upWeights);
+
+            for (int i = 0; i < settledCount; ++i) {
+                final int node = settled[i];
+                final double distance = distances[node];
+
+                for (int entry = bucketOffsets[node];
+                        entry < bucketOffsets[node + 1];
+                        ++entry) {
+                    matrix.relax(row,
+                                 bucketColumns[entry],
+                                 distance + bucketDistances[entry]);
+                }
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param node the node to look up.
+     *
+     * @return the index of the node, or <tt>-1</tt>.
+     */
+    @Override
+    protected int getIndex(final DirectedGraphNode node) {
+        return ch.getIndex(node);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from <code>root</code> over the arcs given in
+     * the CSR arrays until the open set is exhausted. The settled nodes are
+     * stored in <code>settled</code> and their distances in
+     * <code>distances</code>.
+     *
+     * @param root the index of the start node.
+     * @param offsets the arc offsets of each node.
+     * @param heads the other endpoints of the arcs.
+     * @param weights the weights of the arcs.
+     *
+     * @return the amount of settled nodes.
+     */
+    private int search(final int root,
+                       final int[] offsets,
+                       final int[] heads,
+                       final double[] weights) {
+        openSet.clear();
+        visited.reset(ch.size());
+
+        openSet.add(root, 0.0);
+        visited.add(root);
+        distances[root] = 0.0;
+
+        int settledCount = 0;
+
+        while (openSet.size() > 0) {
+            final int current = openSet.extractMinimum();
+            settled[settledCount++] = current;
+
+            for (int arc = offsets[current];
+                    arc < offsets[current + 1];
+                    ++arc) {
+                final int next = heads[arc];
+                final double tmpg = distances[current] + weights[arc];
+
+                if (!visited.contains(next)) {
+                    openSet.add(next, tmpg);
+                    visited.add(next);
+                    distances[next] = tmpg;
+                } else if (tmpg < distances[next]) {
+                    openSet.decreasePriority(next, tmpg);
+                    distances[next] = tmpg;
+                }
+            }
+        }
+
+        return settledCount;
+    }
+}
@@ -0,0 +1,278 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class implements the query algorithm of contraction hierarchies. The
+ * forward search from the source follows only the upward arcs of a
+ * {@link ContractionHierarchy}, and the backward search from the target
+ * follows only the downward arcs in reverse, so both searches climb towards
+ * the nodes of high rank and meet at the highest node of a shortest path. A
+ * search direction stops once its minimum key reaches the length of the best
+ * path found so far. The shortcuts on the resulting path are then unpacked
+ * into the original arcs.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class ContractionHierarchiesPathFinder
+extends PathFinder<DirectedGraphNode, Double> {
+
+    /**
+     * The hierarchy to search.
+     */
+    private final ContractionHierarchy ch;
+
+    /**
+     * The open set of the forward search.
+     */
+    private final IndexedDoubleHeap openSet1;
+
+    /**
+     * The open set of the backward search.
+     */
+    private final IndexedDoubleHeap openSet2;
+
+    /**
+     * Stores the distances from the source node in the forward search.
+     */
+    private final double[] distances1;
+
+    /**
+     * Stores the distances to the target node in the backward search.
+     */
+    private final double[] distances2;
+
+    /**
+     * Maps a node index to its parent index in the forward search.
+     */
+    private final int[] parents1;
+
+    /**
+     * Maps a node index to its successor index in the backward search.
+     */
+    private final int[] parents2;
+
+    /**
+     * Maps a node index to the upward arc it was reached by.
+     */
+    private final int[] parentArcs1;
+
+    /**
+     * Maps a node index to the downward arc it was reached by.
+     */
+    private final int[] parentArcs2;
+
+    /**
+     * The nodes discovered by the forward search.
+     */
+    private final StampedIntSet visited1;
+
+    /**
+     * The nodes discovered by the backward search.
+     */
+    private final StampedIntSet visited2;
+
+    /**
+     * Constructs a path finder over the contraction hierarchy
+     * <code>ch</code>.
+     *
+     * @param ch the contraction hierarchy.
+     */
+    public ContractionHierarchiesPathFinder(final ContractionHierarchy ch) {
+        checkNotNull(ch, "The contraction hierarchy is null.");
+
+        final int n = ch.size();
+        this.ch = ch;
+        this.openSet1 = new IndexedDoubleHeap(n);
+        this.openSet2 = new IndexedDoubleHeap(n);
+        this.distances1 = new double[n];
+        this.distances2 = new double[n];
+        this.parents1 = new int[n];
+        this.parents2 = new int[n];
+        this.parentArcs1 = new int[n];
+        this.parentArcs2 = new int[n];
+        this.visited1 = new StampedIntSet(n);
+        this.visited2 = new StampedIntSet(n);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path or an empty path if target is not reachable from
+     * source.
+     */
+    @Override
+    public Path<DirectedGraphNode> search(final DirectedGraphNode source,
+                                         final DirectedGraphNode target) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(target, "The target node is null.");
+
+        final int sourceIndex = checkIndex(source);
+        final int targetIndex = checkIndex(target);
+
+        openSet1.clear();
+        openSet2.clear();
+        visited1.reset(ch.size());
+        visited2.reset(ch.size());
+
+        visited1.add(sourceIndex);
+        visited2.add(targetIndex);
+        distances1[sourceIndex] = 0.0;
+        distances2[targetIndex] = 0.0;
+        openSet1.add(sourceIndex, 0.0);
+        openSet2.add(targetIndex, 0.0);
+
+        final int[] upOffsets = ch.upOffsets;
+        final int[] upHeads = ch.upHeads;
+        final double[] upWeights = ch.upWeights;
+        final int[] downOffsets = ch.downOffsets;
+        final int[] downTails = ch.downTails;
+        final double[] downWeights = ch.downWeights;
+
+        int touch = -1;
+        double m = Double.POSITIVE_INFINITY;
+
+        for (;;) {
+            final double min1 = openSet1.isEmpty() ?
+                                Double.POSITIVE_INFINITY :
+                                openSet1.minKey();
+            final double min2 = openSet2.isEmpty() ?
+                                Double.POSITIVE_INFINITY :
+                                openSet2.minKey();
+
+            // Also stops when both open sets are empty.
+            if (Math.min(min1, min2) >= m) {
+                break;
+            }
+
+            if (min1 <= min2) {
+                // Expand the forward frontier.
+                final int current = openSet1.extractMinimum();
+
+                if (visited2.contains(current)
+                        && distances1[current] + distances2[current] < m) {
+                    m = distances1[current] + distances2[current];
+                    touch = current;
+                }
+
+                for (int arc = upOffsets[current];
+                        arc < upOffsets[current + 1];
+                        ++arc) {
+                    final int child = upHeads[arc];
+                    final double tmpg = distances1[current] + upWeights[arc];
+
+                    if (!visited1.contains(child)) {
+                        visited1.add(child);
+                        openSet1.add(child, tmpg);
+                    } else if (tmpg < distances1[child]) {
+                        openSet1.decreasePriority(child, tmpg);
+                    } else {
+                        continue;
+                    }
+
+                    distances1[child] = tmpg;
+                    parents1[child] = current;
+                    parentArcs1[child] = arc;
+                }
+            } else {
+                // Expand the backward frontier.
+                final int current = openSet2.extractMinimum();
+
+                if (visited1.contains(current)
+                        && distances1[current] + distances2[current] < m) {
+                    m = distances1[current] + distances2[current];
+                    touch = current;
+                }
+
+                for (int arc = downOffsets[current];
+                        arc < downOffsets[current + 1];
+                        ++arc) {
+                    final int parent = downTails[arc];
+                    final double tmpg = distances2[current] + downWeights[arc];
+
+                    if (!visited2.contains(parent)) {
+                        visited2.add(parent);
+                        openSet2.add(parent, tmpg);
+                    } else if (tmpg < distances2[parent]) {
+                        openSet2.decreasePriority(parent, tmpg);
+                    } else {
+                        continue;
+                    }
+
+                    distances2[parent] = tmpg;
+                    parents2[parent] = current;
+                    parentArcs2[parent] = arc;
+                }
+            }
+        }
+
+        if (touch == -1) {
+            return emptyPath;
+        }
+
+        return constructPath(sourceIndex, targetIndex, touch);
+    }
+
+    /**
+     * Returns the index of <code>node</code> or throws an exception if the
+     * node is not in the hierarchy.
+     *
+     * @param node the node to look up.
+     *
+     * @return the index of the node.
+     */
+    private int checkIndex(final DirectedGraphNode node) {
+        final int index = ch.getIndex(node);
+
+        if (index < 0) {
+            throw new IllegalStateException(
+                    "The node " + node + " is not in the contraction " +
+                    "hierarchy.");
+        }
+
+        return index;
+    }
+
+    /**
+     * Constructs the path passing through the node <code>touch</code> and
+     * unpacks all the shortcuts on it.
+     *
+     * @param sourceIndex the index of the source node.
+     * @param targetIndex the index of the target node.
+     * @param touch the index of the node where the two searches met.
+     *
+     * @return a path.
+     */
+    private Path<DirectedGraphNode> constructPath(final int sourceIndex,
+                                                  final int targetIndex,
+                                                  final int touch) {
+        final List<Integer> upwardPath = new ArrayList<>();
+
+        for (int i = touch; i != sourceIndex; i = parents1[i]) {
+            upwardPath.add(i);
+        }
+
+        final List<DirectedGraphNode> list = new ArrayList<>();
+        list.add(ch.getNode(sourceIndex));
+
+        for (int j = upwardPath.size() - 1; j >= 0; --j) {
+            final int i = upwardPath.get(j);
+            ch.unpack(parents1[i], i, ch.upMiddles[parentArcs1[i]], list);
+        }
+
+        for (int i = touch; i != targetIndex; i = parents2[i]) {
+            ch.unpack(i, parents2[i], ch.downMiddles[parentArcs2[i]], list);
+        }
+
+        return new Path<>(list);
+    }
+}
@@ -0,0 +1,691 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+import net.coderodde.jgs.model.ds.support.IndexedIntHeap;
+
+/**
+ * This class implements the preprocessed data of <b>contraction
+ * hierarchies</b>. The nodes of a directed, real-weighted graph are contracted
+ * one by one in the order of their ranks; contracting a node removes it from
+ * the remaining graph and adds a <b>shortcut</b> arc <code>(u, w)</code> for
+ * each pair of arcs <code>(u, v), (v, w)</code> whose concatenation is the
+ * only shortest path from <code>u</code> to <code>w</code> found by a bounded
+ * <b>witness search</b>. The contraction order is chosen greedily by the
+ * priority of each node, combining twice the amount of shortcuts its
+ * contraction would add, minus the amount of arcs it would remove, plus the
+ * amount of its already contracted neighbors and its level in the hierarchy.
+ * The priorities are updated lazily.
+ * <p>
+ * The result is stored in two CSR arrays: the <b>upward</b> arcs leading from
+ * each node to the nodes of higher rank, and the <b>downward</b> arcs leading
+ * to each node from the nodes of higher rank. Every arc remembers the node it
+ * bypasses, or <tt>-1</tt> if it is an original arc, so that shortcuts can be
+ * unpacked into the original paths. The node indices are the node ids at the
+ * moment of preprocessing, and the hierarchy does not track the later
+ * changes to the graph or its weight function. The weights must be
+ * non-negative.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class ContractionHierarchy {
+
+    /**
+     * The maximum amount of nodes settled by a single witness search. When
+     * the limit is exceeded, a shortcut is added even if it might not be
+     * necessary.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    /**
+     * Maps each index to the original graph node.
+     */
+    private final DirectedGraphNode[] nodes;
+
+    /**
+     * Maps each index to the rank of the node in the contraction order.
+     */
+    private final int[] ranks;
+
+    /**
+     * <code>upOffsets[i]</code> is the index of the first upward arc of the
+     * node <code>i</code>. Has <code>size() + 1</code> entries.
+     */
+    final int[] upOffsets;
+
+    /**
+     * The heads of the upward arcs grouped by their tails.
+     */
+    final int[] upHeads;
+
+    /**
+     * The weights of the upward arcs.
+     */
+    final double[] upWeights;
+
+    /**
+     * The nodes bypassed by the upward arcs, or <tt>-1</tt>.
+     */
+    final int[] upMiddles;
+
+    /**
+     * <code>downOffsets[i]</code> is the index of the first downward arc of
+     * the node <code>i</code>. Has <code>size() + 1</code> entries.
+     */
+    final int[] downOffsets;
+
+    /**
+     * The tails of the downward arcs grouped by their heads.
+     */
+    final int[] downTails;
+
+    /**
+     * The weights of the downward arcs.
+     */
+    final double[] downWeights;
+
+    /**
+     * The nodes bypassed by the downward arcs, or <tt>-1</tt>.
+     */
+    final int[] downMiddles;
+
+    /**
+     * Constructs a hierarchy out of the results of the contraction.
+     */
+    private ContractionHierarchy(final DirectedGraphNode[] nodes,
+                                 final int[] ranks,
+                                 final ArcList[] up,
+                                 final ArcList[] down) {
+        final int n = nodes.length;
+        this.nodes = nodes;
+        this.ranks = ranks;
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+
+        for (int i = 0; i < n; ++i) {
+            upOffsets[i + 1] = upOffsets[i] + up[i].size;
+            downOffsets[i + 1] = downOffsets[i] + down[i].size;
+        }
+
+        this.upHeads = new int[upOffsets[n]];
+        this.upWeights = new double[upOffsets[n]];
+        this.upMiddles = new int[upOffsets[n]];
+        this.downTails = new int[downOffsets[n]];
+        this.downWeights = new double[downOffsets[n]];
+        this.downMiddles = new int[downOffsets[n]];
+
+        for (int i = 0; i < n; ++i) {
+            System.arraycopy(up[i].heads, 0, upHeads, upOffsets[i],
+                             up[i].size);
+            System.arraycopy(up[i].weights, 0, upWeights, upOffsets[i],
+                             up[i].size);
+            System.arraycopy(up[i].middles, 0, upMiddles, upOffsets[i],
+                             up[i].size);
+            System.arraycopy(down[i].heads, 0, downTails, downOffsets[i],
+                             down[i].size);
+            System.arraycopy(down[i].weights, 0, downWeights, downOffsets[i],
+                             down[i].size);
+            System.arraycopy(down[i].middles, 0, downMiddles, downOffsets[i],
+                             down[i].size);
+        }
+    }
+
+    /**
+     * Contracts the nodes of <code>graph</code> weighted by <code>f</code>.
+     * Every arc of the graph must have a non-negative weight associated with
+     * it.
+     *
+     * @param graph the graph to preprocess.
+     * @param f the weight function of <code>graph</code>.
+     *
+     * @return the contraction hierarchy of the graph.
+     *
+     * @throws java.lang.IllegalStateException if an arc has no weight.
+     */
+    public static ContractionHierarchy
+        build(final Graph<DirectedGraphNode> graph,
+              final DirectedGraphDoubleWeightFunction f) {
+        checkNotNull(graph, "The graph is null.");
+        checkNotNull(f, "The weight function is null.");
+
+        final int n = graph.size();
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[n];
+
+        for (int i = 0; i < n; ++i) {
+            nodes[i] = graph.get(i);
+        }
+
+        final Contractor contractor = new Contractor(nodes, f);
+        contractor.run();
+        return new ContractionHierarchy(nodes,
+                                        contractor.ranks,
+                                        contractor.up,
+                                        contractor.down);
+    }
+
+    /**
+     * Returns the amount of nodes in this hierarchy.
+     *
+     * @return the amount of nodes.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the amount of shortcut arcs in this hierarchy.
+     *
+     * @return the amount of shortcuts.
+     */
+    public int getShortcutCount() {
+        int count = 0;
+
+        for (final int middle : upMiddles) {
+            if (middle != -1) {
+                ++count;
+            }
+        }
+
+        for (final int middle : downMiddles) {
+            if (middle != -1) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the original node with the index <code>index</code>.
+     *
+     * @param index the index of the node.
+     *
+     * @return the original graph node.
+     */
+    public DirectedGraphNode getNode(final int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Returns the index of <code>node</code>, or <tt>-1</tt> if the node was
+     * not in the graph at the moment of preprocessing or its id has changed
+     * since then.
+     *
+     * @param node the node to query.
+     *
+     * @return the index of the node or <tt>-1</tt>.
+     */
+    public int getIndex(final DirectedGraphNode node) {
+        final int index = node.getId();
+
+        if (index < 0 || index >= nodes.length || nodes[index] != node) {
+            return -1;
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the rank of the node with the index <code>index</code>. The
+     * node of rank 0 was contracted first.
+     *
+     * @param index the index of the node.
+     *
+     * @return the rank of the node.
+     */
+    public int getRank(final int index) {
+        return ranks[index];
+    }
+
+    /**
+     * Appends to <code>list</code> the original path represented by the arc
+     * <code>(tail, head)</code> bypassing <code>middle</code>, excluding the
+     * tail node.
+     *
+     * @param tail the index of the tail node.
+     * @param head the index of the head node.
+     * @param middle the index of the bypassed node or <tt>-1</tt>.
+     * @param list the list to append to.
+     */
+    void unpack(final int tail,
+                final int head,
+                final int middle,
+                final List<DirectedGraphNode> list) {
+        final Deque<int[]> stack = new ArrayDeque<>();
+        stack.addLast(new int[]{ tail, head, middle });
+
+        while (!stack.isEmpty()) {
+            final int[] arc = stack.removeLast();
+
+            if (arc[2] == -1) {
+                list.add(nodes[arc[1]]);
+            } else {
+                // The first half must be unpacked first, so push it last.
+                stack.addLast(new int[]{ arc[2],
+                                         arc[1],
+                                         getMiddle(arc[2], arc[1]) });
+                stack.addLast(new int[]{ arc[0],
+                                         arc[2],
+                                         getMiddle(arc[0], arc[2]) });
+            }
+        }
+    }
+
+    /**
+     * Returns the node bypassed by the arc <code>(tail, head)</code>. The
+     * arc is stored with whichever of its endpoints was contracted first.
+     *
+     * @param tail the index of the tail node.
+     * @param head the index of the head node.
+     *
+     * @return the index of the bypassed node or <tt>-1</tt>.
+     */
+    private int getMiddle(final int tail, final int head) {
+        if (ranks[tail] < ranks[head]) {
+            for (int arc = upOffsets[tail]; arc < upOffsets[tail + 1]; ++arc) {
+                if (upHeads[arc] == head) {
+                    return upMiddles[arc];
+                }
+            }
+        } else {
+            for (int arc = downOffsets[head];
+                    arc < downOffsets[head + 1];
+                    ++arc) {
+                if (downTails[arc] == tail) {
+                    return downMiddles[arc];
+                }
+            }
+        }
+
+        throw new IllegalStateException(
+                "No arc (" + tail + ", " + head + ") in the hierarchy.");
+    }
+
+    /**
+     * This class implements a growable list of arcs incident to a node.
+     */
+    private static final class ArcList {
+
+        /**
+         * The other endpoints of the arcs.
+         */
+        int[] heads = new int[4];
+
+        /**
+         * The weights of the arcs.
+         */
+        double[] weights = new double[4];
+
+        /**
+         * The nodes bypassed by the arcs, or <tt>-1</tt>.
+         */
+        int[] middles = new int[4];
+
+        /**
+         * The amount of arcs in this list.
+         */
+        int size;
+
+        /**
+         * Appends an arc to this list.
+         *
+         * @param head the other endpoint of the arc.
+         * @param weight the weight of the arc.
+         * @param middle the bypassed node or <tt>-1</tt>.
+         */
+        void add(final int head, final double weight, final int middle) {
+            if (size == heads.length) {
+                heads = Arrays.copyOf(heads, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+                middles = Arrays.copyOf(middles, 2 * size);
+            }
+
+            heads[size] = head;
+            weights[size] = weight;
+            middles[size] = middle;
+            ++size;
+        }
+
+        /**
+         * Returns the position of the arc leading to <code>head</code>, or
+         * <tt>-1</tt>.
+         *
+         * @param head the other endpoint of the arc.
+         *
+         * @return the position of the arc or <tt>-1</tt>.
+         */
+        int indexOf(final int head) {
+            for (int i = 0; i < size; ++i) {
+                if (heads[i] == head) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Removes the arc leading to <code>head</code>, if present.
+         *
+         * @param head the other endpoint of the arc.
+         */
+        void remove(final int head) {
+            final int i = indexOf(head);
+
+            if (i != -1) {
+                --size;
+                heads[i] = heads[size];
+                weights[i] = weights[size];
+                middles[i] = middles[size];
+            }
+        }
+    }
+
+    /**
+     * This class holds the state of the contraction process.
+     */
+    private static final class Contractor {
+
+        /**
+         * The amount of nodes.
+         */
+        final int n;
+
+        /**
+         * The outgoing arcs of each node in the remaining graph.
+         */
+        final ArcList[] out;
+
+        /**
+         * The incoming arcs of each node in the remaining graph.
+         */
+        final ArcList[] in;
+
+        /**
+         * The amount of contracted neighbors of each node.
+         */
+        final int[] deletedNeighbors;
+
+        /**
+         * The level of each node, that is, one plus the largest level of its
+         * contracted neighbors. Penalizing the level spreads the contraction
+         * evenly over the graph.
+         */
+        final int[] levels;
+
+        /**
+         * The contraction rank of each node.
+         */
+        final int[] ranks;
+
+        /**
+         * The outgoing arcs of each node at the moment of its contraction.
+         */
+        final ArcList[] up;
+
+        /**
+         * The incoming arcs of each node at the moment of its contraction.
+         */
+        final ArcList[] down;
+
+        /**
+         * The open set of the witness search.
+         */
+        final IndexedDoubleHeap heap;
+
+        /**
+         * The tentative distances of the witness search.
+         */
+        final double[] distances;
+
+        /**
+         * The nodes discovered by the witness search.
+         */
+        final StampedIntSet visited;
+
+        /**
+         * Loads the arcs of the graph.
+         *
+         * @param nodes the nodes of the graph indexed by their ids.
+         * @param f the weight function.
+         */
+        Contractor(final DirectedGraphNode[] nodes,
+                   final DirectedGraphDoubleWeightFunction f) {
+            this.n = nodes.length;
+            this.out = new ArcList[n];
+            this.in = new ArcList[n];
+            this.deletedNeighbors = new int[n];
+            this.levels = new int[n];
+            this.ranks = new int[n];
+            this.up = new ArcList[n];
+            this.down = new ArcList[n];
+            this.heap = new IndexedDoubleHeap(n);
+            this.distances = new double[n];
+            this.visited = new StampedIntSet(n);
+
+            for (int i = 0; i < n; ++i) {
+                out[i] = new ArcList();
+                in[i] = new ArcList();
+            }
+
+            for (int i = 0; i < n; ++i) {
+                for (final DirectedGraphNode child : nodes[i]) {
+                    final int j = child.getId();
+
+                    if (i != j) {
+                        final double weight = f.get(nodes[i], child);
+                        out[i].add(j, weight, -1);
+                        in[j].add(i, weight, -1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Contracts all the nodes.
+         */
+        void run() {
+            final IndexedIntHeap queue = new IndexedIntHeap(n);
+
+            for (int i = 0; i < n; ++i) {
+                queue.add(i, getPriority(i));
+            }
+
+            int rank = 0;
+
+            while (!queue.isEmpty()) {
+                final int v = queue.extractMinimum();
+                final int priority = getPriority(v);
+
+                if (!queue.isEmpty() && priority > queue.minKey()) {
+                    // The priority went up since last computed, try later.
+                    queue.add(v, priority);
+                    continue;
+                }
+
+                contract(v, false);
+                ranks[v] = rank++;
+            }
+        }
+
+        /**
+         * Computes the contraction priority of <code>v</code>.
+         *
+         * @param v the node to evaluate.
+         *
+         * @return the priority of the node.
+         */
+        int getPriority(final int v) {
+            return 2 * contract(v, true)
+                    - out[v].size
+                    - in[v].size
+                    + deletedNeighbors[v]
+                    + levels[v];
+        }
+
+        /**
+         * Contracts the node <code>v</code>, or only counts the shortcuts its
+         * contraction would add if <code>simulate</code> is set.
+         *
+         * @param v the node to contract.
+         * @param simulate whether to leave the graph intact.
+         *
+         * @return the amount of necessary shortcuts.
+         */
+        int contract(final int v, final boolean simulate) {
+            final ArcList ins = in[v];
+            final ArcList outs = out[v];
+            int shortcuts = 0;
+
+            for (int i = 0; i < ins.size; ++i) {
+                final int u = ins.heads[i];
+                final double uvWeight = ins.weights[i];
+                double limit = -1.0;
+
+                for (int j = 0; j < outs.size; ++j) {
+                    if (outs.heads[j] != u) {
+                        limit = Math.max(limit, uvWeight + outs.weights[j]);
+                    }
+                }
+
+                if (limit < 0.0) {
+                    continue;
+                }
+
+                searchWitnesses(u, v, limit);
+
+                for (int j = 0; j < outs.size; ++j) {
+                    final int w = outs.heads[j];
+
+                    if (w == u) {
+                        continue;
+                    }
+
+                    final double weight = uvWeight + outs.weights[j];
+
+                    if (visited.contains(w) && distances[w] <= weight) {
+                        // A path avoiding 'v' is as short.
+                        continue;
+                    }
+
+                    ++shortcuts;
+
+                    if (!simulate) {
+                        addShortcut(u, w, weight, v);
+                    }
+                }
+            }
+
+            if (!simulate) {
+                for (int j = 0; j < outs.size; ++j) {
+                    in[outs.heads[j]].remove(v);
+                    updateNeighbor(outs.heads[j], v);
+                }
+
+                for (int i = 0; i < ins.size; ++i) {
+                    out[ins.heads[i]].remove(v);
+                    updateNeighbor(ins.heads[i], v);
+                }
+
+                up[v] = outs;
+                down[v] = ins;
+                out[v] = null;
+                in[v] = null;
+            }
+
+            return shortcuts;
+        }
+
+        /**
+         * Updates the priority terms of <code>w</code> after its neighbor
+         * <code>v</code> is contracted.
+         *
+         * @param w the neighbor node.
+         * @param v the contracted node.
+         */
+        void updateNeighbor(final int w, final int v) {
+            deletedNeighbors[w]++;
+            levels[w] = Math.max(levels[w], levels[v] + 1);
+        }
+
+        /**
+         * Runs Dijkstra's algorithm from <code>source</code> in the remaining
+         * graph without <code>excluded</code>, until the distances exceed
+         * <code>limit</code> or too many nodes are settled.
+         *
+         * @param source the source node.
+         * @param excluded the node being contracted.
+         * @param limit the distance limit.
+         */
+        void searchWitnesses(final int source,
+                             final int excluded,
+                             final double limit) {
+            heap.clear();
+            visited.reset(n);
+            visited.add(source);
+            distances[source] = 0.0;
+            heap.add(source, 0.0);
+
+            int settled = 0;
+
+            while (!heap.isEmpty()
+                    && heap.minKey() <= limit
+                    && settled++ < WITNESS_SETTLE_LIMIT) {
+                final int current = heap.extractMinimum();
+                final ArcList arcs = out[current];
+
+                for (int i = 0; i < arcs.size; ++i) {
+                    final int child = arcs.heads[i];
+
+                    if (child == excluded) {
+                        continue;
+                    }
+
+                    final double tmpg = distances[current] + arcs.weights[i];
+
+                    if (!visited.contains(child)) {
+                        visited.add(child);
+                        distances[child] = tmpg;
+                        heap.add(child, tmpg);
+                    } else if (tmpg < distances[child]) {
+                        distances[child] = tmpg;
+                        heap.decreasePriority(child, tmpg);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds the shortcut <code>(u, w)</code> bypassing <code>v</code>, or
+         * improves the existing arc <code>(u, w)</code>.
+         *
+         * @param u the tail of the shortcut.
+         * @param w the head of the shortcut.
+         * @param weight the weight of the shortcut.
+         * @param v the bypassed node.
+         */
+        void addShortcut(final int u,
+                         final int w,
+                         final double weight,
+                         final int v) {
+            final int i = out[u].indexOf(w);
+
+            if (i == -1) {
+                out[u].add(w, weight, v);
+                in[w].add(u, weight, v);
+            } else if (weight < out[u].weights[i]) {
+                final int j = in[w].indexOf(u);
+                out[u].weights[i] = weight;
+                out[u].middles[i] = v;
+                in[w].weights[j] = weight;
+                in[w].middles[j] = v;
+            }
+        }
+    }
+}
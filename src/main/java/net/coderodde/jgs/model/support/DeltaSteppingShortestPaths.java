@@ -0,0 +1,630 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import static net.coderodde.jgs.Utilities.checkNotBelow;
+import static net.coderodde.jgs.Utilities.checkNotInfinite;
+import static net.coderodde.jgs.Utilities.checkNotNaN;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+
+/**
+ * This class computes single-source shortest path distances over a
+ * {@link CompressedDirectedGraph} with the parallel <b>delta-stepping</b>
+ * algorithm of Meyer and Sanders. The tentative distances are grouped into
+ * buckets of width <code>delta</code>, and all the nodes of the smallest
+ * non-empty bucket are expanded at once by a pool of worker threads. The arcs
+ * not heavier than <code>delta</code> (<b>light</b> arcs) may lead back into
+ * the same bucket and are relaxed in rounds until the bucket stays empty;
+ * the <b>heavy</b> arcs are then relaxed once from every node settled in the
+ * bucket.
+ * <p>
+ * A small <code>delta</code> makes the algorithm behave like Dijkstra's
+ * algorithm with little parallelism, while a large one makes it behave like
+ * the Bellman-Ford algorithm with a lot of redundant work. A good start is
+ * the average arc weight divided by the average out-degree for random
+ * weights, or a few times the average arc weight for road networks.
+ * <p>
+ * The tentative distances are updated with compare-and-set, and the new
+ * bucket entries are kept per worker, so the workers share no locks. The
+ * weights must be non-negative.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class DeltaSteppingShortestPaths {
+
+    /**
+     * The smallest amount of nodes expanded in a round that is split between
+     * the workers; smaller rounds run on the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * The amount of nodes a worker claims at a time.
+     */
+    private static final int CHUNK_SIZE = 64;
+
+    /**
+     * The bits of the positive infinity.
+     */
+    private static final long INFINITY_BITS =
+            Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+
+    /**
+     * The graph snapshot to search.
+     */
+    private final CompressedDirectedGraph graph;
+
+    /**
+     * The bucket width.
+     */
+    private final double delta;
+
+    /**
+     * The heads of the arcs, grouped by their tails like in the snapshot,
+     * but with the light arcs of each tail before the heavy ones.
+     */
+    private final int[] heads;
+
+    /**
+     * The weights of the arcs. Parallel to <code>heads</code>.
+     */
+    private final double[] weights;
+
+    /**
+     * <code>lightEnds[i]</code> is the index of the first heavy arc of the
+     * node <code>i</code>.
+     */
+    private final int[] lightEnds;
+
+    /**
+     * Maps each node index to the bits of its tentative distance. For
+     * non-negative values, the bits are ordered like the values.
+     */
+    private final AtomicLongArray distances;
+
+    /**
+     * Maps each node index to the last round it was expanded in.
+     */
+    private final AtomicIntegerArray claims;
+
+    /**
+     * The workers, the first of which also runs on the calling thread.
+     */
+    private final List<Worker> workers;
+
+    /**
+     * The worker threads.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The index of the next node to claim in the current round.
+     */
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * The nodes to expand in the current round.
+     */
+    private int[] frontier = new int[CHUNK_SIZE];
+
+    /**
+     * The amount of nodes in <code>frontier</code>.
+     */
+    private int frontierSize;
+
+    /**
+     * The index of the bucket being emptied.
+     */
+    private long currentBucket;
+
+    /**
+     * Whether the current round relaxes the heavy arcs.
+     */
+    private boolean heavyRound;
+
+    /**
+     * The number of the current light round.
+     */
+    private int round;
+
+    /**
+     * Constructs a delta-stepping search over <code>graph</code> with bucket
+     * width <code>delta</code> and <code>threads</code> worker threads.
+     *
+     * @param graph the graph snapshot to search.
+     * @param delta the bucket width, positive and finite.
+     * @param threads the amount of worker threads, at least one.
+     */
+    public DeltaSteppingShortestPaths(final CompressedDirectedGraph graph,
+                                      final double delta,
+                                      final int threads) {
+        checkNotNull(graph, "The graph snapshot is null.");
+        checkNotNaN(delta, "The bucket width is NaN.");
+        checkNotInfinite(delta, "The bucket width is infinite.");
+        checkNotBelow(threads, 1, "The amount of threads is below 1.");
+
+        if (delta <= 0.0) {
+            throw new IllegalArgumentException(
+                    "The bucket width is not positive: " + delta);
+        }
+
+        final int n = graph.size();
+        this.graph = graph;
+        this.delta = delta;
+        this.heads = new int[graph.children.length];
+        this.weights = new double[graph.children.length];
+        this.lightEnds = new int[n];
+        this.distances = new AtomicLongArray(n);
+        this.claims = new AtomicIntegerArray(n);
+
+        partitionArcs();
+
+        final Worker[] array = new Worker[threads];
+
+        for (int i = 0; i < threads; ++i) {
+            array[i] = new Worker();
+        }
+
+        this.workers = Arrays.asList(array);
+        this.executor = threads == 1 ?
+                        null :
+                        Executors.newFixedThreadPool(threads,
+                                                     new WorkerFactory());
+    }
+
+    /**
+     * Constructs a delta-stepping search over <code>graph</code> with bucket
+     * width <code>delta</code> and a worker thread per available processor.
+     *
+     * @param graph the graph snapshot to search.
+     * @param delta the bucket width, positive and finite.
+     */
+    public DeltaSteppingShortestPaths(final CompressedDirectedGraph graph,
+                                      final double delta) {
+        this(graph, delta, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Computes the distances from <code>source</code> to all the nodes of the
+     * graph.
+     *
+     * @param source the source node.
+     *
+     * @return the array mapping each dense node index (see
+     * {@link CompressedDirectedGraph#getIndex(DirectedGraphNode)}) to its
+     * distance from the source, or to the positive infinity if the node is
+     * not reachable.
+     *
+     * @throws java.lang.IllegalStateException if the source is not in the
+     * graph snapshot.
+     */
+    public double[] computeDistances(final DirectedGraphNode source) {
+        checkNotNull(source, "The source node is null.");
+
+        final int sourceIndex = graph.getIndex(source);
+
+        if (sourceIndex < 0) {
+            throw new IllegalStateException(
+                    "The node " + source + " is not in the graph snapshot.");
+        }
+
+        final int n = graph.size();
+
+        for (int i = 0; i < n; ++i) {
+            distances.set(i, INFINITY_BITS);
+        }
+
+        for (final Worker worker : workers) {
+            worker.clear();
+        }
+
+        distances.set(sourceIndex, Double.doubleToRawLongBits(0.0));
+        frontier[0] = sourceIndex;
+        frontierSize = 1;
+        currentBucket = 0;
+
+        do {
+            do {
+                // Relax the light arcs until the bucket stays empty.
+                heavyRound = false;
+
+                while (frontierSize > 0) {
+                    nextRound();
+                    runRound();
+                    gatherNext();
+                }
+
+                // Relax the heavy arcs of all the nodes settled in the bucket.
+                // Normally, this fills only later buckets, but a rounding
+                // error may put a node back into the current one.
+                heavyRound = true;
+                gatherSettled();
+                runRound();
+                gatherNext();
+            } while (frontierSize > 0);
+        } while (selectNextBucket());
+
+        final double[] result = new double[n];
+
+        for (int i = 0; i < n; ++i) {
+            result[i] = Double.longBitsToDouble(distances.get(i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the bucket width.
+     *
+     * @return the bucket width.
+     */
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * Returns the amount of worker threads.
+     *
+     * @return the amount of worker threads.
+     */
+    public int getThreadCount() {
+        return workers.size();
+    }
+
+    /**
+     * Stops the worker threads. No more searches may be run afterwards.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Copies the arcs of the snapshot so that the light arcs of each node
+     * come first.
+     */
+    private void partitionArcs() {
+        final int[] offsets = graph.childOffsets;
+
+        for (int node = 0; node < graph.size(); ++node) {
+            int light = offsets[node];
+            int heavy = offsets[node + 1];
+
+            for (int arc = offsets[node]; arc < offsets[node + 1]; ++arc) {
+                final int position = graph.childWeights[arc] <= delta ?
+                                     light++ :
+                                     --heavy;
+                heads[position] = graph.children[arc];
+                weights[position] = graph.childWeights[arc];
+            }
+
+            lightEnds[node] = light;
+        }
+    }
+
+    /**
+     * Returns the index of the bucket of the distance <code>distance</code>.
+     */
+    private long bucketOf(final double distance) {
+        return (long) (distance / delta);
+    }
+
+    /**
+     * Advances the round number.
+     */
+    private void nextRound() {
+        if (++round == 0) {
+            for (int i = 0; i < claims.length(); ++i) {
+                claims.set(i, 0);
+            }
+
+            round = 1;
+        }
+    }
+
+    /**
+     * Expands the nodes in <code>frontier</code> on the calling thread if
+     * there are only a few of them, and on all the workers otherwise.
+     */
+    private void runRound() {
+        cursor.set(0);
+
+        if (executor == null || frontierSize < PARALLEL_THRESHOLD) {
+            workers.get(0).call();
+            return;
+        }
+
+        try {
+            for (final Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for the workers.", ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Moves the nodes the workers put into the current bucket to
+     * <code>frontier</code>.
+     */
+    private void gatherNext() {
+        frontierSize = 0;
+
+        for (final Worker worker : workers) {
+            appendToFrontier(worker.next);
+            worker.next.clear();
+        }
+    }
+
+    /**
+     * Moves the nodes the workers settled in the current bucket to
+     * <code>frontier</code>.
+     */
+    private void gatherSettled() {
+        frontierSize = 0;
+
+        for (final Worker worker : workers) {
+            appendToFrontier(worker.settled);
+            worker.settled.clear();
+        }
+    }
+
+    /**
+     * Finds the smallest non-empty bucket and moves its nodes to
+     * <code>frontier</code>.
+     *
+     * @return <code>false</code> if all the buckets are empty.
+     */
+    private boolean selectNextBucket() {
+        long minimum = Long.MAX_VALUE;
+
+        for (final Worker worker : workers) {
+            if (!worker.buckets.isEmpty()) {
+                minimum = Math.min(minimum, worker.buckets.firstKey());
+            }
+        }
+
+        if (minimum == Long.MAX_VALUE) {
+            return false;
+        }
+
+        frontierSize = 0;
+
+        for (final Worker worker : workers) {
+            if (!worker.buckets.isEmpty() &&
+                    worker.buckets.firstKey() == minimum) {
+                appendToFrontier(worker.buckets.pollFirstEntry().getValue());
+                worker.forgetLastBucket();
+            }
+        }
+
+        currentBucket = minimum;
+        return true;
+    }
+
+    /**
+     * Appends the contents of <code>list</code> to <code>frontier</code>.
+     */
+    private void appendToFrontier(final IntList list) {
+        if (frontierSize + list.size > frontier.length) {
+            frontier = Arrays.copyOf(frontier,
+                                     Math.max(2 * frontier.length,
+                                              frontierSize + list.size));
+        }
+
+        System.arraycopy(list.data, 0, frontier, frontierSize, list.size);
+        frontierSize += list.size;
+    }
+
+    /**
+     * This class holds the bucket entries created by a single worker and
+     * expands the nodes it claims from <code>frontier</code>.
+     */
+    private final class Worker implements Callable<Void> {
+
+        /**
+         * The nodes this worker put into the current bucket.
+         */
+        private final IntList next = new IntList();
+
+        /**
+         * The nodes this worker expanded in the current bucket.
+         */
+        private final IntList settled = new IntList();
+
+        /**
+         * Maps the indices of the later buckets to the nodes this worker put
+         * into them.
+         */
+        private final TreeMap<Long, IntList> buckets = new TreeMap<>();
+
+        /**
+         * The index of the bucket last added to, to skip the map look-up in
+         * the common case.
+         */
+        private long lastBucket = -1L;
+
+        /**
+         * The bucket last added to, or <code>null</code>.
+         */
+        private IntList lastList;
+
+        @Override
+        public Void call() {
+            final int[] offsets = graph.childOffsets;
+            int begin;
+
+            while ((begin = cursor.getAndAdd(CHUNK_SIZE)) < frontierSize) {
+                final int end = Math.min(begin + CHUNK_SIZE, frontierSize);
+
+                for (int i = begin; i < end; ++i) {
+                    final int node = frontier[i];
+
+                    if (heavyRound) {
+                        relaxArcs(node, lightEnds[node], offsets[node + 1]);
+                    } else {
+                        expand(node);
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Relaxes the light arcs of <code>node</code> unless the node is not
+         * in the current bucket any more or is already expanded in this
+         * round.
+         */
+        private void expand(final int node) {
+            final double distance =
+                    Double.longBitsToDouble(distances.get(node));
+
+            if (bucketOf(distance) != currentBucket ||
+                    claims.getAndSet(node, round) == round) {
+                return;
+            }
+
+            settled.add(node);
+            relaxArcs(node, graph.childOffsets[node], lightEnds[node]);
+        }
+
+        /**
+         * Relaxes the arcs <code>[begin, end)</code> leaving
+         * <code>node</code>.
+         */
+        private void relaxArcs(final int node,
+                               final int begin,
+                               final int end) {
+            final double distance =
+                    Double.longBitsToDouble(distances.get(node));
+
+            for (int arc = begin; arc < end; ++arc) {
+                relax(heads[arc], distance + weights[arc]);
+            }
+        }
+
+        /**
+         * Lowers the tentative distance of <code>node</code> to
+         * <code>distance</code> if it is an improvement, and puts the node
+         * into the bucket of the new distance.
+         */
+        private void relax(final int node, final double distance) {
+            final long bits = Double.doubleToRawLongBits(distance);
+            long current;
+
+            do {
+                current = distances.get(node);
+
+                if (bits >= current) {
+                    return;
+                }
+            } while (!distances.compareAndSet(node, current, bits));
+
+            final long bucket = bucketOf(distance);
+
+            if (bucket <= currentBucket) {
+                next.add(node);
+                return;
+            }
+
+            if (bucket != lastBucket) {
+                lastList = buckets.get(bucket);
+
+                if (lastList == null) {
+                    lastList = new IntList();
+                    buckets.put(bucket, lastList);
+                }
+
+                lastBucket = bucket;
+            }
+
+            lastList.add(node);
+        }
+
+        /**
+         * Forgets the cached bucket, which may have been removed.
+         */
+        void forgetLastBucket() {
+            lastBucket = -1L;
+            lastList = null;
+        }
+
+        /**
+         * Empties all the lists of this worker.
+         */
+        void clear() {
+            next.clear();
+            settled.clear();
+            buckets.clear();
+            forgetLastBucket();
+        }
+    }
+
+    /**
+     * This class implements a growable list of <code>int</code> values.
+     */
+    private static final class IntList {
+
+        private int[] data = new int[CHUNK_SIZE];
+        private int size;
+
+        void add(final int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+
+            data[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /**
+     * This class creates the daemon worker threads.
+     */
+    private static final class WorkerFactory implements ThreadFactory {
+
+        /**
+         * The amount of threads created.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(
+                    runnable,
+                    "jgs-delta-stepping-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
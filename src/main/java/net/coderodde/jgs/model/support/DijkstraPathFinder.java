@@ -1,14 +1,12 @@
 package net.coderodde.jgs.model.support;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 import static net.coderodde.jgs.Utilities.checkNotNull;
 import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.ArcVisitor;
 import net.coderodde.jgs.model.AbstractWeightFunction;
 import net.coderodde.jgs.model.Path;
 import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.SearchStatistics;
 import net.coderodde.jgs.model.Weight;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 import net.coderodde.jgs.model.ds.support.DaryHeap;
@@ -20,10 +18,9 @@ extends PathFinder<T, W> {
 
     private final AbstractWeightFunction<T, W> f;
     private final Weight<W> weight;
-    private final Map<T, T> parentMap;
-    private final Map<T, W> distanceMap;
+    private final SearchState<T, W> state;
     private final MinPriorityQueue<T, W> openSet;
-    private final Set<T> closedSet;
+    private final Relaxer relaxer = new Relaxer();
     
     public DijkstraPathFinder(final AbstractWeightFunction<T, W> f,
                               final E weight,
@@ -35,9 +32,7 @@ extends PathFinder<T, W> {
         this.f = f;
         this.weight = weight;
         this.openSet = openSet;
-        this.closedSet = new HashSet<>();
-        this.parentMap = new HashMap<>();
-        this.distanceMap = new HashMap<>();
+        this.state = new SearchState<>();
     }
     
     public DijkstraPathFinder(final AbstractWeightFunction<T, W> f,
@@ -55,46 +50,128 @@ extends PathFinder<T, W> {
         checkNotNull(target.getOwnerGraph(),
                      "The target node belongs to no graph.");
         
+        final SearchStatistics statistics = startStatistics();
         openSet.clear();
-        closedSet.clear();
-        parentMap.clear();
-        distanceMap.clear();
+        state.reset(source);
         
         openSet.add(source, weight.identity());
-        parentMap.put(source, null);
-        distanceMap.put(source, weight.identity());
+        state.visit(source, null, weight.identity());
         
         while (openSet.size() > 0) {
+            if (statistics != null) {
+                statistics.updateOpenSetSize(openSet.size());
+                statistics.settle();
+            }
+
             final T current = openSet.extractMinimum();
             
             if (current.equals(target)) {
-                return constructPath(target, parentMap);
+                return finishStatistics(statistics,
+                                        state.constructPath(target));
             }
             
-            closedSet.add(current);
+            state.close(current);
+            expand(current, statistics);
+        }
+        
+        return finishStatistics(statistics, emptyPath);
+    }
+    
+    /**
+     * Computes the shortest path tree rooted at <code>source</code>. Unlike 
+     * {@link #search(AbstractNode, AbstractNode)}, the search does not stop 
+     * at any particular target, but settles every node reachable from the 
+     * source. The statistics are not recorded.
+     * 
+     * @param source the root node.
+     * 
+     * @return the shortest path tree.
+     */
+    public ShortestPathTree<T, W> computeShortestPathTree(final T source) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(source.getOwnerGraph(), 
+                     "The source node belongs to no graph.");
+        
+        final ShortestPathTree<T, W> tree = new ShortestPathTree<>(source);
+        openSet.clear();
+        state.reset(source);
+        
+        openSet.add(source, weight.identity());
+        state.visit(source, null, weight.identity());
+        
+        while (openSet.size() > 0) {
+            final T current = openSet.extractMinimum();
+            
+            tree.add(current, 
+                     state.getParent(current), 
+                     state.getDistance(current));
             
-            for (final T child : current) {
-                if (closedSet.contains(child)) {
-                    continue;
-                }
-                
-                final W tmpg = weight.append(distanceMap.get(current),
-                                             f.get(current, child));
-                
-                if (parentMap.containsKey(child) == false) {
-                    // This is the first time 'child' is discovered.
-                    openSet.add(child, tmpg);
-                    parentMap.put(child, current);
-                    distanceMap.put(child, tmpg);
-                } else if (tmpg.compareTo(distanceMap.get(child)) < 0) {
-                    // Improving the distance to 'child'.
-                    openSet.decreasePriority(child, tmpg);
-                    parentMap.put(child, current);
-                    distanceMap.put(child, tmpg);
+            state.close(current);
+            expand(current, null);
+        }
+        
+        return tree;
+    }
+    
+    /**
+     * Relaxes all the arcs leaving the settled node <code>current</code>.
+     * 
+     * @param current    the node just settled.
+     * @param statistics the statistics to update, or <code>null</code>.
+     */
+    private void expand(final T current, final SearchStatistics statistics) {
+        relaxer.current = current;
+        relaxer.distance = state.getDistance(current);
+        relaxer.statistics = statistics;
+        current.forEachChild(f, relaxer);
+    }
+
+    /**
+     * This class relaxes the arcs leaving the node being expanded.
+     */
+    private final class Relaxer implements ArcVisitor<T, W> {
+
+        /**
+         * The node being expanded.
+         */
+        private T current;
+
+        /**
+         * The distance of <code>current</code> from the source.
+         */
+        private W distance;
+
+        /**
+         * The statistics to update, or <code>null</code>.
+         */
+        private SearchStatistics statistics;
+
+        @Override
+        public void visit(final T child, final W arcWeight) {
+            if (state.isClosed(child)) {
+                return;
+            }
+
+            if (statistics != null) {
+                statistics.relax();
+            }
+
+            final W tmpg = weight.append(distance, arcWeight);
+
+            if (state.isVisited(child) == false) {
+                // This is the first time 'child' is discovered.
+                openSet.add(child, tmpg);
+                state.visit(child, current, tmpg);
+            } else if (tmpg.compareTo(state.getDistance(child)) < 0) {
+                // Improving the distance to 'child'.
+                openSet.decreasePriority(child, tmpg);
+
+                if (statistics != null) {
+                    statistics.decreaseKey();
                 }
+
+                state.visit(child, current, tmpg);
             }
         }
-        
-        return emptyPath;
     }
 }
@@ -0,0 +1,155 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class holds the shortest path distances from a list of source nodes to
+ * a list of target nodes, as computed by a {@link DistanceMatrixFinder}. The
+ * distances are stored in a single row-major array, one row per source. A
+ * target unreachable from a source is at distance
+ * {@link Double#POSITIVE_INFINITY}.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class DistanceMatrix {
+
+    /**
+     * The source nodes, one per row.
+     */
+    private final DirectedGraphNode[] sources;
+
+    /**
+     * The target nodes, one per column.
+     */
+    private final DirectedGraphNode[] targets;
+
+    /**
+     * The distances in row-major order.
+     */
+    private final double[] distances;
+
+    /**
+     * Constructs a matrix with all the distances infinite.
+     *
+     * @param sources the source nodes.
+     * @param targets the target nodes.
+     */
+    DistanceMatrix(final List<DirectedGraphNode> sources,
+                   final List<DirectedGraphNode> targets) {
+        this.sources = sources.toArray(new DirectedGraphNode[sources.size()]);
+        this.targets = targets.toArray(new DirectedGraphNode[targets.size()]);
+        this.distances = new double[this.sources.length *
+                                    this.targets.length];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns the amount of source nodes, or rows.
+     *
+     * @return the amount of source nodes.
+     */
+    public int getSourceCount() {
+        return sources.length;
+    }
+
+    /**
+     * Returns the amount of target nodes, or columns.
+     *
+     * @return the amount of target nodes.
+     */
+    public int getTargetCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the source node of the row <code>row</code>.
+     *
+     * @param row the row index.
+     *
+     * @return the source node.
+     */
+    public DirectedGraphNode getSource(final int row) {
+        return sources[row];
+    }
+
+    /**
+     * Returns the target node of the column <code>column</code>.
+     *
+     * @param column the column index.
+     *
+     * @return the target node.
+     */
+    public DirectedGraphNode getTarget(final int column) {
+        return targets[column];
+    }
+
+    /**
+     * Returns the shortest path distance from the source of the row
+     * <code>row</code> to the target of the column <code>column</code>.
+     *
+     * @param row the row index.
+     * @param column the column index.
+     *
+     * @return the distance, or {@link Double#POSITIVE_INFINITY} if the target
+     * is not reachable from the source.
+     *
+     * @throws IndexOutOfBoundsException if either index is out of range.
+     */
+    public double get(final int row, final int column) {
+        return distances[offset(row, column)];
+    }
+
+    /**
+     * Tells whether the target of the column <code>column</code> is
+     * reachable from the source of the row <code>row</code>.
+     *
+     * @param row the row index.
+     * @param column the column index.
+     *
+     * @return <code>true</code> if the target is reachable from the source;
+     * <code>false</code> otherwise.
+     *
+     * @throws IndexOutOfBoundsException if either index is out of range.
+     */
+    public boolean isReachable(final int row, final int column) {
+        return distances[offset(row, column)] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Lowers the distance at <code>(row, column)</code> to
+     * <code>distance</code> if it is smaller.
+     *
+     * @param row the row index.
+     * @param column the column index.
+     * @param distance the candidate distance.
+     */
+    void relax(final int row, final int column, final double distance) {
+        final int offset = row * targets.length + column;
+
+        if (distance < distances[offset]) {
+            distances[offset] = distance;
+        }
+    }
+
+    /**
+     * Computes the offset of <code>(row, column)</code> in the distance
+     * array.
+     */
+    private int offset(final int row, final int column) {
+        if (row < 0 || row >= sources.length) {
+            throw new IndexOutOfBoundsException(
+                    "Row index " + row + " out of range [0, " +
+                    sources.length + ").");
+        }
+
+        if (column < 0 || column >= targets.length) {
+            throw new IndexOutOfBoundsException(
+                    "Column index " + column + " out of range [0, " +
+                    targets.length + ").");
+        }
+
+        return row * targets.length + column;
+    }
+}
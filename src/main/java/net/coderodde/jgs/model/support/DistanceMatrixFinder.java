@@ -0,0 +1,93 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Collections;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+
+/**
+ * This abstract class defines the API for computing the shortest path
+ * distances between sets of nodes in one batch, which is much cheaper than
+ * running a separate search for every pair.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public abstract class DistanceMatrixFinder {
+
+    /**
+     * Computes the distances from every node in <code>sources</code> to every
+     * node in <code>targets</code>. Both lists may contain duplicates.
+     *
+     * @param sources the source nodes.
+     * @param targets the target nodes.
+     *
+     * @return the distance matrix with a row per source and a column per
+     * target.
+     *
+     * @throws java.lang.IllegalStateException if a node is not in the
+     * preprocessed graph.
+     */
+    public abstract DistanceMatrix compute(
+            final List<DirectedGraphNode> sources,
+            final List<DirectedGraphNode> targets);
+
+    /**
+     * Computes the distances from <code>source</code> to every node in
+     * <code>targets</code>.
+     *
+     * @param source the source node.
+     * @param targets the target nodes.
+     *
+     * @return the distance matrix with a single row.
+     *
+     * @throws java.lang.IllegalStateException if a node is not in the
+     * preprocessed graph.
+     */
+    public DistanceMatrix computeOneToMany(
+            final DirectedGraphNode source,
+            final List<DirectedGraphNode> targets) {
+        checkNotNull(source, "The source node is null.");
+        return compute(Collections.singletonList(source), targets);
+    }
+
+    /**
+     * Returns the dense index of <code>node</code> in the preprocessed graph.
+     *
+     * @param node the node to look up.
+     *
+     * @return the index of the node, or <tt>-1</tt> if the node is not in the
+     * preprocessed graph.
+     */
+    protected abstract int getIndex(final DirectedGraphNode node);
+
+    /**
+     * Checks the node list and returns the dense index of each node.
+     *
+     * @param nodes the nodes to look up.
+     * @param what the name of the nodes for the error messages.
+     *
+     * @return the indices of the nodes.
+     *
+     * @throws java.lang.IllegalStateException if a node is not in the
+     * preprocessed graph.
+     */
+    int[] toIndices(final List<DirectedGraphNode> nodes, final String what) {
+        checkNotNull(nodes, "The list of " + what + " nodes is null.");
+
+        final int[] indices = new int[nodes.size()];
+
+        for (int i = 0; i < indices.length; ++i) {
+            final DirectedGraphNode node = nodes.get(i);
+            checkNotNull(node, "A " + what + " node is null.");
+            indices[i] = getIndex(node);
+
+            if (indices[i] < 0) {
+                throw new IllegalStateException(
+                        "The " + what + " node " + node + " is not in the " +
+                        "preprocessed graph.");
+            }
+        }
+
+        return indices;
+    }
+}
@@ -0,0 +1,309 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkHasId;
+import static net.coderodde.jgs.Utilities.checkNodesBelongToSameGraph;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.ArcVisitor;
+import net.coderodde.jgs.model.AbstractWeightFunction;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class implements Dijkstra's algorithm specialized for
+ * <code>double</code> weights. Unlike {@link DijkstraPathFinder}, the
+ * distances are kept in a <code>double</code> array indexed by node ids (see
+ * {@link net.coderodde.jgs.model.AbstractNode#getId()}) and the open set is
+ * an {@link IndexedDoubleHeap}, so that edge relaxations do not box any
+ * weights.
+ * The nodes must be stored in a {@link net.coderodde.jgs.model.Graph};
+ * implicit graphs are not supported.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ */
+public class DoubleDijkstraPathFinder<T extends AbstractNode<T>>
+extends PathFinder<T, Double> {
+
+    /**
+     * The initial capacity of the state arrays.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The weight function to use in search.
+     */
+    private final AbstractWeightFunction<T, Double> f;
+
+    /**
+     * The weight function if it stores the weights along the arcs, or
+     * <code>null</code>.
+     */
+    private final ArrayDoubleWeightFunction<T> arrayF;
+
+    /**
+     * The open set.
+     */
+    private final IndexedDoubleHeap openSet;
+
+    /**
+     * The visitor relaxing the arcs of the expanded nodes.
+     */
+    private final Relaxer relaxer = new Relaxer();
+
+    /**
+     * The graph being searched.
+     */
+    private Graph<T> graph;
+
+    /**
+     * Maps each node id to its tentative distance from the source.
+     */
+    private double[] distances;
+
+    /**
+     * Maps each discovered node id to the id of its parent, or <tt>-1</tt>.
+     */
+    private int[] parents;
+
+    /**
+     * The ids of the discovered nodes.
+     */
+    private final StampedIntSet visited;
+
+    /**
+     * The ids of the settled nodes.
+     */
+    private final StampedIntSet closed;
+
+    /**
+     * Constructs a path finder using the weight function <code>f</code>.
+     *
+     * @param f the weight function.
+     */
+    public DoubleDijkstraPathFinder(final AbstractWeightFunction<T, Double> f) {
+        checkNotNull(f, "The weight function is null.");
+
+        this.f = f;
+        this.arrayF = f instanceof ArrayDoubleWeightFunction ?
+                      (ArrayDoubleWeightFunction<T>) f :
+                      null;
+        this.openSet = new IndexedDoubleHeap(INITIAL_CAPACITY);
+        this.distances = new double[INITIAL_CAPACITY];
+        this.parents = new int[INITIAL_CAPACITY];
+        this.visited = new StampedIntSet(INITIAL_CAPACITY);
+        this.closed = new StampedIntSet(INITIAL_CAPACITY);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path or an empty path if target is not reachable from
+     * source.
+     */
+    @Override
+    public Path<T> search(final T source, final T target) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(target, "The target node is null.");
+        checkNotNull(source.getOwnerGraph(),
+                     "The source node belongs to no graph.");
+
+        checkNotNull(target.getOwnerGraph(),
+                     "The target node belongs to no graph.");
+
+        checkNodesBelongToSameGraph(source, target);
+        checkHasId(source);
+        checkHasId(target);
+
+        initialize(source);
+
+        while (!openSet.isEmpty()) {
+            final int current = openSet.extractMinimum();
+            final T currentNode = graph.get(current);
+
+            if (currentNode.equals(target)) {
+                return constructPath(current);
+            }
+
+            closed.add(current);
+
+            expand(current, currentNode);
+        }
+
+        return emptyPath;
+    }
+
+    /**
+     * Computes the shortest path tree rooted at <code>source</code> by
+     * settling every node reachable from it. The distances are boxed only
+     * once per settled node.
+     *
+     * @param source the root node.
+     *
+     * @return the shortest path tree.
+     */
+    public ShortestPathTree<T, Double>
+        computeShortestPathTree(final T source) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(source.getOwnerGraph(),
+                     "The source node belongs to no graph.");
+
+        checkHasId(source);
+        initialize(source);
+
+        final ShortestPathTree<T, Double> tree =
+                new ShortestPathTree<>(source);
+
+        while (!openSet.isEmpty()) {
+            final int current = openSet.extractMinimum();
+            final T currentNode = graph.get(current);
+            final int parent = parents[current];
+
+            tree.add(currentNode,
+                     parent == -1 ? null : graph.get(parent),
+                     distances[current]);
+
+            closed.add(current);
+            expand(current, currentNode);
+        }
+
+        return tree;
+    }
+
+    /**
+     * Resets the search state and puts <code>source</code> in the open set.
+     *
+     * @param source the source node.
+     */
+    private void initialize(final T source) {
+        graph = source.getOwnerGraph();
+        ensureCapacity(graph.size());
+        openSet.clear();
+        visited.reset(graph.size());
+        closed.reset(graph.size());
+
+        final int sourceIndex = source.getId();
+        visited.add(sourceIndex);
+        parents[sourceIndex] = -1;
+        distances[sourceIndex] = 0.0;
+        openSet.add(sourceIndex, 0.0);
+    }
+
+    /**
+     * Relaxes all the arcs leaving the settled node <code>current</code>.
+     *
+     * @param current     the id of the node just settled.
+     * @param currentNode the node just settled.
+     */
+    private void expand(final int current, final T currentNode) {
+        if (arrayF != null) {
+            expandArcs(current, currentNode);
+            return;
+        }
+
+        relaxer.current = current;
+        currentNode.forEachChild(f, relaxer);
+    }
+
+    /**
+     * Relaxes all the arcs leaving the settled node <code>current</code>
+     * stored in the array-backed weight function, reading each weight next
+     * to its head.
+     *
+     * @param current     the id of the node just settled.
+     * @param currentNode the node just settled.
+     */
+    private void expandArcs(final int current, final T currentNode) {
+        final AbstractNode<?>[] heads = arrayF.heads(currentNode);
+        final double[] weights = arrayF.weights(currentNode);
+        final int degree = arrayF.getArcCount(currentNode);
+
+        for (int i = 0; i < degree; ++i) {
+            relax(current, heads[i].getId(), weights[i]);
+        }
+    }
+
+    /**
+     * Relaxes the arc from the settled node <code>current</code> to the node
+     * <code>childIndex</code>.
+     *
+     * @param current    the id of the node just settled.
+     * @param childIndex the id of the head node of the arc.
+     * @param weight     the weight of the arc.
+     */
+    private void relax(final int current,
+                       final int childIndex,
+                       final double weight) {
+        final double tmpg = distances[current] + weight;
+
+        if (!visited.contains(childIndex)) {
+            // This is the first time 'child' is discovered.
+            visited.add(childIndex);
+            parents[childIndex] = current;
+            distances[childIndex] = tmpg;
+            openSet.add(childIndex, tmpg);
+        } else if (!closed.contains(childIndex)
+                && tmpg < distances[childIndex]) {
+            // Improving the distance to 'child'.
+            openSet.decreasePriority(childIndex, tmpg);
+            parents[childIndex] = current;
+            distances[childIndex] = tmpg;
+        }
+    }
+
+    /**
+     * Makes sure the state arrays can hold <code>capacity</code> nodes.
+     *
+     * @param capacity the requested capacity.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (distances.length < capacity) {
+            distances = new double[capacity];
+            parents = new int[capacity];
+            openSet.ensureCapacity(capacity);
+        }
+    }
+
+    /**
+     * Constructs the path by following the parent indices from the target.
+     *
+     * @param targetIndex the index of the target node.
+     *
+     * @return a path.
+     */
+    private Path<T> constructPath(final int targetIndex) {
+        final List<T> list = new ArrayList<>();
+
+        for (int i = targetIndex; i != -1; i = parents[i]) {
+            list.add(graph.get(i));
+        }
+
+        Collections.<T>reverse(list);
+        return new Path<>(list);
+    }
+
+    /**
+     * This class relaxes the arcs leaving the node being expanded.
+     */
+    private final class Relaxer implements ArcVisitor<T, Double> {
+
+        /**
+         * The id of the node being expanded.
+         */
+        private int current;
+
+        @Override
+        public void visit(final T child, final Double weight) {
+            relax(current, child.getId(), weight);
+        }
+    }
+}
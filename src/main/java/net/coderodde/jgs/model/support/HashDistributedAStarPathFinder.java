@@ -0,0 +1,557 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import static net.coderodde.jgs.Utilities.checkNodesBelongToSameGraph;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.AbstractWeightFunction;
+import net.coderodde.jgs.model.ArcVisitor;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.SearchStatistics;
+import net.coderodde.jgs.model.Weight;
+
+/**
+ * This class implements the hash-distributed A* algorithm (HDA*) of
+ * Kishimoto, Fukunaga and Botea. Each node is owned by one of the worker
+ * threads, chosen by the hash code of the node, and only its owner keeps its
+ * distance, parent and open set entry. A worker expands the nodes of its own
+ * open set and sends every child it generates to the owner of the child
+ * through a lock-free queue, so the workers share no search state besides
+ * the queues and the length of the best path found so far.
+ * <p>
+ * A worker is <b>idle</b> when its open set holds no node whose
+ * <tt>f</tt>-value is below the best path length. The search ends when all
+ * the workers are idle and no child is in transit. To detect this, one
+ * counter sums the workers not idle and the children sent but not yet
+ * received. A worker becomes busy before it takes a child from its queue,
+ * so the counter drops to zero only once the search is over. Since a node
+ * improved by a later child is reopened, the path returned is a shortest
+ * one for any admissible heuristic.
+ * <p>
+ * The nodes may come from implicit graphs, but must provide a well mixed
+ * <code>hashCode</code>, which balances the work between the workers. The
+ * heuristic functions in this package cache data between calls, so each
+ * worker evaluates with its own heuristic function. The weight function is
+ * read concurrently and must not be modified during a search. The search
+ * statistics record the duration and the path only.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ * @param <W> the weight type.
+ * @param <E> the type of the weight operations.
+ */
+public class HashDistributedAStarPathFinder<T extends AbstractNode<T>,
+                                            W extends Comparable<? super W>,
+                                            E extends Weight<W>>
+extends PathFinder<T, W> {
+
+    /**
+     * The amount of times an idle worker polls its queue before it starts
+     * parking between the polls.
+     */
+    private static final int SPIN_LIMIT = 64;
+
+    /**
+     * The amount of nanoseconds an idle worker parks between two polls.
+     */
+    private static final long PARK_NANOS = 20000L;
+
+    private final AbstractWeightFunction<T, W> f;
+    private final Weight<W> weight;
+
+    /**
+     * The workers.
+     */
+    private final List<Worker> workers;
+
+    /**
+     * The worker threads.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The amount of workers not idle plus the amount of children in transit.
+     */
+    private final AtomicLong work = new AtomicLong();
+
+    /**
+     * The length of the shortest path to the target found so far, or
+     * <code>null</code> if none was found. Written only by the owner of the
+     * target.
+     */
+    private volatile W incumbent;
+
+    /**
+     * Set when the search is over or a worker has failed.
+     */
+    private volatile boolean done;
+
+    /**
+     * The target node of the current search.
+     */
+    private T target;
+
+    /**
+     * Constructs a path finder running a worker per heuristic function in
+     * <code>heuristics</code>.
+     *
+     * @param f the weight function.
+     * @param heuristics the heuristic functions, one per worker; no two may
+     * be the same object.
+     * @param weight the weight operations.
+     *
+     * @throws IllegalArgumentException if <code>heuristics</code> is empty or
+     * holds the same heuristic function twice.
+     */
+    public HashDistributedAStarPathFinder(
+            final AbstractWeightFunction<T, W> f,
+            final List<? extends AbstractHeuristicFunction<T, W>> heuristics,
+            final E weight) {
+        checkNotNull(f, "The weight function is null.");
+        checkNotNull(heuristics, "The heuristic function list is null.");
+        checkNotNull(weight, "The weight object is null.");
+
+        if (heuristics.isEmpty()) {
+            throw new IllegalArgumentException("No heuristic functions.");
+        }
+
+        final List<Worker> list = new ArrayList<>(heuristics.size());
+
+        for (final AbstractHeuristicFunction<T, W> hf : heuristics) {
+            checkNotNull(hf, "A heuristic function is null.");
+
+            for (final Worker worker : list) {
+                if (worker.hf == hf) {
+                    throw new IllegalArgumentException(
+                            "A heuristic function is given twice.");
+                }
+            }
+
+            list.add(new Worker(list.size(), hf));
+        }
+
+        this.f = f;
+        this.weight = weight;
+        this.workers = Collections.unmodifiableList(list);
+        this.executor = Executors.newFixedThreadPool(list.size(),
+                                                     new WorkerFactory());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path or an empty path if target is not reachable from
+     * source.
+     */
+    @Override
+    public Path<T> search(final T source, final T target) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(target, "The target node is null.");
+        checkNotNull(source.getOwnerGraph(),
+                     "The source node belongs to no graph.");
+
+        checkNotNull(target.getOwnerGraph(),
+                     "The target node belongs to no graph.");
+
+        checkNodesBelongToSameGraph(source, target);
+
+        final SearchStatistics statistics = startStatistics();
+
+        this.target = target;
+        this.incumbent = null;
+        this.done = false;
+        this.work.set(workers.size());
+
+        for (final Worker worker : workers) {
+            worker.reset();
+        }
+
+        workers.get(ownerOf(source)).seed(source);
+
+        try {
+            runWorkers();
+            return finishStatistics(statistics,
+                                    incumbent == null ?
+                                    emptyPath :
+                                    constructPath());
+        } finally {
+            for (final Worker worker : workers) {
+                worker.reset();
+            }
+
+            this.target = null;
+        }
+    }
+
+    /**
+     * Returns the amount of worker threads.
+     *
+     * @return the amount of worker threads.
+     */
+    public int getThreadCount() {
+        return workers.size();
+    }
+
+    /**
+     * Stops the worker threads. No more searches may be run afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs all the workers and rethrows the failure of any of them.
+     */
+    private void runWorkers() {
+        try {
+            for (final Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (final InterruptedException ex) {
+            done = true;
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for the workers.", ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Returns the index of the worker owning <code>node</code>.
+     */
+    private int ownerOf(final T node) {
+        int hash = node.hashCode() * 0x9e3779b9;
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % workers.size();
+    }
+
+    /**
+     * Constructs the path by following the parents from the target, each
+     * kept by the owner of its child.
+     *
+     * @return a path.
+     */
+    private Path<T> constructPath() {
+        final List<T> list = new ArrayList<>();
+
+        for (T node = target;
+                node != null;
+                node = workers.get(ownerOf(node)).records.get(node).parent) {
+            list.add(node);
+        }
+
+        Collections.<T>reverse(list);
+        return new Path<>(list);
+    }
+
+    /**
+     * This class holds the best known distance and the parent of a node.
+     */
+    private final class Record {
+
+        W distance;
+        T parent;
+
+        Record(final W distance, final T parent) {
+            this.distance = distance;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * This class holds an open set entry, or a child sent to its owner.
+     */
+    private final class Entry {
+
+        final T node;
+        final T parent;
+        final W distance;
+
+        /**
+         * The <tt>f</tt>-value, or <code>null</code> for a child in transit.
+         */
+        final W fValue;
+
+        Entry(final T node, final T parent, final W distance, final W fValue) {
+            this.node = node;
+            this.parent = parent;
+            this.distance = distance;
+            this.fValue = fValue;
+        }
+    }
+
+    /**
+     * This class searches the nodes owned by one thread.
+     */
+    private final class Worker implements Callable<Void>, ArcVisitor<T, W> {
+
+        /**
+         * The index of this worker.
+         */
+        private final int index;
+
+        /**
+         * The heuristic function of this worker.
+         */
+        private final AbstractHeuristicFunction<T, W> hf;
+
+        /**
+         * The children sent to this worker by the others.
+         */
+        private final Queue<Entry> inbox = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The open set of this worker, ordered by the <tt>f</tt>-values.
+         */
+        private final PriorityQueue<Entry> openSet =
+                new PriorityQueue<>(64, new Comparator<Entry>() {
+
+            @Override
+            public int compare(final Entry a, final Entry b) {
+                return a.fValue.compareTo(b.fValue);
+            }
+        });
+
+        /**
+         * The records of the nodes owned by this worker.
+         */
+        private final Map<T, Record> records = new HashMap<>();
+
+        /**
+         * Whether this worker is counted as not idle in <code>work</code>.
+         */
+        private boolean busy;
+
+        /**
+         * The node being expanded.
+         */
+        private T current;
+
+        /**
+         * The parent of <code>current</code>.
+         */
+        private T currentParent;
+
+        /**
+         * The distance of <code>current</code> from the source.
+         */
+        private W currentDistance;
+
+        Worker(final int index, final AbstractHeuristicFunction<T, W> hf) {
+            this.index = index;
+            this.hf = hf;
+        }
+
+        /**
+         * Forgets the last search.
+         */
+        void reset() {
+            inbox.clear();
+            openSet.clear();
+            records.clear();
+            busy = true;
+            current = null;
+            currentParent = null;
+        }
+
+        /**
+         * Opens the source node.
+         */
+        void seed(final T source) {
+            receive(new Entry(source, null, weight.identity(), null));
+        }
+
+        @Override
+        public Void call() {
+            try {
+                run();
+                return null;
+            } catch (final RuntimeException | Error ex) {
+                // Release the other workers.
+                done = true;
+                throw ex;
+            }
+        }
+
+        private void run() {
+            int idlePolls = 0;
+
+            while (!done) {
+                Entry message;
+
+                while ((message = inbox.poll()) != null) {
+                    if (!busy) {
+                        busy = true;
+                        work.incrementAndGet();
+                    }
+
+                    receive(message);
+                    work.decrementAndGet();
+                }
+
+                final Entry entry = openSet.peek();
+                final W bound = incumbent;
+
+                if (entry == null ||
+                        (bound != null && entry.fValue.compareTo(bound) >= 0)) {
+                    if (busy) {
+                        busy = false;
+
+                        if (work.decrementAndGet() == 0L) {
+                            done = true;
+                            return;
+                        }
+                    }
+
+                    if (++idlePolls < SPIN_LIMIT) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    }
+
+                    continue;
+                }
+
+                idlePolls = 0;
+                openSet.remove();
+                expand(entry);
+            }
+        }
+
+        /**
+         * Records the child in <code>entry</code> if it improves the known
+         * distance of the node, and opens it.
+         */
+        private void receive(final Entry entry) {
+            final Record record = records.get(entry.node);
+
+            if (record != null &&
+                    record.distance.compareTo(entry.distance) <= 0) {
+                return;
+            }
+
+            if (record == null) {
+                records.put(entry.node,
+                            new Record(entry.distance, entry.parent));
+            } else {
+                record.distance = entry.distance;
+                record.parent = entry.parent;
+            }
+
+            final W fValue = weight.append(entry.distance,
+                                           hf.evaluate(entry.node, target));
+            final W bound = incumbent;
+
+            if (bound == null || fValue.compareTo(bound) < 0) {
+                openSet.add(new Entry(entry.node,
+                                      entry.parent,
+                                      entry.distance,
+                                      fValue));
+            }
+        }
+
+        /**
+         * Expands the node of <code>entry</code> unless a shorter path to it
+         * was found after it was opened.
+         */
+        private void expand(final Entry entry) {
+            final Record record = records.get(entry.node);
+
+            if (record.distance.compareTo(entry.distance) < 0) {
+                return;
+            }
+
+            if (entry.node.equals(target)) {
+                final W bound = incumbent;
+
+                if (bound == null || entry.distance.compareTo(bound) < 0) {
+                    incumbent = entry.distance;
+                }
+
+                return;
+            }
+
+            current = entry.node;
+            currentParent = record.parent;
+            currentDistance = entry.distance;
+            current.forEachChild(f, this);
+        }
+
+        @Override
+        public void visit(final T child, final W arcWeight) {
+            if (child.equals(currentParent)) {
+                // The arc leads back and cannot improve the parent.
+                return;
+            }
+
+            final Entry entry = new Entry(child,
+                                          current,
+                                          weight.append(currentDistance,
+                                                        arcWeight),
+                                          null);
+            final int owner = ownerOf(child);
+
+            if (owner == index) {
+                receive(entry);
+                return;
+            }
+
+            work.incrementAndGet();
+            workers.get(owner).inbox.add(entry);
+        }
+    }
+
+    /**
+     * This class creates the daemon worker threads.
+     */
+    private static final class WorkerFactory implements ThreadFactory {
+
+        /**
+         * The amount of threads created.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(
+                    runnable,
+                    "jgs-hda-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
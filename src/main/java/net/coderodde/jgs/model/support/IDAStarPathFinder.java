@@ -0,0 +1,502 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.AbstractWeightFunction;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.ReversibleState;
+import net.coderodde.jgs.model.SearchStatistics;
+import net.coderodde.jgs.model.Weight;
+
+/**
+ * This class implements the iterative deepening A* algorithm (IDA*). Each
+ * iteration is a depth-first search pruning every node whose
+ * <tt>f = g + h</tt> exceeds the current bound; the next bound is the least
+ * <tt>f</tt> pruned. The only state kept is the current path, so the memory
+ * used is linear in the length of the path, which makes IDA* the finder of
+ * choice for implicit graphs such as the ones of {@link PuzzleNode}, whose
+ * hard instances exhaust the heap of finders keeping every visited node.
+ * <p>
+ * With an admissible heuristic, the path returned is a shortest one. The
+ * nodes need not be stored in a graph. The statistics count each node
+ * expanded and each arc generated; the open set size is the depth of the
+ * search.
+ * <p>
+ * If the weight function is a {@link UnitWeightFunction} and the source node
+ * is a {@link ReversibleState}, the search applies and undoes the moves on a
+ * single copy of the source node instead of generating a new node for each
+ * arc, allocating nothing per expansion. It prunes the cycles, without which
+ * the search would never end when the target is not reachable, by keeping
+ * the {@link ReversibleState#fingerprint() fingerprints} of the nodes on the
+ * current path; only if a fingerprint recurs is the node compared to the
+ * one on the path, which a second copy of the source node is moved to.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ * @param <W> the weight type.
+ * @param <E> the type of the weight operations.
+ */
+public class IDAStarPathFinder<T extends AbstractNode<T>,
+                               W extends Comparable<? super W>,
+                               E extends Weight<W>>
+extends PathFinder<T, W> {
+
+    private final AbstractWeightFunction<T, W> f;
+    private final AbstractHeuristicFunction<T, W> hf;
+    private final Weight<W> weight;
+
+    /**
+     * The nodes on the current path, from the source.
+     */
+    private final List<T> path = new ArrayList<>();
+
+    /**
+     * The distances of the nodes on the current path from the source.
+     */
+    private final List<W> distances = new ArrayList<>();
+
+    /**
+     * The iterators over the children of the nodes on the current path.
+     */
+    private final List<Iterator<T>> iterators = new ArrayList<>();
+
+    /**
+     * The nodes on the current path, for detecting cycles.
+     */
+    private final Set<T> onPath = new HashSet<>();
+
+    /**
+     * The least <tt>f</tt>-value exceeding the bound of the current
+     * iteration, or <code>null</code> if none was pruned.
+     */
+    private W nextBound;
+
+    /**
+     * The amount of iterations in the last search.
+     */
+    private int iterations;
+
+    /**
+     * The weight of every arc if the weight function is a
+     * {@link UnitWeightFunction}, or <code>null</code> otherwise.
+     */
+    private final W unitWeight;
+
+    /**
+     * The moves applied to the node searched in place, from the source.
+     */
+    private int[] moves = new int[16];
+
+    /**
+     * The next move to try at each depth of the in-place search.
+     */
+    private int[] cursors = new int[16];
+
+    /**
+     * The fingerprints of the nodes on the path of the in-place search, from
+     * the source.
+     */
+    private long[] fingerprints = new long[16];
+
+    /**
+     * The copy of the source node moved to the nodes on the path whose
+     * fingerprints recur in the in-place search, or <code>null</code>.
+     */
+    private T scratch;
+
+    /**
+     * The moves applied to <code>scratch</code>, from the source.
+     */
+    private int[] scratchMoves = new int[16];
+
+    /**
+     * The amount of moves applied to <code>scratch</code>.
+     */
+    private int scratchDepth;
+
+    /**
+     * The amount of moves leading from the source to the target.
+     */
+    private int solutionLength;
+
+    public IDAStarPathFinder(final AbstractWeightFunction<T, W> f,
+                             final AbstractHeuristicFunction<T, W> hf,
+                             final E weight) {
+        checkNotNull(f, "The weight function is null.");
+        checkNotNull(hf, "The heuristic function is null.");
+        checkNotNull(weight, "The weight object is null.");
+
+        this.f = f;
+        this.hf = hf;
+        this.weight = weight;
+        // A unit weight function ignores the nodes.
+        this.unitWeight = f instanceof UnitWeightFunction ? 
+                          f.get(null, null) :
+                          null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path or an empty path if target is not reachable from
+     * source.
+     */
+    @Override
+    public Path<T> search(final T source, final T target) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(target, "The target node is null.");
+
+        final SearchStatistics statistics = startStatistics();
+        W bound = hf.evaluate(source, target);
+        iterations = 0;
+
+        if (unitWeight != null && source instanceof ReversibleState) {
+            return searchInPlace(source, target, bound, statistics);
+        }
+
+        try {
+            while (bound != null) {
+                ++iterations;
+
+                if (depthFirstSearch(source, target, bound, statistics)) {
+                    return finishStatistics(statistics,
+                                            new Path<>(path));
+                }
+
+                bound = nextBound;
+            }
+
+            return finishStatistics(statistics, emptyPath);
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Returns the amount of iterative deepening iterations run by the last
+     * search.
+     *
+     * @return the amount of iterations.
+     */
+    public int getIterationCount() {
+        return iterations;
+    }
+
+    /**
+     * Runs a single depth-first iteration from <code>source</code>, pruning
+     * the nodes whose <tt>f</tt>-value exceeds <code>bound</code>.
+     *
+     * @return <code>true</code> if <code>path</code> now leads to
+     * <code>target</code>.
+     */
+    private boolean depthFirstSearch(final T source,
+                                     final T target,
+                                     final W bound,
+                                     final SearchStatistics statistics) {
+        clear();
+        nextBound = null;
+        push(source, weight.identity(), statistics);
+
+        if (source.equals(target)) {
+            return true;
+        }
+
+        while (!iterators.isEmpty()) {
+            final int top = iterators.size() - 1;
+            final Iterator<T> iterator = iterators.get(top);
+
+            if (!iterator.hasNext()) {
+                pop();
+                continue;
+            }
+
+            final T current = path.get(top);
+            final T child = iterator.next();
+
+            if (onPath.contains(child)) {
+                continue;
+            }
+
+            if (statistics != null) {
+                statistics.relax();
+            }
+
+            final W g = weight.append(distances.get(top),
+                                      f.get(current, child));
+            final W fValue = weight.append(g, hf.evaluate(child, target));
+
+            if (fValue.compareTo(bound) > 0) {
+                if (nextBound == null || fValue.compareTo(nextBound) < 0) {
+                    nextBound = fValue;
+                }
+
+                continue;
+            }
+
+            if (child.equals(target)) {
+                path.add(child);
+                return true;
+            }
+
+            push(child, g, statistics);
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs the iterations on a copy of <code>source</code> modified in place.
+     */
+    @SuppressWarnings("unchecked")
+    private Path<T> searchInPlace(final T source,
+                                  final T target,
+                                  W bound,
+                                  final SearchStatistics statistics) {
+        final T node = ((ReversibleState<T>) source).copy();
+        scratch = ((ReversibleState<T>) source).copy();
+        scratchDepth = 0;
+
+        try {
+            while (bound != null) {
+                ++iterations;
+
+                if (depthFirstSearchInPlace(node, target, bound, statistics)) {
+                    return finishStatistics(statistics, replay(source));
+                }
+
+                bound = nextBound;
+            }
+
+            return finishStatistics(statistics, emptyPath);
+        } finally {
+            clear();
+            scratch = null;
+        }
+    }
+
+    /**
+     * Runs a single depth-first iteration applying and undoing moves on
+     * <code>node</code>, which is left as it was.
+     *
+     * @return <code>true</code> if the first <code>solutionLength</code>
+     * entries of <code>moves</code> lead to <code>target</code>.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean depthFirstSearchInPlace(final T node,
+                                            final T target,
+                                            final W bound,
+                                            final SearchStatistics statistics) {
+        final ReversibleState<T> state = (ReversibleState<T>) node;
+        final int moveCount = state.getMoveCount();
+        int depth = 0;
+
+        nextBound = null;
+        distances.clear();
+        distances.add(weight.identity());
+        fingerprints[0] = state.fingerprint();
+        cursors[0] = 0;
+
+        if (statistics != null) {
+            statistics.settle();
+            statistics.updateOpenSetSize(1);
+        }
+
+        if (node.equals(target)) {
+            solutionLength = 0;
+            return true;
+        }
+
+        while (true) {
+            if (cursors[depth] == moveCount) {
+                if (depth == 0) {
+                    return false;
+                }
+
+                distances.remove(depth--);
+                state.undo(moves[depth]);
+                continue;
+            }
+
+            final int move = cursors[depth]++;
+
+            if (depth > 0 && move == state.inverse(moves[depth - 1])) {
+                continue;
+            }
+
+            if (!state.apply(move)) {
+                continue;
+            }
+
+            if (isOnPath(node, depth)) {
+                state.undo(move);
+                continue;
+            }
+
+            if (statistics != null) {
+                statistics.relax();
+            }
+
+            final W g = weight.append(distances.get(depth), unitWeight);
+            final W fValue = weight.append(g, hf.evaluate(node, target));
+
+            if (fValue.compareTo(bound) > 0) {
+                if (nextBound == null || fValue.compareTo(nextBound) < 0) {
+                    nextBound = fValue;
+                }
+
+                state.undo(move);
+                continue;
+            }
+
+            ensureDepth(depth + 2);
+            moves[depth++] = move;
+
+            if (node.equals(target)) {
+                solutionLength = depth;
+
+                // Leave the node as it was.
+                while (depth > 0) {
+                    state.undo(moves[--depth]);
+                }
+
+                return true;
+            }
+
+            cursors[depth] = 0;
+            distances.add(g);
+            fingerprints[depth] = state.fingerprint();
+
+            if (statistics != null) {
+                statistics.settle();
+                statistics.updateOpenSetSize(depth + 1);
+            }
+        }
+    }
+
+    /**
+     * Checks whether <code>node</code> equals any of the nodes on the path of
+     * the in-place search, which ends at the depth <code>depth</code>.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isOnPath(final T node, final int depth) {
+        final long fingerprint = ((ReversibleState<T>) node).fingerprint();
+
+        for (int i = depth; i >= 0; --i) {
+            if (fingerprints[i] == fingerprint) {
+                moveScratch(i);
+
+                if (node.equals(scratch)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves <code>scratch</code> to the node reached by the first
+     * <code>depth</code> entries of <code>moves</code>, undoing only the
+     * moves not shared with them.
+     */
+    @SuppressWarnings("unchecked")
+    private void moveScratch(final int depth) {
+        final ReversibleState<T> state = (ReversibleState<T>) scratch;
+        int common = 0;
+
+        while (common < scratchDepth && common < depth 
+                && scratchMoves[common] == moves[common]) {
+            ++common;
+        }
+
+        while (scratchDepth > common) {
+            state.undo(scratchMoves[--scratchDepth]);
+        }
+
+        while (scratchDepth < depth) {
+            state.apply(moves[scratchDepth]);
+            scratchMoves[scratchDepth] = moves[scratchDepth];
+            ++scratchDepth;
+        }
+    }
+
+    /**
+     * Rebuilds the path of the first <code>solutionLength</code> moves from
+     * <code>source</code>.
+     */
+    @SuppressWarnings("unchecked")
+    private Path<T> replay(final T source) {
+        final List<T> list = new ArrayList<>(solutionLength + 1);
+        T node = source;
+
+        list.add(node);
+
+        for (int i = 0; i < solutionLength; ++i) {
+            node = ((ReversibleState<T>) node).copy();
+            ((ReversibleState<T>) node).apply(moves[i]);
+            list.add(node);
+        }
+
+        return new Path<>(list);
+    }
+
+    private void ensureDepth(final int depth) {
+        if (moves.length < depth) {
+            final int capacity = Math.max(depth, 2 * moves.length);
+            moves = Arrays.copyOf(moves, capacity);
+            cursors = Arrays.copyOf(cursors, capacity);
+            fingerprints = Arrays.copyOf(fingerprints, capacity);
+            scratchMoves = Arrays.copyOf(scratchMoves, capacity);
+        }
+    }
+
+    /**
+     * Appends <code>node</code> to the current path and starts iterating its
+     * children.
+     */
+    private void push(final T node,
+                      final W distance,
+                      final SearchStatistics statistics) {
+        path.add(node);
+        distances.add(distance);
+        iterators.add(node.iterator());
+        onPath.add(node);
+
+        if (statistics != null) {
+            statistics.settle();
+            statistics.updateOpenSetSize(path.size());
+        }
+    }
+
+    /**
+     * Removes the last node from the current path.
+     */
+    private void pop() {
+        final int top = path.size() - 1;
+        onPath.remove(path.remove(top));
+        distances.remove(top);
+        iterators.remove(top);
+    }
+
+    /**
+     * Forgets the current path.
+     */
+    private void clear() {
+        path.clear();
+        distances.clear();
+        iterators.clear();
+        onPath.clear();
+    }
+}
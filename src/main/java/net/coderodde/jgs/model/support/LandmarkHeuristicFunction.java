@@ -0,0 +1,677 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Arrays;
+import java.util.Random;
+import static net.coderodde.jgs.Utilities.checkNotBelow;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.AbstractWeightFunction;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.ds.support.IndexedDoubleHeap;
+
+/**
+ * This class implements the <b>ALT</b> heuristic (A*, landmarks and the
+ * triangle inequality). A few nodes of a graph are chosen as
+ * <b>landmarks</b>, and the distances from each landmark to every node and
+ * from every node to each landmark are precomputed. By the triangle
+ * inequality, for every landmark <code>L</code> both
+ * <code>d(L, v) - d(L, u)</code> and <code>d(u, L) - d(v, L)</code> are lower
+ * bounds on the distance from <code>u</code> to <code>v</code>, and this
+ * function returns the largest of them. Unlike the Euclidean heuristic, it
+ * needs no coordinates and works on any graph with non-negative weights. The
+ * bounds are consistent, so the function may be used with
+ * {@link AStarPathFinder}, {@link DoubleAStarPathFinder} and
+ * {@link BidirectionalAStarPathFinder}. If the landmarks prove that
+ * <code>v</code> is not reachable from <code>u</code>, the bound is positive
+ * infinity.
+ * <p>
+ * The tables are indexed by the node ids at the moment of preprocessing; a
+ * node added to the graph later, or whose id has changed since then, gets the
+ * trivial bound of zero. The tables do not track the later changes to the
+ * arcs or the weights, and the bounds may become inadmissible if arcs are
+ * added or their weights decrease.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual graph node type.
+ */
+public class LandmarkHeuristicFunction<T extends AbstractNode<T>>
+extends AbstractHeuristicFunction<T, Double> {
+
+    /**
+     * The amount of random roots the avoid selection tries before falling
+     * back to a random landmark.
+     */
+    private static final int AVOID_ROOT_ATTEMPTS = 10;
+
+    /**
+     * Maps each index to the graph node.
+     */
+    private final Object[] nodes;
+
+    /**
+     * The indices of the landmarks.
+     */
+    private final int[] landmarks;
+
+    /**
+     * <code>fromLandmarks[v * k + i]</code> is the distance from the
+     * <code>i</code>th landmark to the node <code>v</code>, where
+     * <code>k</code> is the amount of landmarks.
+     */
+    private final double[] fromLandmarks;
+
+    /**
+     * <code>toLandmarks[v * k + i]</code> is the distance from the node
+     * <code>v</code> to the <code>i</code>th landmark.
+     */
+    private final double[] toLandmarks;
+
+    /**
+     * Preprocesses the graph <code>graph</code> with the weight function
+     * <code>f</code>, choosing the landmarks by the strategy
+     * <code>selection</code>. If the graph has less nodes than requested
+     * landmarks, every node becomes a landmark.
+     *
+     * @param graph the graph to preprocess.
+     * @param f the weight function.
+     * @param landmarkCount the amount of landmarks.
+     * @param selection the landmark selection strategy.
+     * @param random the random number generator used by the selection.
+     */
+    public LandmarkHeuristicFunction(final Graph<T> graph,
+                                     final AbstractWeightFunction<T, Double> f,
+                                     final int landmarkCount,
+                                     final LandmarkSelection selection,
+                                     final Random random) {
+        checkNotNull(graph, "The graph is null.");
+        checkNotNull(f, "The weight function is null.");
+        checkNotNull(selection, "The landmark selection is null.");
+        checkNotNull(random, "The random number generator is null.");
+        checkNotBelow(landmarkCount,
+                      1,
+                      "The amount of landmarks must be at least 1.");
+
+        final int n = graph.size();
+        this.nodes = new Object[n];
+
+        for (int i = 0; i < n; ++i) {
+            nodes[i] = graph.get(i);
+        }
+
+        final Preprocessor<T> preprocessor = new Preprocessor<>(graph, f);
+        preprocessor.run(Math.min(landmarkCount, n), selection, random);
+
+        this.landmarks = preprocessor.landmarks;
+        this.fromLandmarks = interleave(preprocessor.from, n);
+        this.toLandmarks = interleave(preprocessor.to, n);
+    }
+
+    /**
+     * Preprocesses the graph <code>graph</code> with the weight function
+     * <code>f</code>, choosing the landmarks by the avoid strategy.
+     *
+     * @param graph the graph to preprocess.
+     * @param f the weight function.
+     * @param landmarkCount the amount of landmarks.
+     */
+    public LandmarkHeuristicFunction(final Graph<T> graph,
+                                     final AbstractWeightFunction<T, Double> f,
+                                     final int landmarkCount) {
+        this(graph, f, landmarkCount, LandmarkSelection.AVOID, new Random());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param tail the node to estimate the distance from.
+     * @param head the node to estimate the distance to.
+     *
+     * @return a lower bound on the distance from <code>tail</code> to
+     * <code>head</code>.
+     */
+    @Override
+    public Double evaluate(final T tail, final T head) {
+        final int tailIndex = getIndex(tail);
+        final int headIndex = getIndex(head);
+
+        if (tailIndex < 0 || headIndex < 0) {
+            return 0.0;
+        }
+
+        final int k = landmarks.length;
+        final int i = tailIndex * k;
+        final int j = headIndex * k;
+        double bound = 0.0;
+
+        for (int l = 0; l < k; ++l) {
+            // A difference involving an unreachable node is either positive
+            // infinity, which is a valid bound, or negative infinity or NaN,
+            // which never exceed the bound.
+            final double a = fromLandmarks[j + l] - fromLandmarks[i + l];
+            final double b = toLandmarks[i + l] - toLandmarks[j + l];
+
+            if (a > bound) {
+                bound = a;
+            }
+
+            if (b > bound) {
+                bound = b;
+            }
+        }
+
+        return bound;
+    }
+
+    /**
+     * Returns the amount of landmarks.
+     *
+     * @return the amount of landmarks.
+     */
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Returns the <code>index</code>th landmark.
+     *
+     * @param index the index of the landmark.
+     *
+     * @return a landmark node.
+     */
+    @SuppressWarnings("unchecked")
+    public T getLandmark(final int index) {
+        return (T) nodes[landmarks[index]];
+    }
+
+    /**
+     * Returns the index of <code>node</code> in the tables, or <tt>-1</tt> if
+     * the node was not in the graph at the moment of preprocessing or its id
+     * has changed since then.
+     *
+     * @param node the node to look up.
+     *
+     * @return the index of the node or <tt>-1</tt>.
+     */
+    private int getIndex(final T node) {
+        final int id = node.getId();
+
+        if (id < 0 || id >= nodes.length || nodes[id] != node) {
+            return -1;
+        }
+
+        return id;
+    }
+
+    /**
+     * Lays out the per-landmark distance arrays <code>tables</code> so that
+     * the distances of each node are contiguous.
+     *
+     * @param tables the distance arrays, one per landmark.
+     * @param n the amount of nodes.
+     *
+     * @return the interleaved table.
+     */
+    private static double[] interleave(final double[][] tables, final int n) {
+        final int k = tables.length;
+        final double[] table = new double[n * k];
+
+        for (int l = 0; l < k; ++l) {
+            final double[] distances = tables[l];
+
+            for (int v = 0; v < n; ++v) {
+                table[v * k + l] = distances[v];
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * This class chooses the landmarks and computes their distance arrays
+     * over an array-based copy of the graph.
+     *
+     * @param <T> the actual graph node type.
+     */
+    private static final class Preprocessor<T extends AbstractNode<T>> {
+
+        /**
+         * The amount of nodes.
+         */
+        private final int n;
+
+        /**
+         * <code>childOffsets[i]</code> is the index of the first arc leaving
+         * the node <code>i</code>.
+         */
+        private final int[] childOffsets;
+
+        /**
+         * The heads of the arcs grouped by their tails.
+         */
+        private final int[] children;
+
+        /**
+         * The weights of the arcs in <code>children</code>.
+         */
+        private final double[] childWeights;
+
+        /**
+         * <code>parentOffsets[i]</code> is the index of the first arc entering
+         * the node <code>i</code>.
+         */
+        private final int[] parentOffsets;
+
+        /**
+         * The tails of the arcs grouped by their heads.
+         */
+        private final int[] parents;
+
+        /**
+         * The weights of the arcs in <code>parents</code>.
+         */
+        private final double[] parentWeights;
+
+        /**
+         * The open set of the searches.
+         */
+        private final IndexedDoubleHeap heap;
+
+        /**
+         * The nodes in the order the last search settled them.
+         */
+        private final int[] order;
+
+        /**
+         * The amount of nodes settled by the last search.
+         */
+        private int settled;
+
+        /**
+         * The parents in the shortest path tree of the last search.
+         */
+        private final int[] treeParents;
+
+        /**
+         * The distances from a random root.
+         */
+        private final double[] rootDistances;
+
+        /**
+         * The subtree sizes computed by the avoid selection.
+         */
+        private final double[] sizes;
+
+        /**
+         * Marks the subtrees containing a landmark in the avoid selection.
+         */
+        private final boolean[] covered;
+
+        /**
+         * Marks the landmarks chosen so far.
+         */
+        private final boolean[] chosen;
+
+        /**
+         * The minimum distance from a chosen landmark to each node.
+         */
+        private final double[] minDistances;
+
+        /**
+         * The indices of the landmarks.
+         */
+        int[] landmarks;
+
+        /**
+         * The distances from each landmark.
+         */
+        double[][] from;
+
+        /**
+         * The distances to each landmark.
+         */
+        double[][] to;
+
+        /**
+         * The amount of landmarks chosen so far.
+         */
+        private int count;
+
+        Preprocessor(final Graph<T> graph,
+                     final AbstractWeightFunction<T, Double> f) {
+            this.n = graph.size();
+            this.childOffsets = new int[n + 1];
+            this.parentOffsets = new int[n + 1];
+
+            int arcs = 0;
+
+            for (int i = 0; i < n; ++i) {
+                for (final T child : graph.get(i)) {
+                    ++parentOffsets[child.getId() + 1];
+                    ++arcs;
+                }
+
+                childOffsets[i + 1] = arcs;
+            }
+
+            for (int i = 0; i < n; ++i) {
+                parentOffsets[i + 1] += parentOffsets[i];
+            }
+
+            this.children = new int[arcs];
+            this.childWeights = new double[arcs];
+            this.parents = new int[arcs];
+            this.parentWeights = new double[arcs];
+
+            final int[] cursors = Arrays.copyOf(parentOffsets, n);
+            int arc = 0;
+
+            for (int i = 0; i < n; ++i) {
+                final T node = graph.get(i);
+
+                for (final T child : node) {
+                    final int head = child.getId();
+                    final double weight = f.get(node, child);
+                    final int reverseArc = cursors[head]++;
+
+                    children[arc] = head;
+                    childWeights[arc] = weight;
+                    parents[reverseArc] = i;
+                    parentWeights[reverseArc] = weight;
+                    ++arc;
+                }
+            }
+
+            this.heap = new IndexedDoubleHeap(n);
+            this.order = new int[n];
+            this.treeParents = new int[n];
+            this.rootDistances = new double[n];
+            this.sizes = new double[n];
+            this.covered = new boolean[n];
+            this.chosen = new boolean[n];
+            this.minDistances = new double[n];
+
+            Arrays.fill(minDistances, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Chooses <code>k</code> landmarks and computes their distances.
+         *
+         * @param k the amount of landmarks.
+         * @param selection the selection strategy.
+         * @param random the random number generator.
+         */
+        void run(final int k,
+                 final LandmarkSelection selection,
+                 final Random random) {
+            landmarks = new int[k];
+            from = new double[k][];
+            to = new double[k][];
+
+            while (count < k) {
+                final int landmark;
+
+                switch (selection) {
+                    case RANDOM:
+                        landmark = selectRandom(random);
+                        break;
+
+                    case FARTHEST:
+                        landmark = selectFarthest(random);
+                        break;
+
+                    default:
+                        landmark = selectAvoid(random);
+                        break;
+                }
+
+                addLandmark(landmark);
+            }
+        }
+
+        /**
+         * Makes <code>landmark</code> a landmark and computes its distances.
+         *
+         * @param landmark the index of the new landmark.
+         */
+        private void addLandmark(final int landmark) {
+            final double[] distancesFrom = new double[n];
+            final double[] distancesTo = new double[n];
+
+            search(landmark,
+                   childOffsets,
+                   children,
+                   childWeights,
+                   distancesFrom);
+            search(landmark,
+                   parentOffsets,
+                   parents,
+                   parentWeights,
+                   distancesTo);
+
+            for (int v = 0; v < n; ++v) {
+                minDistances[v] = Math.min(minDistances[v], distancesFrom[v]);
+            }
+
+            chosen[landmark] = true;
+            landmarks[count] = landmark;
+            from[count] = distancesFrom;
+            to[count] = distancesTo;
+            ++count;
+        }
+
+        /**
+         * Returns a random node that is not a landmark yet.
+         *
+         * @param random the random number generator.
+         *
+         * @return the index of the next landmark.
+         */
+        private int selectRandom(final Random random) {
+            int landmark;
+
+            do {
+                landmark = random.nextInt(n);
+            } while (chosen[landmark]);
+
+            return landmark;
+        }
+
+        /**
+         * Returns the node farthest from the landmarks chosen so far.
+         *
+         * @param random the random number generator.
+         *
+         * @return the index of the next landmark.
+         */
+        private int selectFarthest(final Random random) {
+            double[] scores = minDistances;
+
+            if (count == 0) {
+                // No landmarks yet, measure from a random root instead.
+                search(random.nextInt(n),
+                       childOffsets,
+                       children,
+                       childWeights,
+                       rootDistances);
+                scores = rootDistances;
+            }
+
+            int best = -1;
+            double bestScore = -1.0;
+
+            // Nodes not reached at all are left for the random fallback.
+            for (int v = 0; v < n; ++v) {
+                if (!chosen[v]
+                        && scores[v] != Double.POSITIVE_INFINITY
+                        && scores[v] > bestScore) {
+                    best = v;
+                    bestScore = scores[v];
+                }
+            }
+
+            return best == -1 ? selectRandom(random) : best;
+        }
+
+        /**
+         * Returns a leaf of a random shortest path tree in a subtree where
+         * the landmarks chosen so far give poor bounds and which contains no
+         * landmarks.
+         *
+         * @param random the random number generator.
+         *
+         * @return the index of the next landmark.
+         */
+        private int selectAvoid(final Random random) {
+            if (count == 0) {
+                return selectFarthest(random);
+            }
+
+            for (int attempt = 0; attempt < AVOID_ROOT_ATTEMPTS; ++attempt) {
+                final int root = random.nextInt(n);
+
+                search(root,
+                       childOffsets,
+                       children,
+                       childWeights,
+                       rootDistances);
+
+                // The weight of a node is the error of the current bound.
+                for (int i = 0; i < settled; ++i) {
+                    final int v = order[i];
+                    sizes[v] = rootDistances[v] - getLowerBound(root, v);
+                    covered[v] = chosen[v];
+                }
+
+                // Accumulate the subtree sizes bottom-up.
+                for (int i = settled - 1; i > 0; --i) {
+                    final int v = order[i];
+                    final int parent = treeParents[v];
+                    sizes[parent] += sizes[v];
+
+                    if (covered[v]) {
+                        covered[parent] = true;
+                    }
+                }
+
+                for (int i = 0; i < settled; ++i) {
+                    if (covered[order[i]]) {
+                        sizes[order[i]] = 0.0;
+                    }
+                }
+
+                // Descend to a leaf through the largest subtrees.
+                int current = root;
+
+                for (;;) {
+                    int next = -1;
+                    double nextSize = 0.0;
+
+                    for (int arc = childOffsets[current];
+                            arc < childOffsets[current + 1];
+                            ++arc) {
+                        final int child = children[arc];
+
+                        if (rootDistances[child] != Double.POSITIVE_INFINITY
+                                && treeParents[child] == current
+                                && sizes[child] > nextSize) {
+                            next = child;
+                            nextSize = sizes[child];
+                        }
+                    }
+
+                    if (next == -1) {
+                        break;
+                    }
+
+                    current = next;
+                }
+
+                if (!chosen[current]) {
+                    return current;
+                }
+            }
+
+            return selectRandom(random);
+        }
+
+        /**
+         * Returns the lower bound on the distance from <code>u</code> to
+         * <code>v</code> given by the landmarks chosen so far.
+         *
+         * @param u the tail node.
+         * @param v the head node.
+         *
+         * @return a lower bound.
+         */
+        private double getLowerBound(final int u, final int v) {
+            double bound = 0.0;
+
+            for (int l = 0; l < count; ++l) {
+                final double a = from[l][v] - from[l][u];
+                final double b = to[l][u] - to[l][v];
+
+                if (a > bound) {
+                    bound = a;
+                }
+
+                if (b > bound) {
+                    bound = b;
+                }
+            }
+
+            return bound;
+        }
+
+        /**
+         * Runs Dijkstra's algorithm from <code>source</code> over the arcs in
+         * <code>offsets</code>, <code>heads</code> and <code>weights</code>,
+         * storing the distances in <code>distances</code>, the settle order in
+         * <code>order</code> and the shortest path tree in
+         * <code>treeParents</code>.
+         *
+         * @param source the source node.
+         * @param offsets the arc offsets of each node.
+         * @param heads the heads of the arcs.
+         * @param weights the weights of the arcs.
+         * @param distances the array for the distances.
+         */
+        private void search(final int source,
+                            final int[] offsets,
+                            final int[] heads,
+                            final double[] weights,
+                            final double[] distances) {
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            heap.clear();
+            settled = 0;
+
+            distances[source] = 0.0;
+            treeParents[source] = -1;
+            heap.add(source, 0.0);
+
+            while (!heap.isEmpty()) {
+                final int current = heap.extractMinimum();
+                order[settled++] = current;
+
+                for (int arc = offsets[current];
+                        arc < offsets[current + 1];
+                        ++arc) {
+                    final int head = heads[arc];
+                    final double tmpg = distances[current] + weights[arc];
+
+                    if (tmpg < distances[head]) {
+                        if (distances[head] == Double.POSITIVE_INFINITY) {
+                            heap.add(head, tmpg);
+                        } else {
+                            heap.decreasePriority(head, tmpg);
+                        }
+
+                        distances[head] = tmpg;
+                        treeParents[head] = current;
+                    }
+                }
+            }
+        }
+    }
+}
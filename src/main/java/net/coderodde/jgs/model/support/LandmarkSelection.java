@@ -0,0 +1,32 @@
+package net.coderodde.jgs.model.support;
+
+/**
+ * This enumeration lists the strategies for choosing the landmarks of a
+ * {@link LandmarkHeuristicFunction}.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public enum LandmarkSelection {
+
+    /**
+     * Chooses the landmarks uniformly at random. Cheapest, but gives the
+     * weakest bounds.
+     */
+    RANDOM,
+
+    /**
+     * Chooses as the next landmark the node farthest from the landmarks chosen
+     * so far, which tends to spread the landmarks over the border of the
+     * graph.
+     */
+    FARTHEST,
+
+    /**
+     * Grows a shortest path tree from a random root and chooses as the next
+     * landmark a leaf in the subtree where the current landmarks give the
+     * worst bounds. Usually gives the best bounds for the same amount of
+     * landmarks.
+     */
+    AVOID
+}
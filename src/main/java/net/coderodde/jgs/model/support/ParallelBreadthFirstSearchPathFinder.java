@@ -0,0 +1,528 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import static net.coderodde.jgs.Utilities.checkHasId;
+import static net.coderodde.jgs.Utilities.checkNodesBelongToSameGraph;
+import static net.coderodde.jgs.Utilities.checkNotBelow;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.SearchStatistics;
+
+/**
+ * This class implements the <b>direction-optimizing</b> breadth-first search
+ * of Beamer, Asanovi&#263; and Patterson. The search proceeds level by level,
+ * keeping the current and the next frontier as well as the visited nodes in
+ * bitmaps indexed by node ids, and each level is split between a pool of
+ * worker threads.
+ * <p>
+ * A level is expanded either <b>top-down</b>, in which case every frontier
+ * node tries to claim its unvisited children, or <b>bottom-up</b>, in which
+ * case every unvisited node looks for a parent (see
+ * {@link AbstractNode#parents()}) in the frontier and stops at the first one
+ * found. When the frontier is large, as in the middle levels of low-diameter
+ * graphs, the bottom-up step checks far fewer arcs. The search switches to
+ * bottom-up when the arcs leaving the frontier outnumber the arcs leaving the
+ * unvisited nodes divided by {@link #DEFAULT_ALPHA}, and back to top-down
+ * when the frontier shrinks below the node count divided by
+ * {@link #DEFAULT_BETA}.
+ * <p>
+ * The nodes must be stored in a {@link net.coderodde.jgs.model.Graph}, which
+ * must not be modified during a search.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ */
+public class ParallelBreadthFirstSearchPathFinder<T extends AbstractNode<T>>
+extends PathFinder<T, Integer> {
+
+    /**
+     * The default divisor of the unexplored arc count that the frontier arc
+     * count must exceed for a bottom-up step.
+     */
+    public static final int DEFAULT_ALPHA = 14;
+
+    /**
+     * The default divisor of the node count that the frontier size must fall
+     * below for a top-down step.
+     */
+    public static final int DEFAULT_BETA = 24;
+
+    /**
+     * The smallest frontier that is split between the workers in a top-down
+     * step; smaller frontiers are expanded on the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    /**
+     * The amount of bitmap words a worker claims at a time.
+     */
+    private static final int CHUNK_WORDS = 16;
+
+    /**
+     * The amount of bits in a bitmap word.
+     */
+    private static final int WORD_BITS = 64;
+
+    /**
+     * The direction switching parameter alpha.
+     */
+    private final int alpha;
+
+    /**
+     * The direction switching parameter beta.
+     */
+    private final int beta;
+
+    /**
+     * The workers, the first of which also runs on the calling thread.
+     */
+    private final List<Worker> workers;
+
+    /**
+     * The worker threads, or <code>null</code> if there is a single worker.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The index of the next bitmap word to claim in the current level.
+     */
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * The graph being searched.
+     */
+    private Graph<T> graph;
+
+    /**
+     * The amount of nodes in the graph being searched.
+     */
+    private int size;
+
+    /**
+     * Maps each visited node id to the id of its parent, or <tt>-1</tt>.
+     */
+    private int[] parents;
+
+    /**
+     * The bitmap of the visited nodes.
+     */
+    private AtomicLongArray visited;
+
+    /**
+     * The bitmap of the current frontier.
+     */
+    private AtomicLongArray frontier;
+
+    /**
+     * The bitmap of the next frontier.
+     */
+    private AtomicLongArray next;
+
+    /**
+     * Whether the current level is expanded bottom-up.
+     */
+    private boolean bottomUp;
+
+    /**
+     * Constructs a path finder with <code>threads</code> worker threads and
+     * the given direction switching parameters.
+     *
+     * @param threads the amount of worker threads, at least one.
+     * @param alpha the bottom-up switching parameter, at least one.
+     * @param beta the top-down switching parameter, at least one.
+     */
+    public ParallelBreadthFirstSearchPathFinder(final int threads,
+                                                final int alpha,
+                                                final int beta) {
+        checkNotBelow(threads, 1, "The amount of threads is below 1.");
+        checkNotBelow(alpha, 1, "The parameter alpha is below 1.");
+        checkNotBelow(beta, 1, "The parameter beta is below 1.");
+
+        final List<Worker> list = new ArrayList<>(threads);
+
+        for (int i = 0; i < threads; ++i) {
+            list.add(new Worker());
+        }
+
+        this.alpha = alpha;
+        this.beta = beta;
+        this.workers = Collections.unmodifiableList(list);
+        this.executor = threads == 1 ?
+                        null :
+                        Executors.newFixedThreadPool(threads,
+                                                     new WorkerFactory());
+        this.parents = new int[0];
+        this.visited = new AtomicLongArray(0);
+        this.frontier = new AtomicLongArray(0);
+        this.next = new AtomicLongArray(0);
+    }
+
+    /**
+     * Constructs a path finder with <code>threads</code> worker threads and
+     * the default direction switching parameters.
+     *
+     * @param threads the amount of worker threads, at least one.
+     */
+    public ParallelBreadthFirstSearchPathFinder(final int threads) {
+        this(threads, DEFAULT_ALPHA, DEFAULT_BETA);
+    }
+
+    /**
+     * Constructs a path finder with a worker thread per available processor.
+     */
+    public ParallelBreadthFirstSearchPathFinder() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param source the source node.
+     * @param target the target node.
+     *
+     * @return a shortest path or an empty path if target is not reachable from
+     * source.
+     */
+    @Override
+    public Path<T> search(final T source, final T target) {
+        checkNotNull(source, "The source node is null.");
+        checkNotNull(target, "The target node is null.");
+        checkNotNull(source.getOwnerGraph(),
+                     "The source node belongs to no graph.");
+
+        checkNotNull(target.getOwnerGraph(),
+                     "The target node belongs to no graph.");
+
+        checkNodesBelongToSameGraph(source, target);
+        checkHasId(source);
+        checkHasId(target);
+
+        final SearchStatistics statistics = startStatistics();
+        initialize(source.getOwnerGraph());
+
+        final int sourceId = source.getId();
+        final int targetId = target.getId();
+        setBit(visited, sourceId);
+        setBit(frontier, sourceId);
+        parents[sourceId] = -1;
+
+        long frontierSize = 1;
+        long frontierArcs = source.childrenListSize();
+        long unexploredArcs = graph.edgeCount() - frontierArcs;
+        bottomUp = false;
+
+        while (frontierSize > 0 && !testBit(visited, targetId)) {
+            if (bottomUp) {
+                bottomUp = frontierSize >= size / beta;
+            } else {
+                bottomUp = frontierArcs > unexploredArcs / alpha;
+            }
+
+            expandLevel(frontierSize);
+
+            frontierSize = 0;
+            frontierArcs = 0;
+
+            for (final Worker worker : workers) {
+                frontierSize += worker.discovered;
+                frontierArcs += worker.discoveredArcs;
+            }
+
+            unexploredArcs -= frontierArcs;
+
+            final AtomicLongArray tmp = frontier;
+            frontier = next;
+            next = tmp;
+
+            for (int i = 0; i < next.length(); ++i) {
+                next.set(i, 0L);
+            }
+        }
+
+        if (!testBit(visited, targetId)) {
+            return finishStatistics(statistics, emptyPath);
+        }
+
+        return finishStatistics(statistics, constructPath(targetId));
+    }
+
+    /**
+     * Returns the amount of worker threads.
+     *
+     * @return the amount of worker threads.
+     */
+    public int getThreadCount() {
+        return workers.size();
+    }
+
+    /**
+     * Stops the worker threads. No more searches may be run afterwards.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Prepares the bitmaps and the parent array for searching
+     * <code>graph</code>.
+     *
+     * @param graph the graph to search.
+     */
+    private void initialize(final Graph<T> graph) {
+        this.graph = graph;
+        this.size = graph.size();
+
+        final int words = (size + WORD_BITS - 1) / WORD_BITS;
+
+        if (parents.length < size) {
+            parents = new int[size];
+        }
+
+        if (visited.length() < words) {
+            visited = new AtomicLongArray(words);
+            frontier = new AtomicLongArray(words);
+            next = new AtomicLongArray(words);
+        } else {
+            for (int i = 0; i < visited.length(); ++i) {
+                visited.set(i, 0L);
+                frontier.set(i, 0L);
+                next.set(i, 0L);
+            }
+        }
+    }
+
+    /**
+     * Expands the current frontier into the next one on the calling thread
+     * if the level is small, and on all the workers otherwise.
+     *
+     * @param frontierSize the amount of nodes in the frontier.
+     */
+    private void expandLevel(final long frontierSize) {
+        cursor.set(0);
+
+        for (final Worker worker : workers) {
+            worker.discovered = 0;
+            worker.discoveredArcs = 0;
+        }
+
+        if (executor == null ||
+                (!bottomUp && frontierSize < PARALLEL_THRESHOLD)) {
+            workers.get(0).call();
+            return;
+        }
+
+        try {
+            for (final Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for the workers.", ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Constructs the path by following the parent ids from the target.
+     *
+     * @param targetId the id of the target node.
+     *
+     * @return a path.
+     */
+    private Path<T> constructPath(final int targetId) {
+        final List<T> list = new ArrayList<>();
+
+        for (int i = targetId; i != -1; i = parents[i]) {
+            list.add(graph.get(i));
+        }
+
+        Collections.<T>reverse(list);
+        return new Path<>(list);
+    }
+
+    /**
+     * Returns <code>true</code> if the bit <code>bit</code> is set.
+     */
+    private static boolean testBit(final AtomicLongArray bitmap,
+                                   final int bit) {
+        return (bitmap.get(bit / WORD_BITS) & (1L << bit)) != 0L;
+    }
+
+    /**
+     * Sets the bit <code>bit</code> of a word no other thread writes.
+     */
+    private static void setBit(final AtomicLongArray bitmap, final int bit) {
+        final int word = bit / WORD_BITS;
+        bitmap.set(word, bitmap.get(word) | (1L << bit));
+    }
+
+    /**
+     * Sets the bit <code>bit</code> atomically.
+     *
+     * @return <code>true</code> if the bit was not set before.
+     */
+    private static boolean claimBit(final AtomicLongArray bitmap,
+                                    final int bit) {
+        final int word = bit / WORD_BITS;
+        final long mask = 1L << bit;
+        long current;
+
+        do {
+            current = bitmap.get(word);
+
+            if ((current & mask) != 0L) {
+                return false;
+            }
+        } while (!bitmap.compareAndSet(word, current, current | mask));
+
+        return true;
+    }
+
+    /**
+     * This class expands the bitmap words it claims from the current level
+     * and counts the nodes it discovers.
+     */
+    private final class Worker implements Callable<Void> {
+
+        /**
+         * The amount of nodes this worker discovered in the current level.
+         */
+        long discovered;
+
+        /**
+         * The sum of the out-degrees of the nodes this worker discovered in
+         * the current level.
+         */
+        long discoveredArcs;
+
+        @Override
+        public Void call() {
+            final int words = (size + WORD_BITS - 1) / WORD_BITS;
+            int begin;
+
+            while ((begin = cursor.getAndAdd(CHUNK_WORDS)) < words) {
+                final int end = Math.min(begin + CHUNK_WORDS, words);
+
+                for (int word = begin; word < end; ++word) {
+                    if (bottomUp) {
+                        expandBottomUp(word);
+                    } else {
+                        expandTopDown(word);
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Lets every frontier node in the word <code>word</code> claim its
+         * unvisited children.
+         */
+        private void expandTopDown(final int word) {
+            long bits = frontier.get(word);
+
+            while (bits != 0L) {
+                final int id = word * WORD_BITS +
+                               Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                for (final T child : graph.get(id)) {
+                    final int childId = child.getId();
+
+                    if (!testBit(visited, childId) &&
+                            claimBit(visited, childId)) {
+                        parents[childId] = id;
+                        claimBit(next, childId);
+                        ++discovered;
+                        discoveredArcs += child.childrenListSize();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Lets every unvisited node in the word <code>word</code> look for a
+         * parent in the frontier. Only this worker writes to the word.
+         */
+        private void expandBottomUp(final int word) {
+            final int first = word * WORD_BITS;
+            final int last = Math.min(first + WORD_BITS, size);
+            final long visitedBits = visited.get(word);
+            long found = 0L;
+
+            for (int id = first; id < last; ++id) {
+                if ((visitedBits & (1L << id)) != 0L) {
+                    continue;
+                }
+
+                final T node = graph.get(id);
+
+                for (final T parent : node.parents()) {
+                    final int parentId = parent.getId();
+
+                    if (testBit(frontier, parentId)) {
+                        parents[id] = parentId;
+                        found |= 1L << id;
+                        ++discovered;
+                        discoveredArcs += node.childrenListSize();
+                        break;
+                    }
+                }
+            }
+
+            if (found != 0L) {
+                visited.set(word, visitedBits | found);
+                next.set(word, found);
+            }
+        }
+    }
+
+    /**
+     * This class creates the daemon worker threads.
+     */
+    private static final class WorkerFactory implements ThreadFactory {
+
+        /**
+         * The amount of threads created.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(
+                    runnable,
+                    "jgs-bfs-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package net.coderodde.jgs.model.support;
+
+/**
+ * This class implements the Manhattan distance heuristic with linear
+ * conflicts for {@link PuzzleNode}s. Two tiles are in a linear conflict if
+ * both are in their goal row (or column), but in the reverse order: one of
+ * them must leave the line to let the other pass, which costs two moves not
+ * counted by the Manhattan distance. For each line, the heuristic adds two
+ * moves per tile in the least set of tiles whose removal resolves all the
+ * conflicts of the line, which keeps it admissible. The head node is cached
+ * as in {@link PuzzleManhattanHeuristicFunction}.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class PuzzleLinearConflictHeuristicFunction
+extends PuzzleManhattanHeuristicFunction {
+
+    /**
+     * The goal coordinates along the current line of the tiles whose goal is
+     * on that line, in the order they appear on it.
+     */
+    private int[] goals = new int[0];
+
+    /**
+     * The scratch array of <code>resolve</code>.
+     */
+    private int[] lengths = new int[0];
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param tail the node to estimate from.
+     * @param head the node to estimate to.
+     *
+     * @return the Manhattan distance plus two moves per tile removed to
+     * resolve the linear conflicts.
+     */
+    @Override
+    public Integer evaluate(final PuzzleNode tail, final PuzzleNode head) {
+        final int distance = super.evaluate(tail, head);
+        final int n = tail.getDimension();
+
+        if (goals.length < n) {
+            goals = new int[n];
+            lengths = new int[n];
+        }
+
+        int removed = 0;
+
+        for (int line = 0; line < n; ++line) {
+            removed += resolveRow(tail, line) + resolveColumn(tail, line);
+        }
+
+        return distance + 2 * removed;
+    }
+
+    private int resolveRow(final PuzzleNode tail, final int y) {
+        final int n = tail.getDimension();
+        int size = 0;
+
+        for (int x = 0; x < n; ++x) {
+            final int tile = tail.get(x, y);
+
+            if (tile != 0 && headYs[tile] == y) {
+                goals[size++] = headXs[tile];
+            }
+        }
+
+        return resolve(size);
+    }
+
+    private int resolveColumn(final PuzzleNode tail, final int x) {
+        final int n = tail.getDimension();
+        int size = 0;
+
+        for (int y = 0; y < n; ++y) {
+            final int tile = tail.get(x, y);
+
+            if (tile != 0 && headXs[tile] == x) {
+                goals[size++] = headYs[tile];
+            }
+        }
+
+        return resolve(size);
+    }
+
+    /**
+     * Returns the least amount of tiles to remove from the first 
+     * <code>size</code> entries of <code>goals</code> until no two remaining
+     * tiles conflict. The remaining tiles are in increasing goal order, so
+     * this is <code>size</code> minus the length of the longest increasing
+     * subsequence.
+     */
+    private int resolve(final int size) {
+        int longest = 0;
+
+        for (int i = 0; i < size; ++i) {
+            // lengths[i] is the longest increasing subsequence ending at i.
+            lengths[i] = 1;
+
+            for (int j = 0; j < i; ++j) {
+                if (goals[j] < goals[i] && lengths[j] + 1 > lengths[i]) {
+                    lengths[i] = lengths[j] + 1;
+                }
+            }
+
+            longest = Math.max(longest, lengths[i]);
+        }
+
+        return size - longest;
+    }
+}
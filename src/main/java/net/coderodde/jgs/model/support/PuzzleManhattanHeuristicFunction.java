@@ -0,0 +1,98 @@
+package net.coderodde.jgs.model.support;
+
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+
+/**
+ * This class implements the Manhattan distance heuristic for
+ * {@link PuzzleNode}s: the sum over all the non-empty tiles of the horizontal
+ * and vertical distances between the position of the tile in one node and
+ * its position in the other. Since a move shifts a single tile by one, the
+ * heuristic is admissible and consistent under unit arc weights.
+ * <p>
+ * The tile positions of the last head node evaluated against are cached, so
+ * that a search towards a fixed target only scans the tail node. Since a
+ * {@link PuzzleNode} may be modified in place, the cache is keyed on a copy
+ * of the head node and compared by equality, not identity: a head node
+ * modified after an evaluation is cached anew.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class PuzzleManhattanHeuristicFunction
+extends AbstractHeuristicFunction<PuzzleNode, Integer> {
+
+    /**
+     * A copy of the head node whose tile positions are cached.
+     */
+    private PuzzleNode cachedHead;
+
+    /**
+     * Maps each tile of the last head node evaluated against to its
+     * x-coordinate.
+     */
+    protected int[] headXs;
+
+    /**
+     * Maps each tile of the last head node evaluated against to its
+     * y-coordinate.
+     */
+    protected int[] headYs;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param tail the node to estimate from.
+     * @param head the node to estimate to.
+     *
+     * @return the Manhattan distance between the two nodes.
+     */
+    @Override
+    public Integer evaluate(final PuzzleNode tail, final PuzzleNode head) {
+        final int n = tail.getDimension();
+
+        if (head.getDimension() != n) {
+            throw new IllegalArgumentException(
+                    "The puzzle nodes are of different dimensions.");
+        }
+
+        if (!head.equals(cachedHead)) {
+            cache(head);
+        }
+
+        int distance = 0;
+
+        for (int y = 0; y < n; ++y) {
+            for (int x = 0; x < n; ++x) {
+                final int tile = tail.get(x, y);
+
+                if (tile != 0) {
+                    distance += Math.abs(x - headXs[tile]) +
+                                Math.abs(y - headYs[tile]);
+                }
+            }
+        }
+
+        return distance;
+    }
+
+    /**
+     * Stores the tile positions of <code>head</code>.
+     */
+    private void cache(final PuzzleNode head) {
+        final int n = head.getDimension();
+
+        if (headXs == null || headXs.length != n * n) {
+            headXs = new int[n * n];
+            headYs = new int[n * n];
+        }
+
+        for (int y = 0; y < n; ++y) {
+            for (int x = 0; x < n; ++x) {
+                headXs[head.get(x, y)] = x;
+                headYs[head.get(x, y)] = y;
+            }
+        }
+
+        cachedHead = new PuzzleNode(head);
+    }
+}
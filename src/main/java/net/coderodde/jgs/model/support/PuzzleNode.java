@@ -1,22 +1,62 @@
 package net.coderodde.jgs.model.support;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import static net.coderodde.jgs.Utilities.checkNotNull;
 import net.coderodde.jgs.model.AbstractNode;
 import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.NodeVisitor;
+import net.coderodde.jgs.model.ReversibleState;
 
 /**
  * This class models a node of a <tt>(n^2 - 1)</tt>-puzzle game. Basically,
  * <code>PuzzleNode</code> models an <b>implicit</b> graph.
+ * <p>
+ * The tiles are packed row by row into a bit string using the least amount
+ * of bits that holds the largest tile, four bits for the 8- and 15-puzzles.
+ * The first 128 bits are kept in two <code>long</code> fields, which suffice
+ * up to dimension 5; only larger puzzles allocate an array for the rest. A
+ * move copies the words and rewrites two tiles, and the hash mixes the words
+ * instead of summing the tiles.
+ * <p>
+ * The neighbors are generated one at a time by the iterator and by
+ * {@link #forEachChild(NodeVisitor)}. As a {@link ReversibleState}, a node
+ * can also slide its empty tile in place, which lets depth-first searches 
+ * run on a single node.
  * 
  * @author Rodion Efremov
  * @version 1.6
  */
-public class PuzzleNode extends AbstractNode<PuzzleNode> {
+public class PuzzleNode extends AbstractNode<PuzzleNode> 
+implements ReversibleState<PuzzleNode> {
+    
+    /**
+     * The move sliding the empty tile upwards.
+     */
+    public static final int UP = 0;
+    
+    /**
+     * The move sliding the empty tile to the right.
+     */
+    public static final int RIGHT = 1;
+    
+    /**
+     * The move sliding the empty tile downwards.
+     */
+    public static final int DOWN = 2;
+    
+    /**
+     * The move sliding the empty tile to the left.
+     */
+    public static final int LEFT = 3;
+    
+    /**
+     * The amount of moves.
+     */
+    private static final int MOVE_COUNT = 4;
     
     /**
      * The minimum width/height of this puzzle node.
@@ -31,12 +71,44 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
     /**
      * Maps puzzle dimensions to their respective graphs.
      */
-    private static Graph<PuzzleNode>[] graphMap = new Graph[MAXIMUM_DIMENSION];
+    private static Graph<PuzzleNode>[] graphMap = 
+            new Graph[MAXIMUM_DIMENSION + 1];
     
     /**
-     * The matrix of tiles in this node..
+     * The amount of bits in a word.
      */
-    private final byte[][] m;
+    private static final int WORD_BITS = 64;
+    
+    /**
+     * The amount of words kept in fields.
+     */
+    private static final int FIELD_WORDS = 2;
+    
+    /**
+     * The width/height of this node.
+     */
+    private final byte n;
+    
+    /**
+     * The amount of bits per tile.
+     */
+    private final byte bits;
+    
+    /**
+     * The first word of the packed tiles.
+     */
+    private long word0;
+    
+    /**
+     * The second word of the packed tiles.
+     */
+    private long word1;
+    
+    /**
+     * The words of the packed tiles after the second one, or 
+     * <code>null</code> if the tiles fit in two words.
+     */
+    private final long[] words;
     
     /**
      * The x-coordinate of the zero tile.
@@ -54,12 +126,16 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      * @param matrix the input matrix.
      */
     public PuzzleNode(final byte[][] matrix) {       
+        checkDimension(matrix.length);
+        
         if (graphMap[matrix.length] == null) {
             graphMap[matrix.length] = new Graph<>();
-            this.ownerGraph = graphMap[matrix.length];
         }
         
-        this.m = new byte[matrix.length][matrix.length];
+        this.ownerGraph = graphMap[matrix.length];
+        this.n = (byte) matrix.length;
+        this.bits = bitsPerTile(n);
+        this.words = allocateWords(n, bits);
         
         // Filter set.
         final Set<Byte> set = new HashSet<>();
@@ -70,7 +146,6 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
             }
             
             for (int x = 0; x < matrix.length; ++x) {
-                this.m[y][x] = matrix[y][x];
                 set.add(matrix[y][x]);
                 
                 if (matrix[y][x] == 0) {
@@ -100,6 +175,12 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
             throw new IllegalArgumentException(
                     "Bad entry (" + badOne + ") detected");
         }
+        
+        for (int y = 0; y < matrix.length; ++y) {
+            for (int x = 0; x < matrix.length; ++x) {
+                write(y * n + x, matrix[y][x]);
+            }
+        }
     }
     
     /**
@@ -108,21 +189,19 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      * @param n the dimension of this puzzle node.
      */
     public PuzzleNode(final int n) {
+        checkDimension(n);
+        
         if (graphMap[n] == null) {
             graphMap[n] = new Graph<>();
-            this.ownerGraph = graphMap[n];
         }
         
-        checkDimension(n);
-        m = new byte[n][n];
+        this.ownerGraph = graphMap[n];
+        this.n = (byte) n;
+        this.bits = bitsPerTile(n);
+        this.words = allocateWords(n, bits);
         
-        byte index = 1;
-        for (int y = 0; y != n; ++y) {
-            for (int x = 0; x != n; ++x, ++index) {
-                if (index != n * n) {
-                    m[y][x] = index;
-                }
-            }
+        for (int i = 0; i != n * n - 1; ++i) {
+            write(i, i + 1);
         }
         
         x = (byte)(n - 1);
@@ -136,17 +215,13 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      */
     public PuzzleNode(final PuzzleNode node) {
         this.ownerGraph = node.getOwnerGraph();
-        final int n = node.getDimension();
-        m = new byte[n][n];
-        
-        for (int y = 0; y != n; ++y) {
-            for (int x = 0; x != n; ++x) {
-                m[y][x] = node.m[y][x];
-            }
-        }
-        
-        x = node.x;
-        y = node.y;
+        this.n = node.n;
+        this.bits = node.bits;
+        this.word0 = node.word0;
+        this.word1 = node.word1;
+        this.words = node.words == null ? null : node.words.clone();
+        this.x = node.x;
+        this.y = node.y;
     }
     
     /**
@@ -175,41 +250,22 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
         
         final PuzzleNode other = (PuzzleNode) o;
         
-        if (other.getDimension() != this.getDimension()) {
-            return false;
-        }
-        
-        final int n = this.getDimension();
-        
-        for (int y = 0; y != n; ++y) {
-            for (int x = 0; x != n; ++x) {
-                if (this.m[y][x] != other.m[y][x]) {
-                    return false;
-                }
-            }
-        }
-        
-        return true;
+        return other.n == n 
+                && other.word0 == word0
+                && other.word1 == word1
+                && Arrays.equals(other.words, words);
     }
     
     /**
-     * Computes the hash of this puzzle node.
+     * Computes the hash of this puzzle node by mixing the words of the packed
+     * tiles.
      * 
      * @return the hash of this puzzle node.
      */
     @Override
     public int hashCode() {
-        final int n = m.length;
-        int i = 1;
-        int hash = 0;
-        
-        for (int y = 0; y != n; ++y) {
-            for (int x = 0; x != n; ++x, ++i) {
-                hash += m[y][x] * i;
-            }
-        }
-        
-        return hash;
+        final long hash = fingerprint();
+        return (int)(hash ^ (hash >>> 32));
     }
     
     /**
@@ -221,7 +277,13 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      * @return the tile at position <tt>(x, y)</tt>. 
      */
     public byte get(final int x, final int y) {
-        return m[y][x];
+        if (x < 0 || x >= n || y < 0 || y >= n) {
+            throw new IndexOutOfBoundsException(
+                    "The position (" + x + ", " + y + ") is outside a " +
+                    n + " by " + n + " puzzle.");
+        }
+        
+        return (byte) read(y * n + x);
     }
     
     /**
@@ -236,10 +298,7 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
         }
         
         final PuzzleNode node = new PuzzleNode(this);
-        final byte tmp = node.m[y][x];
-        node.m[y][x] = node.m[y - 1][x];
-        node.m[y - 1][x] = tmp;
-        node.y--;
+        node.slide(x, y - 1);
         return node;
     }
     
@@ -250,15 +309,12 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      * from the matrix.
      */
     public PuzzleNode moveDown() {
-        if (y == m.length - 1) {
+        if (y == n - 1) {
             return null;
         }
         
         final PuzzleNode node = new PuzzleNode(this);
-        final byte tmp = node.m[y][x];
-        node.m[y][x] = node.m[y + 1][x];
-        node.m[y + 1][x] = tmp;
-        node.y++;
+        node.slide(x, y + 1);
         return node;
     }
     
@@ -274,10 +330,7 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
         }
         
         final PuzzleNode node = new PuzzleNode(this);
-        final byte tmp = node.m[y][x];
-        node.m[y][x] = node.m[y][x - 1];
-        node.m[y][x - 1] = tmp;
-        node.x--;
+        node.slide(x - 1, y);
         return node;
     }
     
@@ -288,15 +341,12 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      * from the matrix.
      */
     public PuzzleNode moveRight() {
-        if (x == m.length - 1) {
+        if (x == n - 1) {
             return null;
         }
         
         final PuzzleNode node = new PuzzleNode(this);
-        final byte tmp = node.m[y][x];
-        node.m[y][x] = node.m[y][x + 1];
-        node.m[y][x + 1] = tmp;
-        node.x++;
+        node.slide(x + 1, y);
         return node;
     }
     
@@ -306,7 +356,7 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      * @return the dimension of this puzzle node.
      */
     public final int getDimension() {
-        return m.length;
+        return n;
     }
     
     /**
@@ -316,7 +366,7 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      */
     @Override
     public String toString() {
-        final int maxNumber = m.length * m.length - 1;
+        final int maxNumber = n * n - 1;
         final int fieldLength = 
                 Math.max(5, (int)(Math.floor(Math.log10(maxNumber))) + 1);
         
@@ -331,7 +381,7 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
             filler += ' ';
         }
         
-        for (int i = 0; i != m.length; ++i) {
+        for (int i = 0; i != n; ++i) {
             sb.append(smallBar);
         }
         
@@ -340,22 +390,23 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
         
         final String horizontalBar = sb.toString();
         
-        for (int yy = 0; yy != m.length; ++yy) {
+        for (int yy = 0; yy != n; ++yy) {
             all.append(horizontalBar);;
             
-            for (int xx = 0; xx != m.length; ++xx) {
+            for (int xx = 0; xx != n; ++xx) {
                 all.append(filler);
             }
             
             all.append("|\n");
             
-            for (int xx = 0; xx != m.length; ++xx) {
+            for (int xx = 0; xx != n; ++xx) {
+                final int tile = get(xx, yy);
                 int fl;
                 
-                if (m[yy][xx] == 0) {
+                if (tile == 0) {
                     fl = 1;
                 } else {
-                    fl = (int)(Math.floor(Math.log10(m[yy][xx]))) + 1; 
+                    fl = (int)(Math.floor(Math.log10(tile))) + 1; 
                 }
                 
                 int tmp = fieldLength - fl;
@@ -373,12 +424,12 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
                 }
                 
                 all.append("| ")
-                   .append(String.format(skip + "%d" + skip2 + " ", m[yy][xx]));
+                   .append(String.format(skip + "%d" + skip2 + " ", tile));
             }
             
             all.append("|\n");
             
-            for (int xx = 0; xx != m.length; ++xx) {
+            for (int xx = 0; xx != n; ++xx) {
                 all.append(filler);
             }
             
@@ -458,7 +509,7 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      */
     @Override
     public int childrenListSize() {
-        return new PuzzleNodeIterator().getSize();
+        return legalMoveCount();
     }
 
     /**
@@ -468,57 +519,168 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      */
     @Override
     public int parentsListSize() {
-        return new PuzzleNodeIterator().getSize();
+        return legalMoveCount();
+    }
+    
+    /**
+     * Visits the neighbors of this node, generating them one by one.
+     * 
+     * @param visitor the visitor to call for each neighbor.
+     */
+    @Override
+    public void forEachChild(final NodeVisitor<PuzzleNode> visitor) {
+        for (int move = 0; move != MOVE_COUNT; ++move) {
+            final PuzzleNode child = neighbor(move);
+            
+            if (child != null) {
+                visitor.visit(child);
+            }
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * @return four: {@link #UP}, {@link #RIGHT}, {@link #DOWN} and 
+     * {@link #LEFT}.
+     */
+    @Override
+    public int getMoveCount() {
+        return MOVE_COUNT;
+    }
+    
+    /**
+     * Slides the empty tile of this node in place.
+     * 
+     * @param move the direction to slide the empty tile to.
+     * 
+     * @return <code>true</code> if the empty tile moved, <code>false</code> if
+     * it would have slid away from the matrix.
+     * 
+     * @throws IllegalArgumentException if <code>move</code> is not a 
+     * direction.
+     */
+    @Override
+    public boolean apply(final int move) {
+        switch (move) {
+            case UP:
+                if (y == 0) {
+                    return false;
+                }
+                
+                slide(x, y - 1);
+                return true;
+                
+            case RIGHT:
+                if (x == n - 1) {
+                    return false;
+                }
+                
+                slide(x + 1, y);
+                return true;
+                
+            case DOWN:
+                if (y == n - 1) {
+                    return false;
+                }
+                
+                slide(x, y + 1);
+                return true;
+                
+            case LEFT:
+                if (x == 0) {
+                    return false;
+                }
+                
+                slide(x - 1, y);
+                return true;
+                
+            default:
+                throw new IllegalArgumentException("Bad move: " + move);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * @param move the move applied last.
+     * 
+     * @throws IllegalStateException if the move cannot be undone.
+     */
+    @Override
+    public void undo(final int move) {
+        if (!apply(inverse(move))) {
+            throw new IllegalStateException(
+                    "The move " + move + " was not applied last.");
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * @param move the move to invert.
+     * 
+     * @return the opposite direction.
+     */
+    @Override
+    public int inverse(final int move) {
+        if (move < 0 || move >= MOVE_COUNT) {
+            throw new IllegalArgumentException("Bad move: " + move);
+        }
+        
+        return (move + 2) % MOVE_COUNT;
     }
     
     /**
-     * This inner class implements the puzzle node neighbor iterator.
+     * {@inheritDoc}
+     * 
+     * @return the mix of the words of the packed tiles.
+     */
+    @Override
+    public long fingerprint() {
+        long hash = mix(word0) + n;
+        hash = mix(hash ^ word1);
+        
+        if (words != null) {
+            for (final long word : words) {
+                hash = mix(hash ^ word);
+            }
+        }
+        
+        return hash;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * @return a copy of this node.
+     */
+    @Override
+    public PuzzleNode copy() {
+        return new PuzzleNode(this);
+    }
+    
+    /**
+     * This inner class implements the puzzle node neighbor iterator, which
+     * generates each neighbor only when asked for it.
      */
     private class PuzzleNodeIterator implements Iterator<PuzzleNode> {
 
         /**
-         * The list of neighbor nodes.
+         * The next move to try.
          */
-        private final List<PuzzleNode> neighbourList;
+        private int move;
         
         /**
-         * The iterator of the neighbor list.
+         * The next neighbor to return, or <code>null</code> if there is none.
          */
-        private final Iterator<PuzzleNode> iterator;
+        private PuzzleNode next;
         
         /**
          * Constructs an iterator over the enclosing nodes neighbors.
          */
         PuzzleNodeIterator() {
-            final PuzzleNode node = PuzzleNode.this;
-            
-            neighbourList = new ArrayList<>(4);
-            
-            PuzzleNode tmp = node.moveUp();
-            
-            if (tmp != null) {
-                neighbourList.add(tmp);
-            }
-            
-            tmp = node.moveRight();
-            
-            if (tmp != null) {
-                neighbourList.add(tmp);
-            }
-            
-            tmp = node.moveDown();
-            
-            if (tmp != null) {
-                neighbourList.add(tmp);
-            }
-            
-            tmp = node.moveLeft();
-            
-            if (tmp != null) {
-                neighbourList.add(tmp);
-            }
-            
-            iterator = neighbourList.iterator();
+            advance();
         }
         
         /**
@@ -530,7 +692,7 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
          */
         @Override
         public boolean hasNext() {
-            return iterator.hasNext();
+            return next != null;
         }
 
         /**
@@ -543,7 +705,14 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
          */
         @Override
         public PuzzleNode next() {
-            return iterator.next();
+            if (next == null) {
+                throw new NoSuchElementException(
+                        "No more neighbors to iterate.");
+            }
+            
+            final PuzzleNode node = next;
+            advance();
+            return node;
         }
 
         /**
@@ -555,16 +724,163 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
                         "Cannot modify an implicit puzzle graph.");
         }
         
-        /**
-         * Returns the amount of nodes this iterator is iterating over.
-         * 
-         * @return the amount of nodes in this iterator.
-         */
-        int getSize() {
-            return neighbourList.size();
+        private void advance() {
+            next = null;
+            
+            while (next == null && move != MOVE_COUNT) {
+                next = neighbor(move++);
+            }
         }
     }
     
+    /**
+     * Returns the neighbor reached by <code>move</code>, or 
+     * <code>null</code> if the move is illegal.
+     */
+    private PuzzleNode neighbor(final int move) {
+        switch (move) {
+            case UP:
+                return moveUp();
+                
+            case RIGHT:
+                return moveRight();
+                
+            case DOWN:
+                return moveDown();
+                
+            default:
+                return moveLeft();
+        }
+    }
+    
+    /**
+     * Returns the amount of legal moves of this node.
+     */
+    private int legalMoveCount() {
+        int count = 0;
+        
+        if (y != 0) {
+            ++count;
+        }
+        
+        if (x != n - 1) {
+            ++count;
+        }
+        
+        if (y != n - 1) {
+            ++count;
+        }
+        
+        if (x != 0) {
+            ++count;
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Moves the tile at <tt>(tileX, tileY)</tt> into the empty position,
+     * which is adjacent to it.
+     */
+    private void slide(final int tileX, final int tileY) {
+        final int index = tileY * n + tileX;
+        write(y * n + x, read(index));
+        write(index, 0);
+        x = (byte) tileX;
+        y = (byte) tileY;
+    }
+    
+    /**
+     * Returns the tile at the given row-major <code>index</code>.
+     */
+    private int read(final int index) {
+        final int offset = index * bits;
+        final int w = offset / WORD_BITS;
+        final int shift = offset % WORD_BITS;
+        long value = word(w) >>> shift;
+        
+        if (shift + bits > WORD_BITS) {
+            value |= word(w + 1) << (WORD_BITS - shift);
+        }
+        
+        return (int)(value & ((1L << bits) - 1));
+    }
+    
+    /**
+     * Stores <code>tile</code> at the given row-major <code>index</code>.
+     */
+    private void write(final int index, final int tile) {
+        final int offset = index * bits;
+        final int w = offset / WORD_BITS;
+        final int shift = offset % WORD_BITS;
+        final long mask = (1L << bits) - 1;
+        
+        setWord(w, (word(w) & ~(mask << shift)) | ((long) tile << shift));
+        
+        if (shift + bits > WORD_BITS) {
+            final int spill = WORD_BITS - shift;
+            setWord(w + 1, (word(w + 1) & ~(mask >>> spill)) | 
+                           ((long) tile >>> spill));
+        }
+    }
+    
+    private long word(final int w) {
+        switch (w) {
+            case 0:
+                return word0;
+                
+            case 1:
+                return word1;
+                
+            default:
+                return words[w - FIELD_WORDS];
+        }
+    }
+    
+    private void setWord(final int w, final long value) {
+        switch (w) {
+            case 0:
+                word0 = value;
+                break;
+                
+            case 1:
+                word1 = value;
+                break;
+                
+            default:
+                words[w - FIELD_WORDS] = value;
+        }
+    }
+    
+    /**
+     * Returns the least amount of bits holding every tile of a puzzle of
+     * dimension <code>n</code>.
+     */
+    private static byte bitsPerTile(final int n) {
+        return (byte)(Integer.SIZE - Integer.numberOfLeadingZeros(n * n - 1));
+    }
+    
+    /**
+     * Allocates the words not kept in fields, or returns <code>null</code>
+     * if there are none.
+     */
+    private static long[] allocateWords(final int n, final int bits) {
+        final int totalWords = (n * n * bits + WORD_BITS - 1) / WORD_BITS;
+        return totalWords <= FIELD_WORDS ? 
+                null : 
+                new long[totalWords - FIELD_WORDS];
+    }
+    
+    /**
+     * Scrambles the bits of <code>value</code> (the finalizer of the 
+     * <tt>SplitMix64</tt> generator).
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+    
     /**
      * Checks the dimension.
      * 
@@ -572,7 +888,7 @@ public class PuzzleNode extends AbstractNode<PuzzleNode> {
      * 
      * @throws IllegalArgumentException if dimension is too small or too large.
      */
-    private final void checkDimension(final int n) {
+    private static void checkDimension(final int n) {
         if (n < MINIMUM_DIMENSION) {
             throw new IllegalArgumentException(
                     "Dimension is too small: " + n + ". Must be at least " +
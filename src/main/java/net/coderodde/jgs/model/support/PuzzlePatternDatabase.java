@@ -0,0 +1,574 @@
+package net.coderodde.jgs.model.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+
+/**
+ * This class implements an additive pattern database of a sliding-tile
+ * puzzle. A pattern is a set of tiles; the database maps every placement of
+ * the pattern tiles to the least amount of moves of <b>pattern tiles</b>
+ * needed to bring them to their positions in the goal node, the other tiles
+ * being indistinguishable. Since the moves of the other tiles are not
+ * counted, the values of databases over disjoint patterns may be summed into
+ * an admissible heuristic (see
+ * {@link PuzzlePatternDatabaseHeuristicFunction}).
+ * <p>
+ * The database is built by a breadth-first search backwards from the goal
+ * over the placements of the pattern tiles and the empty tile, a move of the
+ * empty tile costing one if it swaps with a pattern tile and zero otherwise.
+ * The placements are ranked as partial permutations, so the table holds one
+ * byte per placement of <tt>k</tt> pattern tiles on <tt>N</tt> cells, that
+ * is, <tt>N! / (N - k)!</tt> bytes: 524160 for five tiles of the 15-puzzle.
+ * The search needs a byte per placement including the empty tile,
+ * <tt>N - k</tt> times as much.
+ * <p>
+ * A database can be saved to a file and loaded back, so that it is built
+ * once; see {@link #loadOrBuild(File, PuzzleNode, int...)}. Looking up a
+ * value uses scratch arrays of the database, so a database must not be
+ * shared between threads.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class PuzzlePatternDatabase {
+
+    /**
+     * The magic number opening a pattern database file (<tt>"jGSP"</tt>).
+     */
+    private static final int MAGIC = 0x6A475350;
+
+    /**
+     * The version of the pattern database file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The value of the placements not reached yet.
+     */
+    private static final int UNREACHED = 0xff;
+
+    /**
+     * The goal node.
+     */
+    private final PuzzleNode goal;
+
+    /**
+     * The pattern tiles.
+     */
+    private final int[] tiles;
+
+    /**
+     * Maps the rank of each placement of the pattern tiles to its amount of
+     * moves, as an unsigned byte.
+     */
+    private final byte[] table;
+
+    /**
+     * The amount of cells in the puzzle.
+     */
+    private final int cells;
+
+    /**
+     * The scratch array of the positions of the pattern tiles.
+     */
+    private final int[] positions;
+
+    /**
+     * The scratch array of the positions of all the tiles.
+     */
+    private final int[] tilePositions;
+
+    private PuzzlePatternDatabase(final PuzzleNode goal,
+                                  final int[] tiles,
+                                  final byte[] table) {
+        this.goal = goal;
+        this.tiles = tiles;
+        this.table = table;
+        this.cells = goal.getDimension() * goal.getDimension();
+        this.positions = new int[tiles.length];
+        this.tilePositions = new int[cells];
+    }
+
+    /**
+     * Builds the pattern database of <code>tiles</code> towards
+     * <code>goal</code>.
+     *
+     * @param goal the goal node.
+     * @param tiles the pattern tiles.
+     *
+     * @return the pattern database.
+     *
+     * @throws IllegalArgumentException if the tiles are not distinct, some
+     * tile is zero or too large for the puzzle, or the search space does not
+     * fit in an array.
+     */
+    public static PuzzlePatternDatabase build(final PuzzleNode goal,
+                                              final int... tiles) {
+        checkNotNull(goal, "The goal node is null.");
+        checkNotNull(tiles, "The pattern tiles are null.");
+
+        final int[] pattern = tiles.clone();
+        checkPattern(goal, pattern);
+
+        final int n = goal.getDimension();
+        final int cells = n * n;
+        final int k = pattern.length;
+        final int m = k + 1;
+        final byte[] table = new byte[placements(cells, k)];
+        final byte[] distances = new byte[placements(cells, m)];
+        final int[] positions = new int[m];
+        final boolean[] used = new boolean[cells];
+
+        Arrays.fill(table, (byte) UNREACHED);
+        Arrays.fill(distances, (byte) UNREACHED);
+
+        // The empty tile goes last, so that dividing the rank of a placement
+        // by the amount of cells left gives the rank of the pattern tiles.
+        for (int y = 0; y < n; ++y) {
+            for (int x = 0; x < n; ++x) {
+                final int tile = goal.get(x, y);
+
+                if (tile == 0) {
+                    positions[k] = y * n + x;
+                }
+
+                for (int i = 0; i < k; ++i) {
+                    if (pattern[i] == tile) {
+                        positions[i] = y * n + x;
+                    }
+                }
+            }
+        }
+
+        IntStack current = new IntStack();
+        IntStack next = new IntStack();
+        final int start = rank(positions, m, cells);
+
+        distances[start] = 0;
+        current.push(start);
+
+        for (int level = 0; !current.isEmpty(); ++level) {
+            if (level + 1 >= UNREACHED) {
+                throw new IllegalStateException(
+                        "The pattern distances do not fit in a byte.");
+            }
+
+            while (!current.isEmpty()) {
+                final int state = current.pop();
+
+                if ((distances[state] & 0xff) != level) {
+                    // Reached later at a lower cost.
+                    continue;
+                }
+
+                final int patternRank = state / (cells - k);
+
+                if ((table[patternRank] & 0xff) == UNREACHED) {
+                    table[patternRank] = (byte) level;
+                }
+
+                unrank(state, positions, used, m, cells);
+
+                final int blank = positions[k];
+                final int x = blank % n;
+                final int y = blank / n;
+
+                for (int move = 0; move < 4; ++move) {
+                    final int cell;
+
+                    switch (move) {
+                        case 0:
+                            cell = y > 0 ? blank - n : -1;
+                            break;
+
+                        case 1:
+                            cell = x < n - 1 ? blank + 1 : -1;
+                            break;
+
+                        case 2:
+                            cell = y < n - 1 ? blank + n : -1;
+                            break;
+
+                        default:
+                            cell = x > 0 ? blank - 1 : -1;
+                    }
+
+                    if (cell < 0) {
+                        continue;
+                    }
+
+                    int moved = -1;
+
+                    for (int i = 0; i < k; ++i) {
+                        if (positions[i] == cell) {
+                            moved = i;
+                            break;
+                        }
+                    }
+
+                    positions[k] = cell;
+
+                    if (moved >= 0) {
+                        positions[moved] = blank;
+                    }
+
+                    final int neighbor = rank(positions, m, cells);
+                    final int cost = moved >= 0 ? level + 1 : level;
+
+                    positions[k] = blank;
+
+                    if (moved >= 0) {
+                        positions[moved] = cell;
+                    }
+
+                    if ((distances[neighbor] & 0xff) > cost) {
+                        distances[neighbor] = (byte) cost;
+                        (moved >= 0 ? next : current).push(neighbor);
+                    }
+                }
+            }
+
+            final IntStack tmp = current;
+            current = next;
+            next = tmp;
+        }
+
+        return new PuzzlePatternDatabase(goal, pattern, table);
+    }
+
+    /**
+     * Loads a pattern database saved with {@link #save(File)}.
+     *
+     * @param file the file to read.
+     *
+     * @return the pattern database.
+     *
+     * @throws IOException if the file cannot be read or is not a pattern
+     * database.
+     */
+    public static PuzzlePatternDatabase load(final File file)
+    throws IOException {
+        checkNotNull(file, "The file is null.");
+
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(
+                        file + " is not a pattern database file.");
+            }
+
+            final int version = in.readInt();
+
+            if (version != VERSION) {
+                throw new IOException(
+                        "Unsupported pattern database version: " + version);
+            }
+
+            final int n = in.readUnsignedByte();
+            final byte[][] matrix = new byte[n][n];
+
+            for (int y = 0; y < n; ++y) {
+                in.readFully(matrix[y]);
+            }
+
+            final PuzzleNode goal;
+
+            try {
+                goal = new PuzzleNode(matrix);
+            } catch (final IllegalArgumentException ex) {
+                throw new IOException("Bad goal node in " + file, ex);
+            }
+
+            final int[] tiles = new int[in.readUnsignedByte()];
+
+            for (int i = 0; i < tiles.length; ++i) {
+                tiles[i] = in.readUnsignedByte();
+            }
+
+            try {
+                checkPattern(goal, tiles);
+            } catch (final IllegalArgumentException ex) {
+                throw new IOException("Bad pattern in " + file, ex);
+            }
+
+            final byte[] table = new byte[in.readInt()];
+
+            if (table.length != placements(n * n, tiles.length)) {
+                throw new IOException(
+                        "Bad table size in " + file + ": " + table.length);
+            }
+
+            in.readFully(table);
+            return new PuzzlePatternDatabase(goal, tiles, table);
+        }
+    }
+
+    /**
+     * Loads the pattern database of <code>tiles</code> towards
+     * <code>goal</code> from <code>file</code> if the file exists and holds
+     * that database. Otherwise, builds the database and saves it to
+     * <code>file</code>.
+     *
+     * @param file the file of the database.
+     * @param goal the goal node.
+     * @param tiles the pattern tiles.
+     *
+     * @return the pattern database.
+     *
+     * @throws IOException if the database cannot be saved.
+     */
+    public static PuzzlePatternDatabase loadOrBuild(final File file,
+                                                    final PuzzleNode goal,
+                                                    final int... tiles)
+    throws IOException {
+        checkNotNull(file, "The file is null.");
+
+        if (file.isFile()) {
+            try {
+                final PuzzlePatternDatabase database = load(file);
+
+                if (database.goal.equals(goal) &&
+                        Arrays.equals(database.tiles, tiles)) {
+                    return database;
+                }
+            } catch (final IOException ex) {
+                // Rebuild below.
+            }
+        }
+
+        final PuzzlePatternDatabase database = build(goal, tiles);
+        database.save(file);
+        return database;
+    }
+
+    /**
+     * Saves this pattern database to <code>file</code>.
+     *
+     * @param file the file to write.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(final File file) throws IOException {
+        checkNotNull(file, "The file is null.");
+
+        final int n = goal.getDimension();
+
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeByte(n);
+
+            for (int y = 0; y < n; ++y) {
+                for (int x = 0; x < n; ++x) {
+                    out.writeByte(goal.get(x, y));
+                }
+            }
+
+            out.writeByte(tiles.length);
+
+            for (final int tile : tiles) {
+                out.writeByte(tile);
+            }
+
+            out.writeInt(table.length);
+            out.write(table);
+        }
+    }
+
+    /**
+     * Returns the least amount of pattern tile moves needed to bring the
+     * pattern tiles of <code>node</code> to their goal positions.
+     *
+     * @param node the node to evaluate.
+     *
+     * @return the amount of moves.
+     *
+     * @throws IllegalArgumentException if <code>node</code> is not of the
+     * dimension of the goal node.
+     */
+    public int get(final PuzzleNode node) {
+        checkNotNull(node, "The node is null.");
+
+        final int n = goal.getDimension();
+
+        if (node.getDimension() != n) {
+            throw new IllegalArgumentException(
+                    "The puzzle nodes are of different dimensions.");
+        }
+
+        for (int y = 0; y < n; ++y) {
+            for (int x = 0; x < n; ++x) {
+                tilePositions[node.get(x, y)] = y * n + x;
+            }
+        }
+
+        return get(tilePositions);
+    }
+
+    /**
+     * Returns the goal node of this database.
+     *
+     * @return the goal node.
+     */
+    public PuzzleNode getGoal() {
+        return goal;
+    }
+
+    /**
+     * Returns the pattern tiles of this database.
+     *
+     * @return the pattern tiles.
+     */
+    public int[] getTiles() {
+        return tiles.clone();
+    }
+
+    /**
+     * Returns the value of the placement in which each tile
+     * <code>t</code> is at the row-major position
+     * <code>tilePositions[t]</code>.
+     */
+    int get(final int[] tilePositions) {
+        for (int i = 0; i < tiles.length; ++i) {
+            positions[i] = tilePositions[tiles[i]];
+        }
+
+        return table[rank(positions, tiles.length, cells)] & 0xff;
+    }
+
+    /**
+     * Returns the rank of the placement of <code>m</code> items at
+     * <code>positions</code>, among the placements on <code>cells</code>
+     * cells.
+     */
+    private static int rank(final int[] positions,
+                            final int m,
+                            final int cells) {
+        int rank = 0;
+
+        for (int i = 0; i < m; ++i) {
+            int digit = positions[i];
+
+            for (int j = 0; j < i; ++j) {
+                if (positions[j] < positions[i]) {
+                    --digit;
+                }
+            }
+
+            rank = rank * (cells - i) + digit;
+        }
+
+        return rank;
+    }
+
+    /**
+     * Stores into <code>positions</code> the placement of <code>m</code>
+     * items with the given <code>rank</code>.
+     */
+    private static void unrank(int rank,
+                               final int[] positions,
+                               final boolean[] used,
+                               final int m,
+                               final int cells) {
+        for (int i = m - 1; i >= 0; --i) {
+            positions[i] = rank % (cells - i);
+            rank /= cells - i;
+        }
+
+        Arrays.fill(used, false);
+
+        for (int i = 0; i < m; ++i) {
+            int cell = 0;
+
+            for (int free = positions[i]; used[cell] || free > 0; ++cell) {
+                if (!used[cell]) {
+                    --free;
+                }
+            }
+
+            used[cell] = true;
+            positions[i] = cell;
+        }
+    }
+
+    /**
+     * Returns the amount of placements of <code>m</code> items on
+     * <code>cells</code> cells.
+     *
+     * @throws IllegalArgumentException if the amount does not fit in an
+     * array.
+     */
+    private static int placements(final int cells, final int m) {
+        long count = 1L;
+
+        for (int i = 0; i < m; ++i) {
+            count *= cells - i;
+
+            if (count > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException(
+                        "The pattern is too large: " + m + " tiles on " +
+                        cells + " cells.");
+            }
+        }
+
+        return (int) count;
+    }
+
+    private static void checkPattern(final PuzzleNode goal, final int[] tiles) {
+        final int cells = goal.getDimension() * goal.getDimension();
+        final boolean[] seen = new boolean[cells];
+
+        if (tiles.length == 0 || tiles.length >= cells) {
+            throw new IllegalArgumentException(
+                    "Bad amount of pattern tiles: " + tiles.length);
+        }
+
+        for (final int tile : tiles) {
+            if (tile <= 0 || tile >= cells) {
+                throw new IllegalArgumentException(
+                        "Bad pattern tile: " + tile);
+            }
+
+            if (seen[tile]) {
+                throw new IllegalArgumentException(
+                        "Duplicate pattern tile: " + tile);
+            }
+
+            seen[tile] = true;
+        }
+    }
+
+    /**
+     * This class implements a growable stack of integers.
+     */
+    private static final class IntStack {
+
+        private int[] array = new int[1024];
+        private int size;
+
+        void push(final int value) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size);
+            }
+
+            array[size++] = value;
+        }
+
+        int pop() {
+            return array[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
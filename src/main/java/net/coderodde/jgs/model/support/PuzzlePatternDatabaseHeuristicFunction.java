@@ -0,0 +1,191 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+
+/**
+ * This class implements the additive pattern database heuristic for
+ * {@link PuzzleNode}s: the sum of the values of
+ * {@link PuzzlePatternDatabase}s over disjoint patterns, all built towards
+ * the same goal node. The heuristic is admissible and estimates only the
+ * distance to that goal node.
+ * <p>
+ * {@link #build(PuzzleNode)} builds the databases of a default partition of
+ * the tiles of the 8- and the 15-puzzle; the latter takes three patterns of
+ * five tiles, about half a megabyte each.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class PuzzlePatternDatabaseHeuristicFunction
+extends AbstractHeuristicFunction<PuzzleNode, Integer> {
+
+    /**
+     * The default partition of the tiles of the 8-puzzle.
+     */
+    private static final int[][] PARTITION_3 = {
+        { 1, 2, 3, 4 },
+        { 5, 6, 7, 8 }
+    };
+
+    /**
+     * The default partition of the tiles of the 15-puzzle.
+     */
+    private static final int[][] PARTITION_4 = {
+        { 1, 2, 3, 5, 6 },
+        { 4, 7, 8, 11, 12 },
+        { 9, 10, 13, 14, 15 }
+    };
+
+    /**
+     * The pattern databases.
+     */
+    private final PuzzlePatternDatabase[] databases;
+
+    /**
+     * The goal node of all the databases.
+     */
+    private final PuzzleNode goal;
+
+    /**
+     * The scratch array of the positions of the tiles.
+     */
+    private final int[] tilePositions;
+
+    /**
+     * Constructs this heuristic function summing <code>databases</code>.
+     *
+     * @param databases the pattern databases.
+     *
+     * @throws IllegalArgumentException if there are no databases, their goal
+     * nodes differ or their patterns overlap.
+     */
+    public PuzzlePatternDatabaseHeuristicFunction(
+            final List<PuzzlePatternDatabase> databases) {
+        checkNotNull(databases, "The database list is null.");
+
+        if (databases.isEmpty()) {
+            throw new IllegalArgumentException("No pattern databases.");
+        }
+
+        this.databases = databases.toArray(
+                new PuzzlePatternDatabase[databases.size()]);
+        this.goal = this.databases[0].getGoal();
+
+        final int n = goal.getDimension();
+        final boolean[] covered = new boolean[n * n];
+
+        for (final PuzzlePatternDatabase database : this.databases) {
+            checkNotNull(database, "A pattern database is null.");
+
+            if (!database.getGoal().equals(goal)) {
+                throw new IllegalArgumentException(
+                        "The pattern databases have different goal nodes.");
+            }
+
+            for (final int tile : database.getTiles()) {
+                if (covered[tile]) {
+                    throw new IllegalArgumentException(
+                            "The tile " + tile + " is in two patterns.");
+                }
+
+                covered[tile] = true;
+            }
+        }
+
+        this.tilePositions = new int[n * n];
+    }
+
+    /**
+     * Builds the pattern databases of <code>patterns</code> towards
+     * <code>goal</code>.
+     *
+     * @param goal the goal node.
+     * @param patterns the disjoint patterns.
+     *
+     * @return the heuristic function.
+     */
+    public static PuzzlePatternDatabaseHeuristicFunction
+            build(final PuzzleNode goal, final int[]... patterns) {
+        checkNotNull(patterns, "The patterns are null.");
+
+        final List<PuzzlePatternDatabase> databases = new ArrayList<>();
+
+        for (final int[] pattern : patterns) {
+            databases.add(PuzzlePatternDatabase.build(goal, pattern));
+        }
+
+        return new PuzzlePatternDatabaseHeuristicFunction(databases);
+    }
+
+    /**
+     * Builds the pattern databases of the default partition of the tiles
+     * towards <code>goal</code>.
+     *
+     * @param goal the goal node, of dimension 3 or 4.
+     *
+     * @return the heuristic function.
+     *
+     * @throws IllegalArgumentException if there is no default partition for
+     * the dimension of <code>goal</code>.
+     */
+    public static PuzzlePatternDatabaseHeuristicFunction
+            build(final PuzzleNode goal) {
+        checkNotNull(goal, "The goal node is null.");
+
+        switch (goal.getDimension()) {
+            case 3:
+                return build(goal, PARTITION_3);
+
+            case 4:
+                return build(goal, PARTITION_4);
+
+            default:
+                throw new IllegalArgumentException(
+                        "No default partition for dimension " +
+                        goal.getDimension() + ".");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param tail the node to estimate from.
+     * @param head the goal node of the databases.
+     *
+     * @return the sum of the pattern database values of <code>tail</code>.
+     *
+     * @throws IllegalArgumentException if <code>head</code> is not the goal
+     * node of the databases.
+     */
+    @Override
+    public Integer evaluate(final PuzzleNode tail, final PuzzleNode head) {
+        if (head != goal && !head.equals(goal)) {
+            throw new IllegalArgumentException(
+                    "The pattern databases are built for another goal.");
+        }
+
+        final int n = goal.getDimension();
+
+        if (tail.getDimension() != n) {
+            throw new IllegalArgumentException(
+                    "The puzzle nodes are of different dimensions.");
+        }
+
+        for (int y = 0; y < n; ++y) {
+            for (int x = 0; x < n; ++x) {
+                tilePositions[tail.get(x, y)] = y * n + x;
+            }
+        }
+
+        int distance = 0;
+
+        for (final PuzzlePatternDatabase database : databases) {
+            distance += database.get(tilePositions);
+        }
+
+        return distance;
+    }
+}
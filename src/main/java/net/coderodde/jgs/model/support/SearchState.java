@@ -0,0 +1,286 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.Path;
+
+/**
+ * This class implements the reusable per-search state of a path finder: the
+ * parent and the tentative distance of each discovered node, and the closed
+ * set. A finder keeps one instance per search direction and calls
+ * {@link #reset(AbstractNode)} at the beginning of every search.
+ * <p>
+ * If the source node is stored in a {@link Graph}, the state is kept in
+ * arrays indexed by node ids, and resetting merely advances an epoch counter
+ * (see {@link StampedIntSet}), so that a search costs time proportional to
+ * the amount of nodes it visits and not to the size of the graph or the
+ * previous searches. The stale array entries keep referring to the nodes
+ * and weights of past searches until overwritten.
+ * <p>
+ * Otherwise, the graph is implicit (its nodes have no ids), and the state
+ * falls back to hash maps. Since <code>HashMap.clear()</code> runs in time
+ * proportional to the capacity of the map, which never shrinks, the maps are
+ * replaced with fresh ones after a search that visited many nodes.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ * @param <W> the weight type.
+ */
+final class SearchState<T extends AbstractNode<T>, W> {
+
+    /**
+     * The initial capacity of the id-indexed arrays.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The amount of visited nodes after which the hash maps are reallocated
+     * instead of cleared.
+     */
+    private static final int MAP_RESET_THRESHOLD = 1 << 12;
+
+    /**
+     * The graph being searched, or <code>null</code> if the state is kept in
+     * the hash maps.
+     */
+    private Graph<T> graph;
+
+    /**
+     * The ids of the discovered nodes.
+     */
+    private final StampedIntSet visited;
+
+    /**
+     * The ids of the closed nodes.
+     */
+    private final StampedIntSet closed;
+
+    /**
+     * Maps each node id to the parent node.
+     */
+    private Object[] parents;
+
+    /**
+     * Maps each node id to the tentative distance.
+     */
+    private Object[] distances;
+
+    /**
+     * Maps each node of an implicit graph to its parent node.
+     */
+    private Map<T, T> parentMap;
+
+    /**
+     * Maps each node of an implicit graph to its tentative distance.
+     */
+    private Map<T, W> distanceMap;
+
+    /**
+     * The closed set of an implicit graph.
+     */
+    private Set<T> closedSet;
+
+    /**
+     * Constructs an empty search state.
+     */
+    SearchState() {
+        this.visited = new StampedIntSet(INITIAL_CAPACITY);
+        this.closed = new StampedIntSet(INITIAL_CAPACITY);
+        this.parents = new Object[INITIAL_CAPACITY];
+        this.distances = new Object[INITIAL_CAPACITY];
+        this.parentMap = new HashMap<>();
+        this.distanceMap = new HashMap<>();
+        this.closedSet = new HashSet<>();
+    }
+
+    /**
+     * Forgets the previous search and prepares for searching the graph of
+     * <code>source</code>.
+     *
+     * @param source the node the new search starts from.
+     */
+    void reset(final T source) {
+        if (source.getId() != -1) {
+            graph = source.getOwnerGraph();
+            final int n = graph.size();
+            visited.reset(n);
+            closed.reset(n);
+
+            if (parents.length < n) {
+                final int capacity = Math.max(n, 3 * parents.length / 2);
+                parents = new Object[capacity];
+                distances = new Object[capacity];
+            }
+
+            return;
+        }
+
+        graph = null;
+
+        if (parentMap.size() > MAP_RESET_THRESHOLD) {
+            parentMap = new HashMap<>();
+            distanceMap = new HashMap<>();
+            closedSet = new HashSet<>();
+        } else {
+            parentMap.clear();
+            distanceMap.clear();
+            closedSet.clear();
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if <code>node</code> was discovered in the
+     * current search.
+     *
+     * @param node the node to query.
+     *
+     * @return <code>true</code> or <code>false</code>.
+     */
+    boolean isVisited(final T node) {
+        if (graph != null) {
+            return visited.contains(node.getId());
+        }
+
+        return parentMap.containsKey(node);
+    }
+
+    /**
+     * Records <code>parent</code> and <code>distance</code> for
+     * <code>node</code>, marking it discovered if not already.
+     *
+     * @param node the node to update.
+     * @param parent the parent of the node, or <code>null</code> for the
+     *               search root.
+     * @param distance the tentative distance of the node.
+     */
+    void visit(final T node, final T parent, final W distance) {
+        if (graph != null) {
+            final int id = node.getId();
+            visited.add(id);
+            parents[id] = parent;
+            distances[id] = distance;
+        } else {
+            parentMap.put(node, parent);
+            distanceMap.put(node, distance);
+        }
+    }
+
+    /**
+     * Returns the parent of the discovered node <code>node</code>.
+     *
+     * @param node the node to query.
+     *
+     * @return the parent node or <code>null</code> for the search root.
+     */
+    @SuppressWarnings("unchecked")
+    T getParent(final T node) {
+        if (graph != null) {
+            return (T) parents[node.getId()];
+        }
+
+        return parentMap.get(node);
+    }
+
+    /**
+     * Returns the tentative distance of the discovered node
+     * <code>node</code>.
+     *
+     * @param node the node to query.
+     *
+     * @return the tentative distance.
+     */
+    @SuppressWarnings("unchecked")
+    W getDistance(final T node) {
+        if (graph != null) {
+            return (W) distances[node.getId()];
+        }
+
+        return distanceMap.get(node);
+    }
+
+    /**
+     * Returns <code>true</code> if <code>node</code> is closed.
+     *
+     * @param node the node to query.
+     *
+     * @return <code>true</code> or <code>false</code>.
+     */
+    boolean isClosed(final T node) {
+        if (graph != null) {
+            return closed.contains(node.getId());
+        }
+
+        return closedSet.contains(node);
+    }
+
+    /**
+     * Adds <code>node</code> to the closed set.
+     *
+     * @param node the node to close.
+     */
+    void close(final T node) {
+        if (graph != null) {
+            closed.add(node.getId());
+        } else {
+            closedSet.add(node);
+        }
+    }
+
+    /**
+     * Constructs the path from the search root to <code>target</code>.
+     *
+     * @param target the target node.
+     *
+     * @return a path.
+     */
+    Path<T> constructPath(final T target) {
+        final List<T> list = new ArrayList<>();
+
+        for (T current = target;
+                current != null;
+                current = getParent(current)) {
+            list.add(current);
+        }
+
+        Collections.<T>reverse(list);
+        return new Path<>(list);
+    }
+
+    /**
+     * Constructs the path from the root of this forward search through
+     * <code>touch</code> to the root of the backward search
+     * <code>backward</code>.
+     *
+     * @param touch the node where the two searches meet.
+     * @param backward the state of the backward search.
+     *
+     * @return a path.
+     */
+    Path<T> constructPath(final T touch, final SearchState<T, ?> backward) {
+        final List<T> list = new ArrayList<>();
+
+        for (T current = touch;
+                current != null;
+                current = getParent(current)) {
+            list.add(current);
+        }
+
+        Collections.<T>reverse(list);
+
+        for (T current = backward.getParent(touch);
+                current != null;
+                current = backward.getParent(current)) {
+            list.add(current);
+        }
+
+        return new Path<>(list);
+    }
+}
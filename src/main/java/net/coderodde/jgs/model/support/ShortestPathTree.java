@@ -0,0 +1,258 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.Path;
+
+/**
+ * This class holds a <b>shortest path tree</b>: the nodes reachable from a
+ * root node together with their distances and parents, as computed by a
+ * single-source search. The tree is stored in arrays listing the nodes in
+ * the order they were settled, that is, by non-decreasing distance, and a
+ * path to any node is built only when asked for.
+ * <p>
+ * If the root is stored in a {@link net.coderodde.jgs.model.Graph}, the
+ * nodes are looked up by their ids; otherwise, a hash map is used. The tree
+ * does not track the later changes to the graph.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ * @param <W> the weight type.
+ */
+public class ShortestPathTree<T extends AbstractNode<T>, W> {
+
+    /**
+     * The initial capacity of the arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The root node.
+     */
+    private final T root;
+
+    /**
+     * The reached nodes in the order they were settled.
+     */
+    private Object[] nodes;
+
+    /**
+     * Maps each slot to the slot of its parent, or <tt>-1</tt> for the root.
+     */
+    private int[] parents;
+
+    /**
+     * Maps each slot to its distance from the root.
+     */
+    private Object[] distances;
+
+    /**
+     * The amount of reached nodes.
+     */
+    private int size;
+
+    /**
+     * Maps each node id to its slot plus one, or zero if the node is not
+     * reached. Is <code>null</code> if the root has no id.
+     */
+    private final int[] slotsById;
+
+    /**
+     * Maps each node of an implicit graph to its slot. Is <code>null</code>
+     * if the root has an id.
+     */
+    private final Map<T, Integer> slotMap;
+
+    /**
+     * Constructs an empty tree to be filled by a search from
+     * <code>root</code>, starting with the root itself.
+     *
+     * @param root the root node.
+     */
+    ShortestPathTree(final T root) {
+        this.root = root;
+        this.nodes = new Object[INITIAL_CAPACITY];
+        this.parents = new int[INITIAL_CAPACITY];
+        this.distances = new Object[INITIAL_CAPACITY];
+
+        if (root.getId() != -1) {
+            this.slotsById = new int[root.getOwnerGraph().size()];
+            this.slotMap = null;
+        } else {
+            this.slotsById = null;
+            this.slotMap = new HashMap<>();
+        }
+    }
+
+    /**
+     * Adds the settled node <code>node</code>, whose parent must have been
+     * added already.
+     *
+     * @param node the settled node.
+     * @param parent the parent of the node, or <code>null</code> for the
+     * root.
+     * @param distance the distance of the node.
+     */
+    void add(final T node, final T parent, final W distance) {
+        if (size == nodes.length) {
+            final int capacity = 2 * size;
+            nodes = Arrays.copyOf(nodes, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+        }
+
+        nodes[size] = node;
+        parents[size] = parent == null ? -1 : getSlot(parent);
+        distances[size] = distance;
+
+        if (slotsById != null) {
+            slotsById[node.getId()] = size + 1;
+        } else {
+            slotMap.put(node, size);
+        }
+
+        ++size;
+    }
+
+    /**
+     * Returns the root node.
+     *
+     * @return the root node.
+     */
+    public T getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the amount of nodes reachable from the root, including the
+     * root.
+     *
+     * @return the amount of nodes in this tree.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the <code>index</code>th node in the order of non-decreasing
+     * distance from the root. The root is the node with index 0.
+     *
+     * @param index the index of the node.
+     *
+     * @return the node.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @SuppressWarnings("unchecked")
+    public T getNode(final int index) {
+        checkIndex(index);
+        return (T) nodes[index];
+    }
+
+    /**
+     * Tells whether <code>node</code> is reachable from the root.
+     *
+     * @param node the node to query.
+     *
+     * @return <code>true</code> if the node is in this tree;
+     * <code>false</code> otherwise.
+     */
+    public boolean isReachable(final T node) {
+        return getSlot(node) != -1;
+    }
+
+    /**
+     * Returns the distance of <code>node</code> from the root.
+     *
+     * @param node the node to query.
+     *
+     * @return the distance, or <code>null</code> if the node is not
+     * reachable.
+     */
+    @SuppressWarnings("unchecked")
+    public W getDistance(final T node) {
+        final int slot = getSlot(node);
+        return slot == -1 ? null : (W) distances[slot];
+    }
+
+    /**
+     * Returns the parent of <code>node</code> in this tree.
+     *
+     * @param node the node to query.
+     *
+     * @return the parent node, or <code>null</code> if the node is the root
+     * or not reachable.
+     */
+    @SuppressWarnings("unchecked")
+    public T getParent(final T node) {
+        final int slot = getSlot(node);
+
+        if (slot == -1 || parents[slot] == -1) {
+            return null;
+        }
+
+        return (T) nodes[parents[slot]];
+    }
+
+    /**
+     * Constructs a shortest path from the root to <code>target</code>.
+     *
+     * @param target the target node.
+     *
+     * @return a shortest path, or an empty path if the target is not
+     * reachable.
+     */
+    @SuppressWarnings("unchecked")
+    public Path<T> getPath(final T target) {
+        final int slot = getSlot(target);
+
+        if (slot == -1) {
+            return new Path<>(Collections.<T>emptyList());
+        }
+
+        final List<T> list = new ArrayList<>();
+
+        for (int i = slot; i != -1; i = parents[i]) {
+            list.add((T) nodes[i]);
+        }
+
+        Collections.<T>reverse(list);
+        return new Path<>(list);
+    }
+
+    /**
+     * Returns the slot of <code>node</code>, or <tt>-1</tt> if the node is
+     * not in this tree.
+     */
+    private int getSlot(final T node) {
+        if (slotsById == null) {
+            final Integer slot = slotMap.get(node);
+            return slot == null ? -1 : slot;
+        }
+
+        final int id = node.getId();
+
+        if (id < 0 || id >= slotsById.length || slotsById[id] == 0) {
+            return -1;
+        }
+
+        final int slot = slotsById[id] - 1;
+        return nodes[slot] == node ? slot : -1;
+    }
+
+    /**
+     * Checks that <code>index</code> is a valid node index.
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of range [0, " + size + ").");
+        }
+    }
+}
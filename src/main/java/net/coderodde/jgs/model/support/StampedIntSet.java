@@ -0,0 +1,76 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a set of integers in the range
+ * <code>0, 1, ..., capacity - 1</code> that can be emptied in constant time.
+ * Instead of a flag, each element stores the <b>epoch</b> in which it was
+ * last added; the set contains an element only if that stamp equals the
+ * current epoch, so advancing the epoch invalidates all the elements at once.
+ * The stamp array is actually cleared only when the epoch counter wraps
+ * around, that is, once per 2<sup>32</sup> - 1 resets.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+final class StampedIntSet {
+
+    /**
+     * Maps each element to the epoch it was last added in.
+     */
+    private int[] stamps;
+
+    /**
+     * The current epoch. Never zero, so that fresh stamps are not members.
+     */
+    private int epoch = 1;
+
+    /**
+     * Constructs an empty set accepting elements below <code>capacity</code>.
+     *
+     * @param capacity the initial element capacity.
+     */
+    StampedIntSet(final int capacity) {
+        this.stamps = new int[Math.max(capacity, 0)];
+    }
+
+    /**
+     * Empties this set and makes sure it accepts all the elements below
+     * <code>capacity</code>.
+     *
+     * @param capacity the requested element capacity.
+     */
+    void reset(final int capacity) {
+        if (stamps.length < capacity) {
+            stamps = new int[Math.max(capacity, 3 * stamps.length / 2)];
+            epoch = 1;
+            return;
+        }
+
+        if (++epoch == 0) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Adds <code>element</code> to this set.
+     *
+     * @param element the element to add.
+     */
+    void add(final int element) {
+        stamps[element] = epoch;
+    }
+
+    /**
+     * Returns <code>true</code> if <code>element</code> is in this set.
+     *
+     * @param element the element to query.
+     *
+     * @return <code>true</code> or <code>false</code>.
+     */
+    boolean contains(final int element) {
+        return stamps[element] == epoch;
+    }
+}
@@ -0,0 +1,137 @@
+package net.coderodde.jgs.model.support;
+
+import static net.coderodde.jgs.Utilities.checkNotNull;
+import net.coderodde.jgs.model.AbstractNode;
+import net.coderodde.jgs.model.AbstractWeightFunction;
+import net.coderodde.jgs.model.ArcVisitor;
+import net.coderodde.jgs.model.NodeVisitor;
+import net.coderodde.jgs.model.Path;
+
+/**
+ * This class implements a weight function assigning the weight of one to
+ * every arc. It stores nothing, so it suits implicit graphs such as the ones
+ * of {@link PuzzleNode}, where the weight of a path is its amount of moves.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ * @param <T> the actual node type.
+ */
+public class UnitWeightFunction<T extends AbstractNode<T>>
+extends AbstractWeightFunction<T, Integer> {
+
+    /**
+     * The weight of every arc.
+     */
+    private static final Integer ONE = 1;
+
+    /**
+     * The adapter passing the children to the visitor given last to
+     * {@link #forEachChild(AbstractNode, ArcVisitor)}, or <code>null</code>.
+     */
+    private ChildVisitor<T> childVisitor;
+
+    /**
+     * Not supported, since every arc weighs one.
+     *
+     * @param from ignored.
+     * @param to ignored.
+     * @param weight ignored.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void put(final T from, final T to, final Integer weight) {
+        throw new UnsupportedOperationException(
+                "The weights of a unit weight function are fixed.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param from the tail node.
+     * @param to the head node.
+     *
+     * @return one.
+     */
+    @Override
+    public Integer get(final T from, final T to) {
+        return ONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param path the path whose weight to compute.
+     *
+     * @return the amount of arcs in the path.
+     */
+    @Override
+    public Integer getPathWeight(final Path<T> path) {
+        checkNotNull(path, "The path is null.");
+        return Math.max(0, path.size() - 1);
+    }
+
+    /**
+     * Calls <code>visitor</code> for each child of <code>node</code> with the
+     * weight of one, generating the children via
+     * {@link AbstractNode#forEachChild(NodeVisitor)}. The adapter between the
+     * two visitors is reused as long as the same visitor is given, as path
+     * finders do, so that expanding a node allocates nothing.
+     *
+     * @param node the tail node.
+     * @param visitor the visitor to call.
+     */
+    @Override
+    public void forEachChild(final T node,
+                             final ArcVisitor<T, Integer> visitor) {
+        ChildVisitor<T> adapter = childVisitor;
+
+        if (adapter == null || adapter.visitor != visitor) {
+            // The adapter is immutable, so finders sharing this function 
+            // across threads at worst replace each other's adapter.
+            adapter = new ChildVisitor<>(visitor);
+            childVisitor = adapter;
+        }
+
+        node.forEachChild(adapter);
+    }
+
+    /**
+     * Calls <code>visitor</code> for each parent of <code>node</code> with
+     * the weight of one.
+     *
+     * @param node the head node.
+     * @param visitor the visitor to call.
+     */
+    @Override
+    public void forEachParent(final T node,
+                              final ArcVisitor<T, Integer> visitor) {
+        for (final T parent : node.parents()) {
+            visitor.visit(parent, ONE);
+        }
+    }
+
+    /**
+     * This class passes each child it visits on to an arc visitor with the
+     * weight of one.
+     *
+     * @param <T> the actual node type.
+     */
+    private static final class ChildVisitor<T extends AbstractNode<T>>
+    implements NodeVisitor<T> {
+
+        /**
+         * The visitor to pass the children to.
+         */
+        final ArcVisitor<T, Integer> visitor;
+
+        ChildVisitor(final ArcVisitor<T, Integer> visitor) {
+            this.visitor = visitor;
+        }
+
+        @Override
+        public void visit(final T child) {
+            visitor.visit(child, ONE);
+        }
+    }
+}
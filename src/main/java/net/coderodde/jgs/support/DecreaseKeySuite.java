@@ -10,8 +10,10 @@ import static net.coderodde.jgs.Utilities.title2;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 import net.coderodde.jgs.model.ds.support.BinomialHeap;
 import net.coderodde.jgs.model.ds.support.DaryHeap;
+import net.coderodde.jgs.model.ds.support.DoubleRadixHeap;
 import net.coderodde.jgs.model.ds.support.FibonacciHeap;
 import net.coderodde.jgs.model.ds.support.PairingHeap;
+import net.coderodde.jgs.model.ds.support.RadixHeap;
 
 /**
  * This class implements a demo suite for profiling 
@@ -21,7 +23,9 @@ import net.coderodde.jgs.model.ds.support.PairingHeap;
  * <ul>
  *   <li><tt>d</tt>-ary heap ({@code net.coderodde.jgs.model.ds.support.DaryHeap}) for <tt>d = 2, 3, 4, 5</tt>,</li>
  *   <li>Binomial heap ({@code net.coderodde.jgs.model.ds.support.BinomialHeap}),</li>
- *   <li>Fibonacci heap ({@code net.coderodde.jgs.model.ds.support.FibonacciHeap}).</li>
+ *   <li>Fibonacci heap ({@code net.coderodde.jgs.model.ds.support.FibonacciHeap}),</li>
+ *   <li>Pairing heap ({@code net.coderodde.jgs.model.ds.support.PairingHeap}),</li>
+ *   <li>Radix heaps ({@code net.coderodde.jgs.model.ds.support.RadixHeap} and {@code net.coderodde.jgs.model.ds.support.DoubleRadixHeap}).</li>
  * </ul>
  * 
  * @author Rodion Efremov
@@ -46,6 +50,8 @@ public class DecreaseKeySuite implements DemoSuite {
     private final List<Integer> binomialResult;
     private final List<Integer> fibonacciResult;
     private final List<Integer> pairingResult;
+    private final List<Integer> radixResult;
+    private final List<Integer> doubleRadixResult;
     
     /**
      * Constructs this demo suite.
@@ -59,6 +65,8 @@ public class DecreaseKeySuite implements DemoSuite {
         this.binomialResult  = new ArrayList<>(N);
         this.fibonacciResult = new ArrayList<>(N);
         this.pairingResult   = new ArrayList<>(N);
+        this.radixResult     = new ArrayList<>(N);
+        this.doubleRadixResult = new ArrayList<>(N);
         
         title1("DecreaseKeySuite.java, seed: " + seed);
     }
@@ -76,6 +84,8 @@ public class DecreaseKeySuite implements DemoSuite {
         profileBinomialHeap();
         profileFibonacciHeap();
         profilePairingHeap();
+        profileRadixHeap();
+        profileDoubleRadixHeap();
         
         bar();
         
@@ -86,7 +96,9 @@ public class DecreaseKeySuite implements DemoSuite {
                                                         dary5Result,
                                                         binomialResult,
                                                         fibonacciResult,
-                                                        pairingResult));
+                                                        pairingResult,
+                                                        radixResult,
+                                                        doubleRadixResult));
         
         title1("END OF PROFILING HEAP DECREASE KEY");
         
@@ -212,4 +224,62 @@ public class DecreaseKeySuite implements DemoSuite {
             pairingResult.add(heap.extractMinimum());
         }
     }
+
+    /**
+     * Profiles a {@link net.coderodde.jgs.model.ds.support.RadixHeap}.
+     */
+    private void profileRadixHeap() {
+        final MinPriorityQueue<Integer, Integer> heap = new RadixHeap<>();
+        
+        title2(heap.getClass().getSimpleName());
+        
+        for (int i = 0; i != N; ++i) {
+            heap.add(i, i);
+        }
+        
+        long ta = System.currentTimeMillis();
+        
+        for (int i = 0; i < N; i += 2) {
+            heap.decreasePriority(i, -i);
+        }
+        
+        long tb = System.currentTimeMillis();
+        
+        System.out.println("decreaseKey() in " + (tb - ta) + " ms.");
+        
+        radixResult.clear();
+        
+        while (heap.isEmpty() == false) {
+            radixResult.add(heap.extractMinimum());
+        }
+    }
+
+    /**
+     * Profiles a {@link net.coderodde.jgs.model.ds.support.DoubleRadixHeap}.
+     */
+    private void profileDoubleRadixHeap() {
+        final MinPriorityQueue<Integer, Double> heap = new DoubleRadixHeap<>();
+        
+        title2(heap.getClass().getSimpleName());
+        
+        for (int i = 0; i != N; ++i) {
+            heap.add(i, (double) i);
+        }
+        
+        long ta = System.currentTimeMillis();
+        
+        for (int i = 0; i < N; i += 2) {
+            heap.decreasePriority(i, (double) -i);
+        }
+        
+        long tb = System.currentTimeMillis();
+        
+        System.out.println("decreaseKey() in " + (tb - ta) + " ms.");
+        
+        doubleRadixResult.clear();
+        
+        while (heap.isEmpty() == false) {
+            doubleRadixResult.add(heap.extractMinimum());
+        }
+    }
 }
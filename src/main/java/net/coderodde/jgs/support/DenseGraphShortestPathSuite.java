@@ -14,6 +14,7 @@ import net.coderodde.jgs.model.PathFinder;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 import net.coderodde.jgs.model.ds.support.BinomialHeap;
 import net.coderodde.jgs.model.ds.support.DaryHeap;
+import net.coderodde.jgs.model.ds.support.DoubleRadixHeap;
 import net.coderodde.jgs.model.ds.support.FibonacciHeap;
 import net.coderodde.jgs.model.ds.support.PairingHeap;
 import net.coderodde.jgs.model.support.AStarPathFinder;
@@ -83,6 +84,7 @@ public class DenseGraphShortestPathSuite implements DemoSuite {
         profileDijkstrasAlgorithmOn(new BinomialHeap<DirectedGraphNode, Double>());
         profileDijkstrasAlgorithmOn(new FibonacciHeap<DirectedGraphNode, Double>());
         profileDijkstrasAlgorithmOn(new PairingHeap<DirectedGraphNode, Double>()); 
+        profileDijkstrasAlgorithmOn(new DoubleRadixHeap<DirectedGraphNode>());
     }
     
     private void profileBidirectionalDijkstrasAlgorithm() {
@@ -94,6 +96,7 @@ public class DenseGraphShortestPathSuite implements DemoSuite {
         profileBidirectionalDijkstrasAlgorithmOn(new BinomialHeap<DirectedGraphNode, Double>());
         profileBidirectionalDijkstrasAlgorithmOn(new FibonacciHeap<DirectedGraphNode, Double>());
         profileBidirectionalDijkstrasAlgorithmOn(new PairingHeap<DirectedGraphNode, Double>()); 
+        profileBidirectionalDijkstrasAlgorithmOn(new DoubleRadixHeap<DirectedGraphNode>());
     }
     
     private void profileAStarAlgorithm() {
@@ -105,6 +108,7 @@ public class DenseGraphShortestPathSuite implements DemoSuite {
         profileAStarAlgorithmOn(new BinomialHeap<DirectedGraphNode, Double>());
         profileAStarAlgorithmOn(new FibonacciHeap<DirectedGraphNode, Double>());
         profileAStarAlgorithmOn(new PairingHeap<DirectedGraphNode, Double>()); 
+        profileAStarAlgorithmOn(new DoubleRadixHeap<DirectedGraphNode>());
     }
     
     private void profileBidirectionalAStarAlgorithm() {
@@ -116,6 +120,7 @@ public class DenseGraphShortestPathSuite implements DemoSuite {
         profileBidirectionalAStarAlgorithmOn(new BinomialHeap<DirectedGraphNode, Double>());
         profileBidirectionalAStarAlgorithmOn(new FibonacciHeap<DirectedGraphNode, Double>());
         profileBidirectionalAStarAlgorithmOn(new PairingHeap<DirectedGraphNode, Double>()); 
+        profileBidirectionalAStarAlgorithmOn(new DoubleRadixHeap<DirectedGraphNode>());
     }
     
     private void profileDijkstrasAlgorithmOn(
@@ -11,8 +11,10 @@ import static net.coderodde.jgs.Utilities.title2;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 import net.coderodde.jgs.model.ds.support.BinomialHeap;
 import net.coderodde.jgs.model.ds.support.DaryHeap;
+import net.coderodde.jgs.model.ds.support.DoubleRadixHeap;
 import net.coderodde.jgs.model.ds.support.FibonacciHeap;
 import net.coderodde.jgs.model.ds.support.PairingHeap;
+import net.coderodde.jgs.model.ds.support.RadixHeap;
 
 /**
  * This class implements a demo suite for profiling various heap data 
@@ -22,7 +24,9 @@ import net.coderodde.jgs.model.ds.support.PairingHeap;
  * <ul>
  *   <li><tt>d</tt>-ary heap ({@link net.coderodde.jgs.model.ds.support.DaryHeap}) for <tt>d = 2, 3, 4, 5</tt>,
  *   <li>Binomial heap ({@link net.coderodde.jgs.model.ds.support.BinomialHeap}),
- *   <li>Fibonacci heap ({@link net.coderodde.jgs.model.ds.support.FibonacciHeap}).
+ *   <li>Fibonacci heap ({@link net.coderodde.jgs.model.ds.support.FibonacciHeap}),
+ *   <li>Pairing heap ({@link net.coderodde.jgs.model.ds.support.PairingHeap}),
+ *   <li>Radix heaps ({@link net.coderodde.jgs.model.ds.support.RadixHeap} and {@link net.coderodde.jgs.model.ds.support.DoubleRadixHeap}).
  * </ul>
  * 
  * The profiled operations are
@@ -53,6 +57,8 @@ public class HeapDemoSuite implements DemoSuite {
     private final List<Integer> binomialResult;
     private final List<Integer> fibonacciResult;
     private final List<Integer> pairingResult;
+    private final List<Integer> radixResult;
+    private final List<Integer> doubleRadixResult;
     
     /**
      * Constructs this demo suite.
@@ -68,6 +74,8 @@ public class HeapDemoSuite implements DemoSuite {
         binomialResult  = new ArrayList<>(N);
         fibonacciResult = new ArrayList<>(N);
         pairingResult   = new ArrayList<>(N);
+        radixResult     = new ArrayList<>(N);
+        doubleRadixResult = new ArrayList<>(N);
     }
     
     /**
@@ -80,6 +88,8 @@ public class HeapDemoSuite implements DemoSuite {
         profileBinomialHeap(seed);
         profileFibonacciHeap(seed);
         profilePairingHeap(seed);
+        profileRadixHeap(seed);
+        profileDoubleRadixHeap(seed);
         
         bar();
         System.out.println(
@@ -89,7 +99,9 @@ public class HeapDemoSuite implements DemoSuite {
                                                         dary5Result,
                                                         binomialResult,
                                                         fibonacciResult,
-                                                        pairingResult));
+                                                        pairingResult,
+                                                        radixResult,
+                                                        doubleRadixResult));
         
         title1("END OF PROFILING HEAPS");
         System.out.println();
@@ -241,6 +253,94 @@ public class HeapDemoSuite implements DemoSuite {
         System.out.println("Total: " + total + " ms.");
     }
     
+    /**
+     * Profile the {@link net.coderodde.jgs.model.ds.support.RadixHeap}.
+     * 
+     * @param seed the seed for random number generator.
+     */
+    private void profileRadixHeap(final long seed) {
+        final MinPriorityQueue<Integer, Integer> heap = new RadixHeap<>();
+        
+        title2(heap.getClass().getSimpleName());
+        
+        final Random rnd = new Random(seed);
+        
+        long total = 0L;
+        
+        long ta = System.currentTimeMillis();
+        
+        for (int i = 0; i != N; ++i) {
+            final Integer j = rnd.nextInt(N);
+            heap.add(j, j);
+        }
+        
+        long tb = System.currentTimeMillis();
+        
+        System.out.println("add() in " + (tb - ta) + " ms.");
+        
+        total += tb - ta;
+        
+        radixResult.clear();
+        
+        ta = System.currentTimeMillis();
+        
+        while (heap.isEmpty() == false) {
+            radixResult.add(heap.extractMinimum());
+        }
+        
+        tb = System.currentTimeMillis();
+        
+        System.out.println("extractMinimum() in " + (tb - ta) + " ms.");
+        
+        total += tb - ta;
+        
+        System.out.println("Total: " + total + " ms.");
+    }
+    
+    /**
+     * Profile the {@link net.coderodde.jgs.model.ds.support.DoubleRadixHeap}.
+     * 
+     * @param seed the seed for random number generator.
+     */
+    private void profileDoubleRadixHeap(final long seed) {
+        final MinPriorityQueue<Integer, Double> heap = new DoubleRadixHeap<>();
+        
+        title2(heap.getClass().getSimpleName());
+        
+        final Random rnd = new Random(seed);
+        
+        long total = 0L;
+        
+        long ta = System.currentTimeMillis();
+        
+        for (int i = 0; i != N; ++i) {
+            final Integer j = rnd.nextInt(N);
+            heap.add(j, (double) j);
+        }
+        
+        long tb = System.currentTimeMillis();
+        
+        System.out.println("add() in " + (tb - ta) + " ms.");
+        
+        total += tb - ta;
+        
+        doubleRadixResult.clear();
+        
+        ta = System.currentTimeMillis();
+        
+        while (heap.isEmpty() == false) {
+            doubleRadixResult.add(heap.extractMinimum());
+        }
+        
+        tb = System.currentTimeMillis();
+        
+        System.out.println("extractMinimum() in " + (tb - ta) + " ms.");
+        
+        total += tb - ta;
+        
+        System.out.println("Total: " + total + " ms.");
+    }
+    
     /**
      * Implements an actual profiling routine for a given <tt>d</tt>-ary heap.
      * 
@@ -1,7 +1,9 @@
 package net.coderodde.jgs.support;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Random;
 import net.coderodde.jgs.DemoSuite;
 import static net.coderodde.jgs.Utilities.bar;
@@ -11,7 +13,12 @@ import static net.coderodde.jgs.Utilities.title2;
 import net.coderodde.jgs.model.Path;
 import net.coderodde.jgs.model.PathFinder;
 import net.coderodde.jgs.model.support.BreadthFirstSearchPathFinder;
+import net.coderodde.jgs.model.support.HashDistributedAStarPathFinder;
+import net.coderodde.jgs.model.support.IDAStarPathFinder;
+import net.coderodde.jgs.model.support.IntegerWeight;
+import net.coderodde.jgs.model.support.PuzzleManhattanHeuristicFunction;
 import net.coderodde.jgs.model.support.PuzzleNode;
+import net.coderodde.jgs.model.support.UnitWeightFunction;
 
 public class PuzzleGraphSearchSuite implements DemoSuite {
 
@@ -19,6 +26,8 @@ public class PuzzleGraphSearchSuite implements DemoSuite {
     
     private Path<PuzzleNode> pathBFSLinkedList;
     private Path<PuzzleNode> pathBFSArrayDeque;
+    private Path<PuzzleNode> pathIDAStar;
+    private Path<PuzzleNode> pathHDAStar;
     
     private final PuzzleNode source;
     private final PuzzleNode target;
@@ -35,11 +44,15 @@ public class PuzzleGraphSearchSuite implements DemoSuite {
         title1("PROFILING SEARCH IN UNWEIGHTED GRAPHS");
         profileBFSLinkedList();
         profileBFSArrayDeque();
+        profileIDAStar();
+        profileHDAStar();
         
         bar();
         
         System.out.println("Paths are of the same length: " + 
-                (pathBFSArrayDeque.size() == pathBFSLinkedList.size()));
+                (pathBFSArrayDeque.size() == pathBFSLinkedList.size() &&
+                 pathIDAStar.size() == pathBFSLinkedList.size() &&
+                 pathHDAStar.size() == pathBFSLinkedList.size()));
         
         title1("END OF PROFILING SEARCH IN UNWEIGHTED GRAPHS");
         
@@ -67,6 +80,41 @@ public class PuzzleGraphSearchSuite implements DemoSuite {
                                          new ArrayDeque<PuzzleNode>()));
     }
     
+    private void profileIDAStar() {
+        final PathFinder<PuzzleNode, Integer> pf = 
+               new IDAStarPathFinder<>(new UnitWeightFunction<PuzzleNode>(),
+                                       new PuzzleManhattanHeuristicFunction(),
+                                       new IntegerWeight());
+        
+        title2(pf.getClass().getSimpleName() + " with Manhattan distance");
+        
+        this.pathIDAStar = profile(pf);
+    }
+    
+    private void profileHDAStar() {
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final List<PuzzleManhattanHeuristicFunction> heuristics = 
+                new ArrayList<>(threads);
+        
+        for (int i = 0; i < threads; ++i) {
+            heuristics.add(new PuzzleManhattanHeuristicFunction());
+        }
+        
+        final HashDistributedAStarPathFinder<PuzzleNode, 
+                                             Integer, 
+                                             IntegerWeight> pf = 
+               new HashDistributedAStarPathFinder<>(
+                       new UnitWeightFunction<PuzzleNode>(),
+                       heuristics,
+                       new IntegerWeight());
+        
+        title2(pf.getClass().getSimpleName() + " on " + threads + 
+               " threads");
+        
+        this.pathHDAStar = profile(pf);
+        pf.shutdown();
+    }
+    
     private Path<PuzzleNode> profile(
             final PathFinder<PuzzleNode, Integer> finder) {
         long ta = System.currentTimeMillis();
@@ -0,0 +1,147 @@
+package net.coderodde.jgs.support;
+
+import java.util.Random;
+import net.coderodde.jgs.DemoSuite;
+import net.coderodde.jgs.Utilities.Triple;
+import static net.coderodde.jgs.Utilities.bar;
+import static net.coderodde.jgs.Utilities.createRoadLikeDirectedGraphWithCoordinates;
+import static net.coderodde.jgs.Utilities.title1;
+import static net.coderodde.jgs.Utilities.title2;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.PathFinder;
+import net.coderodde.jgs.model.support.CompressedBidirectionalDijkstraPathFinder;
+import net.coderodde.jgs.model.support.CompressedDirectedGraph;
+import net.coderodde.jgs.model.support.ContractionHierarchiesPathFinder;
+import net.coderodde.jgs.model.support.ContractionHierarchy;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.DoubleAStarPathFinder;
+import net.coderodde.jgs.model.support.DoubleDijkstraPathFinder;
+import net.coderodde.jgs.model.support.LandmarkHeuristicFunction;
+import net.coderodde.jgs.model.support.LandmarkSelection;
+
+/**
+ * This suite profiles the point-to-point queries on a road-like graph, where
+ * the preprocessing-based algorithms pay off.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class RoadGraphShortestPathSuite implements DemoSuite {
+
+    private static final int GRID_WIDTH = 200;
+    private static final int GRID_HEIGHT = 200;
+    private static final double CONNECTIVITY = 0.9;
+    private static final double EDGE_LENGTH_FACTOR = 1.2;
+    private static final int QUERY_AMOUNT = 1000;
+    private static final int LANDMARK_AMOUNT = 16;
+
+    private final long seed;
+    private final Graph<DirectedGraphNode> graph;
+    private final DirectedGraphDoubleWeightFunction f;
+    private final DirectedGraphNode[] sources;
+    private final DirectedGraphNode[] targets;
+    private final double[] pathWeights;
+
+    public RoadGraphShortestPathSuite() {
+        this.seed = System.currentTimeMillis();
+        title1("RoadGraphShortestPathSuite.java, seed: " + seed);
+        final Random r = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates<DirectedGraphNode>> data =
+                createRoadLikeDirectedGraphWithCoordinates(GRID_WIDTH,
+                                                           GRID_HEIGHT,
+                                                           CONNECTIVITY,
+                                                           EDGE_LENGTH_FACTOR,
+                                                           r);
+
+        this.graph = data.first;
+        this.f = data.second;
+        this.sources = new DirectedGraphNode[QUERY_AMOUNT];
+        this.targets = new DirectedGraphNode[QUERY_AMOUNT];
+        this.pathWeights = new double[QUERY_AMOUNT];
+
+        for (int i = 0; i < QUERY_AMOUNT; ++i) {
+            sources[i] = graph.get(r.nextInt(graph.size()));
+            targets[i] = graph.get(r.nextInt(graph.size()));
+        }
+
+        System.out.println("Data constructed.");
+    }
+
+    @Override
+    public void run() {
+        title2("Profiling " + QUERY_AMOUNT + " queries");
+        System.out.print("Dijkstra's algorithm: ");
+        profileFinder(new DoubleDijkstraPathFinder<>(f));
+
+        long ta = System.currentTimeMillis();
+        final LandmarkHeuristicFunction<DirectedGraphNode> hf =
+                new LandmarkHeuristicFunction<>(graph,
+                                                f,
+                                                LANDMARK_AMOUNT,
+                                                LandmarkSelection.AVOID,
+                                                new Random(seed));
+        long tb = System.currentTimeMillis();
+
+        System.out.println("" + LANDMARK_AMOUNT + " landmarks chosen in " +
+                           (tb - ta) + " ms.");
+        System.out.print("A* with landmarks: ");
+        profileFinder(new DoubleAStarPathFinder<>(f, hf));
+
+        ta = System.currentTimeMillis();
+        final CompressedDirectedGraph compressedGraph =
+                CompressedDirectedGraph.freeze(graph, f);
+        tb = System.currentTimeMillis();
+
+        System.out.println("Graph frozen in " + (tb - ta) + " ms.");
+        System.out.print("Bidirectional Dijkstra's algorithm: ");
+        profileFinder(
+                new CompressedBidirectionalDijkstraPathFinder(compressedGraph));
+
+        ta = System.currentTimeMillis();
+        final ContractionHierarchy ch = ContractionHierarchy.build(graph, f);
+        tb = System.currentTimeMillis();
+
+        System.out.println("Contraction hierarchy built in " + (tb - ta) +
+                           " ms, " + ch.getShortcutCount() + " shortcuts.");
+        System.out.print("Contraction hierarchies: ");
+        profileFinder(new ContractionHierarchiesPathFinder(ch));
+        bar();
+        System.out.println();
+    }
+
+    private void profileFinder(
+            final PathFinder<DirectedGraphNode, Double> pf) {
+        final boolean first = pathWeights[0] == 0.0;
+        int disagreements = 0;
+
+        long ta = System.currentTimeMillis();
+
+        for (int i = 0; i < QUERY_AMOUNT; ++i) {
+            final Path<DirectedGraphNode> p = pf.search(sources[i],
+                                                        targets[i]);
+            final double weight = p.isEmpty() ?
+                                  Double.POSITIVE_INFINITY :
+                                  f.getPathWeight(p);
+
+            if (first) {
+                pathWeights[i] = weight;
+            } else if (Math.abs(pathWeights[i] - weight) > 1e-6) {
+                ++disagreements;
+            }
+        }
+
+        long tb = System.currentTimeMillis();
+
+        System.out.println("" + (tb - ta) + " ms.");
+
+        if (disagreements > 0) {
+            System.out.println("Algorithms disagreed on " + disagreements +
+                               " queries.");
+        }
+    }
+}
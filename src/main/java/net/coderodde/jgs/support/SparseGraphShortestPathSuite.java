@@ -14,13 +14,19 @@ import net.coderodde.jgs.model.PathFinder;
 import net.coderodde.jgs.model.ds.MinPriorityQueue;
 import net.coderodde.jgs.model.ds.support.BinomialHeap;
 import net.coderodde.jgs.model.ds.support.DaryHeap;
+import net.coderodde.jgs.model.ds.support.DoubleRadixHeap;
 import net.coderodde.jgs.model.ds.support.FibonacciHeap;
 import net.coderodde.jgs.model.ds.support.PairingHeap;
 import net.coderodde.jgs.model.support.AStarPathFinder;
 import net.coderodde.jgs.model.support.BidirectionalDijkstraPathFinder;
+import net.coderodde.jgs.model.support.CompressedBidirectionalDijkstraPathFinder;
+import net.coderodde.jgs.model.support.CompressedDijkstraPathFinder;
+import net.coderodde.jgs.model.support.CompressedDirectedGraph;
 import net.coderodde.jgs.model.support.DijkstraPathFinder;
 import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
 import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.DoubleAStarPathFinder;
+import net.coderodde.jgs.model.support.DoubleDijkstraPathFinder;
 import net.coderodde.jgs.model.support.DoubleWeight;
 import net.coderodde.jgs.model.support.EuclidianDoubleHeuristicFunction;
 
@@ -39,7 +45,8 @@ public class SparseGraphShortestPathSuite implements DemoSuite {
     private final DirectedGraphNode source;
     private final DirectedGraphNode target;
     private final DirectedGraphDoubleWeightFunction f;
-    private final EuclidianDoubleHeuristicFunction hf;
+    private final EuclidianDoubleHeuristicFunction<DirectedGraphNode> hf;
+    private final CompressedDirectedGraph compressedGraph;
     
     private Path<DirectedGraphNode> path;
     
@@ -61,9 +68,14 @@ public class SparseGraphShortestPathSuite implements DemoSuite {
         this.source = data.first.get(r.nextInt(data.first.size()));
         this.target = data.first.get(r.nextInt(data.first.size()));
         this.f = data.second;
-        this.hf = new EuclidianDoubleHeuristicFunction(data.third);
+        this.hf = new EuclidianDoubleHeuristicFunction<>(data.third);
         
-        System.out.println("Data constructed.");
+        long ta = System.currentTimeMillis();
+        this.compressedGraph = CompressedDirectedGraph.freeze(data.first, f);
+        long tb = System.currentTimeMillis();
+        
+        System.out.println("Data constructed. Graph frozen in " + (tb - ta) +
+                           " ms.");
     }
     
     @Override
@@ -72,6 +84,8 @@ public class SparseGraphShortestPathSuite implements DemoSuite {
         profileBidirectionalDijkstrasAlgorithm();
         profileAStarAlgorithm();
         profileBidirectionalAStarAlgorithm();
+        profileCompressedGraphAlgorithms();
+        profilePrimitiveAlgorithms();
         bar();
         System.out.println("Path length: " + f.getPathWeight(path));
         System.out.println();
@@ -86,6 +100,7 @@ public class SparseGraphShortestPathSuite implements DemoSuite {
         profileDijkstrasAlgorithmOn(new BinomialHeap<DirectedGraphNode, Double>());
         profileDijkstrasAlgorithmOn(new FibonacciHeap<DirectedGraphNode, Double>());
         profileDijkstrasAlgorithmOn(new PairingHeap<DirectedGraphNode, Double>()); 
+        profileDijkstrasAlgorithmOn(new DoubleRadixHeap<DirectedGraphNode>());
     }
     
     private void profileBidirectionalDijkstrasAlgorithm() {
@@ -97,6 +112,7 @@ public class SparseGraphShortestPathSuite implements DemoSuite {
         profileBidirectionalDijkstrasAlgorithmOn(new BinomialHeap<DirectedGraphNode, Double>());
         profileBidirectionalDijkstrasAlgorithmOn(new FibonacciHeap<DirectedGraphNode, Double>());
         profileBidirectionalDijkstrasAlgorithmOn(new PairingHeap<DirectedGraphNode, Double>()); 
+        profileBidirectionalDijkstrasAlgorithmOn(new DoubleRadixHeap<DirectedGraphNode>());
     }
     
     private void profileAStarAlgorithm() {
@@ -108,6 +124,7 @@ public class SparseGraphShortestPathSuite implements DemoSuite {
         profileAStarAlgorithmOn(new BinomialHeap<DirectedGraphNode, Double>());
         profileAStarAlgorithmOn(new FibonacciHeap<DirectedGraphNode, Double>());
         profileAStarAlgorithmOn(new PairingHeap<DirectedGraphNode, Double>()); 
+        profileAStarAlgorithmOn(new DoubleRadixHeap<DirectedGraphNode>());
     }
     
     private void profileBidirectionalAStarAlgorithm() {
@@ -119,6 +136,43 @@ public class SparseGraphShortestPathSuite implements DemoSuite {
         profileBidirectionalAStarAlgorithmOn(new BinomialHeap<DirectedGraphNode, Double>());
         profileBidirectionalAStarAlgorithmOn(new FibonacciHeap<DirectedGraphNode, Double>());
         profileBidirectionalAStarAlgorithmOn(new PairingHeap<DirectedGraphNode, Double>()); 
+        profileBidirectionalAStarAlgorithmOn(new DoubleRadixHeap<DirectedGraphNode>());
+    }
+    
+    private void profileCompressedGraphAlgorithms() {
+        title2("Profiling algorithms on the compressed graph");
+        System.out.print("Dijkstra's algorithm: ");
+        profileFinder(new CompressedDijkstraPathFinder(compressedGraph));
+        System.out.print("Bidirectional Dijkstra's algorithm: ");
+        profileFinder(
+                new CompressedBidirectionalDijkstraPathFinder(compressedGraph));
+    }
+    
+    private void profilePrimitiveAlgorithms() {
+        title2("Profiling algorithms specialized for double weights");
+        System.out.print("Dijkstra's algorithm: ");
+        profileFinder(new DoubleDijkstraPathFinder<>(f));
+        System.out.print("A* algorithm: ");
+        profileFinder(new DoubleAStarPathFinder<>(f, hf));
+    }
+    
+    private void profileFinder(
+            final PathFinder<DirectedGraphNode, Double> pf) {
+        long ta = System.currentTimeMillis();
+        
+        final Path<DirectedGraphNode> p = pf.search(source, target);
+        
+        long tb = System.currentTimeMillis();
+        
+        System.out.println("" + (tb - ta) + " ms.");
+        
+        if (path == null) {
+            path = p;
+        } else if (!path.equals(p)) {
+            System.out.println("Algorithms disagreed. Latest: " + 
+                               f.getPathWeight(path) +
+                               ", current: " + f.getPathWeight(p));
+        }
     }
     
     private void profileDijkstrasAlgorithmOn(
@@ -12,6 +12,7 @@ import net.coderodde.jgs.model.PathFinder;
 import net.coderodde.jgs.model.support.BidirectionalBreadthFirstSearchPathFinder;
 import net.coderodde.jgs.model.support.BreadthFirstSearchPathFinder;
 import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.ParallelBreadthFirstSearchPathFinder;
 
 public class UnweightedGraphSearchSuite implements DemoSuite {
 
@@ -23,6 +24,7 @@ public class UnweightedGraphSearchSuite implements DemoSuite {
     private final Graph<DirectedGraphNode> graph; 
     private Path<DirectedGraphNode> path1;
     private Path<DirectedGraphNode> path2;
+    private Path<DirectedGraphNode> path3;
     private final Random rnd;
     public UnweightedGraphSearchSuite() {
         this.seed = System.currentTimeMillis();
@@ -44,6 +46,7 @@ public class UnweightedGraphSearchSuite implements DemoSuite {
         do {
             profileBreadthFirstSearch();
             profileBidirectionalBreadthFirstSearch();
+            profileParallelBreadthFirstSearch();
             bar();     
             if (++i > 500) {
                 System.out.println("No luck.");
@@ -87,7 +90,31 @@ public class UnweightedGraphSearchSuite implements DemoSuite {
         System.out.println("Time: " + (tb - ta) + " ms."); 
     }
     
+    private void profileParallelBreadthFirstSearch() {
+        final ParallelBreadthFirstSearchPathFinder<DirectedGraphNode> finder =
+                new ParallelBreadthFirstSearchPathFinder<>();
+        
+        title2(finder.getClass().getSimpleName());
+        
+        final long ta = System.currentTimeMillis();
+        
+        path3 = finder.search(source, target);
+        
+        final long tb = System.currentTimeMillis();
+        
+        finder.shutdown();
+        System.out.println("Time: " + (tb - ta) + " ms.");
+    }
+    
     private boolean report() {
+        if (path1.size() != path3.size()) {
+            System.out.println(
+                    "Failure: parallel BFS path length mismatch: " +
+                    path1.size() + " vs. " + path3.size());
+            return true;
+        }
+        
+
         if (path1.isEmpty()) {
             if (path2.isEmpty()) {
                 System.out.println(
@@ -0,0 +1,198 @@
+package net.coderodde.jgs.io;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import net.coderodde.jgs.model.support.CompressedBidirectionalDijkstraPathFinder;
+import net.coderodde.jgs.model.support.CompressedDijkstraPathFinder;
+import net.coderodde.jgs.model.support.CompressedDirectedGraph;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.DoubleDijkstraPathFinder;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BinaryGraphFormatTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("BinaryGraphFormatTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testRoundTripWithCoordinates() throws IOException {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates<DirectedGraphNode>> data =
+                Utilities.createRoadLikeDirectedGraphWithCoordinates(
+                        30, 30, 0.8, 1.2, rnd);
+        final CompressedDirectedGraph snapshot =
+                CompressedDirectedGraph.freeze(data.first, data.second);
+        final File file = folder.newFile("road.jgs");
+
+        BinaryGraphFormat.write(file, snapshot, data.third);
+
+        final MappedGraph graph = MappedGraph.map(file);
+
+        assertEquals(snapshot.size(), graph.size());
+        assertEquals(snapshot.edgeCount(), graph.edgeCount());
+        assertTrue(graph.hasCoordinates());
+
+        for (int i = 0; i <= snapshot.size(); ++i) {
+            assertEquals(snapshot.getChildOffset(i), graph.getChildOffset(i));
+            assertEquals(snapshot.getParentOffset(i),
+                         graph.getParentOffset(i));
+        }
+
+        for (int arc = 0; arc < snapshot.edgeCount(); ++arc) {
+            assertEquals(snapshot.getChild(arc), graph.getChild(arc));
+            assertEquals(snapshot.getParent(arc), graph.getParent(arc));
+            assertEquals(snapshot.getChildWeight(arc),
+                         graph.getChildWeight(arc),
+                         0.0);
+            assertEquals(snapshot.getParentWeight(arc),
+                         graph.getParentWeight(arc),
+                         0.0);
+        }
+
+        for (int i = 0; i < snapshot.size(); ++i) {
+            final Point2D.Double p =
+                    (Point2D.Double) data.third.get(snapshot.getNode(i));
+
+            assertEquals(p.x, graph.getX(i), 0.0);
+            assertEquals(p.y, graph.getY(i), 0.0);
+        }
+    }
+
+    @Test
+    public void testCompressedFindersOnMappedGraph() throws IOException {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        1000, 3000, 1000.0, 1000.0, 1.1, rnd);
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final CompressedDirectedGraph snapshot =
+                CompressedDirectedGraph.freeze(data.first, f);
+        final File file = folder.newFile("random.jgs");
+
+        BinaryGraphFormat.write(file, snapshot);
+
+        final MappedGraph graph = MappedGraph.map(file);
+        final CompressedDijkstraPathFinder finder =
+                new CompressedDijkstraPathFinder(graph);
+        final CompressedBidirectionalDijkstraPathFinder bidirectionalFinder =
+                new CompressedBidirectionalDijkstraPathFinder(graph);
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+
+        assertFalse(graph.hasCoordinates());
+
+        for (int i = 0; i < 100; ++i) {
+            final int source = rnd.nextInt(graph.size());
+            final int target = rnd.nextInt(graph.size());
+            final Path<DirectedGraphNode> expected =
+                    reference.search(snapshot.getNode(source),
+                                     snapshot.getNode(target));
+
+            for (final int[] path :
+                    new int[][]{ finder.search(source, target),
+                                 bidirectionalFinder.search(source,
+                                                            target) }) {
+                if (expected.isEmpty()) {
+                    assertEquals(0, path.length);
+                    continue;
+                }
+
+                assertEquals(source, path[0]);
+                assertEquals(target, path[path.length - 1]);
+
+                double weight = 0.0;
+
+                for (int j = 1; j < path.length; ++j) {
+                    weight += f.get(snapshot.getNode(path[j - 1]),
+                                    snapshot.getNode(path[j]));
+                }
+
+                assertEquals(f.getPathWeight(expected), weight, e);
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testBadMagicThrows() throws IOException {
+        final File file = writeSmallGraph();
+
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(0);
+        }
+
+        MappedGraph.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedFileThrows() throws IOException {
+        final File file = writeSmallGraph();
+
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 8);
+        }
+
+        MappedGraph.map(file);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMissingCoordinatesThrow() throws IOException {
+        MappedGraph.map(writeSmallGraph()).getX(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBadIndexThrows() throws IOException {
+        new CompressedDijkstraPathFinder(MappedGraph.map(writeSmallGraph()))
+                .search(0, 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNodeSearchOnMappedGraphThrows() throws IOException {
+        final DirectedGraphNode node = new DirectedGraphNode();
+
+        new CompressedDijkstraPathFinder(MappedGraph.map(writeSmallGraph()))
+                .search(node, node);
+    }
+
+    private File writeSmallGraph() throws IOException {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphDoubleWeightFunction f =
+                new DirectedGraphDoubleWeightFunction();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        a.connectTo(b);
+        f.put(a, b, 1.0);
+
+        final File file = folder.newFile();
+        BinaryGraphFormat.write(file, CompressedDirectedGraph.freeze(graph, f));
+        return file;
+    }
+}
@@ -0,0 +1,234 @@
+package net.coderodde.jgs.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GraphImporterTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("GraphImporterTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testDimacs() throws IOException {
+        final File gr = write("c A small road network.\r\n" +
+                              "p sp 3 3\r\n" +
+                              "a 1 2 10\r\n" +
+                              "a 2 3 5\r\n" +
+                              "a 3 1 7\r\n");
+        final File co = write("c Coordinates.\n" +
+                              "p aux sp co 3\n" +
+                              "v 1 -73530767 41085396\n" +
+                              "v 2 -73530538 41086098\n" +
+                              "v 3 -73519366 41048796\n");
+        final GraphBuilder builder = new GraphBuilder();
+
+        GraphImporter.readDimacs(gr, co, builder);
+
+        final Graph<DirectedGraphNode> graph = builder.getGraph();
+        final DirectedGraphDoubleWeightFunction f =
+                builder.getWeightFunction();
+
+        assertEquals(3, graph.size());
+        assertEquals(3, graph.edgeCount());
+        assertEquals(10.0, f.get(graph.get(0), graph.get(1)), 0.0);
+        assertEquals(5.0, f.get(graph.get(1), graph.get(2)), 0.0);
+        assertEquals(7.0, f.get(graph.get(2), graph.get(0)), 0.0);
+        assertEquals(-73530538.0,
+                     builder.getCoordinates().get(graph.get(1)).x,
+                     0.0);
+        assertEquals(41048796.0,
+                     builder.getCoordinates().get(graph.get(2)).y,
+                     0.0);
+    }
+
+    @Test
+    public void testCsvWithHeader() throws IOException {
+        final File file = write("source, target, weight\n" +
+                                "0, 1, 2.5\n" +
+                                "\n" +
+                                "1,3,0.5\n");
+        final GraphBuilder builder = new GraphBuilder();
+
+        GraphImporter.readCsv(file, builder);
+
+        final Graph<DirectedGraphNode> graph = builder.getGraph();
+
+        assertEquals(4, graph.size());
+        assertEquals(2, graph.edgeCount());
+        assertEquals(2.5,
+                     builder.getWeightFunction().get(graph.get(0),
+                                                     graph.get(1)),
+                     0.0);
+        assertEquals(0.5,
+                     builder.getWeightFunction().get(graph.get(1),
+                                                     graph.get(3)),
+                     0.0);
+    }
+
+    @Test
+    public void testEdgeListKeepsLightestParallelArc() throws IOException {
+        final File file = write("# tail head weight\n" +
+                                "0 1 3\n" +
+                                "0 1 2\n" +
+                                "0 1 4\n" +
+                                "1 0\n");
+        final GraphBuilder builder = new GraphBuilder();
+
+        GraphImporter.readEdgeList(file, builder);
+
+        final Graph<DirectedGraphNode> graph = builder.getGraph();
+
+        assertEquals(2, graph.edgeCount());
+        assertEquals(2.0,
+                     builder.getWeightFunction().get(graph.get(0),
+                                                     graph.get(1)),
+                     0.0);
+        assertEquals(1.0,
+                     builder.getWeightFunction().get(graph.get(1),
+                                                     graph.get(0)),
+                     0.0);
+    }
+
+    @Test
+    public void testLargeEdgeListToCompactGraph() throws IOException {
+        final Random rnd = new Random(seed);
+        final int n = 5000;
+        final int m = 50000;
+        final int[] tails = new int[m];
+        final int[] heads = new int[m];
+        final int[] weights = new int[m];
+        final StringBuilder sb = new StringBuilder();
+
+        // Large enough to span many read buffers.
+        for (int i = 0; i < m; ++i) {
+            tails[i] = rnd.nextInt(n);
+            heads[i] = rnd.nextInt(n);
+            weights[i] = 1 + rnd.nextInt(1000);
+            sb.append(tails[i]).append(' ')
+              .append(heads[i]).append('\t')
+              .append(weights[i]).append('\n');
+        }
+
+        final CompactGraphBuilder builder = new CompactGraphBuilder();
+        GraphImporter.readEdgeList(write(sb.toString()), builder);
+
+        assertEquals(m, builder.getArcCount());
+
+        final File binary = folder.newFile();
+        builder.write(binary);
+
+        final MappedGraph graph = MappedGraph.map(binary);
+        final long[] expected = new long[n];
+        final long[] actual = new long[n];
+
+        assertEquals(m, graph.edgeCount());
+        assertFalse(graph.hasCoordinates());
+
+        for (int i = 0; i < m; ++i) {
+            expected[tails[i]] += 31L * heads[i] + weights[i];
+        }
+
+        for (int node = 0; node < graph.size(); ++node) {
+            for (int arc = graph.getChildOffset(node);
+                    arc < graph.getChildOffset(node + 1);
+                    ++arc) {
+                actual[node] += 31L * graph.getChild(arc) +
+                                (long) graph.getChildWeight(arc);
+            }
+
+            for (int arc = graph.getParentOffset(node);
+                    arc < graph.getParentOffset(node + 1);
+                    ++arc) {
+                assertTrue(hasArc(graph, graph.getParent(arc), node));
+            }
+        }
+
+        for (int node = graph.size(); node < n; ++node) {
+            assertEquals(0L, expected[node]);
+        }
+
+        for (int node = 0; node < graph.size(); ++node) {
+            assertEquals(expected[node], actual[node]);
+        }
+    }
+
+    @Test
+    public void testDimacsToCompactGraphWithCoordinates() throws IOException {
+        final File gr = write("p sp 4 2\na 1 2 3\na 4 1 2\n");
+        final File co = write("p aux sp co 4\nv 1 10 20\nv 4 30 40\n");
+        final CompactGraphBuilder builder = new CompactGraphBuilder();
+
+        GraphImporter.readDimacs(gr, co, builder);
+
+        final File binary = folder.newFile();
+        builder.write(binary);
+
+        final MappedGraph graph = MappedGraph.map(binary);
+
+        assertEquals(4, graph.size());
+        assertTrue(graph.hasCoordinates());
+        assertEquals(10.0, graph.getX(0), 0.0);
+        assertEquals(40.0, graph.getY(3), 0.0);
+        assertTrue(Double.isNaN(graph.getX(1)));
+        assertEquals(1, graph.getChild(graph.getChildOffset(0)));
+        assertEquals(0, graph.getChild(graph.getChildOffset(3)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMalformedLineThrows() throws IOException {
+        GraphImporter.readEdgeList(write("0 1 1\n0 x 1\n"),
+                                   new GraphBuilder());
+    }
+
+    @Test(expected = IOException.class)
+    public void testDimacsNodeOutOfRangeThrows() throws IOException {
+        GraphImporter.readDimacs(write("p sp 2 1\na 1 3 1\n"),
+                                 null,
+                                 new CompactGraphBuilder());
+    }
+
+    private static boolean hasArc(final MappedGraph graph,
+                                  final int tail,
+                                  final int head) {
+        for (int arc = graph.getChildOffset(tail);
+                arc < graph.getChildOffset(tail + 1);
+                ++arc) {
+            if (graph.getChild(arc) == head) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private File write(final String text) throws IOException {
+        final File file = folder.newFile();
+
+        try (final Writer writer = new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.US_ASCII)) {
+            writer.write(text);
+        }
+
+        return file;
+    }
+}
@@ -572,6 +572,45 @@ public class GraphTest {
         assertEquals(0, gg1.edgeCount());
     }
     
+    @Test
+    public void testNodeIds() {
+        assertEquals(-1, aa.getId());
+        
+        gg1.addNode(aa);
+        gg1.addNode(bb);
+        gg1.addNode(cc);
+        
+        assertEquals(0, aa.getId());
+        assertEquals(1, bb.getId());
+        assertEquals(2, cc.getId());
+        
+        // The last node takes the place of the removed one.
+        assertTrue(gg1.removeNode(aa));
+        
+        assertEquals(-1, aa.getId());
+        assertEquals(1, bb.getId());
+        assertEquals(0, cc.getId());
+        assertEquals(cc, gg1.get(0));
+        assertEquals(bb, gg1.get(1));
+        assertFalse(gg1.removeNode(aa));
+        
+        // Moving a node to another graph.
+        gg2.addNode(bb);
+        
+        assertEquals(0, bb.getId());
+        assertEquals(0, cc.getId());
+        assertEquals(1, gg1.size());
+        
+        gg1.clear();
+        
+        assertEquals(-1, cc.getId());
+        
+        gg1.addNode(cc);
+        
+        assertEquals(0, cc.getId());
+        assertEquals(cc, gg1.get(cc.getId()));
+    }
+    
     @Test
     public void testAddingNode() {
         assertTrue(new Graph<DirectedGraphNode>()
@@ -0,0 +1,177 @@
+package net.coderodde.jgs.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Pair;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.DoubleDijkstraPathFinder;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelQueryExecutorTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("ParallelQueryExecutorTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testAgreesWithSequentialSearch() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        500, 2000, 1000.0, 1000.0, 1.1, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final List<Pair<DirectedGraphNode, DirectedGraphNode>> queries =
+                new ArrayList<>();
+
+        for (int i = 0; i < 200; ++i) {
+            queries.add(new Pair<>(graph.get(rnd.nextInt(graph.size())),
+                                   graph.get(rnd.nextInt(graph.size()))));
+        }
+
+        final ParallelQueryExecutor<DirectedGraphNode, Double> executor =
+                new ParallelQueryExecutor<>(createFactory(f), 4);
+
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+
+        try {
+            for (int round = 0; round < 2; ++round) {
+                final List<Path<DirectedGraphNode>> paths =
+                        executor.search(queries);
+
+                assertEquals(queries.size(), paths.size());
+
+                for (int i = 0; i < queries.size(); ++i) {
+                    final Pair<DirectedGraphNode, DirectedGraphNode> query =
+                            queries.get(i);
+
+                    assertEquals(reference.search(query.first, query.second),
+                                 paths.get(i));
+                }
+            }
+
+            assertTrue(executor.search(
+                    new ArrayList<Pair<DirectedGraphNode,
+                                       DirectedGraphNode>>()).isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPoolReusesFinders() throws InterruptedException {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        200, 800, 1000.0, 1000.0, 1.1, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final PathFinderPool<DirectedGraphNode, Double> pool =
+                new PathFinderPool<>(createFactory(f));
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; ++t) {
+            final long threadSeed = seed + t;
+            threads[t] = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    final Random r = new Random(threadSeed);
+
+                    try {
+                        for (int i = 0; i < 50; ++i) {
+                            final DirectedGraphNode source =
+                                    graph.get(r.nextInt(graph.size()));
+                            final DirectedGraphNode target =
+                                    graph.get(r.nextInt(graph.size()));
+
+                            assertEquals(
+                                    f.getPathWeight(
+                                        searchSynchronized(reference,
+                                                           source,
+                                                           target)),
+                                    f.getPathWeight(pool.search(source,
+                                                                target)),
+                                    0.0001);
+                        }
+                    } catch (final Throwable ex) {
+                        failure.compareAndSet(null, ex);
+                    }
+                }
+            });
+
+            threads[t].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(pool.getCreatedCount() <= threads.length);
+
+        final PathFinder<DirectedGraphNode, Double> finder = pool.acquire();
+        pool.release(finder);
+        assertSame(finder, pool.acquire());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroThreadsThrows() {
+        new ParallelQueryExecutor<>(
+                createFactory(new DirectedGraphDoubleWeightFunction()), 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullQueryListThrows() {
+        final ParallelQueryExecutor<DirectedGraphNode, Double> executor =
+                new ParallelQueryExecutor<>(
+                        createFactory(new DirectedGraphDoubleWeightFunction()),
+                        1);
+
+        try {
+            executor.search(null);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Path<DirectedGraphNode> searchSynchronized(
+            final PathFinder<DirectedGraphNode, Double> finder,
+            final DirectedGraphNode source,
+            final DirectedGraphNode target) {
+        synchronized (finder) {
+            return finder.search(source, target);
+        }
+    }
+
+    private static PathFinderFactory<DirectedGraphNode, Double>
+        createFactory(final DirectedGraphDoubleWeightFunction f) {
+        return new PathFinderFactory<DirectedGraphNode, Double>() {
+
+            @Override
+            public PathFinder<DirectedGraphNode, Double> create() {
+                return new DoubleDijkstraPathFinder<>(f);
+            }
+        };
+    }
+}
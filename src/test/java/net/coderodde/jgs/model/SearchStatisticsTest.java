@@ -0,0 +1,148 @@
+package net.coderodde.jgs.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.support.AStarPathFinder;
+import net.coderodde.jgs.model.support.BidirectionalAStarPathFinder;
+import net.coderodde.jgs.model.support.BidirectionalBreadthFirstSearchPathFinder;
+import net.coderodde.jgs.model.support.BidirectionalDijkstraPathFinder;
+import net.coderodde.jgs.model.support.BreadthFirstSearchPathFinder;
+import net.coderodde.jgs.model.support.DijkstraPathFinder;
+import net.coderodde.jgs.model.support.DirectedGraphDoubleWeightFunction;
+import net.coderodde.jgs.model.support.DirectedGraphNode;
+import net.coderodde.jgs.model.support.DoubleWeight;
+import net.coderodde.jgs.model.support.EuclidianDoubleHeuristicFunction;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SearchStatisticsTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("SearchStatisticsTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testDijkstraCounters() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphDoubleWeightFunction f =
+                new DirectedGraphDoubleWeightFunction();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+        final DirectedGraphNode c = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+
+        a.connectTo(b);
+        a.connectTo(c);
+        b.connectTo(c);
+        f.put(a, b, 1.0);
+        f.put(a, c, 10.0);
+        f.put(b, c, 1.0);
+
+        final DijkstraPathFinder<DirectedGraphNode, Double, DoubleWeight>
+                finder = new DijkstraPathFinder<>(f, new DoubleWeight());
+
+        assertNull(finder.getStatistics());
+
+        final SearchStatistics statistics = new SearchStatistics();
+        finder.setStatistics(statistics);
+        assertSame(statistics, finder.getStatistics());
+
+        // Both searches must report the same counters.
+        for (int i = 0; i < 2; ++i) {
+            assertEquals(3, finder.search(a, c).size());
+            assertEquals(3, statistics.getSettledNodes());
+            assertEquals(3, statistics.getRelaxedEdges());
+            assertEquals(1, statistics.getDecreaseKeyCalls());
+            assertEquals(2, statistics.getPeakOpenSetSize());
+            assertEquals(3, statistics.getPathSize());
+            assertTrue(statistics.getDuration() >= 0L);
+        }
+
+        assertTrue(finder.search(c, a).isEmpty());
+        assertEquals(1, statistics.getSettledNodes());
+        assertEquals(0, statistics.getRelaxedEdges());
+        assertEquals(0, statistics.getDecreaseKeyCalls());
+        assertEquals(1, statistics.getPeakOpenSetSize());
+        assertEquals(0, statistics.getPathSize());
+
+        // Turning the statistics off leaves the last counters untouched.
+        finder.setStatistics(null);
+        assertNull(finder.getStatistics());
+        assertEquals(3, finder.search(a, c).size());
+        assertEquals(1, statistics.getSettledNodes());
+    }
+
+    @Test
+    public void testAllFindersReport() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        500, 3000, 1000.0, 1000.0, 1.2, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final EuclidianDoubleHeuristicFunction<DirectedGraphNode> hf =
+                new EuclidianDoubleHeuristicFunction<>(data.third);
+
+        final List<PathFinder<DirectedGraphNode, ?>> finders =
+                new ArrayList<>();
+
+        finders.add(new DijkstraPathFinder<>(f, new DoubleWeight()));
+        finders.add(new AStarPathFinder<>(f, hf, new DoubleWeight()));
+        finders.add(new BidirectionalDijkstraPathFinder<>(
+                        f, new DoubleWeight()));
+        finders.add(new BidirectionalAStarPathFinder<>(
+                        f, hf, new DoubleWeight()));
+        finders.add(new BreadthFirstSearchPathFinder<DirectedGraphNode>());
+        finders.add(
+                new BidirectionalBreadthFirstSearchPathFinder<
+                        DirectedGraphNode>());
+
+        final SearchStatistics statistics = new SearchStatistics();
+
+        for (final PathFinder<DirectedGraphNode, ?> finder : finders) {
+            finder.setStatistics(statistics);
+        }
+
+        for (int i = 0; i < 50; ++i) {
+            final DirectedGraphNode source =
+                    graph.get(rnd.nextInt(graph.size()));
+            final DirectedGraphNode target =
+                    graph.get(rnd.nextInt(graph.size()));
+
+            for (final PathFinder<DirectedGraphNode, ?> finder : finders) {
+                final Path<DirectedGraphNode> path =
+                        finder.search(source, target);
+
+                assertEquals(path.size(), statistics.getPathSize());
+                assertTrue(statistics.getDuration() >= 0L);
+
+                if (source.equals(target)) {
+                    continue;
+                }
+
+                assertTrue(statistics.getSettledNodes() > 0);
+                assertTrue(statistics.getPeakOpenSetSize() > 0);
+                assertTrue(statistics.getDecreaseKeyCalls()
+                           <= statistics.getRelaxedEdges());
+
+                if (!path.isEmpty()) {
+                    assertTrue(statistics.getRelaxedEdges()
+                               >= path.size() - 1);
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package net.coderodde.jgs.model;
 
+import java.util.Random;
+import java.util.Set;
 import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.support.UndirectedGraphDoubleWeightFunction;
 import net.coderodde.jgs.model.support.UndirectedGraphNode;
+import static org.junit.Assert.*;
 import org.junit.Test;
 
 /**
@@ -60,4 +65,40 @@ public class UtilitiesTest {
         
         Utilities.checkNodesBelongToSameGraph(a, b);
     }
+    
+    /**
+     * Checks that the grid graph contains all its nodes and that each node is
+     * connected to its eight neighbors.
+     */
+    @Test
+    public void testCreateGridGraphWithObstacles() {
+        final Triple<Graph<UndirectedGraphNode>,
+                     UndirectedGraphDoubleWeightFunction,
+                     Set<UndirectedGraphNode>> data =
+                Utilities.createGridGraphWithObstacles(5, 4, 0.2f,
+                                                       new Random(13L));
+        final Graph<UndirectedGraphNode> grid = data.first;
+        
+        assertEquals(20, grid.size());
+        assertEquals(4, data.third.size());
+        
+        for (int i = 0; i < grid.size(); ++i) {
+            assertEquals(grid, grid.get(i).getOwnerGraph());
+        }
+        
+        // The node at (0, 0) is a corner, the node at (2, 1) is inside.
+        final UndirectedGraphNode corner = grid.get(0);
+        final UndirectedGraphNode inner = grid.get(5 + 2);
+        
+        assertEquals(3, corner.childrenListSize());
+        assertEquals(8, inner.childrenListSize());
+        assertEquals(1.0, data.second.get(corner, grid.get(1)), 0.0);
+        assertEquals(Math.sqrt(2.0),
+                     data.second.get(corner, grid.get(5 + 1)),
+                     0.0);
+        
+        for (final UndirectedGraphNode obstacle : data.third) {
+            assertTrue(grid.containsNode(obstacle));
+        }
+    }
 }
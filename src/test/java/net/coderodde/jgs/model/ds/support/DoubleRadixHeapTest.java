@@ -0,0 +1,135 @@
+package net.coderodde.jgs.model.ds.support;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class DoubleRadixHeapTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    private final DoubleRadixHeap<Integer> heap;
+
+    public DoubleRadixHeapTest() {
+        this.heap = new DoubleRadixHeap<>();
+    }
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("DoubleRadixHeapTest.java, seed: " + seed);
+    }
+
+    /**
+     * Clears the heap before any test.
+     */
+    @Before
+    public void init() {
+        heap.clear();
+    }
+
+    @Test
+    public void testAddAndExtractMinimum() {
+        final int sz = 1000;
+        final Random rnd = new Random(seed);
+        final double[] keys = new double[sz];
+
+        for (int i = 0; i != sz; ++i) {
+            keys[i] = (rnd.nextDouble() - 0.5) * 1e6;
+            heap.add(i, keys[i]);
+        }
+
+        final double[] sorted = keys.clone();
+        Arrays.sort(sorted);
+
+        for (int i = 0; i != sz; ++i) {
+            assertEquals(sorted[i], keys[heap.extractMinimum()], 0.0);
+        }
+
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testSpecialValues() {
+        heap.add(0, Double.POSITIVE_INFINITY);
+        heap.add(1, 0.0);
+        heap.add(2, -0.0);
+        heap.add(3, Double.NEGATIVE_INFINITY);
+        heap.add(4, -Double.MIN_VALUE);
+        heap.add(5, Double.MIN_VALUE);
+        heap.add(6, -1.5);
+        heap.add(7, -1.0);
+
+        assertEquals((Integer) 3, heap.extractMinimum());
+        assertEquals((Integer) 6, heap.extractMinimum());
+        assertEquals((Integer) 7, heap.extractMinimum());
+        assertEquals((Integer) 4, heap.extractMinimum());
+        assertEquals((Integer) 2, heap.extractMinimum());
+        assertEquals((Integer) 1, heap.extractMinimum());
+        assertEquals((Integer) 5, heap.extractMinimum());
+        assertEquals((Integer) 0, heap.extractMinimum());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreasePriority() {
+        for (int i = 10; i != 0; --i) {
+            heap.add(i, i + 0.5);
+        }
+
+        assertEquals((Integer) 1, heap.extractMinimum());
+
+        // Below the last minimum.
+        heap.decreasePriority(10, -1.0);
+        // Does not improve.
+        heap.decreasePriority(2, 3.0);
+
+        assertEquals(9, heap.size());
+        assertEquals((Integer) 10, heap.min());
+        assertEquals((Integer) 10, heap.extractMinimum());
+
+        for (int i = 2; i != 10; ++i) {
+            assertEquals((Integer) i, heap.extractMinimum());
+        }
+
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testClearAndSpawn() {
+        heap.add(1, 2.0);
+        heap.add(2, 1.0);
+        heap.extractMinimum();
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+
+        // Clearing forgets the last minimum.
+        heap.add(3, -5.0);
+        heap.add(4, -6.0);
+
+        assertEquals((Integer) 4, heap.extractMinimum());
+
+        final DoubleRadixHeap<Integer> heap2 =
+                (DoubleRadixHeap<Integer>) heap.spawn();
+
+        assertTrue(heap2.isEmpty());
+        assertFalse(heap.isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPeekingEmptyHeapThrows() {
+        heap.min();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testExtractingFromEmptyThrows() {
+        heap.add(1, 1.0);
+        heap.extractMinimum();
+        heap.extractMinimum();
+    }
+}
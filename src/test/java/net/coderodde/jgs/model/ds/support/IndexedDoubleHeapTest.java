@@ -0,0 +1,141 @@
+package net.coderodde.jgs.model.ds.support;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IndexedDoubleHeapTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    private static final double e = 0.0001;
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("IndexedDoubleHeapTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testAddAndExtractMinimum() {
+        final IndexedDoubleHeap heap = new IndexedDoubleHeap(16);
+        final Random rnd = new Random(seed);
+        final double[] keys = new double[1000];
+
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = rnd.nextDouble();
+            heap.add(i, keys[i]);
+        }
+
+        assertEquals(keys.length, heap.size());
+
+        // Adding an element already in the heap does nothing.
+        heap.add(0, -1.0);
+
+        assertEquals(keys.length, heap.size());
+
+        final double[] sorted = keys.clone();
+        Arrays.sort(sorted);
+
+        for (int i = 0; i < sorted.length; ++i) {
+            assertEquals(sorted[i], heap.minKey(), e);
+            final int element = heap.extractMinimum();
+            assertEquals(sorted[i], keys[element], e);
+            assertFalse(heap.contains(element));
+        }
+
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreasePriority() {
+        final IndexedDoubleHeap heap = new IndexedDoubleHeap();
+
+        for (int i = 0; i < 100; ++i) {
+            heap.add(i, i);
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            heap.decreasePriority(i, -i);
+        }
+
+        // Does not improve the priority, so does nothing.
+        heap.decreasePriority(99, 100.0);
+        // Not in the heap.
+        heap.decreasePriority(1000, -1000.0);
+
+        for (int i = 98; i >= 0; i -= 2) {
+            assertEquals(i, heap.extractMinimum());
+        }
+
+        for (int i = 1; i < 100; i += 2) {
+            assertEquals(i, heap.extractMinimum());
+        }
+    }
+
+    @Test
+    public void testClear() {
+        final IndexedDoubleHeap heap = new IndexedDoubleHeap();
+
+        for (int i = 0; i < 10; ++i) {
+            heap.add(i, i);
+        }
+
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+
+        for (int i = 0; i < 10; ++i) {
+            assertFalse(heap.contains(i));
+        }
+
+        heap.add(5, 1.0);
+        heap.add(3, 0.5);
+
+        assertEquals(3, heap.min());
+        assertEquals(2, heap.size());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testExtractMinimumThrowsOnEmptyHeap() {
+        new IndexedDoubleHeap().extractMinimum();
+    }
+
+    @Test
+    public void testDegrees() {
+        final Random rnd = new Random(seed);
+
+        for (int degree = 2; degree <= 6; ++degree) {
+            final IndexedDoubleHeap heap = new IndexedDoubleHeap(8, degree);
+            final double[] keys = new double[500];
+
+            assertEquals(degree, heap.getDegree());
+
+            for (int i = 0; i < keys.length; ++i) {
+                keys[i] = rnd.nextDouble();
+                heap.add(i, keys[i]);
+            }
+
+            for (int i = 0; i < keys.length; i += 3) {
+                keys[i] -= 100;
+                heap.decreasePriority(i, keys[i]);
+            }
+
+            final double[] sorted = keys.clone();
+            Arrays.sort(sorted);
+
+            for (int i = 0; i < sorted.length; ++i) {
+                assertEquals(sorted[i], keys[heap.extractMinimum()], e);
+            }
+
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDegreeBelowTwoThrows() {
+        new IndexedDoubleHeap(16, 1);
+    }
+}
@@ -0,0 +1,180 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ArrayDoubleWeightFunctionTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    private final ArrayDoubleWeightFunction<DirectedGraphNode> f;
+    private final Graph<DirectedGraphNode> graph;
+    private final DirectedGraphNode a;
+    private final DirectedGraphNode b;
+    private final DirectedGraphNode c;
+
+    public ArrayDoubleWeightFunctionTest() {
+        graph = new Graph<>();
+        f     = new ArrayDoubleWeightFunction<>();
+        a     = new DirectedGraphNode();
+        b     = new DirectedGraphNode();
+        c     = new DirectedGraphNode();
+    }
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("ArrayDoubleWeightFunctionTest.java, seed: " +
+                           seed);
+    }
+
+    @Before
+    public void setUp() {
+        f.clear();
+        graph.clear();
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        f.put(a, b, 10.5);
+        assertEquals(10.5, f.get(a, b), e);
+        f.put(b, c, 3.42);
+        assertEquals(3.42, f.get(b, c), e);
+        f.put(a, b, 1.5);
+        assertEquals(1.5, f.get(a, b), e);
+        assertEquals(1, f.getArcCount(a));
+    }
+
+    @Test
+    public void testArcIteration() {
+        f.put(a, b, 1.0);
+        f.put(a, c, 2.0);
+        f.put(a, a, 3.0);
+
+        assertEquals(3, f.getArcCount(a));
+        assertEquals(0, f.getArcCount(c));
+
+        double sum = 0.0;
+
+        for (int i = 0; i < f.getArcCount(a); ++i) {
+            assertEquals(f.get(a, f.getChild(a, i)), f.getWeight(a, i), e);
+            sum += f.getWeight(a, i);
+        }
+
+        assertEquals(6.0, sum, e);
+
+        f.remove(a, b);
+        assertEquals(2, f.getArcCount(a));
+        assertEquals(2.0, f.get(a, c), e);
+        assertEquals(3.0, f.get(a, a), e);
+    }
+
+    @Test
+    public void testGetPathWeight() {
+        final List<DirectedGraphNode> list = new ArrayList<>();
+
+        list.add(a);
+        list.add(b);
+        list.add(c);
+
+        a.connectTo(b);
+        b.connectTo(c);
+
+        f.put(a, b, 2.4);
+        f.put(b, c, 4.6);
+
+        assertEquals(7.0, f.getPathWeight(new Path<>(list)), e);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testThrowsOnMissingArc() {
+        f.put(a, b, 4.0);
+        f.get(b, a);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testThrowsOnRemovedArc() {
+        f.put(a, b, 4.0);
+        f.remove(a, b);
+        f.get(a, b);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testThrowsOnBadArcIndex() {
+        f.put(a, b, 4.0);
+        f.getWeight(a, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNaN() {
+        f.put(a, b, Double.NaN);
+    }
+
+    @Test
+    public void testFindersAgreeWithMapBackedWeights() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        1000, 4000, 1000.0, 1000.0, 1.1, rnd);
+        final Graph<DirectedGraphNode> g = data.first;
+        final DirectedGraphDoubleWeightFunction mapF = data.second;
+        final ArrayDoubleWeightFunction<DirectedGraphNode> arrayF =
+                new ArrayDoubleWeightFunction<>();
+
+        for (int i = 0; i < g.size(); ++i) {
+            final DirectedGraphNode node = g.get(i);
+
+            for (final DirectedGraphNode child : node) {
+                arrayF.put(node, child, mapF.get(node, child));
+            }
+        }
+
+        final EuclidianDoubleHeuristicFunction<DirectedGraphNode> hf =
+                new EuclidianDoubleHeuristicFunction<>(data.third);
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(mapF);
+        final DoubleDijkstraPathFinder<DirectedGraphNode> dijkstra =
+                new DoubleDijkstraPathFinder<>(arrayF);
+        final DoubleAStarPathFinder<DirectedGraphNode> astar =
+                new DoubleAStarPathFinder<>(arrayF, hf);
+
+        for (int i = 0; i < 100; ++i) {
+            final DirectedGraphNode source = g.get(rnd.nextInt(g.size()));
+            final DirectedGraphNode target = g.get(rnd.nextInt(g.size()));
+            final Path<DirectedGraphNode> expected =
+                    reference.search(source, target);
+            final Path<DirectedGraphNode> path1 =
+                    dijkstra.search(source, target);
+            final Path<DirectedGraphNode> path2 =
+                    astar.search(source, target);
+
+            assertEquals(expected.isEmpty(), path1.isEmpty());
+            assertEquals(expected.isEmpty(), path2.isEmpty());
+
+            if (!expected.isEmpty()) {
+                assertEquals(mapF.getPathWeight(expected),
+                             mapF.getPathWeight(path1),
+                             e);
+                assertEquals(mapF.getPathWeight(expected),
+                             mapF.getPathWeight(path2),
+                             e);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CompressedDirectedGraphTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("CompressedDirectedGraphTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testFreeze() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphDoubleWeightFunction f =
+                new DirectedGraphDoubleWeightFunction();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+        final DirectedGraphNode c = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+
+        a.connectTo(b);
+        a.connectTo(c);
+        c.connectTo(b);
+
+        f.put(a, b, 1.5);
+        f.put(a, c, 2.0);
+        f.put(c, b, 3.5);
+
+        final CompressedDirectedGraph cg =
+                CompressedDirectedGraph.freeze(graph, f);
+
+        assertEquals(3, cg.size());
+        assertEquals(3, cg.edgeCount());
+
+        final int ia = cg.getIndex(a);
+        final int ib = cg.getIndex(b);
+        final int ic = cg.getIndex(c);
+
+        assertEquals(a, cg.getNode(ia));
+        assertEquals(b, cg.getNode(ib));
+        assertEquals(c, cg.getNode(ic));
+        assertEquals(-1, cg.getIndex(new DirectedGraphNode()));
+
+        assertEquals(2, cg.getChildOffset(ia + 1) - cg.getChildOffset(ia));
+        assertEquals(0, cg.getChildOffset(ib + 1) - cg.getChildOffset(ib));
+        assertEquals(1, cg.getChildOffset(ic + 1) - cg.getChildOffset(ic));
+
+        assertEquals(0, cg.getParentOffset(ia + 1) - cg.getParentOffset(ia));
+        assertEquals(2, cg.getParentOffset(ib + 1) - cg.getParentOffset(ib));
+        assertEquals(1, cg.getParentOffset(ic + 1) - cg.getParentOffset(ic));
+
+        final int arc = cg.getChildOffset(ic);
+
+        assertEquals(ib, cg.getChild(arc));
+        assertEquals(3.5, cg.getChildWeight(arc), e);
+
+        double parentWeightSum = 0.0;
+
+        for (int i = cg.getParentOffset(ib);
+                i < cg.getParentOffset(ib + 1);
+                ++i) {
+            parentWeightSum += cg.getParentWeight(i);
+        }
+
+        assertEquals(5.0, parentWeightSum, e);
+    }
+
+    @Test
+    public void testFindersAgreeWithDijkstra() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        1000, 4000, 1000.0, 1000.0, 1.2, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final CompressedDirectedGraph cg =
+                CompressedDirectedGraph.freeze(graph, f);
+
+        final DijkstraPathFinder<DirectedGraphNode, Double, DoubleWeight>
+                reference = new DijkstraPathFinder<>(f, new DoubleWeight());
+        final CompressedDijkstraPathFinder finder1 =
+                new CompressedDijkstraPathFinder(cg);
+        final CompressedBidirectionalDijkstraPathFinder finder2 =
+                new CompressedBidirectionalDijkstraPathFinder(cg);
+
+        for (int i = 0; i < 50; ++i) {
+            final DirectedGraphNode source = graph.get(rnd.nextInt(1000));
+            final DirectedGraphNode target = graph.get(rnd.nextInt(1000));
+
+            final Path<DirectedGraphNode> path =
+                    reference.search(source, target);
+            final Path<DirectedGraphNode> path1 =
+                    finder1.search(source, target);
+            final Path<DirectedGraphNode> path2 =
+                    finder2.search(source, target);
+
+            assertEquals(path.isEmpty(), path1.isEmpty());
+            assertEquals(path.isEmpty(), path2.isEmpty());
+
+            if (!path.isEmpty()) {
+                assertEquals(f.getPathWeight(path),
+                             f.getPathWeight(path1),
+                             e);
+                assertEquals(f.getPathWeight(path),
+                             f.getPathWeight(path2),
+                             e);
+                assertEquals(source, path2.get(0));
+                assertEquals(target, path2.get(path2.size() - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ConcurrentBidirectionalDijkstraPathFinderTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("ConcurrentBidirectionalDijkstraPathFinderTest" +
+                           ".java, seed: " + seed);
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnRandomGraph() {
+        final Random rnd = new Random(seed);
+
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        2000, 6000, 1000.0, 1000.0, 1.1, rnd);
+
+        check(data.first, data.second, rnd);
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnRoadGraph() {
+        final Random rnd = new Random(seed);
+
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates<DirectedGraphNode>> data =
+                Utilities.createRoadLikeDirectedGraphWithCoordinates(
+                        50, 50, 0.8, 1.2, rnd);
+
+        check(data.first, data.second, rnd);
+    }
+
+    @Test
+    public void testTrivialPaths() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphDoubleWeightFunction f =
+                new DirectedGraphDoubleWeightFunction();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+        final DirectedGraphNode c = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+        a.connectTo(b);
+        f.put(a, b, 1.0);
+
+        final ConcurrentBidirectionalDijkstraPathFinder finder =
+                new ConcurrentBidirectionalDijkstraPathFinder(
+                        CompressedDirectedGraph.freeze(graph, f));
+
+        try {
+            assertEquals(1, finder.search(a, a).size());
+            assertEquals(2, finder.search(a, b).size());
+            assertTrue(finder.search(b, a).isEmpty());
+            assertTrue(finder.search(a, c).isEmpty());
+        } finally {
+            finder.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNodeOutsideGraphThrows() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        graph.addNode(a);
+
+        final ConcurrentBidirectionalDijkstraPathFinder finder =
+                new ConcurrentBidirectionalDijkstraPathFinder(
+                        CompressedDirectedGraph.freeze(
+                                graph,
+                                new DirectedGraphDoubleWeightFunction()));
+
+        try {
+            finder.search(a, new DirectedGraphNode());
+        } finally {
+            finder.shutdown();
+        }
+    }
+
+    private static void check(final Graph<DirectedGraphNode> graph,
+                              final DirectedGraphDoubleWeightFunction f,
+                              final Random rnd) {
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+        final ConcurrentBidirectionalDijkstraPathFinder finder =
+                new ConcurrentBidirectionalDijkstraPathFinder(
+                        CompressedDirectedGraph.freeze(graph, f));
+
+        try {
+            for (int i = 0; i < 200; ++i) {
+                final DirectedGraphNode source =
+                        graph.get(rnd.nextInt(graph.size()));
+                final DirectedGraphNode target =
+                        graph.get(rnd.nextInt(graph.size()));
+                final Path<DirectedGraphNode> expected =
+                        reference.search(source, target);
+                final Path<DirectedGraphNode> path =
+                        finder.search(source, target);
+
+                if (expected.isEmpty()) {
+                    assertTrue(path.isEmpty());
+                    continue;
+                }
+
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+                assertEquals(f.getPathWeight(expected),
+                             f.getPathWeight(path),
+                             e);
+            }
+        } finally {
+            finder.shutdown();
+        }
+    }
+}
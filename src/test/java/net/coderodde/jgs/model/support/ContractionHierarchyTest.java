@@ -0,0 +1,103 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ContractionHierarchyTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("ContractionHierarchyTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testShortcutsAreUnpacked() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphDoubleWeightFunction f =
+                new DirectedGraphDoubleWeightFunction();
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[6];
+
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new DirectedGraphNode();
+            graph.addNode(nodes[i]);
+        }
+
+        // A chain 0 -> 1 -> ... -> 5 and a longer direct arc 0 -> 5.
+        for (int i = 0; i < nodes.length - 1; ++i) {
+            nodes[i].connectTo(nodes[i + 1]);
+            f.put(nodes[i], nodes[i + 1], 1.0);
+        }
+
+        nodes[0].connectTo(nodes[5]);
+        f.put(nodes[0], nodes[5], 10.0);
+
+        final ContractionHierarchy ch = ContractionHierarchy.build(graph, f);
+
+        assertEquals(6, ch.size());
+        assertTrue(ch.getShortcutCount() > 0);
+        assertEquals(-1, ch.getIndex(new DirectedGraphNode()));
+
+        final ContractionHierarchiesPathFinder finder =
+                new ContractionHierarchiesPathFinder(ch);
+        final Path<DirectedGraphNode> path = finder.search(nodes[0], nodes[5]);
+
+        assertEquals(6, path.size());
+
+        for (int i = 0; i < nodes.length; ++i) {
+            assertEquals(nodes[i], path.get(i));
+        }
+
+        assertEquals(1, finder.search(nodes[3], nodes[3]).size());
+        assertTrue(finder.search(nodes[5], nodes[0]).isEmpty());
+    }
+
+    @Test
+    public void testAgreesWithDijkstra() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates<DirectedGraphNode>> data =
+                Utilities.createRoadLikeDirectedGraphWithCoordinates(
+                        40, 50, 0.9, 1.2, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final ContractionHierarchy ch = ContractionHierarchy.build(graph, f);
+
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+        final ContractionHierarchiesPathFinder finder =
+                new ContractionHierarchiesPathFinder(ch);
+
+        for (int i = 0; i < 200; ++i) {
+            final DirectedGraphNode source = graph.get(rnd.nextInt(2000));
+            final DirectedGraphNode target = graph.get(rnd.nextInt(2000));
+
+            final Path<DirectedGraphNode> path =
+                    reference.search(source, target);
+            final Path<DirectedGraphNode> path2 =
+                    finder.search(source, target);
+
+            assertEquals(path.isEmpty(), path2.isEmpty());
+
+            if (!path.isEmpty()) {
+                assertEquals(f.getPathWeight(path),
+                             f.getPathWeight(path2),
+                             e);
+                assertEquals(source, path2.get(0));
+                assertEquals(target, path2.get(path2.size() - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class DeltaSteppingShortestPathsTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("DeltaSteppingShortestPathsTest.java, seed: " +
+                           seed);
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnRandomGraph() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        20000, 100000, 1000.0, 1000.0, 1.1, rnd);
+
+        check(data.first,
+              data.second,
+              data.first.get(rnd.nextInt(data.first.size())),
+              new double[]{ 10.0, 200.0, 5000.0 });
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnRoadGraph() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates<DirectedGraphNode>> data =
+                Utilities.createRoadLikeDirectedGraphWithCoordinates(
+                        60, 60, 0.8, 1.2, rnd);
+
+        check(data.first,
+              data.second,
+              data.first.get(rnd.nextInt(data.first.size())),
+              new double[]{ 0.5, 3.0, 1000.0 });
+    }
+
+    @Test
+    public void testIntegerWeights() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[4];
+
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new DirectedGraphNode();
+            graph.addNode(nodes[i]);
+        }
+
+        nodes[0].connectTo(nodes[1]);
+        nodes[1].connectTo(nodes[2]);
+        nodes[0].connectTo(nodes[2]);
+        f.put(nodes[0], nodes[1], 1);
+        f.put(nodes[1], nodes[2], 2);
+        f.put(nodes[0], nodes[2], 5);
+
+        final CompressedDirectedGraph cg =
+                CompressedDirectedGraph.freeze(graph, f);
+        final DeltaSteppingShortestPaths finder =
+                new DeltaSteppingShortestPaths(cg, 2.0, 2);
+
+        try {
+            final double[] distances = finder.computeDistances(nodes[0]);
+
+            assertEquals(0.0, distances[cg.getIndex(nodes[0])], 0.0);
+            assertEquals(1.0, distances[cg.getIndex(nodes[1])], 0.0);
+            assertEquals(3.0, distances[cg.getIndex(nodes[2])], 0.0);
+            assertEquals(Double.POSITIVE_INFINITY,
+                         distances[cg.getIndex(nodes[3])],
+                         0.0);
+        } finally {
+            finder.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveDeltaThrows() {
+        new DeltaSteppingShortestPaths(createSingletonGraph(), 0.0, 1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSourceOutsideGraphThrows() {
+        new DeltaSteppingShortestPaths(createSingletonGraph(), 1.0, 1)
+                .computeDistances(new DirectedGraphNode());
+    }
+
+    private static void check(final Graph<DirectedGraphNode> graph,
+                              final DirectedGraphDoubleWeightFunction f,
+                              final DirectedGraphNode source,
+                              final double[] deltas) {
+        final CompressedDirectedGraph cg =
+                CompressedDirectedGraph.freeze(graph, f);
+        final ShortestPathTree<DirectedGraphNode, Double> tree =
+                new DoubleDijkstraPathFinder<>(f)
+                        .computeShortestPathTree(source);
+
+        for (final double delta : deltas) {
+            for (final int threads : new int[]{ 1, 4 }) {
+                final DeltaSteppingShortestPaths finder =
+                        new DeltaSteppingShortestPaths(cg, delta, threads);
+
+                try {
+                    // Run twice to check that the state is reset.
+                    for (int run = 0; run < 2; ++run) {
+                        final double[] distances =
+                                finder.computeDistances(source);
+
+                        for (int i = 0; i < graph.size(); ++i) {
+                            final DirectedGraphNode node = graph.get(i);
+                            final Double expected = tree.getDistance(node);
+
+                            assertEquals(expected == null ?
+                                         Double.POSITIVE_INFINITY :
+                                         expected,
+                                         distances[cg.getIndex(node)],
+                                         e);
+                        }
+                    }
+                } finally {
+                    finder.shutdown();
+                }
+            }
+        }
+    }
+
+    private static CompressedDirectedGraph createSingletonGraph() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        graph.addNode(new DirectedGraphNode());
+        return CompressedDirectedGraph.freeze(
+                graph, new DirectedGraphDoubleWeightFunction());
+    }
+}
@@ -1,7 +1,10 @@
 package net.coderodde.jgs.model.support;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import net.coderodde.jgs.model.ArcVisitor;
 import net.coderodde.jgs.model.Graph;
 import net.coderodde.jgs.model.Path;
 import static org.junit.Assert.*;
@@ -92,4 +95,48 @@ public class DirectedGraphDoubleWeightFunctionTest {
         
         f.getPathWeight(new Path<>(list));
     }
+
+    @Test
+    public void testForEachChildAndParent() {
+        a.connectTo(b);
+        a.connectTo(c);
+        b.connectTo(c);
+        f.put(a, b, 1.5);
+        f.put(a, c, 2.5);
+        f.put(b, c, 4.0);
+
+        final Map<DirectedGraphNode, Double> visited = new HashMap<>();
+        final ArcVisitor<DirectedGraphNode, Double> visitor =
+                new ArcVisitor<DirectedGraphNode, Double>() {
+            @Override
+            public void visit(final DirectedGraphNode neighbor,
+                              final Double weight) {
+                visited.put(neighbor, weight);
+            }
+        };
+
+        a.forEachChild(f, visitor);
+        assertEquals(2, visited.size());
+        assertEquals(1.5, visited.get(b), e);
+        assertEquals(2.5, visited.get(c), e);
+
+        visited.clear();
+        c.forEachParent(f, visitor);
+        assertEquals(2, visited.size());
+        assertEquals(2.5, visited.get(a), e);
+        assertEquals(4.0, visited.get(b), e);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testForEachChildThrowsOnMissingWeight() {
+        a.connectTo(b);
+        a.connectTo(c);
+        f.put(a, b, 1.5);
+
+        a.forEachChild(f, new ArcVisitor<DirectedGraphNode, Double>() {
+            @Override
+            public void visit(final DirectedGraphNode neighbor,
+                              final Double weight) {}
+        });
+    }
 }
@@ -0,0 +1,170 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class DistanceMatrixFinderTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("DistanceMatrixFinderTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testAgreesWithDijkstra() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates<DirectedGraphNode>> data =
+                Utilities.createRoadLikeDirectedGraphWithCoordinates(
+                        30, 40, 0.8, 1.2, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final List<DirectedGraphNode> sources = new ArrayList<>();
+        final List<DirectedGraphNode> targets = new ArrayList<>();
+
+        for (int i = 0; i < 10; ++i) {
+            sources.add(graph.get(rnd.nextInt(graph.size())));
+        }
+
+        for (int i = 0; i < 30; ++i) {
+            targets.add(graph.get(rnd.nextInt(graph.size())));
+        }
+
+        // Duplicates and a source among the targets.
+        targets.add(targets.get(0));
+        targets.add(sources.get(0));
+
+        final DistanceMatrixFinder[] finders = {
+            new CompressedDijkstraDistanceMatrixFinder(
+                    CompressedDirectedGraph.freeze(graph, f)),
+            new ContractionHierarchiesDistanceMatrixFinder(
+                    ContractionHierarchy.build(graph, f))
+        };
+
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+
+        for (final DistanceMatrixFinder finder : finders) {
+            final DistanceMatrix matrix = finder.compute(sources, targets);
+
+            assertEquals(sources.size(), matrix.getSourceCount());
+            assertEquals(targets.size(), matrix.getTargetCount());
+
+            for (int i = 0; i < sources.size(); ++i) {
+                assertEquals(sources.get(i), matrix.getSource(i));
+
+                for (int j = 0; j < targets.size(); ++j) {
+                    assertEquals(targets.get(j), matrix.getTarget(j));
+
+                    final Path<DirectedGraphNode> path =
+                            reference.search(sources.get(i), targets.get(j));
+
+                    if (path.isEmpty()) {
+                        assertFalse(matrix.isReachable(i, j));
+                        assertEquals(Double.POSITIVE_INFINITY,
+                                     matrix.get(i, j),
+                                     e);
+                    } else {
+                        assertTrue(matrix.isReachable(i, j));
+                        assertEquals(f.getPathWeight(path),
+                                     matrix.get(i, j),
+                                     e);
+                    }
+                }
+            }
+
+            assertEquals(0.0, matrix.get(0, targets.size() - 1), e);
+
+            // The one-to-many query returns the first row.
+            final DistanceMatrix row =
+                    finder.computeOneToMany(sources.get(0), targets);
+
+            assertEquals(1, row.getSourceCount());
+
+            for (int j = 0; j < targets.size(); ++j) {
+                assertEquals(matrix.get(0, j), row.get(0, j), e);
+            }
+
+            // Empty lists give an empty matrix.
+            final List<DirectedGraphNode> empty =
+                    Collections.<DirectedGraphNode>emptyList();
+
+            assertEquals(0, finder.compute(sources, empty).getTargetCount());
+            assertEquals(0, finder.compute(empty, targets).getSourceCount());
+        }
+    }
+
+    @Test
+    public void testSmallGraph() {
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[2];
+        final DistanceMatrixFinder finder = createSmallFinder(nodes);
+        final DistanceMatrix matrix = finder.computeOneToMany(
+                nodes[0], Collections.singletonList(nodes[1]));
+
+        assertEquals(2.0, matrix.get(0, 0), e);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testColumnOutOfRangeThrows() {
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[2];
+        final DistanceMatrixFinder finder = createSmallFinder(nodes);
+
+        finder.computeOneToMany(nodes[0], Collections.singletonList(nodes[1]))
+              .get(0, 1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullSourceListThrows() {
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[2];
+        final DistanceMatrixFinder finder = createSmallFinder(nodes);
+
+        finder.compute(null, Collections.singletonList(nodes[1]));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNodeOutsideGraphThrows() {
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[2];
+        final DistanceMatrixFinder finder = createSmallFinder(nodes);
+
+        finder.computeOneToMany(
+                nodes[0], Collections.singletonList(new DirectedGraphNode()));
+    }
+
+    /**
+     * Creates an arc of weight 2 between two new nodes stored in
+     * <code>nodes</code> and returns a finder over the resulting graph.
+     */
+    private static DistanceMatrixFinder
+        createSmallFinder(final DirectedGraphNode[] nodes) {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphDoubleWeightFunction f =
+                new DirectedGraphDoubleWeightFunction();
+
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new DirectedGraphNode();
+            graph.addNode(nodes[i]);
+        }
+
+        nodes[0].connectTo(nodes[1]);
+        f.put(nodes[0], nodes[1], 2.0);
+
+        return new ContractionHierarchiesDistanceMatrixFinder(
+                ContractionHierarchy.build(graph, f));
+    }
+}
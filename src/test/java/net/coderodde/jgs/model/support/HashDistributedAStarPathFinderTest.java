@@ -0,0 +1,175 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class HashDistributedAStarPathFinderTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("HashDistributedAStarPathFinderTest.java, " +
+                           "seed: " + seed);
+    }
+
+    @Test
+    public void testAgreesWithAStarOnPuzzles() {
+        final Random rnd = new Random(seed);
+        final List<PuzzleLinearConflictHeuristicFunction> heuristics =
+                new ArrayList<>();
+
+        for (int i = 0; i < 3; ++i) {
+            heuristics.add(new PuzzleLinearConflictHeuristicFunction());
+        }
+
+        final HashDistributedAStarPathFinder<PuzzleNode,
+                                             Integer,
+                                             IntegerWeight> finder =
+                new HashDistributedAStarPathFinder<>(
+                        new UnitWeightFunction<PuzzleNode>(),
+                        heuristics,
+                        new IntegerWeight());
+        final AStarPathFinder<PuzzleNode, Integer, IntegerWeight> reference =
+                new AStarPathFinder<>(new UnitWeightFunction<PuzzleNode>(),
+                                      new PuzzleManhattanHeuristicFunction(),
+                                      new IntegerWeight());
+
+        try {
+            for (int i = 0; i < 10; ++i) {
+                final PuzzleNode source =
+                        Utilities.stepAway(new PuzzleNode(4), 40, rnd);
+                final PuzzleNode target = Utilities.stepAway(source, 40, rnd);
+                final Path<PuzzleNode> path = finder.search(source, target);
+
+                assertEquals(reference.search(source, target).size(),
+                             path.size());
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+            }
+        } finally {
+            finder.shutdown();
+        }
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnRealWeights() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        1000, 4000, 1000.0, 1000.0, 1.1, rnd);
+        final Graph<DirectedGraphNode> g = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final List<EuclidianDoubleHeuristicFunction<DirectedGraphNode>>
+                heuristics = new ArrayList<>();
+
+        for (int i = 0; i < 4; ++i) {
+            heuristics.add(
+                    new EuclidianDoubleHeuristicFunction<>(data.third));
+        }
+
+        final HashDistributedAStarPathFinder<DirectedGraphNode,
+                                             Double,
+                                             DoubleWeight> finder =
+                new HashDistributedAStarPathFinder<>(f,
+                                                     heuristics,
+                                                     new DoubleWeight());
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+
+        try {
+            for (int i = 0; i < 50; ++i) {
+                final DirectedGraphNode source = g.get(rnd.nextInt(g.size()));
+                final DirectedGraphNode target = g.get(rnd.nextInt(g.size()));
+                final Path<DirectedGraphNode> expected =
+                        reference.search(source, target);
+                final Path<DirectedGraphNode> path = finder.search(source,
+                                                                   target);
+
+                assertEquals(expected.isEmpty(), path.isEmpty());
+
+                if (!expected.isEmpty()) {
+                    assertEquals(f.getPathWeight(expected),
+                                 f.getPathWeight(path),
+                                 e);
+                }
+            }
+        } finally {
+            finder.shutdown();
+        }
+    }
+
+    @Test
+    public void testTrivialAndUnreachable() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+
+        final HashDistributedAStarPathFinder<DirectedGraphNode,
+                                             Integer,
+                                             IntegerWeight> finder =
+                new HashDistributedAStarPathFinder<>(
+                        new UnitWeightFunction<DirectedGraphNode>(),
+                        Arrays.asList(new ZeroHeuristic(),
+                                      new ZeroHeuristic()),
+                        new IntegerWeight());
+
+        try {
+            assertEquals(2, finder.getThreadCount());
+            assertEquals(1, finder.search(a, a).size());
+            assertTrue(finder.search(a, b).isEmpty());
+
+            a.connectTo(b);
+            assertEquals(2, finder.search(a, b).size());
+        } finally {
+            finder.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNoHeuristics() {
+        new HashDistributedAStarPathFinder<>(
+                new UnitWeightFunction<DirectedGraphNode>(),
+                Collections.<ZeroHeuristic>emptyList(),
+                new IntegerWeight());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnSharedHeuristic() {
+        final ZeroHeuristic hf = new ZeroHeuristic();
+
+        new HashDistributedAStarPathFinder<>(
+                new UnitWeightFunction<DirectedGraphNode>(),
+                Arrays.asList(hf, hf),
+                new IntegerWeight());
+    }
+
+    private static final class ZeroHeuristic
+    extends AbstractHeuristicFunction<DirectedGraphNode, Integer> {
+
+        @Override
+        public Integer evaluate(final DirectedGraphNode tail,
+                                final DirectedGraphNode head) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+import net.coderodde.jgs.model.ArcVisitor;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IDAStarPathFinderTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("IDAStarPathFinderTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testAgreesWithBreadthFirstSearchOnPuzzles() {
+        final Random rnd = new Random(seed);
+        final IDAStarPathFinder<PuzzleNode, Integer, IntegerWeight> finder =
+                new IDAStarPathFinder<>(new UnitWeightFunction<PuzzleNode>(),
+                                        new PuzzleManhattanHeuristicFunction(),
+                                        new IntegerWeight());
+        final BreadthFirstSearchPathFinder<PuzzleNode> reference =
+                new BreadthFirstSearchPathFinder<>();
+
+        for (int i = 0; i < 10; ++i) {
+            final PuzzleNode source = new PuzzleNode(3);
+            final PuzzleNode target = Utilities.stepAway(source, 20, rnd);
+            final Path<PuzzleNode> expected = reference.search(source,
+                                                               target);
+            final Path<PuzzleNode> path = finder.search(source, target);
+
+            assertEquals(expected.size(), path.size());
+            assertEquals(source, path.get(0));
+            assertEquals(target, path.get(path.size() - 1));
+            assertTrue(finder.getIterationCount() > 0);
+        }
+    }
+
+    @Test
+    public void testInPlaceSearchAgreesWithAStar() {
+        final Random rnd = new Random(seed);
+        final IDAStarPathFinder<PuzzleNode, Integer, IntegerWeight> finder =
+                new IDAStarPathFinder<>(
+                        new UnitWeightFunction<PuzzleNode>(),
+                        new PuzzleLinearConflictHeuristicFunction(),
+                        new IntegerWeight());
+        final AStarPathFinder<PuzzleNode, Integer, IntegerWeight> reference =
+                new AStarPathFinder<>(new UnitWeightFunction<PuzzleNode>(),
+                                      new PuzzleManhattanHeuristicFunction(),
+                                      new IntegerWeight());
+
+        for (int i = 0; i < 10; ++i) {
+            final PuzzleNode source = Utilities.stepAway(new PuzzleNode(4),
+                                                         40,
+                                                         rnd);
+            final PuzzleNode target = Utilities.stepAway(source, 40, rnd);
+            final PuzzleNode copy = new PuzzleNode(source);
+            final Path<PuzzleNode> path = finder.search(source, target);
+
+            assertEquals(reference.search(source, target).size(),
+                         path.size());
+            assertEquals(source, path.get(0));
+            assertEquals(target, path.get(path.size() - 1));
+            assertEquals(copy, source);
+        }
+    }
+
+    @Test
+    public void testAgreesWithDijkstraOnRealWeights() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        20, 50, 1000.0, 1000.0, 1.1, rnd);
+        final Graph<DirectedGraphNode> g = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final IDAStarPathFinder<DirectedGraphNode, Double, DoubleWeight>
+                finder = new IDAStarPathFinder<>(
+                        f,
+                        new EuclidianDoubleHeuristicFunction<>(data.third),
+                        new DoubleWeight());
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+
+        for (int i = 0; i < 20; ++i) {
+            final DirectedGraphNode source = g.get(rnd.nextInt(g.size()));
+            final DirectedGraphNode target = g.get(rnd.nextInt(g.size()));
+            final Path<DirectedGraphNode> expected =
+                    reference.search(source, target);
+            final Path<DirectedGraphNode> path = finder.search(source,
+                                                               target);
+
+            assertEquals(expected.isEmpty(), path.isEmpty());
+
+            if (!expected.isEmpty()) {
+                assertEquals(f.getPathWeight(expected),
+                             f.getPathWeight(path),
+                             e);
+            }
+        }
+    }
+
+    @Test
+    public void testTrivialAndUnreachable() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+
+        final IDAStarPathFinder<DirectedGraphNode, Integer, IntegerWeight>
+                finder = new IDAStarPathFinder<>(
+                        new UnitWeightFunction<DirectedGraphNode>(),
+                        new ZeroHeuristic(),
+                        new IntegerWeight());
+
+        assertEquals(1, finder.search(a, a).size());
+        assertTrue(finder.search(a, b).isEmpty());
+
+        a.connectTo(b);
+        assertEquals(2, finder.search(a, b).size());
+    }
+
+    @Test(timeout = 10000)
+    public void testInPlaceUnreachable() {
+        final PuzzleNode source = new PuzzleNode(new byte[][]{ { 1, 2 },
+                                                               { 3, 0 } });
+        final PuzzleNode target = new PuzzleNode(new byte[][]{ { 2, 1 },
+                                                               { 3, 0 } });
+        final IDAStarPathFinder<PuzzleNode, Integer, IntegerWeight> finder =
+                new IDAStarPathFinder<>(new UnitWeightFunction<PuzzleNode>(),
+                                        new PuzzleManhattanHeuristicFunction(),
+                                        new IntegerWeight());
+
+        assertTrue(finder.search(source, target).isEmpty());
+        assertEquals(1, finder.search(source, source).size());
+    }
+
+    @Test
+    public void testInPlaceSearchCopiesOnlyTheResult() {
+        final Random rnd = new Random(seed);
+        final IDAStarPathFinder<PuzzleNode, Integer, IntegerWeight> finder =
+                new IDAStarPathFinder<>(new UnitWeightFunction<PuzzleNode>(),
+                                        new PuzzleManhattanHeuristicFunction(),
+                                        new IntegerWeight());
+
+        for (int i = 0; i < 10; ++i) {
+            final int[] copies = new int[1];
+            final PuzzleNode source = new CountingPuzzleNode(
+                    Utilities.stepAway(new PuzzleNode(3), 30, rnd),
+                    copies);
+            final PuzzleNode target = Utilities.stepAway(source, 30, rnd);
+            final Path<PuzzleNode> path = finder.search(source, target);
+
+            // The searched node, the scratch node and the path.
+            assertEquals(2 + path.size() - 1, copies[0]);
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullWeightFunctionThrows() {
+        new IDAStarPathFinder<PuzzleNode, Integer, IntegerWeight>(
+                null,
+                new PuzzleManhattanHeuristicFunction(),
+                new IntegerWeight());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnitWeightFunctionIsReadOnly() {
+        final PuzzleNode node = new PuzzleNode(3);
+        new UnitWeightFunction<PuzzleNode>().put(node, node, 2);
+    }
+
+    @Test
+    public void testUnitWeightFunctionVisitsEveryChild() {
+        final UnitWeightFunction<PuzzleNode> f = new UnitWeightFunction<>();
+        final int[] visits = new int[1];
+        final ArcVisitor<PuzzleNode, Integer> visitor =
+                new ArcVisitor<PuzzleNode, Integer>() {
+
+            @Override
+            public void visit(final PuzzleNode child, final Integer weight) {
+                assertEquals(Integer.valueOf(1), weight);
+                ++visits[0];
+            }
+        };
+
+        final PuzzleNode corner = new PuzzleNode(3);
+        f.forEachChild(corner, visitor);
+        assertEquals(2, visits[0]);
+
+        f.forEachChild(corner.moveUp().moveLeft(), visitor);
+        assertEquals(6, visits[0]);
+    }
+
+    private static final class CountingPuzzleNode extends PuzzleNode {
+
+        private final int[] copies;
+
+        CountingPuzzleNode(final PuzzleNode node, final int[] copies) {
+            super(node);
+            this.copies = copies;
+        }
+
+        @Override
+        public PuzzleNode copy() {
+            ++copies[0];
+            return new CountingPuzzleNode(this, copies);
+        }
+    }
+
+    private static final class ZeroHeuristic
+    extends AbstractHeuristicFunction<DirectedGraphNode, Integer> {
+
+        @Override
+        public Integer evaluate(final DirectedGraphNode tail,
+                                final DirectedGraphNode head) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.model.AbstractHeuristicFunction;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IntegerAStarPathFinderTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("IntegerAStarPathFinderTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testAgreesWithDijkstraAndAStar() {
+        final Random rnd = new Random(seed);
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+        final ManhattanHeuristic hf = new ManhattanHeuristic(300, rnd);
+
+        for (int i = 0; i < 300; ++i) {
+            graph.addNode(new DirectedGraphNode());
+        }
+
+        for (int i = 0; i < 1000; ++i) {
+            final DirectedGraphNode tail = graph.get(rnd.nextInt(300));
+            final DirectedGraphNode head = graph.get(rnd.nextInt(300));
+
+            tail.connectTo(head);
+            f.put(tail, head, hf.evaluate(tail, head) + rnd.nextInt(20));
+        }
+
+        final IntegerAStarPathFinder<DirectedGraphNode> finder =
+                new IntegerAStarPathFinder<>(f, hf);
+        final AStarPathFinder<DirectedGraphNode, Integer, IntegerWeight>
+                astar = new AStarPathFinder<>(f, hf, new IntegerWeight());
+        final DijkstraPathFinder<DirectedGraphNode, Integer, IntegerWeight>
+                dijkstra = new DijkstraPathFinder<>(f, new IntegerWeight());
+
+        for (int i = 0; i < 100; ++i) {
+            final DirectedGraphNode source = graph.get(rnd.nextInt(300));
+            final DirectedGraphNode target = graph.get(rnd.nextInt(300));
+            final Path<DirectedGraphNode> expected =
+                    dijkstra.search(source, target);
+            final Path<DirectedGraphNode> path = finder.search(source,
+                                                               target);
+
+            assertEquals(expected.isEmpty(), path.isEmpty());
+            assertEquals(expected.isEmpty(),
+                         astar.search(source, target).isEmpty());
+
+            if (!expected.isEmpty()) {
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+                assertEquals(f.getPathWeight(expected),
+                             f.getPathWeight(path));
+                assertEquals(f.getPathWeight(astar.search(source, target)),
+                             f.getPathWeight(path));
+            }
+        }
+    }
+
+    @Test
+    public void testSourceIsTarget() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        a.connectTo(b);
+        b.connectTo(a);
+
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+
+        f.put(a, b, 1);
+        f.put(b, a, 1);
+
+        final Path<DirectedGraphNode> path =
+                new IntegerAStarPathFinder<>(f, new ZeroHeuristic())
+                        .search(a, a);
+
+        assertEquals(1, path.size());
+        assertEquals(a, path.get(0));
+    }
+
+    @Test
+    public void testUnreachableTarget() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+        final DirectedGraphNode c = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+        a.connectTo(b);
+        c.connectTo(a);
+
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+
+        f.put(a, b, 1);
+        f.put(c, a, 1);
+
+        final IntegerAStarPathFinder<DirectedGraphNode> finder =
+                new IntegerAStarPathFinder<>(f, new ZeroHeuristic());
+
+        assertTrue(finder.search(a, c).isEmpty());
+        assertTrue(finder.search(b, a).isEmpty());
+        assertEquals(3, finder.search(c, b).size());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode s = new DirectedGraphNode();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+        final DirectedGraphNode t = new DirectedGraphNode();
+
+        graph.addNode(s);
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(t);
+
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+
+        // 'a' is discovered first at distance 10 and improved to 2 via 'b'.
+        s.connectTo(a);
+        s.connectTo(b);
+        b.connectTo(a);
+        a.connectTo(t);
+        f.put(s, a, 10);
+        f.put(s, b, 1);
+        f.put(b, a, 1);
+        f.put(a, t, 1);
+
+        final ZeroHeuristic hf = new ZeroHeuristic();
+        final Path<DirectedGraphNode> path =
+                new IntegerAStarPathFinder<>(f, hf).search(s, t);
+
+        assertEquals(4, path.size());
+        assertEquals(s, path.get(0));
+        assertEquals(b, path.get(1));
+        assertEquals(a, path.get(2));
+        assertEquals(t, path.get(3));
+        assertEquals(Integer.valueOf(3), f.getPathWeight(path));
+
+        // Each node is estimated once, even though 'a' is improved.
+        assertEquals(4, hf.evaluations);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullHeuristicFunctionThrows() {
+        new IntegerAStarPathFinder<>(new DirectedGraphIntegerWeightFunction(),
+                                     null);
+    }
+
+    /**
+     * Places the nodes at random integer points and estimates the Manhattan
+     * distance between them. Every arc weighs at least the distance between
+     * its end nodes, so the heuristic is consistent.
+     */
+    private static final class ManhattanHeuristic
+    extends AbstractHeuristicFunction<DirectedGraphNode, Integer> {
+
+        private final int[] xs;
+        private final int[] ys;
+
+        ManhattanHeuristic(final int size, final Random rnd) {
+            this.xs = new int[size];
+            this.ys = new int[size];
+
+            for (int i = 0; i < size; ++i) {
+                xs[i] = rnd.nextInt(100);
+                ys[i] = rnd.nextInt(100);
+            }
+        }
+
+        @Override
+        public Integer evaluate(final DirectedGraphNode tail,
+                                final DirectedGraphNode head) {
+            return Math.abs(xs[tail.getId()] - xs[head.getId()]) +
+                   Math.abs(ys[tail.getId()] - ys[head.getId()]);
+        }
+    }
+
+    private static final class ZeroHeuristic
+    extends AbstractHeuristicFunction<DirectedGraphNode, Integer> {
+
+        int evaluations;
+
+        @Override
+        public Integer evaluate(final DirectedGraphNode tail,
+                                final DirectedGraphNode head) {
+            ++evaluations;
+            return 0;
+        }
+    }
+}
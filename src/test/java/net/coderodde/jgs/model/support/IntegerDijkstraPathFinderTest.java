@@ -0,0 +1,135 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IntegerDijkstraPathFinderTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("IntegerDijkstraPathFinderTest.java, seed: " +
+                           seed);
+    }
+
+    @Test
+    public void testAgreesWithDijkstra() {
+        final Random rnd = new Random(seed);
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+
+        for (int i = 0; i < 300; ++i) {
+            graph.addNode(new DirectedGraphNode());
+        }
+
+        for (int i = 0; i < 1000; ++i) {
+            final DirectedGraphNode tail = graph.get(rnd.nextInt(300));
+            final DirectedGraphNode head = graph.get(rnd.nextInt(300));
+
+            tail.connectTo(head);
+            f.put(tail, head, rnd.nextInt(100));
+        }
+
+        final IntegerDijkstraPathFinder<DirectedGraphNode> finder =
+                new IntegerDijkstraPathFinder<>(f);
+        final DijkstraPathFinder<DirectedGraphNode, Integer, IntegerWeight>
+                reference = new DijkstraPathFinder<>(f, new IntegerWeight());
+
+        for (int i = 0; i < 100; ++i) {
+            final DirectedGraphNode source = graph.get(rnd.nextInt(300));
+            final DirectedGraphNode target = graph.get(rnd.nextInt(300));
+            final Path<DirectedGraphNode> expected =
+                    reference.search(source, target);
+            final Path<DirectedGraphNode> path = finder.search(source,
+                                                               target);
+
+            assertEquals(expected.isEmpty(), path.isEmpty());
+
+            if (!expected.isEmpty()) {
+                assertEquals(source, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+                assertEquals(f.getPathWeight(expected),
+                             f.getPathWeight(path));
+            }
+        }
+    }
+
+    @Test
+    public void testSourceIsTarget() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+
+        graph.addNode(a);
+
+        final Path<DirectedGraphNode> path =
+                new IntegerDijkstraPathFinder<>(
+                        new DirectedGraphIntegerWeightFunction())
+                        .search(a, a);
+
+        assertEquals(1, path.size());
+        assertEquals(a, path.get(0));
+    }
+
+    @Test
+    public void testUnreachableTarget() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        b.connectTo(a);
+
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+
+        f.put(b, a, 1);
+
+        final IntegerDijkstraPathFinder<DirectedGraphNode> finder =
+                new IntegerDijkstraPathFinder<>(f);
+
+        assertTrue(finder.search(a, b).isEmpty());
+        assertEquals(2, finder.search(b, a).size());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode s = new DirectedGraphNode();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+        final DirectedGraphNode t = new DirectedGraphNode();
+
+        graph.addNode(s);
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(t);
+
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+
+        // 'a' is discovered first at distance 10 and improved to 2 via 'b'.
+        s.connectTo(a);
+        s.connectTo(b);
+        b.connectTo(a);
+        a.connectTo(t);
+        f.put(s, a, 10);
+        f.put(s, b, 1);
+        f.put(b, a, 1);
+        f.put(a, t, 1);
+
+        final Path<DirectedGraphNode> path =
+                new IntegerDijkstraPathFinder<>(f).search(s, t);
+
+        assertEquals(4, path.size());
+        assertEquals(b, path.get(1));
+        assertEquals(a, path.get(2));
+        assertEquals(Integer.valueOf(3), f.getPathWeight(path));
+    }
+}
@@ -0,0 +1,163 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class LandmarkHeuristicFunctionTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("LandmarkHeuristicFunctionTest.java, seed: " +
+                           seed);
+    }
+
+    @Test
+    public void testSmallGraph() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphDoubleWeightFunction f =
+                new DirectedGraphDoubleWeightFunction();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+        final DirectedGraphNode c = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+
+        a.connectTo(b);
+        b.connectTo(c);
+        f.put(a, b, 2.0);
+        f.put(b, c, 3.0);
+
+        final LandmarkHeuristicFunction<DirectedGraphNode> hf =
+                new LandmarkHeuristicFunction<>(graph, f, 10);
+
+        // Every node is a landmark, so the bounds are exact.
+        assertEquals(3, hf.getLandmarkCount());
+        assertEquals(5.0, hf.evaluate(a, c), e);
+        assertEquals(3.0, hf.evaluate(b, c), e);
+        assertEquals(0.0, hf.evaluate(b, b), e);
+        assertEquals(Double.POSITIVE_INFINITY, hf.evaluate(c, a), e);
+
+        // Nodes unknown to the tables get the trivial bound.
+        final DirectedGraphNode d = new DirectedGraphNode();
+        graph.addNode(d);
+        assertEquals(0.0, hf.evaluate(a, d), e);
+    }
+
+    @Test
+    public void testBoundsAreConsistent() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        300, 1200, 1000.0, 1000.0, 1.2, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+
+        for (final LandmarkSelection selection : LandmarkSelection.values()) {
+            final LandmarkHeuristicFunction<DirectedGraphNode> hf =
+                    new LandmarkHeuristicFunction<>(graph,
+                                                    f,
+                                                    8,
+                                                    selection,
+                                                    rnd);
+
+            assertEquals(8, hf.getLandmarkCount());
+
+            for (int i = 0; i < 100; ++i) {
+                final DirectedGraphNode source =
+                        graph.get(rnd.nextInt(graph.size()));
+                final DirectedGraphNode target =
+                        graph.get(rnd.nextInt(graph.size()));
+                final Path<DirectedGraphNode> path =
+                        reference.search(source, target);
+
+                if (!path.isEmpty()) {
+                    assertTrue(hf.evaluate(source, target)
+                               <= f.getPathWeight(path) + e);
+                }
+
+                for (final DirectedGraphNode child : source) {
+                    assertTrue(hf.evaluate(source, target)
+                               <= f.get(source, child) +
+                                  hf.evaluate(child, target) + e);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFindersAgreeWithDijkstra() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        1000, 5000, 1000.0, 1000.0, 1.2, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final LandmarkHeuristicFunction<DirectedGraphNode> hf =
+                new LandmarkHeuristicFunction<>(graph,
+                                                f,
+                                                8,
+                                                LandmarkSelection.AVOID,
+                                                rnd);
+
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+        final AStarPathFinder<DirectedGraphNode, Double, DoubleWeight>
+                finder1 = new AStarPathFinder<>(f, hf, new DoubleWeight());
+        final DoubleAStarPathFinder<DirectedGraphNode> finder2 =
+                new DoubleAStarPathFinder<>(f, hf);
+        final BidirectionalAStarPathFinder<DirectedGraphNode,
+                                           Double,
+                                           DoubleWeight>
+                finder3 = new BidirectionalAStarPathFinder<>(
+                        f, hf, new DoubleWeight());
+
+        for (int i = 0; i < 200; ++i) {
+            final DirectedGraphNode source =
+                    graph.get(rnd.nextInt(graph.size()));
+            final DirectedGraphNode target =
+                    graph.get(rnd.nextInt(graph.size()));
+
+            final Path<DirectedGraphNode> path =
+                    reference.search(source, target);
+            final Path<DirectedGraphNode> path1 =
+                    finder1.search(source, target);
+            final Path<DirectedGraphNode> path2 =
+                    finder2.search(source, target);
+            final Path<DirectedGraphNode> path3 =
+                    finder3.search(source, target);
+
+            assertEquals(path.isEmpty(), path1.isEmpty());
+            assertEquals(path.isEmpty(), path2.isEmpty());
+            assertEquals(path.isEmpty(), path3.isEmpty());
+
+            if (!path.isEmpty()) {
+                final double weight = f.getPathWeight(path);
+
+                assertEquals(weight, f.getPathWeight(path1), e);
+                assertEquals(weight, f.getPathWeight(path2), e);
+                assertEquals(weight, f.getPathWeight(path3), e);
+            }
+        }
+    }
+}
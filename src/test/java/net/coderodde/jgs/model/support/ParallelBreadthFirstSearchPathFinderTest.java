@@ -0,0 +1,122 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelBreadthFirstSearchPathFinderTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("ParallelBreadthFirstSearchPathFinderTest.java, " +
+                           "seed: " + seed);
+    }
+
+    @Test
+    public void testAgreesWithBreadthFirstSearch() {
+        final Random rnd = new Random(seed);
+
+        // A sparse graph with long paths and unreachable nodes, and a dense
+        // one with a large middle frontier.
+        check(Utilities.createRandomDirectedUnweightedGraph(5000, 6000, rnd),
+              rnd);
+        check(Utilities.createRandomDirectedUnweightedGraph(20000,
+                                                            200000,
+                                                            rnd),
+              rnd);
+    }
+
+    @Test
+    public void testTrivialPath() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+
+        final ParallelBreadthFirstSearchPathFinder<DirectedGraphNode> finder =
+                new ParallelBreadthFirstSearchPathFinder<>(1);
+
+        assertEquals(1, finder.search(a, a).size());
+        assertTrue(finder.search(a, b).isEmpty());
+
+        a.connectTo(b);
+        assertEquals(2, finder.search(a, b).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroThreadsThrows() {
+        new ParallelBreadthFirstSearchPathFinder<DirectedGraphNode>(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNodesOfDifferentGraphsThrow() {
+        final Graph<DirectedGraphNode> graph1 = new Graph<>();
+        final Graph<DirectedGraphNode> graph2 = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        graph1.addNode(a);
+        graph2.addNode(b);
+
+        new ParallelBreadthFirstSearchPathFinder<DirectedGraphNode>(1)
+                .search(a, b);
+    }
+
+    private static void check(final Graph<DirectedGraphNode> graph,
+                              final Random rnd) {
+        final BreadthFirstSearchPathFinder<DirectedGraphNode> reference =
+                new BreadthFirstSearchPathFinder<>();
+
+        // Always top-down, the defaults, and bottom-up as early as possible.
+        final int[] alphas = { Integer.MAX_VALUE,
+                               ParallelBreadthFirstSearchPathFinder
+                                       .DEFAULT_ALPHA,
+                               1 };
+
+        for (final int alpha : alphas) {
+            for (final int threads : new int[]{ 1, 4 }) {
+                final ParallelBreadthFirstSearchPathFinder<DirectedGraphNode>
+                        finder = new ParallelBreadthFirstSearchPathFinder<>(
+                                threads,
+                                alpha,
+                                ParallelBreadthFirstSearchPathFinder
+                                        .DEFAULT_BETA);
+
+                try {
+                    for (int i = 0; i < 10; ++i) {
+                        final DirectedGraphNode source =
+                                graph.get(rnd.nextInt(graph.size()));
+                        final DirectedGraphNode target =
+                                graph.get(rnd.nextInt(graph.size()));
+                        final Path<DirectedGraphNode> expected =
+                                reference.search(source, target);
+                        final Path<DirectedGraphNode> path =
+                                finder.search(source, target);
+
+                        assertEquals(expected.size(), path.size());
+
+                        if (!path.isEmpty()) {
+                            assertEquals(source, path.get(0));
+                            assertEquals(target, path.get(path.size() - 1));
+
+                            for (int j = 1; j < path.size(); ++j) {
+                                assertTrue(path.get(j - 1)
+                                               .isConnectedTo(path.get(j)));
+                            }
+                        }
+                    }
+                } finally {
+                    finder.shutdown();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PuzzleLinearConflictHeuristicFunctionTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("PuzzleLinearConflictHeuristicFunctionTest.java, " +
+                           "seed: " + seed);
+    }
+
+    @Test
+    public void testCountsConflicts() {
+        final PuzzleNode goal = new PuzzleNode(3);
+        final PuzzleLinearConflictHeuristicFunction hf =
+                new PuzzleLinearConflictHeuristicFunction();
+
+        assertEquals(0, (int) hf.evaluate(goal, goal));
+
+        // 2 and 1 are swapped in their goal row: Manhattan 2, one conflict.
+        assertEquals(4, (int) hf.evaluate(new PuzzleNode(new byte[][]{
+            {2, 1, 3},
+            {4, 5, 6},
+            {7, 8, 0}
+        }), goal));
+
+        // 3, 2, 1 reversed: Manhattan 4, two tiles must leave the row.
+        assertEquals(8, (int) hf.evaluate(new PuzzleNode(new byte[][]{
+            {3, 2, 1},
+            {4, 5, 6},
+            {7, 8, 0}
+        }), goal));
+    }
+
+    @Test
+    public void testDominatesManhattan() {
+        final Random rnd = new Random(seed);
+        final PuzzleNode goal = new PuzzleNode(4);
+        final PuzzleManhattanHeuristicFunction manhattan =
+                new PuzzleManhattanHeuristicFunction();
+        final PuzzleLinearConflictHeuristicFunction hf =
+                new PuzzleLinearConflictHeuristicFunction();
+
+        for (int i = 0; i < 100; ++i) {
+            final PuzzleNode node = Utilities.stepAway(goal, 100, rnd);
+            final int h = hf.evaluate(node, goal);
+            final int m = manhattan.evaluate(node, goal);
+
+            assertTrue(h >= m);
+            assertEquals(0, (h - m) % 2);
+        }
+    }
+
+    @Test
+    public void testHeadModifiedInPlaceIsCachedAnew() {
+        final PuzzleNode start = new PuzzleNode(3);
+        final PuzzleNode goal = new PuzzleNode(3);
+        final PuzzleManhattanHeuristicFunction manhattan =
+                new PuzzleManhattanHeuristicFunction();
+        final PuzzleLinearConflictHeuristicFunction hf =
+                new PuzzleLinearConflictHeuristicFunction();
+
+        assertEquals(0, (int) manhattan.evaluate(start, goal));
+        assertEquals(0, (int) hf.evaluate(start, goal));
+
+        // Slides the tile 6 down: one move away from 'start'.
+        assertTrue(goal.apply(PuzzleNode.UP));
+        assertEquals(1, (int) manhattan.evaluate(start, goal));
+        assertEquals(1, (int) hf.evaluate(start, goal));
+
+        goal.undo(PuzzleNode.UP);
+        assertEquals(0, (int) manhattan.evaluate(start, goal));
+        assertEquals(0, (int) hf.evaluate(start, goal));
+    }
+}
@@ -1,13 +1,26 @@
 package net.coderodde.jgs.model.support;
 
 import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
+import net.coderodde.jgs.model.NodeVisitor;
 import static org.junit.Assert.*;
+import org.junit.BeforeClass;
 import org.junit.Test;
 
 public class PuzzleNodeTest {
 
+    private static final long seed = System.currentTimeMillis();
+    
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("PuzzleNodeTest.java, seed: " + seed);
+    }
+
     @Test
     public void testEquals() {
         PuzzleNode u = new PuzzleNode(new byte[][]{
@@ -406,4 +419,187 @@ public class PuzzleNodeTest {
         assertEquals(3, u.childrenListSize());
         assertEquals(3, u.parentsListSize());
     }
+    
+    @Test
+    public void testRandomMovesMatchMatrix() {
+        final Random rnd = new Random(seed);
+        
+        // Dimension 5 packs a tile across the two words; dimension 11 uses
+        // the word array.
+        for (int n = 2; n <= 11; ++n) {
+            final byte[][] matrix = new byte[n][n];
+            
+            for (int i = 0; i != n * n - 1; ++i) {
+                matrix[i / n][i % n] = (byte)(i + 1);
+            }
+            
+            PuzzleNode u = new PuzzleNode(n);
+            int x = n - 1;
+            int y = n - 1;
+            
+            for (int step = 0; step != 200; ++step) {
+                final int dx;
+                final int dy;
+                final PuzzleNode v;
+                
+                switch (rnd.nextInt(4)) {
+                    case 0:
+                        v = u.moveUp();
+                        dx = 0;
+                        dy = -1;
+                        break;
+                        
+                    case 1:
+                        v = u.moveRight();
+                        dx = 1;
+                        dy = 0;
+                        break;
+                        
+                    case 2:
+                        v = u.moveDown();
+                        dx = 0;
+                        dy = 1;
+                        break;
+                        
+                    default:
+                        v = u.moveLeft();
+                        dx = -1;
+                        dy = 0;
+                }
+                
+                if (v == null) {
+                    continue;
+                }
+                
+                matrix[y][x] = matrix[y + dy][x + dx];
+                matrix[y + dy][x + dx] = 0;
+                x += dx;
+                y += dy;
+                u = v;
+                
+                final PuzzleNode expected = new PuzzleNode(matrix);
+                
+                assertEquals(expected, u);
+                assertEquals(expected.hashCode(), u.hashCode());
+            }
+            
+            for (int yy = 0; yy != n; ++yy) {
+                for (int xx = 0; xx != n; ++xx) {
+                    assertEquals(matrix[yy][xx], u.get(xx, yy));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testMoveAndBackIsEqual() {
+        final PuzzleNode u = new PuzzleNode(5);
+        final PuzzleNode v = u.moveUp().moveLeft().moveDown().moveRight();
+        
+        assertFalse(u.equals(v));
+        assertEquals(u, v.moveLeft().moveUp().moveRight().moveDown());
+        assertEquals(u.hashCode(), 
+                     v.moveLeft().moveUp().moveRight().moveDown().hashCode());
+    }
+    
+    @Test
+    public void testHashesSpread() {
+        final Random rnd = new Random(seed);
+        final Set<PuzzleNode> nodes = new HashSet<>();
+        final Set<Integer> hashes = new HashSet<>();
+        PuzzleNode u = new PuzzleNode(4);
+        
+        for (int i = 0; i != 2000; ++i) {
+            final PuzzleNode[] children = new PuzzleNode[4];
+            int size = 0;
+            
+            for (final PuzzleNode child : u) {
+                children[size++] = child;
+            }
+            
+            u = children[rnd.nextInt(size)];
+            nodes.add(u);
+            hashes.add(u.hashCode());
+        }
+        
+        // The old weighted tile sum took at most a few hundred values.
+        assertTrue(hashes.size() > nodes.size() * 99 / 100);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnTooLargeDimension() {
+        new PuzzleNode(12);
+    }
+    
+    @Test
+    public void testApplyAndUndo() {
+        final PuzzleNode u = new PuzzleNode(new byte[][]{
+            {1, 2, 3},
+            {4, 0, 5},
+            {6, 7, 8}
+        });
+        final PuzzleNode v = u.copy();
+        
+        for (int move = 0; move != v.getMoveCount(); ++move) {
+            assertTrue(v.apply(move));
+            assertFalse(u.equals(v));
+            v.undo(move);
+            assertEquals(u, v);
+            assertEquals(u.hashCode(), v.hashCode());
+        }
+        
+        assertTrue(v.apply(PuzzleNode.UP));
+        assertEquals(u.moveUp(), v);
+        assertFalse(v.apply(PuzzleNode.UP));
+        assertEquals(u.moveUp(), v);
+        assertEquals(PuzzleNode.DOWN, v.inverse(PuzzleNode.UP));
+        assertEquals(PuzzleNode.RIGHT, v.inverse(PuzzleNode.LEFT));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testUndoThrowsOnMoveNotApplied() {
+        new PuzzleNode(3).undo(PuzzleNode.UP);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testApplyThrowsOnBadMove() {
+        new PuzzleNode(3).apply(4);
+    }
+    
+    @Test
+    public void testForEachChildMatchesIterator() {
+        final PuzzleNode u = new PuzzleNode(new byte[][]{
+            {1, 2, 3},
+            {4, 0, 5},
+            {6, 7, 8}
+        });
+        final List<PuzzleNode> expected = new ArrayList<>();
+        final List<PuzzleNode> actual = new ArrayList<>();
+        
+        for (final PuzzleNode child : u) {
+            expected.add(child);
+        }
+        
+        u.forEachChild(new NodeVisitor<PuzzleNode>() {
+
+            @Override
+            public void visit(final PuzzleNode child) {
+                actual.add(child);
+            }
+        });
+        
+        assertEquals(4, expected.size());
+        assertEquals(expected, actual);
+        assertEquals(u.moveUp(), actual.get(0));
+        assertEquals(u.moveLeft(), actual.get(3));
+    }
+    
+    @Test(expected = NoSuchElementException.class)
+    public void testIteratorThrowsWhenExhausted() {
+        final Iterator<PuzzleNode> iterator = new PuzzleNode(2).iterator();
+        
+        iterator.next();
+        iterator.next();
+        iterator.next();
+    }
 }
@@ -0,0 +1,137 @@
+package net.coderodde.jgs.model.support;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PuzzlePatternDatabaseTest {
+
+    private static final long seed = System.currentTimeMillis();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("PuzzlePatternDatabaseTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testFullPatternIsExact() {
+        final Random rnd = new Random(seed);
+        final PuzzleNode goal = new PuzzleNode(3);
+        final PuzzlePatternDatabase database =
+                PuzzlePatternDatabase.build(goal, 1, 2, 3, 4, 5, 6, 7, 8);
+        final PuzzlePatternDatabaseHeuristicFunction additive =
+                PuzzlePatternDatabaseHeuristicFunction.build(goal);
+        final PuzzleLinearConflictHeuristicFunction conflicts =
+                new PuzzleLinearConflictHeuristicFunction();
+        final BreadthFirstSearchPathFinder<PuzzleNode> finder =
+                new BreadthFirstSearchPathFinder<>();
+
+        assertEquals(0, database.get(goal));
+
+        for (int i = 0; i < 20; ++i) {
+            final PuzzleNode node = Utilities.stepAway(goal, 40, rnd);
+            final Path<PuzzleNode> path = finder.search(node, goal);
+
+            assertEquals(path.size() - 1, database.get(node));
+            assertTrue(additive.evaluate(node, goal) <= path.size() - 1);
+            assertTrue(conflicts.evaluate(node, goal) <= path.size() - 1);
+        }
+    }
+
+    @Test
+    public void testSolvesFifteenPuzzle() {
+        final Random rnd = new Random(seed);
+        final PuzzleNode goal = new PuzzleNode(4);
+        final IDAStarPathFinder<PuzzleNode, Integer, IntegerWeight> pdb =
+                new IDAStarPathFinder<>(
+                        new UnitWeightFunction<PuzzleNode>(),
+                        PuzzlePatternDatabaseHeuristicFunction.build(goal),
+                        new IntegerWeight());
+        final IDAStarPathFinder<PuzzleNode, Integer, IntegerWeight> lc =
+                new IDAStarPathFinder<>(
+                        new UnitWeightFunction<PuzzleNode>(),
+                        new PuzzleLinearConflictHeuristicFunction(),
+                        new IntegerWeight());
+
+        for (int i = 0; i < 5; ++i) {
+            final PuzzleNode node = Utilities.stepAway(goal, 60, rnd);
+
+            assertEquals(lc.search(node, goal).size(),
+                         pdb.search(node, goal).size());
+        }
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final PuzzleNode goal = new PuzzleNode(3).moveUp().moveLeft();
+        final PuzzlePatternDatabase database =
+                PuzzlePatternDatabase.build(goal, 2, 4, 6);
+        final File file = folder.newFile("pattern.pdb");
+
+        database.save(file);
+
+        final PuzzlePatternDatabase loaded = PuzzlePatternDatabase.load(file);
+        final Random rnd = new Random(seed);
+
+        assertEquals(goal, loaded.getGoal());
+        assertTrue(Arrays.equals(new int[]{ 2, 4, 6 }, loaded.getTiles()));
+
+        for (int i = 0; i < 100; ++i) {
+            final PuzzleNode node = Utilities.stepAway(goal, 30, rnd);
+            assertEquals(database.get(node), loaded.get(node));
+        }
+
+        final PuzzlePatternDatabase cached =
+                PuzzlePatternDatabase.loadOrBuild(file, goal, 2, 4, 6);
+        final PuzzlePatternDatabase rebuilt =
+                PuzzlePatternDatabase.loadOrBuild(file, goal, 1, 3);
+
+        assertEquals(goal, cached.getGoal());
+        assertTrue(Arrays.equals(new int[]{ 1, 3 }, rebuilt.getTiles()));
+        assertTrue(Arrays.equals(new int[]{ 1, 3 },
+                                 PuzzlePatternDatabase.load(file)
+                                                      .getTiles()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadThrowsOnBadFile() throws IOException {
+        final File file = folder.newFile("bad.pdb");
+
+        try (final FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{ 1, 2, 3, 4, 5, 6, 7, 8 });
+        }
+
+        PuzzlePatternDatabase.load(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnDuplicateTile() {
+        PuzzlePatternDatabase.build(new PuzzleNode(3), 1, 2, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnOverlappingPatterns() {
+        PuzzlePatternDatabaseHeuristicFunction.build(new PuzzleNode(3),
+                                                     new int[]{ 1, 2 },
+                                                     new int[]{ 2, 3 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnOtherGoal() {
+        final PuzzleNode goal = new PuzzleNode(3);
+        PuzzlePatternDatabaseHeuristicFunction.build(goal)
+                                              .evaluate(goal, goal.moveUp());
+    }
+}
@@ -0,0 +1,222 @@
+package net.coderodde.jgs.model.support;
+
+import java.awt.geom.Point2D;
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SearchStateTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("SearchStateTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testGraphNodes() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+        final DirectedGraphNode c = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addNode(c);
+
+        a.connectTo(b);
+        b.connectTo(c);
+
+        final SearchState<DirectedGraphNode, Integer> state =
+                new SearchState<>();
+
+        state.reset(a);
+        state.visit(a, null, 0);
+        state.visit(b, a, 1);
+        state.close(a);
+
+        assertTrue(state.isVisited(a));
+        assertTrue(state.isVisited(b));
+        assertFalse(state.isVisited(c));
+        assertTrue(state.isClosed(a));
+        assertFalse(state.isClosed(b));
+        assertEquals(a, state.getParent(b));
+        assertEquals(Integer.valueOf(1), state.getDistance(b));
+
+        state.visit(c, b, 2);
+
+        final Path<DirectedGraphNode> path = state.constructPath(c);
+
+        assertEquals(3, path.size());
+        assertEquals(a, path.get(0));
+        assertEquals(c, path.get(2));
+
+        // Resetting forgets everything.
+        state.reset(b);
+
+        assertFalse(state.isVisited(a));
+        assertFalse(state.isVisited(b));
+        assertFalse(state.isClosed(a));
+    }
+
+    @Test
+    public void testImplicitNodes() {
+        // Nodes with no ids are kept in the hash maps.
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        final SearchState<DirectedGraphNode, Integer> state =
+                new SearchState<>();
+
+        state.reset(a);
+        state.visit(a, null, 0);
+        state.visit(b, a, 1);
+        state.close(b);
+
+        assertTrue(state.isVisited(b));
+        assertTrue(state.isClosed(b));
+        assertFalse(state.isClosed(a));
+        assertEquals(a, state.getParent(b));
+        assertNull(state.getParent(a));
+        assertEquals(Integer.valueOf(0), state.getDistance(a));
+
+        state.reset(a);
+
+        assertFalse(state.isVisited(a));
+        assertFalse(state.isVisited(b));
+        assertFalse(state.isClosed(b));
+    }
+
+    @Test
+    public void testSourceEqualsTarget() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphDoubleWeightFunction f =
+                new DirectedGraphDoubleWeightFunction();
+        final DirectedGraphNode a = new DirectedGraphNode();
+        final DirectedGraphNode b = new DirectedGraphNode();
+
+        graph.addNode(a);
+        graph.addNode(b);
+
+        // A cycle through a must not end up in the path from a to a.
+        a.connectTo(b);
+        b.connectTo(a);
+        f.put(a, b, 1.0);
+        f.put(b, a, 1.0);
+
+        final GraphNodeCoordinates<DirectedGraphNode> coordinates =
+                new GraphNodeCoordinates<>();
+
+        coordinates.put(a, new Point2D.Double(0.0, 0.0));
+        coordinates.put(b, new Point2D.Double(1.0, 0.0));
+
+        final BidirectionalDijkstraPathFinder<DirectedGraphNode,
+                                              Double,
+                                              DoubleWeight>
+                finder1 = new BidirectionalDijkstraPathFinder<>(
+                        f, new DoubleWeight());
+        final BidirectionalAStarPathFinder<DirectedGraphNode,
+                                           Double,
+                                           DoubleWeight>
+                finder2 = new BidirectionalAStarPathFinder<>(
+                        f,
+                        new EuclidianDoubleHeuristicFunction<>(coordinates),
+                        new DoubleWeight());
+
+        for (int i = 0; i < 2; ++i) {
+            final Path<DirectedGraphNode> path1 = finder1.search(a, a);
+            final Path<DirectedGraphNode> path2 = finder2.search(a, a);
+
+            assertEquals(1, path1.size());
+            assertEquals(a, path1.get(0));
+            assertEquals(1, path2.size());
+            assertEquals(a, path2.get(0));
+        }
+    }
+
+    @Test
+    public void testRepeatedQueries() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        500, 2500, 1000.0, 1000.0, 1.2, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final EuclidianDoubleHeuristicFunction<DirectedGraphNode> hf =
+                new EuclidianDoubleHeuristicFunction<>(data.third);
+
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+        final DijkstraPathFinder<DirectedGraphNode, Double, DoubleWeight>
+                finder1 = new DijkstraPathFinder<>(f, new DoubleWeight());
+        final AStarPathFinder<DirectedGraphNode, Double, DoubleWeight>
+                finder2 = new AStarPathFinder<>(f, hf, new DoubleWeight());
+        final BidirectionalDijkstraPathFinder<DirectedGraphNode,
+                                              Double,
+                                              DoubleWeight>
+                finder3 = new BidirectionalDijkstraPathFinder<>(
+                        f, new DoubleWeight());
+        final BreadthFirstSearchPathFinder<DirectedGraphNode> finder4 =
+                new BreadthFirstSearchPathFinder<>();
+        final BidirectionalAStarPathFinder<DirectedGraphNode,
+                                           Double,
+                                           DoubleWeight>
+                finder5 = new BidirectionalAStarPathFinder<>(
+                        f, hf, new DoubleWeight());
+
+        for (int i = 0; i < 200; ++i) {
+            if (i == 100) {
+                // Removing nodes changes the ids of the others.
+                for (int j = 0; j < 50; ++j) {
+                    graph.removeNode(graph.get(rnd.nextInt(graph.size())));
+                }
+            }
+
+            final DirectedGraphNode source =
+                    graph.get(rnd.nextInt(graph.size()));
+            final DirectedGraphNode target =
+                    graph.get(rnd.nextInt(graph.size()));
+
+            final Path<DirectedGraphNode> path =
+                    reference.search(source, target);
+            final Path<DirectedGraphNode> path1 =
+                    finder1.search(source, target);
+            final Path<DirectedGraphNode> path2 =
+                    finder2.search(source, target);
+            final Path<DirectedGraphNode> path3 =
+                    finder3.search(source, target);
+            final Path<DirectedGraphNode> path4 =
+                    finder4.search(source, target);
+            final Path<DirectedGraphNode> path5 =
+                    finder5.search(source, target);
+
+            assertEquals(path.isEmpty(), path1.isEmpty());
+            assertEquals(path.isEmpty(), path2.isEmpty());
+            assertEquals(path.isEmpty(), path3.isEmpty());
+            assertEquals(path.isEmpty(), path4.isEmpty());
+            assertEquals(path.isEmpty(), path5.isEmpty());
+
+            if (!path.isEmpty()) {
+                final double weight = f.getPathWeight(path);
+
+                assertEquals(weight, f.getPathWeight(path1), e);
+                assertEquals(weight, f.getPathWeight(path2), e);
+                assertEquals(weight, f.getPathWeight(path3), e);
+                assertEquals(weight, f.getPathWeight(path5), e);
+                assertEquals(target, path4.get(path4.size() - 1));
+            }
+        }
+    }
+}
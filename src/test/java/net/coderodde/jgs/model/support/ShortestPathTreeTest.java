@@ -0,0 +1,167 @@
+package net.coderodde.jgs.model.support;
+
+import java.util.Random;
+import net.coderodde.jgs.Utilities;
+import net.coderodde.jgs.Utilities.Triple;
+import net.coderodde.jgs.model.Graph;
+import net.coderodde.jgs.model.GraphNodeCoordinates;
+import net.coderodde.jgs.model.Path;
+import static org.junit.Assert.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ShortestPathTreeTest {
+
+    private static final double e = 0.0001;
+
+    private static final long seed = System.currentTimeMillis();
+
+    @BeforeClass
+    public static void initClass() {
+        System.out.println("ShortestPathTreeTest.java, seed: " + seed);
+    }
+
+    @Test
+    public void testDijkstraTreesAgreeWithSearch() {
+        final Random rnd = new Random(seed);
+        final Triple<Graph<DirectedGraphNode>,
+                     DirectedGraphDoubleWeightFunction,
+                     GraphNodeCoordinates> data =
+                Utilities.createRandomDirectedGraphWithCoordinates(
+                        300, 900, 1000.0, 1000.0, 1.1, rnd);
+
+        final Graph<DirectedGraphNode> graph = data.first;
+        final DirectedGraphDoubleWeightFunction f = data.second;
+        final DirectedGraphNode source = graph.get(rnd.nextInt(graph.size()));
+
+        final DoubleDijkstraPathFinder<DirectedGraphNode> reference =
+                new DoubleDijkstraPathFinder<>(f);
+
+        final ShortestPathTree<DirectedGraphNode, Double> tree1 =
+                reference.computeShortestPathTree(source);
+
+        final ShortestPathTree<DirectedGraphNode, Double> tree2 =
+                new DijkstraPathFinder<>(f, new DoubleWeight())
+                        .computeShortestPathTree(source);
+
+        assertEquals(source, tree1.getRoot());
+        assertEquals(source, tree1.getNode(0));
+        assertNull(tree1.getParent(source));
+        assertEquals(0.0, tree1.getDistance(source), e);
+        assertEquals(tree1.size(), tree2.size());
+
+        for (int i = 1; i < tree1.size(); ++i) {
+            assertTrue(tree1.getDistance(tree1.getNode(i - 1)) <=
+                       tree1.getDistance(tree1.getNode(i)) + e);
+        }
+
+        for (int i = 0; i < graph.size(); ++i) {
+            final DirectedGraphNode target = graph.get(i);
+            final Path<DirectedGraphNode> path =
+                    reference.search(source, target);
+
+            if (path.isEmpty()) {
+                assertFalse(tree1.isReachable(target));
+                assertFalse(tree2.isReachable(target));
+                assertNull(tree1.getDistance(target));
+                assertNull(tree1.getParent(target));
+                assertTrue(tree1.getPath(target).isEmpty());
+                continue;
+            }
+
+            final double distance = f.getPathWeight(path);
+
+            assertTrue(tree1.isReachable(target));
+            assertTrue(tree2.isReachable(target));
+            assertEquals(distance, tree1.getDistance(target), e);
+            assertEquals(distance, tree2.getDistance(target), e);
+            assertEquals(distance,
+                         f.getPathWeight(tree1.getPath(target)),
+                         e);
+            assertEquals(distance,
+                         f.getPathWeight(tree2.getPath(target)),
+                         e);
+
+            final Path<DirectedGraphNode> treePath = tree1.getPath(target);
+
+            assertEquals(source, treePath.get(0));
+            assertEquals(target, treePath.get(treePath.size() - 1));
+        }
+    }
+
+    @Test
+    public void testIntegerDijkstraTree() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphIntegerWeightFunction f =
+                new DirectedGraphIntegerWeightFunction();
+        final DirectedGraphNode[] nodes = new DirectedGraphNode[4];
+
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new DirectedGraphNode();
+            graph.addNode(nodes[i]);
+        }
+
+        nodes[0].connectTo(nodes[1]);
+        nodes[1].connectTo(nodes[2]);
+        nodes[0].connectTo(nodes[2]);
+        f.put(nodes[0], nodes[1], 1);
+        f.put(nodes[1], nodes[2], 2);
+        f.put(nodes[0], nodes[2], 5);
+
+        final ShortestPathTree<DirectedGraphNode, Integer> tree =
+                new IntegerDijkstraPathFinder<>(f)
+                        .computeShortestPathTree(nodes[0]);
+
+        assertEquals(3, tree.size());
+        assertEquals(Integer.valueOf(3), tree.getDistance(nodes[2]));
+        assertEquals(nodes[1], tree.getParent(nodes[2]));
+        assertEquals(3, tree.getPath(nodes[2]).size());
+        assertFalse(tree.isReachable(nodes[3]));
+    }
+
+    @Test
+    public void testBreadthFirstSearchTree() {
+        final Random rnd = new Random(seed);
+        final Graph<DirectedGraphNode> graph =
+                Utilities.createRandomDirectedUnweightedGraph(200, 500, rnd);
+        final DirectedGraphNode source = graph.get(rnd.nextInt(graph.size()));
+
+        final BreadthFirstSearchPathFinder<DirectedGraphNode> finder =
+                new BreadthFirstSearchPathFinder<>();
+        final ShortestPathTree<DirectedGraphNode, Integer> tree =
+                finder.computeShortestPathTree(source);
+
+        assertEquals(Integer.valueOf(0), tree.getDistance(source));
+
+        for (int i = 0; i < graph.size(); ++i) {
+            final DirectedGraphNode target = graph.get(i);
+            final Path<DirectedGraphNode> path = finder.search(source, target);
+
+            if (path.isEmpty()) {
+                assertFalse(tree.isReachable(target));
+            } else {
+                assertEquals(path.size() - 1,
+                             tree.getDistance(target).intValue());
+                assertEquals(path.size(), tree.getPath(target).size());
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNodeIndexOutOfRangeThrows() {
+        final Graph<DirectedGraphNode> graph = new Graph<>();
+        final DirectedGraphNode node = new DirectedGraphNode();
+        graph.addNode(node);
+
+        new BreadthFirstSearchPathFinder<DirectedGraphNode>()
+                .computeShortestPathTree(node)
+                .getNode(1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullSourceThrows() {
+        new DoubleDijkstraPathFinder<>(
+                new DirectedGraphDoubleWeightFunction())
+                .computeShortestPathTree(null);
+    }
+}
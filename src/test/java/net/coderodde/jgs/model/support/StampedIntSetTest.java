@@ -0,0 +1,38 @@
+package net.coderodde.jgs.model.support;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class StampedIntSetTest {
+
+    @Test
+    public void testReset() {
+        final StampedIntSet set = new StampedIntSet(10);
+
+        set.reset(10);
+
+        for (int i = 0; i < 10; i += 2) {
+            set.add(i);
+        }
+
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(i % 2 == 0, set.contains(i));
+        }
+
+        set.reset(10);
+
+        for (int i = 0; i < 10; ++i) {
+            assertFalse(set.contains(i));
+        }
+
+        set.add(3);
+        // Growing the set empties it as well.
+        set.reset(100);
+
+        assertFalse(set.contains(3));
+
+        set.add(99);
+
+        assertTrue(set.contains(99));
+    }
+}